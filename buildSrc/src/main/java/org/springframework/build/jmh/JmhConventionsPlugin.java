@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import me.champeau.gradle.JMHPlugin;
+import me.champeau.gradle.JMHPluginExtension;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.file.DuplicatesStrategy;
+import org.gradle.api.plugins.JavaPlugin;
+
+/**
+ * {@link Plugin} that applies the {@code "jmh-gradle-plugin"} to every project
+ * which declares benchmarks in {@code "src/jmh/java"}, and configures the
+ * conventions shared by all Spring Framework benchmarks.
+ * <p>Benchmarks always run with the JMH GC profiler, so that the JSON report
+ * written to {@code "build/reports/jmh/results.json"} contains the normalized
+ * allocation rate ({@code "gc.alloc.rate.norm"}) next to the throughput score.
+ * <p>{@code "./gradlew :spring-core:jmh"} runs all benchmarks of a module;
+ * a subset can be selected with a regular expression on the CLI:
+ * {@code "./gradlew :spring-core:jmh -PbenchmarkInclude=ResolvableType"}.
+ *
+ * @author Fu Dong
+ */
+public class JmhConventionsPlugin implements Plugin<Project> {
+
+	/**
+	 * The project property that can be used to select the benchmarks to run.
+	 */
+	public static final String BENCHMARK_INCLUDE_PROPERTY = "benchmarkInclude";
+
+	public static final String JMH_VERSION = "1.25";
+
+	private static final String JMH_SOURCE_DIRECTORY = "src/jmh/java";
+
+	@Override
+	public void apply(Project project) {
+		project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+			if (project.file(JMH_SOURCE_DIRECTORY).isDirectory()) {
+				project.getPluginManager().apply(JMHPlugin.class);
+				applyJmhConventions(project);
+			}
+		});
+	}
+
+	private void applyJmhConventions(Project project) {
+		JMHPluginExtension jmh = project.getExtensions().getByType(JMHPluginExtension.class);
+		jmh.setJmhVersion(JMH_VERSION);
+		jmh.setDuplicateClassesStrategy(DuplicatesStrategy.WARN);
+		jmh.setProfilers(Collections.singletonList("gc"));
+		jmh.setResultFormat("JSON");
+		jmh.setResultsFile(new File(project.getBuildDir(), "reports/jmh/results.json"));
+		jmh.setHumanOutputFile(new File(project.getBuildDir(), "reports/jmh/human.txt"));
+		if (project.hasProperty(BENCHMARK_INCLUDE_PROPERTY)) {
+			String include = project.property(BENCHMARK_INCLUDE_PROPERTY).toString();
+			jmh.setInclude(Arrays.asList(include.split(",")));
+		}
+	}
+
+}
@@ -25,6 +25,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -101,6 +103,13 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	}
 
 
+	/**
+	 * Pattern for an expression consisting of a single {@code @annotation}
+	 * designator with a qualified type name, as opposed to a parameter binding.
+	 */
+	private static final Pattern ANNOTATION_TYPE_EXPRESSION_PATTERN =
+			Pattern.compile("\\s*@annotation\\s*\\(\\s*([\\w$]+(?:\\.[\\w$]+)+)\\s*\\)\\s*");
+
 	private static final Log logger = LogFactory.getLog(AspectJExpressionPointcut.class);
 
 	@Nullable
@@ -119,6 +128,13 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Nullable
 	private transient PointcutExpression pointcutExpression;
 
+	/**
+	 * The annotation type that matching methods need to declare, if the
+	 * expression is a plain {@code @annotation} designator.
+	 */
+	@Nullable
+	private transient String requiredMethodAnnotationType;
+
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
 
@@ -195,6 +211,7 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		}
 		if (this.pointcutExpression == null) {
 			this.pointcutClassLoader = determinePointcutClassLoader();
+			this.requiredMethodAnnotationType = determineRequiredMethodAnnotationType();
 			this.pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
 		}
 		return this.pointcutExpression;
@@ -214,6 +231,16 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		return ClassUtils.getDefaultClassLoader();
 	}
 
+	/**
+	 * Determine the annotation type that a method needs to declare in order
+	 * to match, allowing for rejecting classes without any such method upfront.
+	 */
+	@Nullable
+	private String determineRequiredMethodAnnotationType() {
+		Matcher matcher = ANNOTATION_TYPE_EXPRESSION_PATTERN.matcher(resolveExpression());
+		return (matcher.matches() ? matcher.group(1) : null);
+	}
+
 	/**
 	 * Build the underlying AspectJ pointcut expression.
 	 */
@@ -270,6 +297,12 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		PointcutExpression pointcutExpression = obtainPointcutExpression();
+		String requiredMethodAnnotationType = this.requiredMethodAnnotationType;
+		if (requiredMethodAnnotationType != null &&
+				!MethodAnnotationIndex.hasAnnotatedMethod(targetClass, requiredMethodAnnotationType)) {
+			// Cheap check against the methods of the class: no AspectJ matching necessary
+			return false;
+		}
 		try {
 			try {
 				return pointcutExpression.couldMatchJoinPointsInType(targetClass);
@@ -451,68 +484,67 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		// Avoid lock contention for known Methods through concurrent access...
 		ShadowMatch shadowMatch = this.shadowMatchCache.get(targetMethod);
 		if (shadowMatch == null) {
-			synchronized (this.shadowMatchCache) {
-				// Not found - now check again with full lock...
-				PointcutExpression fallbackExpression = null;
-				shadowMatch = this.shadowMatchCache.get(targetMethod);
-				if (shadowMatch == null) {
-					Method methodToMatch = targetMethod;
+			// Not found - compute without locking: concurrent threads may compute
+			// the same (equivalent) match, with the first one being kept.
+			PointcutExpression fallbackExpression = null;
+			Method methodToMatch = targetMethod;
+			try {
+				try {
+					shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
+				}
+				catch (ReflectionWorldException ex) {
+					// Failed to introspect target method, probably because it has been loaded
+					// in a special ClassLoader. Let's try the declaring ClassLoader instead...
 					try {
-						try {
-							shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
-						}
-						catch (ReflectionWorldException ex) {
-							// Failed to introspect target method, probably because it has been loaded
-							// in a special ClassLoader. Let's try the declaring ClassLoader instead...
-							try {
-								fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
-								if (fallbackExpression != null) {
-									shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
-								}
-							}
-							catch (ReflectionWorldException ex2) {
-								fallbackExpression = null;
-							}
-						}
-						if (targetMethod != originalMethod && (shadowMatch == null ||
-								(shadowMatch.neverMatches() && Proxy.isProxyClass(targetMethod.getDeclaringClass())))) {
-							// Fall back to the plain original method in case of no resolvable match or a
-							// negative match on a proxy class (which doesn't carry any annotations on its
-							// redeclared methods).
-							methodToMatch = originalMethod;
-							try {
-								shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
-							}
-							catch (ReflectionWorldException ex) {
-								// Could neither introspect the target class nor the proxy class ->
-								// let's try the original method's declaring class before we give up...
-								try {
-									fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
-									if (fallbackExpression != null) {
-										shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
-									}
-								}
-								catch (ReflectionWorldException ex2) {
-									fallbackExpression = null;
-								}
-							}
+						fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
+						if (fallbackExpression != null) {
+							shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
 						}
 					}
-					catch (Throwable ex) {
-						// Possibly AspectJ 1.8.10 encountering an invalid signature
-						logger.debug("PointcutExpression matching rejected target method", ex);
+					catch (ReflectionWorldException ex2) {
 						fallbackExpression = null;
 					}
-					if (shadowMatch == null) {
-						shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
+				}
+				if (targetMethod != originalMethod && (shadowMatch == null ||
+						(shadowMatch.neverMatches() && Proxy.isProxyClass(targetMethod.getDeclaringClass())))) {
+					// Fall back to the plain original method in case of no resolvable match or a
+					// negative match on a proxy class (which doesn't carry any annotations on its
+					// redeclared methods).
+					methodToMatch = originalMethod;
+					try {
+						shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
 					}
-					else if (shadowMatch.maybeMatches() && fallbackExpression != null) {
-						shadowMatch = new DefensiveShadowMatch(shadowMatch,
-								fallbackExpression.matchesMethodExecution(methodToMatch));
+					catch (ReflectionWorldException ex) {
+						// Could neither introspect the target class nor the proxy class ->
+						// let's try the original method's declaring class before we give up...
+						try {
+							fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
+							if (fallbackExpression != null) {
+								shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
+							}
+						}
+						catch (ReflectionWorldException ex2) {
+							fallbackExpression = null;
+						}
 					}
-					this.shadowMatchCache.put(targetMethod, shadowMatch);
 				}
 			}
+			catch (Throwable ex) {
+				// Possibly AspectJ 1.8.10 encountering an invalid signature
+				logger.debug("PointcutExpression matching rejected target method", ex);
+				fallbackExpression = null;
+			}
+			if (shadowMatch == null) {
+				shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
+			}
+			else if (shadowMatch.maybeMatches() && fallbackExpression != null) {
+				shadowMatch = new DefensiveShadowMatch(shadowMatch,
+						fallbackExpression.matchesMethodExecution(methodToMatch));
+			}
+			ShadowMatch existing = this.shadowMatchCache.putIfAbsent(targetMethod, shadowMatch);
+			if (existing != null) {
+				shadowMatch = existing;
+			}
 		}
 		return shadowMatch;
 	}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Index of the annotation types declared on the methods of a target class,
+ * covering the same methods that {@link org.springframework.aop.support.AopUtils#canApply}
+ * evaluates: those of the user class and its superclasses as well as of all
+ * implemented interfaces.
+ *
+ * <p>The index is built once per class and shared by all pointcuts, allowing
+ * for cheap rejection of classes before any AspectJ shadow matching.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ */
+final class MethodAnnotationIndex {
+
+	private static final Map<Class<?>, Set<String>> annotationTypeNamesCache = new ConcurrentReferenceHashMap<>();
+
+
+	private MethodAnnotationIndex() {
+	}
+
+
+	/**
+	 * Determine whether any method of the given class declares an annotation
+	 * of the given type, as written in a pointcut expression.
+	 * @param targetClass the target class
+	 * @param typeName the annotation type name, fully qualified or relative to
+	 * an enclosing package, with nested types separated by a dot
+	 */
+	static boolean hasAnnotatedMethod(Class<?> targetClass, String typeName) {
+		String suffix = "." + typeName;
+		for (String annotationTypeName : getAnnotationTypeNames(targetClass)) {
+			if (annotationTypeName.equals(typeName) || annotationTypeName.endsWith(suffix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Set<String> getAnnotationTypeNames(Class<?> targetClass) {
+		Set<String> annotationTypeNames = annotationTypeNamesCache.get(targetClass);
+		if (annotationTypeNames == null) {
+			Set<Class<?>> classes = new LinkedHashSet<>();
+			if (!Proxy.isProxyClass(targetClass)) {
+				classes.add(ClassUtils.getUserClass(targetClass));
+			}
+			classes.addAll(ClassUtils.getAllInterfacesForClassAsSet(targetClass));
+			annotationTypeNames = new HashSet<>();
+			for (Class<?> clazz : classes) {
+				for (Method method : ReflectionUtils.getAllDeclaredMethods(clazz)) {
+					for (Annotation annotation : method.getDeclaredAnnotations()) {
+						annotationTypeNames.add(annotation.annotationType().getName().replace('$', '.'));
+					}
+				}
+			}
+			annotationTypeNames = (annotationTypeNames.isEmpty() ? Collections.emptySet() :
+					Collections.unmodifiableSet(annotationTypeNames));
+			annotationTypeNamesCache.put(targetClass, annotationTypeNames);
+		}
+		return annotationTypeNames;
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Invokes a joinpoint through a generated {@link FastClass} for the declaring
+ * type of the method, i.e. through a direct {@code invokeinterface} or
+ * {@code invokevirtual} instruction instead of {@link Method#invoke}.
+ *
+ * <p>This is the equivalent of CGLIB's {@code MethodProxy} fast path for
+ * proxies that do not subclass their target, in particular JDK dynamic proxies.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see org.springframework.aop.support.AopUtils#invokeJoinpointUsingReflection
+ */
+final class FastClassJoinpointInvoker {
+
+	private static final Log logger = LogFactory.getLog(FastClassJoinpointInvoker.class);
+
+	private final Method method;
+
+	private final FastClass fastClass;
+
+	private final int index;
+
+
+	private FastClassJoinpointInvoker(Method method, FastClass fastClass, int index) {
+		this.method = method;
+		this.fastClass = fastClass;
+		this.index = index;
+	}
+
+
+	/**
+	 * Invoke the method on the given target.
+	 * @param target the target object
+	 * @param args the arguments for the method
+	 * @return the return value of the method, if any
+	 * @throws Throwable if thrown by the target method
+	 * @throws org.springframework.aop.AopInvocationException in case of an
+	 * invalid target or invalid arguments, as with
+	 * {@link org.springframework.aop.support.AopUtils#invokeJoinpointUsingReflection}
+	 */
+	@Nullable
+	public Object invoke(Object target, Object[] args) throws Throwable {
+		try {
+			return this.fastClass.invoke(this.index, target, args);
+		}
+		catch (InvocationTargetException ex) {
+			// The generated class reports a failed cast of the target or of an
+			// argument the same way as an exception thrown by the method itself...
+			if (!isValidInvocation(target, args)) {
+				throw invalidInvocation(target, ex.getTargetException());
+			}
+			throw ex.getTargetException();
+		}
+		catch (IllegalArgumentException ex) {
+			throw invalidInvocation(target, ex);
+		}
+	}
+
+	private boolean isValidInvocation(@Nullable Object target, @Nullable Object[] args) {
+		if (!this.method.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		Class<?>[] parameterTypes = this.method.getParameterTypes();
+		int argCount = (args != null ? args.length : 0);
+		if (argCount != parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < argCount; i++) {
+			if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private AopInvocationException invalidInvocation(@Nullable Object target, Throwable cause) {
+		return new AopInvocationException("AOP configuration seems to be invalid: tried calling method [" +
+				this.method + "] on target [" + target + "]", cause);
+	}
+
+
+	/**
+	 * Create an invoker for the given method, if it can be called directly
+	 * from a class generated next to its declaring class.
+	 * @param method the method to invoke (never a bridge method)
+	 * @return the invoker, or {@code null} if the method needs to be invoked
+	 * through reflection
+	 */
+	@Nullable
+	public static FastClassJoinpointInvoker forMethod(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		ClassLoader classLoader = declaringClass.getClassLoader();
+		if (method.isBridge() || Modifier.isStatic(method.getModifiers()) ||
+				!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()) ||
+				classLoader == null || !ClassUtils.isVisible(FastClass.class, classLoader)) {
+			return null;
+		}
+		try {
+			FastClass.Generator generator = new FastClass.Generator();
+			generator.setType(declaringClass);
+			generator.setClassLoader(classLoader);
+			generator.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+			FastClass fastClass = generator.create();
+			int index = fastClass.getIndex(method.getName(), method.getParameterTypes());
+			return (index >= 0 ? new FastClassJoinpointInvoker(method, fastClass, index) : null);
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Falling back to reflective invocation of " + method + ": " + ex);
+			}
+			return null;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,10 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -31,6 +34,7 @@ import org.springframework.aop.RawTargetAccess;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.core.DecoratingProxy;
+import org.springframework.core.hint.RuntimeHintsRecorder;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -92,6 +96,19 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Interceptor chains resolved on proxy creation, for a frozen configuration
+	 * with a static target; {@code null} if chains need to be looked up per call.
+	 */
+	@Nullable
+	private transient Map<Method, List<Object>> fixedChains;
+
+	/**
+	 * Fixed joinpoints keyed by the {@code Method} instances passed into {@link #invoke},
+	 * copied on write and therefore read without locking.
+	 */
+	private transient volatile Map<Method, FixedJoinpoint> fixedJoinpoints = new IdentityHashMap<>();
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -120,6 +137,8 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 		Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
 		findDefinedEqualsAndHashCodeMethods(proxiedInterfaces);
+		this.fixedChains = resolveFixedChains(proxiedInterfaces);
+		RuntimeHintsRecorder.recordProxy(proxiedInterfaces);
 		return Proxy.newProxyInstance(classLoader, proxiedInterfaces, this);
 	}
 
@@ -145,6 +164,64 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 	}
 
+	/**
+	 * Resolve the interceptor chains for all methods on the supplied interfaces
+	 * if the configuration is frozen and the target is static, i.e. if the chains
+	 * cannot change for the lifetime of the proxy.
+	 * @param proxiedInterfaces the interfaces to introspect
+	 * @return the chains per method, or {@code null} if not applicable
+	 */
+	@Nullable
+	private Map<Method, List<Object>> resolveFixedChains(Class<?>[] proxiedInterfaces) {
+		TargetSource targetSource = this.advised.getTargetSource();
+		if (!this.advised.isFrozen() || !targetSource.isStatic()) {
+			return null;
+		}
+		Class<?> targetClass;
+		try {
+			Object target = targetSource.getTarget();
+			targetClass = (target != null ? target.getClass() : null);
+		}
+		catch (Exception ex) {
+			// Leave it up to the invocation to report the TargetSource failure.
+			return null;
+		}
+		Map<Method, List<Object>> chains = new HashMap<>();
+		for (Class<?> proxiedInterface : proxiedInterfaces) {
+			for (Method method : proxiedInterface.getMethods()) {
+				chains.put(method, this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			}
+		}
+		this.fixedJoinpoints = new IdentityHashMap<>();
+		return chains;
+	}
+
+	/**
+	 * Return the fixed interceptor chain and joinpoint invoker for the given method,
+	 * avoiding the configuration's method cache for any subsequent call with the
+	 * same {@code Method} instance.
+	 */
+	private FixedJoinpoint getFixedJoinpoint(Map<Method, List<Object>> fixedChains, Method method,
+			@Nullable Class<?> targetClass) {
+
+		FixedJoinpoint joinpoint = this.fixedJoinpoints.get(method);
+		if (joinpoint == null) {
+			List<Object> chain = fixedChains.get(method);
+			if (chain == null) {
+				// Not declared on the proxied interfaces, e.g. Object.toString()
+				chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			}
+			joinpoint = new FixedJoinpoint(chain,
+					(targetClass != null ? FastClassJoinpointInvoker.forMethod(method) : null));
+			synchronized (this) {
+				Map<Method, FixedJoinpoint> joinpoints = new IdentityHashMap<>(this.fixedJoinpoints);
+				joinpoints.put(method, joinpoint);
+				this.fixedJoinpoints = joinpoints;
+			}
+		}
+		return joinpoint;
+	}
+
 
 	/**
 	 * Implementation of {@code InvocationHandler.invoke}.
@@ -192,8 +269,14 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			target = targetSource.getTarget();
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
-			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			// Get the interception chain for this method, along with a direct
+			// invoker for the target method if the chain is fixed.
+			Map<Method, List<Object>> fixedChains = this.fixedChains;
+			FixedJoinpoint fixedJoinpoint =
+					(fixedChains != null ? getFixedJoinpoint(fixedChains, method, targetClass) : null);
+			List<Object> chain = (fixedJoinpoint != null ? fixedJoinpoint.chain :
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			FastClassJoinpointInvoker invoker = (fixedJoinpoint != null ? fixedJoinpoint.invoker : null);
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -202,12 +285,14 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 				// Note that the final invoker must be an InvokerInterceptor so we know it does
 				// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
 				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				retVal = (invoker != null ? invoker.invoke(target, argsToUse) :
+						AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse));
 			}
 			else {
 				// We need to create a method invocation...
-				MethodInvocation invocation =
-						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+				MethodInvocation invocation = (invoker != null ?
+						new FastClassMethodInvocation(proxy, target, method, args, targetClass, chain, invoker) :
+						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain));
 				// Proceed to the joinpoint through the interceptor chain.
 				retVal = invocation.proceed();
 			}
@@ -283,4 +368,46 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Interceptor chain for a method of a proxy with a frozen configuration
+	 * and a static target, along with a direct invoker for the target method.
+	 */
+	private static final class FixedJoinpoint {
+
+		final List<Object> chain;
+
+		@Nullable
+		final FastClassJoinpointInvoker invoker;
+
+		FixedJoinpoint(List<Object> chain, @Nullable FastClassJoinpointInvoker invoker) {
+			this.chain = chain;
+			this.invoker = invoker;
+		}
+	}
+
+
+	/**
+	 * Implementation of AOP Alliance MethodInvocation that invokes the
+	 * joinpoint through a {@link FastClassJoinpointInvoker}.
+	 */
+	private static class FastClassMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final FastClassJoinpointInvoker invoker;
+
+		public FastClassMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				Object[] arguments, @Nullable Class<?> targetClass,
+				List<Object> interceptorsAndDynamicMethodMatchers, FastClassJoinpointInvoker invoker) {
+
+			super(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers);
+			this.invoker = invoker;
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.invoker.invoke(this.target, this.arguments);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -222,6 +223,12 @@ public abstract class AopUtils {
 	 * @return whether the pointcut can apply on any method
 	 */
 	public static boolean canApply(Pointcut pc, Class<?> targetClass, boolean hasIntroductions) {
+		return canApply(pc, targetClass, hasIntroductions, new CandidateMethods(targetClass));
+	}
+
+	private static boolean canApply(Pointcut pc, Class<?> targetClass, boolean hasIntroductions,
+			CandidateMethods candidateMethods) {
+
 		Assert.notNull(pc, "Pointcut must not be null");
 		if (!pc.getClassFilter().matches(targetClass)) {
 			return false;
@@ -238,20 +245,11 @@ public abstract class AopUtils {
 			introductionAwareMethodMatcher = (IntroductionAwareMethodMatcher) methodMatcher;
 		}
 
-		Set<Class<?>> classes = new LinkedHashSet<>();
-		if (!Proxy.isProxyClass(targetClass)) {
-			classes.add(ClassUtils.getUserClass(targetClass));
-		}
-		classes.addAll(ClassUtils.getAllInterfacesForClassAsSet(targetClass));
-
-		for (Class<?> clazz : classes) {
-			Method[] methods = ReflectionUtils.getAllDeclaredMethods(clazz);
-			for (Method method : methods) {
-				if (introductionAwareMethodMatcher != null ?
-						introductionAwareMethodMatcher.matches(method, targetClass, hasIntroductions) :
-						methodMatcher.matches(method, targetClass)) {
-					return true;
-				}
+		for (Method method : candidateMethods.get()) {
+			if (introductionAwareMethodMatcher != null ?
+					introductionAwareMethodMatcher.matches(method, targetClass, hasIntroductions) :
+					methodMatcher.matches(method, targetClass)) {
+				return true;
 			}
 		}
 
@@ -281,12 +279,18 @@ public abstract class AopUtils {
 	 * @return whether the pointcut can apply on any method
 	 */
 	public static boolean canApply(Advisor advisor, Class<?> targetClass, boolean hasIntroductions) {
+		return canApply(advisor, targetClass, hasIntroductions, new CandidateMethods(targetClass));
+	}
+
+	private static boolean canApply(Advisor advisor, Class<?> targetClass, boolean hasIntroductions,
+			CandidateMethods candidateMethods) {
+
 		if (advisor instanceof IntroductionAdvisor) {
 			return ((IntroductionAdvisor) advisor).getClassFilter().matches(targetClass);
 		}
 		else if (advisor instanceof PointcutAdvisor) {
 			PointcutAdvisor pca = (PointcutAdvisor) advisor;
-			return canApply(pca.getPointcut(), targetClass, hasIntroductions);
+			return canApply(pca.getPointcut(), targetClass, hasIntroductions, candidateMethods);
 		}
 		else {
 			// It doesn't have a pointcut so we assume it applies.
@@ -313,12 +317,14 @@ public abstract class AopUtils {
 			}
 		}
 		boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+		// Methods to evaluate, determined once for all advisors
+		CandidateMethods candidateMethods = new CandidateMethods(clazz);
 		for (Advisor candidate : candidateAdvisors) {
 			if (candidate instanceof IntroductionAdvisor) {
 				// already processed
 				continue;
 			}
-			if (canApply(candidate, clazz, hasIntroductions)) {
+			if (canApply(candidate, clazz, hasIntroductions, candidateMethods)) {
 				eligibleAdvisors.add(candidate);
 			}
 		}
@@ -357,4 +363,40 @@ public abstract class AopUtils {
 		}
 	}
 
+
+	/**
+	 * The methods of a target class that a pointcut is evaluated against:
+	 * those of the user class and its superclasses as well as of all implemented
+	 * interfaces. Lazily determined on first access.
+	 */
+	private static final class CandidateMethods {
+
+		private final Class<?> targetClass;
+
+		@Nullable
+		private Method[] methods;
+
+		CandidateMethods(Class<?> targetClass) {
+			this.targetClass = targetClass;
+		}
+
+		Method[] get() {
+			Method[] methods = this.methods;
+			if (methods == null) {
+				Set<Class<?>> classes = new LinkedHashSet<>();
+				if (!Proxy.isProxyClass(this.targetClass)) {
+					classes.add(ClassUtils.getUserClass(this.targetClass));
+				}
+				classes.addAll(ClassUtils.getAllInterfacesForClassAsSet(this.targetClass));
+				List<Method> candidates = new ArrayList<>();
+				for (Class<?> clazz : classes) {
+					Collections.addAll(candidates, ReflectionUtils.getAllDeclaredMethods(clazz));
+				}
+				methods = candidates.toArray(new Method[0]);
+				this.methods = methods;
+			}
+			return methods;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import test.annotation.EmptySpringAnnotation;
 import test.annotation.transaction.Tx;
 
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.testfixture.beans.TestBean;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -155,6 +156,23 @@ public class TigerAspectJExpressionPointcutTests {
 		assertThat(ajexp.matches(BeanA.class.getMethod("setName", String.class), BeanA.class)).isFalse();
 	}
 
+	@Test
+	public void testAnnotationOnMethodWithFQNRejectsClassWithoutAnnotatedMethod() throws Exception {
+		String expression = "@annotation(test.annotation.transaction.Tx)";
+		AspectJExpressionPointcut ajexp = new AspectJExpressionPointcut();
+		ajexp.setExpression(expression);
+
+		assertThat(ajexp.matches(BeanA.class)).isTrue();
+		assertThat(ajexp.matches(BeanB.class)).isFalse();
+		assertThat(ajexp.matches(HasTransactionalAnnotation.class)).isFalse();
+		assertThat(AopUtils.canApply(ajexp, BeanA.class)).isTrue();
+		assertThat(AopUtils.canApply(ajexp, BeanB.class)).isFalse();
+
+		ProxyFactory factory = new ProxyFactory(new BeanA());
+		factory.setProxyTargetClass(false);
+		assertThat(ajexp.matches(factory.getProxy().getClass())).isTrue();
+	}
+
 	@Test
 	public void testAnnotationOnCglibProxyMethod() throws Exception {
 		String expression = "@annotation(test.annotation.transaction.Tx)";
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link FastClassJoinpointInvoker}.
+ *
+ * @author Fu Dong
+ */
+class FastClassJoinpointInvokerTests {
+
+	@Test
+	void invokeInterfaceMethod() throws Throwable {
+		TestBean target = new TestBean("tb", 42);
+		FastClassJoinpointInvoker getAge = FastClassJoinpointInvoker.forMethod(ITestBean.class.getMethod("getAge"));
+		FastClassJoinpointInvoker setName =
+				FastClassJoinpointInvoker.forMethod(ITestBean.class.getMethod("setName", String.class));
+		assertThat(getAge).isNotNull();
+		assertThat(setName).isNotNull();
+
+		assertThat(getAge.invoke(target, new Object[0])).isEqualTo(42);
+		assertThat(setName.invoke(target, new Object[] {"other"})).isNull();
+		assertThat(target.getName()).isEqualTo("other");
+	}
+
+	@Test
+	void exceptionThrownAsIs() throws Throwable {
+		FastClassJoinpointInvoker invoker =
+				FastClassJoinpointInvoker.forMethod(ITestBean.class.getMethod("exceptional", Throwable.class));
+		assertThat(invoker).isNotNull();
+
+		IllegalStateException ex = new IllegalStateException();
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() ->
+				invoker.invoke(new TestBean(), new Object[] {ex})).isSameAs(ex);
+	}
+
+	@Test
+	void invalidInvocation() throws Throwable {
+		FastClassJoinpointInvoker invoker =
+				FastClassJoinpointInvoker.forMethod(ITestBean.class.getMethod("setAge", int.class));
+		assertThat(invoker).isNotNull();
+
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() ->
+				invoker.invoke(new TestBean(), new Object[] {"42"}))
+				.withMessageStartingWith("AOP configuration seems to be invalid");
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() ->
+				invoker.invoke(new TestBean(), new Object[] {null}));
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() ->
+				invoker.invoke(new Object(), new Object[] {42}));
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() ->
+				invoker.invoke(new TestBean(), new Object[0]));
+	}
+
+	@Test
+	void reflectionRequired() throws Exception {
+		assertThat(FastClassJoinpointInvoker.forMethod(Object.class.getMethod("toString"))).isNull();
+		assertThat(FastClassJoinpointInvoker.forMethod(Hidden.class.getMethod("run"))).isNull();
+		assertThat(FastClassJoinpointInvoker.forMethod(TestBean.class.getMethod("getAge"))).isNotNull();
+	}
+
+
+	static class Hidden implements Runnable {
+
+		@Override
+		public void run() {
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import org.springframework.aop.interceptor.DebugInterceptor;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultIntroductionAdvisor;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
 import org.springframework.aop.testfixture.advice.CountingBeforeAdvice;
 import org.springframework.aop.testfixture.interceptor.NopInterceptor;
 import org.springframework.aop.testfixture.interceptor.TimestampIntroductionInterceptor;
@@ -370,6 +371,41 @@ public class ProxyFactoryTests {
 		assertThat(proxy.getName()).isEqualTo("tb");
 	}
 
+	@Test
+	public void testFrozenJdkProxyWithStaticTarget() {
+		testFrozenProxyWithStaticTarget(false);
+	}
+
+	@Test
+	public void testFrozenCglibProxyWithStaticTarget() {
+		testFrozenProxyWithStaticTarget(true);
+	}
+
+	private void testFrozenProxyWithStaticTarget(boolean proxyTargetClass) {
+		TestBean target = new TestBean("tb", 42);
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(proxyTargetClass);
+		NopInterceptor nop = new NopInterceptor();
+		NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(nop);
+		advisor.setMappedName("getAge");
+		pf.addAdvisor(advisor);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertThat(AopUtils.isCglibProxy(proxy)).isEqualTo(proxyTargetClass);
+
+		for (int i = 1; i <= 3; i++) {
+			assertThat(proxy.getAge()).isEqualTo(42);
+			assertThat(proxy.getName()).isEqualTo("tb");
+			assertThat(nop.getCount()).isEqualTo(i);
+		}
+		proxy.setName("other");
+		assertThat(target.getName()).isEqualTo("other");
+		assertThat(proxy.toString()).isEqualTo(target.toString());
+		assertThat(nop.getCount()).isEqualTo(3);
+		assertThatExceptionOfType(AopConfigException.class).isThrownBy(() ->
+				((Advised) proxy).addAdvice(new DebugInterceptor()));
+	}
+
 
 	@Order(2)
 	public static class A implements Runnable {
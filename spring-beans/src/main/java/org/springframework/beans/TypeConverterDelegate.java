@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,8 @@ import org.springframework.core.CollectionFactory;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.ConversionPlan;
+import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
@@ -122,7 +124,22 @@ class TypeConverterDelegate {
 
 		// No custom editor but custom ConversionService specified?
 		ConversionService conversionService = this.propertyEditorRegistry.getConversionService();
-		if (editor == null && conversionService != null && newValue != null && typeDescriptor != null) {
+		if (editor == null && conversionService instanceof GenericConversionService &&
+				newValue != null && typeDescriptor != null) {
+			// Resolve the converter only once rather than for both canConvert and convert
+			ConversionPlan plan = ((GenericConversionService) conversionService).getConversionPlan(
+					TypeDescriptor.forObject(newValue), typeDescriptor);
+			if (plan.canConvert()) {
+				try {
+					return (T) plan.convert(newValue);
+				}
+				catch (ConversionFailedException ex) {
+					// fallback to default conversion logic below
+					conversionAttemptEx = ex;
+				}
+			}
+		}
+		else if (editor == null && conversionService != null && newValue != null && typeDescriptor != null) {
 			TypeDescriptor sourceTypeDesc = TypeDescriptor.forObject(newValue);
 			if (conversionService.canConvert(sourceTypeDesc, typeDescriptor)) {
 				try {
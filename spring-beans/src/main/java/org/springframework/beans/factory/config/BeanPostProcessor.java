@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,4 +101,24 @@ public interface BeanPostProcessor {
 		return bean;
 	}
 
+	/**
+	 * Determine whether this {@code BeanPostProcessor} may apply to beans of the
+	 * given class at all, allowing the bean factory to skip it for every callback
+	 * on such beans.
+	 * <p>The bean factory may cache the result per bean class. It is therefore
+	 * expected to depend on the given class only, typically on the interfaces it
+	 * implements or the annotations it declares. Note that subsequent callbacks may
+	 * receive a proxy for a bean of the given class, as returned by a preceding
+	 * post-processor.
+	 * <p>The default implementation returns {@code true}.
+	 * @param beanClass the class of the bean instance (or the bean class
+	 * to instantiate, for callbacks before instantiation)
+	 * @return {@code false} if this post-processor never applies to beans of
+	 * the given class
+	 * @since 5.3
+	 */
+	default boolean isApplicableTo(Class<?> beanClass) {
+		return true;
+	}
+
 }
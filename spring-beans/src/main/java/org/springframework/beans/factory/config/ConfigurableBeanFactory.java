@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.HierarchicalBeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringValueResolver;
 
@@ -168,6 +169,23 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory, Single
   @Nullable
   ConversionService getConversionService();
 
+  /**
+   * Set the {@code ApplicationStartup} for this bean factory.
+   *
+   * <p>This allows the application context to record metrics during application startup.
+   *
+   * @param applicationStartup the new application startup
+   * @since 5.3
+   */
+  void setApplicationStartup(ApplicationStartup applicationStartup);
+
+  /**
+   * Return the {@code ApplicationStartup} for this bean factory.
+   *
+   * @since 5.3
+   */
+  ApplicationStartup getApplicationStartup();
+
   /**
    * Add a PropertyEditorRegistrar to be applied to all bean creation processes.
    *
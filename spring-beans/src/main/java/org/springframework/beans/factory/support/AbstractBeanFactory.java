@@ -24,7 +24,9 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -34,6 +36,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
@@ -65,15 +69,19 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.Scope;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.AttributeAccessor;
 import org.springframework.core.DecoratingClassLoader;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.log.LogMessage;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.StringValueResolver;
@@ -151,13 +159,11 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	private final List<StringValueResolver> embeddedValueResolvers = new CopyOnWriteArrayList<>();
 
 	/** BeanPostProcessors to apply. */
-	private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
+	private final List<BeanPostProcessor> beanPostProcessors = new BeanPostProcessorCacheAwareList();
 
-	/** Indicates whether any InstantiationAwareBeanPostProcessors have been registered. */
-	private volatile boolean hasInstantiationAwareBeanPostProcessors;
-
-	/** Indicates whether any DestructionAwareBeanPostProcessors have been registered. */
-	private volatile boolean hasDestructionAwareBeanPostProcessors;
+	/** Cache of pre-filtered post-processors, reset on any change to the list above. */
+	@Nullable
+	private volatile BeanPostProcessorCache beanPostProcessorCache;
 
 	/** Map from scope identifier String to corresponding Scope. */
 	private final Map<String, Scope> scopes = new LinkedHashMap<>(8);
@@ -176,6 +182,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	private final ThreadLocal<Object> prototypesCurrentlyInCreation =
 			new NamedThreadLocal<>("Prototype beans currently in creation");
 
+	/** Application startup metrics. */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 
 	/**
 	 * Create a new AbstractBeanFactory.
@@ -243,6 +252,17 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 			String name, @Nullable Class<T> requiredType, @Nullable Object[] args, boolean typeCheckOnly)
 			throws BeansException {
 
+		// Fast path for fully initialized singletons once the configuration is frozen;
+		// a null name is left to the regular path for argument validation.
+		// Still going through getObjectForBeanInstance for dependent bean registration.
+		if (args == null && name != null) {
+			Object frozenSingleton = getFrozenSingleton(name);
+			if (frozenSingleton != null) {
+				Object bean = getObjectForBeanInstance(frozenSingleton, name, transformedBeanName(name), null);
+				return adaptBeanInstance(name, bean, requiredType);
+			}
+		}
+
 		String beanName = transformedBeanName(name);
 		Object bean;
 
@@ -294,7 +314,12 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 				markBeanAsCreated(beanName);
 			}
 
+			StartupStep beanCreation = this.applicationStartup.start("spring.beans.instantiate")
+					.tag("beanName", name);
 			try {
+				if (requiredType != null) {
+					beanCreation.tag("beanType", requiredType::toString);
+				}
 				RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
 				checkMergedBeanDefinition(mbd, beanName, args);
 
@@ -377,19 +402,29 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 				}
 			}
 			catch (BeansException ex) {
+				beanCreation.tag("exception", ex.getClass().toString());
+				beanCreation.tag("message", String.valueOf(ex.getMessage()));
 				cleanupAfterBeanCreationFailure(beanName);
 				throw ex;
 			}
+			finally {
+				beanCreation.end();
+			}
 		}
 
+		return adaptBeanInstance(name, bean, requiredType);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T adaptBeanInstance(String name, Object bean, @Nullable Class<?> requiredType) {
 		// Check if required type matches the type of the actual bean instance.
 		if (requiredType != null && !requiredType.isInstance(bean)) {
 			try {
-				T convertedBean = getTypeConverter().convertIfNecessary(bean, requiredType);
+				Object convertedBean = getTypeConverter().convertIfNecessary(bean, requiredType);
 				if (convertedBean == null) {
 					throw new BeanNotOfRequiredTypeException(name, requiredType, bean.getClass());
 				}
-				return convertedBean;
+				return (T) convertedBean;
 			}
 			catch (TypeMismatchException ex) {
 				if (logger.isTraceEnabled()) {
@@ -835,6 +870,17 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		return this.conversionService;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	@Override
 	public void addPropertyEditorRegistrar(PropertyEditorRegistrar registrar) {
 		Assert.notNull(registrar, "PropertyEditorRegistrar must not be null");
@@ -928,13 +974,6 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		Assert.notNull(beanPostProcessor, "BeanPostProcessor must not be null");
 		// Remove from old position, if any
 		this.beanPostProcessors.remove(beanPostProcessor);
-		// Track whether it is instantiation/destruction aware
-		if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-			this.hasInstantiationAwareBeanPostProcessors = true;
-		}
-		if (beanPostProcessor instanceof DestructionAwareBeanPostProcessor) {
-			this.hasDestructionAwareBeanPostProcessors = true;
-		}
 		// Add to end of list
 		this.beanPostProcessors.add(beanPostProcessor);
 	}
@@ -959,7 +998,7 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	 * @see org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor
 	 */
 	protected boolean hasInstantiationAwareBeanPostProcessors() {
-		return this.hasInstantiationAwareBeanPostProcessors;
+		return (getBeanPostProcessorCache().instantiationAware.length > 0);
 	}
 
 	/**
@@ -969,7 +1008,30 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	 * @see org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor
 	 */
 	protected boolean hasDestructionAwareBeanPostProcessors() {
-		return this.hasDestructionAwareBeanPostProcessors;
+		return (getBeanPostProcessorCache().destructionAware.length > 0);
+	}
+
+	/**
+	 * Return the internal cache of pre-filtered post-processors,
+	 * freshly (re-)building it if necessary.
+	 * @since 5.3
+	 */
+	BeanPostProcessorCache getBeanPostProcessorCache() {
+		BeanPostProcessorCache bpCache = this.beanPostProcessorCache;
+		if (bpCache == null) {
+			bpCache = new BeanPostProcessorCache(this.beanPostProcessors);
+			this.beanPostProcessorCache = bpCache;
+		}
+		return bpCache;
+	}
+
+	/**
+	 * Return the pre-filtered post-processors that apply to beans of the given class.
+	 * @since 5.3
+	 * @see BeanPostProcessor#isApplicableTo
+	 */
+	BeanPostProcessorCache getBeanPostProcessorCache(Class<?> beanClass) {
+		return getBeanPostProcessorCache().forBeanClass(beanClass);
 	}
 
 	@Override
@@ -1031,16 +1093,13 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		setCacheBeanMetadata(otherFactory.isCacheBeanMetadata());
 		setBeanExpressionResolver(otherFactory.getBeanExpressionResolver());
 		setConversionService(otherFactory.getConversionService());
+		setApplicationStartup(otherFactory.getApplicationStartup());
 		if (otherFactory instanceof AbstractBeanFactory) {
 			AbstractBeanFactory otherAbstractFactory = (AbstractBeanFactory) otherFactory;
 			this.propertyEditorRegistrars.addAll(otherAbstractFactory.propertyEditorRegistrars);
 			this.customEditors.putAll(otherAbstractFactory.customEditors);
 			this.typeConverter = otherAbstractFactory.typeConverter;
 			this.beanPostProcessors.addAll(otherAbstractFactory.beanPostProcessors);
-			this.hasInstantiationAwareBeanPostProcessors = this.hasInstantiationAwareBeanPostProcessors ||
-					otherAbstractFactory.hasInstantiationAwareBeanPostProcessors;
-			this.hasDestructionAwareBeanPostProcessors = this.hasDestructionAwareBeanPostProcessors ||
-					otherAbstractFactory.hasDestructionAwareBeanPostProcessors;
 			this.scopes.putAll(otherAbstractFactory.scopes);
 			this.securityContextProvider = otherAbstractFactory.securityContextProvider;
 		}
@@ -1946,4 +2005,223 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 	protected abstract Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
 			throws BeanCreationException;
 
+
+	/**
+	 * CopyOnWriteArrayList which resets the beanPostProcessorCache field on modification.
+	 *
+	 * @since 5.3
+	 */
+	@SuppressWarnings("serial")
+	private class BeanPostProcessorCacheAwareList extends CopyOnWriteArrayList<BeanPostProcessor> {
+
+		@Override
+		public BeanPostProcessor set(int index, BeanPostProcessor element) {
+			BeanPostProcessor result = super.set(index, element);
+			beanPostProcessorCache = null;
+			return result;
+		}
+
+		@Override
+		public boolean add(BeanPostProcessor o) {
+			boolean success = super.add(o);
+			beanPostProcessorCache = null;
+			return success;
+		}
+
+		@Override
+		public void add(int index, BeanPostProcessor element) {
+			super.add(index, element);
+			beanPostProcessorCache = null;
+		}
+
+		@Override
+		public BeanPostProcessor remove(int index) {
+			BeanPostProcessor result = super.remove(index);
+			beanPostProcessorCache = null;
+			return result;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			boolean success = super.remove(o);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			boolean success = super.removeAll(c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			boolean success = super.retainAll(c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends BeanPostProcessor> c) {
+			boolean success = super.addAll(c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends BeanPostProcessor> c) {
+			boolean success = super.addAll(index, c);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public boolean addIfAbsent(BeanPostProcessor o) {
+			boolean success = super.addIfAbsent(o);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public int addAllAbsent(Collection<? extends BeanPostProcessor> c) {
+			int added = super.addAllAbsent(c);
+			if (added > 0) {
+				beanPostProcessorCache = null;
+			}
+			return added;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super BeanPostProcessor> filter) {
+			boolean success = super.removeIf(filter);
+			if (success) {
+				beanPostProcessorCache = null;
+			}
+			return success;
+		}
+
+		@Override
+		public void replaceAll(UnaryOperator<BeanPostProcessor> operator) {
+			super.replaceAll(operator);
+			beanPostProcessorCache = null;
+		}
+
+		@Override
+		public void sort(@Nullable Comparator<? super BeanPostProcessor> c) {
+			super.sort(c);
+			beanPostProcessorCache = null;
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			beanPostProcessorCache = null;
+		}
+	}
+
+
+	/**
+	 * Internal cache of pre-filtered post-processors: one array per post-processor
+	 * type, in registration order, avoiding {@code instanceof} checks per bean.
+	 * A cache for all bean classes holds nested caches for specific bean classes,
+	 * leaving out the post-processors that declare they do not apply to them.
+	 *
+	 * @since 5.3
+	 * @see BeanPostProcessor#isApplicableTo
+	 */
+	static final class BeanPostProcessorCache {
+
+		final BeanPostProcessor[] all;
+
+		final InstantiationAwareBeanPostProcessor[] instantiationAware;
+
+		final SmartInstantiationAwareBeanPostProcessor[] smartInstantiationAware;
+
+		final DestructionAwareBeanPostProcessor[] destructionAware;
+
+		final MergedBeanDefinitionPostProcessor[] mergedDefinition;
+
+		/** Caches per bean class, or {@code null} if none of the post-processors filters by bean class. */
+		@Nullable
+		private final Map<Class<?>, BeanPostProcessorCache> beanClassCache;
+
+		BeanPostProcessorCache(List<BeanPostProcessor> postProcessors) {
+			this(postProcessors.toArray(new BeanPostProcessor[0]), null);
+		}
+
+		private BeanPostProcessorCache(BeanPostProcessor[] candidates, @Nullable Class<?> beanClass) {
+			List<BeanPostProcessor> all = new ArrayList<>(candidates.length);
+			List<InstantiationAwareBeanPostProcessor> instantiationAware = new ArrayList<>();
+			List<SmartInstantiationAwareBeanPostProcessor> smartInstantiationAware = new ArrayList<>();
+			List<DestructionAwareBeanPostProcessor> destructionAware = new ArrayList<>();
+			List<MergedBeanDefinitionPostProcessor> mergedDefinition = new ArrayList<>();
+			boolean filtering = false;
+			for (BeanPostProcessor bp : candidates) {
+				if (beanClass != null ? !bp.isApplicableTo(beanClass) : isFilteringByBeanClass(bp)) {
+					filtering = true;
+					if (beanClass != null) {
+						continue;
+					}
+				}
+				all.add(bp);
+				if (bp instanceof InstantiationAwareBeanPostProcessor) {
+					instantiationAware.add((InstantiationAwareBeanPostProcessor) bp);
+					if (bp instanceof SmartInstantiationAwareBeanPostProcessor) {
+						smartInstantiationAware.add((SmartInstantiationAwareBeanPostProcessor) bp);
+					}
+				}
+				if (bp instanceof DestructionAwareBeanPostProcessor) {
+					destructionAware.add((DestructionAwareBeanPostProcessor) bp);
+				}
+				if (bp instanceof MergedBeanDefinitionPostProcessor) {
+					mergedDefinition.add((MergedBeanDefinitionPostProcessor) bp);
+				}
+			}
+			this.all = all.toArray(new BeanPostProcessor[0]);
+			this.instantiationAware = instantiationAware.toArray(new InstantiationAwareBeanPostProcessor[0]);
+			this.smartInstantiationAware =
+					smartInstantiationAware.toArray(new SmartInstantiationAwareBeanPostProcessor[0]);
+			this.destructionAware = destructionAware.toArray(new DestructionAwareBeanPostProcessor[0]);
+			this.mergedDefinition = mergedDefinition.toArray(new MergedBeanDefinitionPostProcessor[0]);
+			this.beanClassCache = (beanClass == null && filtering ? new ConcurrentReferenceHashMap<>(64) : null);
+		}
+
+		private static boolean isFilteringByBeanClass(BeanPostProcessor bp) {
+			return (ClassUtils.getMethod(bp.getClass(), "isApplicableTo", Class.class).getDeclaringClass() !=
+					BeanPostProcessor.class);
+		}
+
+		/**
+		 * Return the post-processors that apply to beans of the given class.
+		 */
+		BeanPostProcessorCache forBeanClass(Class<?> beanClass) {
+			Map<Class<?>, BeanPostProcessorCache> beanClassCache = this.beanClassCache;
+			if (beanClassCache == null) {
+				return this;
+			}
+			BeanPostProcessorCache bpCache = beanClassCache.get(beanClass);
+			if (bpCache == null) {
+				bpCache = new BeanPostProcessorCache(this.all, beanClass);
+				if (bpCache.all.length == this.all.length) {
+					bpCache = this;
+				}
+				beanClassCache.put(beanClass, bpCache);
+			}
+			return bpCache;
+		}
+	}
+
 }
@@ -27,10 +27,15 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,7 +44,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -47,6 +56,7 @@ import java.util.stream.Stream;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -67,9 +77,10 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
-import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
 import org.springframework.core.OrderComparator;
@@ -175,6 +186,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
   /** 是否可以为所有bean缓存bean定义元数据。 */
   private volatile boolean configurationFrozen = false;
 
+  /** 用于并行预实例化单例的可选执行器。 */
+  @Nullable private Executor bootstrapExecutor;
+
   /** 创建一个新的DefaultListableBeanFactory */
   public DefaultListableBeanFactory() {
     super();
@@ -294,6 +308,32 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     return this.autowireCandidateResolver;
   }
 
+  /**
+   * 设置一个用于并行预实例化非惰性单例的{@link Executor}(可选)。默认为无，即所有单例都在调用线程中依次创建。
+   *
+   * <p>设置后，{@link #preInstantiateSingletons()}会根据{@code depends-on}声明、显式bean引用、工厂bean以及已注册的依赖bean构建依赖图，
+   * 并在该执行器上并发创建彼此独立的子图；每个子图内部仍按注册顺序依次创建。并发创建期间，每个bean使用各自的创建锁，而不是单一的单例互斥锁。
+   * 形成循环依赖的子图，以及并发创建失败的子图(例如由于跨线程的循环引用)，随后在调用线程中依次创建。
+   *
+   * <p>应使用有界的执行器，例如固定大小的线程池。
+   *
+   * @since 5.3
+   * @see #preInstantiateSingletons()
+   */
+  public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+    this.bootstrapExecutor = bootstrapExecutor;
+  }
+
+  /**
+   * 返回用于并行预实例化单例的执行器(如果有)。
+   *
+   * @since 5.3
+   */
+  @Nullable
+  public Executor getBootstrapExecutor() {
+    return this.bootstrapExecutor;
+  }
+
   @Override
   public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
     super.copyConfigurationFrom(otherFactory);
@@ -302,6 +342,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
       this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
       this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
       this.dependencyComparator = otherListableFactory.dependencyComparator;
+      this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
       // AutowireCandidateResolver的克隆，因为它可能是BeanFactoryAware…
       setAutowireCandidateResolver(
           otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
@@ -878,31 +919,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
     // Trigger initialization of all non-lazy singleton beans...
-    for (String beanName : beanNames) {
-      RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-      if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-        if (isFactoryBean(beanName)) {
-          Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-          if (bean instanceof FactoryBean) {
-            FactoryBean<?> factory = (FactoryBean<?>) bean;
-            boolean isEagerInit;
-            if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-              isEagerInit =
-                  AccessController.doPrivileged(
-                      (PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
-                      getAccessControlContext());
-            } else {
-              isEagerInit =
-                  (factory instanceof SmartFactoryBean
-                      && ((SmartFactoryBean<?>) factory).isEagerInit());
-            }
-            if (isEagerInit) {
-              getBean(beanName);
-            }
-          }
-        } else {
-          getBean(beanName);
-        }
+    Executor executor = this.bootstrapExecutor;
+    if (executor != null) {
+      preInstantiateSingletonsConcurrently(beanNames, executor);
+    } else {
+      for (String beanName : beanNames) {
+        preInstantiateSingleton(beanName);
       }
     }
 
@@ -924,6 +946,201 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         }
       }
     }
+
+    // Allow for lock-free lookups of all plain singletons, not expecting further changes.
+    if (this.configurationFrozen) {
+      publishFrozenSingletons(
+          singleton -> !(singleton instanceof FactoryBean) && !(singleton instanceof NullBean));
+    }
+  }
+
+  /**
+   * 如果给定的bean是非抽象、非惰性的单例，则实例化它(对于FactoryBean，仅在其要求立即初始化时才实例化其产品对象)。
+   *
+   * @param beanName bean的名称
+   * @since 5.3
+   */
+  private void preInstantiateSingleton(String beanName) {
+    RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+    if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+      if (isFactoryBean(beanName)) {
+        Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+        if (bean instanceof FactoryBean) {
+          FactoryBean<?> factory = (FactoryBean<?>) bean;
+          boolean isEagerInit;
+          if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+            isEagerInit =
+                AccessController.doPrivileged(
+                    (PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
+                    getAccessControlContext());
+          } else {
+            isEagerInit =
+                (factory instanceof SmartFactoryBean
+                    && ((SmartFactoryBean<?>) factory).isEagerInit());
+          }
+          if (isEagerInit) {
+            getBean(beanName);
+          }
+        }
+      } else {
+        getBean(beanName);
+      }
+    }
+  }
+
+  /**
+   * 在给定的执行器上并发预实例化彼此独立的单例子图。
+   *
+   * <p>形成循环依赖的子图，以及因线程间无法解析的循环引用而并发创建失败的子图，在并发阶段结束后于调用线程中依次创建。
+   * 其他创建失败不会重试(以免bean被初始化两次)，而是在所有并发任务结束后从调用线程重新抛出。
+   *
+   * <p>并发任务使用调用线程的上下文类加载器。
+   *
+   * @param beanNames 按注册顺序排列的bean名称
+   * @param executor 用于并发创建的执行器
+   * @since 5.3
+   * @see #setBootstrapExecutor
+   */
+  private void preInstantiateSingletonsConcurrently(List<String> beanNames, Executor executor) {
+    SingletonDependencyGraph graph = new SingletonDependencyGraph();
+    for (String beanName : beanNames) {
+      RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+      if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+        graph.addBean(beanName);
+      }
+    }
+    List<List<String>> serialGroups = new ArrayList<>();
+    List<List<String>> concurrentGroups = new ArrayList<>();
+    for (List<String> group : graph.getIndependentGroups()) {
+      if (graph.hasCycle(group)) {
+        serialGroups.add(group);
+      } else {
+        concurrentGroups.add(group);
+      }
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Pre-instantiating "
+              + concurrentGroups.size()
+              + " independent groups of singletons concurrently, "
+              + serialGroups.size()
+              + " groups with circular dependencies serially");
+    }
+
+    Map<List<String>, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    RuntimeException failure = null;
+    setConcurrentSingletonCreation(true);
+    try {
+      for (List<String> group : concurrentGroups) {
+        try {
+          futures.put(
+              group,
+              CompletableFuture.runAsync(
+                  () -> {
+                    ClassLoader previousClassLoader =
+                        ClassUtils.overrideThreadContextClassLoader(classLoader);
+                    try {
+                      group.forEach(this::preInstantiateSingleton);
+                    } finally {
+                      if (previousClassLoader != null) {
+                        Thread.currentThread().setContextClassLoader(previousClassLoader);
+                      }
+                    }
+                  },
+                  executor));
+        } catch (RejectedExecutionException ex) {
+          serialGroups.add(group);
+        }
+      }
+      for (Map.Entry<List<String>, CompletableFuture<Void>> entry : futures.entrySet()) {
+        try {
+          entry.getValue().join();
+        } catch (CompletionException ex) {
+          Throwable cause = (ex.getCause() != null ? ex.getCause() : ex);
+          if (cause instanceof BeansException
+              && ((BeansException) cause).contains(BeanCurrentlyInCreationException.class)) {
+            // 线程间无法解析的循环引用：在调用线程中依次重试
+            if (logger.isDebugEnabled()) {
+              logger.debug(
+                  "Concurrent pre-instantiation failed for "
+                      + entry.getKey()
+                      + ", retrying serially",
+                  cause);
+            }
+            serialGroups.add(entry.getKey());
+          } else if (failure == null) {
+            failure =
+                (cause instanceof RuntimeException
+                    ? (RuntimeException) cause
+                    : new BeanCreationException(
+                        "Concurrent pre-instantiation failed for " + entry.getKey(), cause));
+          }
+        }
+      }
+    } finally {
+      setConcurrentSingletonCreation(false);
+    }
+    if (failure != null) {
+      throw failure;
+    }
+
+    if (!serialGroups.isEmpty()) {
+      Set<String> serialBeanNames = new HashSet<>();
+      serialGroups.forEach(serialBeanNames::addAll);
+      for (String beanName : beanNames) {
+        if (serialBeanNames.contains(beanName)) {
+          preInstantiateSingleton(beanName);
+        }
+      }
+    }
+  }
+
+  /**
+   * 收集bean的已知依赖关系：{@code depends-on}声明、工厂bean、构造参数和属性值中的显式bean引用，以及已注册的依赖bean。
+   *
+   * @param beanName bean的名称
+   * @return 依赖bean的规范名称
+   */
+  private Set<String> getKnownDependencies(String beanName) {
+    Set<String> dependencies = new LinkedHashSet<>();
+    if (containsBeanDefinition(beanName)) {
+      RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+      String[] dependsOn = bd.getDependsOn();
+      if (dependsOn != null) {
+        dependencies.addAll(Arrays.asList(dependsOn));
+      }
+      if (bd.getFactoryBeanName() != null) {
+        dependencies.add(bd.getFactoryBeanName());
+      }
+      if (bd.hasConstructorArgumentValues()) {
+        for (ValueHolder valueHolder :
+            bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+          addBeanReference(valueHolder.getValue(), dependencies);
+        }
+        for (ValueHolder valueHolder :
+            bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+          addBeanReference(valueHolder.getValue(), dependencies);
+        }
+      }
+      if (bd.hasPropertyValues()) {
+        for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+          addBeanReference(pv.getValue(), dependencies);
+        }
+      }
+    }
+    dependencies.addAll(Arrays.asList(getDependenciesForBean(beanName)));
+    Set<String> canonicalNames = new LinkedHashSet<>(dependencies.size());
+    for (String dependency : dependencies) {
+      canonicalNames.add(canonicalName(BeanFactoryUtils.transformedBeanName(dependency)));
+    }
+    return canonicalNames;
+  }
+
+  private static void addBeanReference(@Nullable Object value, Set<String> dependencies) {
+    if (value instanceof BeanReference) {
+      dependencies.add(((BeanReference) value).getBeanName());
+    }
   }
 
   // ---------------------------------------------------------------------
@@ -1067,10 +1284,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     destroySingleton(beanName);
 
     // Notify all post-processors that the specified bean definition has been reset.
-    for (BeanPostProcessor processor : getBeanPostProcessors()) {
-      if (processor instanceof MergedBeanDefinitionPostProcessor) {
-        ((MergedBeanDefinitionPostProcessor) processor).resetBeanDefinition(beanName);
-      }
+    for (MergedBeanDefinitionPostProcessor processor : getBeanPostProcessorCache().mergedDefinition) {
+      processor.resetBeanDefinition(beanName);
     }
 
     // Reset all bean definitions that have the given bean as parent (recursively).
@@ -2097,4 +2312,103 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
       return sources.toArray();
     }
   }
+
+  /**
+   * 单例预实例化使用的依赖图：将通过已知依赖关系相连的bean划分为彼此独立的子图，并检测子图中的循环依赖。
+   *
+   * @since 5.3
+   */
+  private class SingletonDependencyGraph {
+
+    /** 按注册顺序排列的待预实例化bean。 */
+    private final List<String> beanNames = new ArrayList<>();
+
+    /** 每个节点(包括被引用的bean)的直接依赖。 */
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+    /** 并查集：节点到其父节点。 */
+    private final Map<String, String> parents = new HashMap<>();
+
+    public void addBean(String beanName) {
+      this.beanNames.add(beanName);
+      Deque<String> toVisit = new ArrayDeque<>();
+      toVisit.add(beanName);
+      while (!toVisit.isEmpty()) {
+        String current = toVisit.poll();
+        if (this.dependencies.containsKey(current)) {
+          continue;
+        }
+        Set<String> currentDependencies = getKnownDependencies(current);
+        this.dependencies.put(current, currentDependencies);
+        this.parents.putIfAbsent(current, current);
+        for (String dependency : currentDependencies) {
+          this.parents.putIfAbsent(dependency, dependency);
+          union(current, dependency);
+          toVisit.add(dependency);
+        }
+      }
+    }
+
+    /** 返回彼此独立的bean分组，每组内部保持注册顺序。 */
+    public Collection<List<String>> getIndependentGroups() {
+      Map<String, List<String>> groups = new LinkedHashMap<>();
+      for (String beanName : this.beanNames) {
+        groups.computeIfAbsent(find(beanName), root -> new ArrayList<>()).add(beanName);
+      }
+      return groups.values();
+    }
+
+    /** 判断给定分组所在的子图是否包含有向环。 */
+    public boolean hasCycle(List<String> group) {
+      Set<String> visited = new HashSet<>();
+      Set<String> onPath = new HashSet<>();
+      for (String beanName : group) {
+        if (hasCycle(beanName, visited, onPath)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean hasCycle(String node, Set<String> visited, Set<String> onPath) {
+      if (onPath.contains(node)) {
+        return true;
+      }
+      if (!visited.add(node)) {
+        return false;
+      }
+      onPath.add(node);
+      for (String dependency : this.dependencies.getOrDefault(node, Collections.emptySet())) {
+        if (hasCycle(dependency, visited, onPath)) {
+          return true;
+        }
+      }
+      onPath.remove(node);
+      return false;
+    }
+
+    private String find(String node) {
+      String root = node;
+      String parent;
+      while (!(parent = this.parents.get(root)).equals(root)) {
+        root = parent;
+      }
+      // 路径压缩
+      String current = node;
+      while (!current.equals(root)) {
+        String next = this.parents.get(current);
+        this.parents.put(current, root);
+        current = next;
+      }
+      return root;
+    }
+
+    private void union(String node1, String node2) {
+      String root1 = find(node1);
+      String root2 = find(node2);
+      if (!root1.equals(root2)) {
+        this.parents.put(root2, root1);
+      }
+    }
+  }
 }
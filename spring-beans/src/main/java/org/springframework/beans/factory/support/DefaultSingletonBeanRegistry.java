@@ -16,15 +16,22 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,10 +39,12 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
+import org.springframework.util.StringValueResolver;
 
 /**
  * Generic registry for shared bean instances, implementing the
@@ -73,6 +82,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Maximum number of suppressed exceptions to preserve. */
 	private static final int SUPPRESSED_EXCEPTIONS_LIMIT = 100;
 
+	/** Interval for re-checking a blocked concurrent singleton creation for deadlocks. */
+	private static final long CREATION_LOCK_CHECK_INTERVAL = 50;
+
 
 	/** Cache of singleton objects: bean name to bean instance. */
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
@@ -113,6 +125,25 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Map between depending bean names: bean name to Set of bean names for the bean's dependencies. */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/** Whether singletons may currently be created by several threads concurrently. */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/** Per-bean creation locks used instead of the singleton mutex for concurrent creation. */
+	private final Map<String, SingletonCreationLock> singletonCreationLocks = new ConcurrentHashMap<>(64);
+
+	/** Threads blocked on a per-bean creation lock: thread to name of the awaited bean. */
+	private final Map<Thread, String> singletonCreationWaits = new ConcurrentHashMap<>(16);
+
+	/** Suppressed Exceptions per creating thread, for concurrent singleton creation. */
+	private final ThreadLocal<Set<Exception>> concurrentSuppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions in concurrent singleton creation");
+
+	/** Immutable lookup table for frozen singletons by name and alias, if published. */
+	private final AtomicReference<FrozenSingletonTable> frozenSingletonTable = new AtomicReference<>();
+
+	/** Number of invalidations of the frozen singleton table, to detect races with publication. */
+	private final AtomicInteger frozenSingletonInvalidations = new AtomicInteger();
+
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
@@ -179,7 +210,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	@Nullable
 	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		Object singletonObject = this.singletonObjects.get(beanName);
-		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName) &&
+				isSingletonCreationVisible(beanName)) {
 			synchronized (this.singletonObjects) {
 				singletonObject = this.earlySingletonObjects.get(beanName);
 				if (singletonObject == null && allowEarlyReference) {
@@ -205,6 +237,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
@@ -256,6 +291,318 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for concurrent singleton
+	 * creation: serializes the creation of each bean through a per-bean lock instead
+	 * of the singleton mutex, so that independent beans can be created in parallel.
+	 * <p>A thread that would otherwise deadlock with another creating thread resolves
+	 * the circular reference the way serial creation does, i.e. through an early
+	 * reference to the bean in creation, as soon as such a reference is available to
+	 * one of the threads involved. If none is, or if the thread would block while
+	 * holding the singleton mutex, it fails fast with a
+	 * {@link BeanCurrentlyInCreationException} instead, allowing the caller to retry
+	 * the creation of the affected beans serially.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to lazily create the singleton
+	 * with, if necessary
+	 * @return the registered singleton object
+	 * @since 5.3
+	 * @see #setConcurrentSingletonCreation
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+		SingletonCreationLock lock =
+				this.singletonCreationLocks.computeIfAbsent(beanName, name -> new SingletonCreationLock());
+		if (!acquireSingletonCreationLock(beanName, lock)) {
+			// Circular reference across creating threads: resolve it as serial creation would
+			singletonObject = getEarlySingletonReference(beanName);
+			if (singletonObject == null) {
+				throw new BeanCurrentlyInCreationException(beanName, "Singleton bean '" + beanName +
+						"' is currently in creation in another thread which in turn awaits a bean " +
+						"in creation in this thread: Is there an unresolvable circular reference?");
+			}
+			return singletonObject;
+		}
+		try {
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				if (this.singletonsCurrentlyInDestruction) {
+					throw new BeanCreationNotAllowedException(beanName,
+							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Creating shared instance of singleton bean '" + beanName + "' in thread [" +
+							Thread.currentThread().getName() + "]");
+				}
+				// Type checks create FactoryBean instances under the singleton mutex:
+				// do not register the bean as in creation in the middle of such a check.
+				synchronized (this.singletonObjects) {
+					beforeSingletonCreation(beanName);
+				}
+				boolean newSingleton = false;
+				boolean recordSuppressedExceptions = (this.concurrentSuppressedExceptions.get() == null);
+				if (recordSuppressedExceptions) {
+					this.concurrentSuppressedExceptions.set(new LinkedHashSet<>());
+				}
+				try {
+					singletonObject = singletonFactory.getObject();
+					newSingleton = true;
+				}
+				catch (IllegalStateException ex) {
+					singletonObject = this.singletonObjects.get(beanName);
+					if (singletonObject == null) {
+						throw ex;
+					}
+				}
+				catch (BeanCreationException ex) {
+					if (recordSuppressedExceptions) {
+						for (Exception suppressedException : this.concurrentSuppressedExceptions.get()) {
+							ex.addRelatedCause(suppressedException);
+						}
+					}
+					throw ex;
+				}
+				finally {
+					if (recordSuppressedExceptions) {
+						this.concurrentSuppressedExceptions.remove();
+					}
+					afterSingletonCreation(beanName);
+				}
+				if (newSingleton) {
+					addSingleton(beanName, singletonObject);
+				}
+			}
+			return singletonObject;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Acquire the creation lock for the given bean, failing fast where waiting
+	 * for it would block while holding the singleton mutex.
+	 * @return {@code true} if the lock has been acquired, or {@code false} if
+	 * awaiting it would deadlock and the circular reference can be resolved
+	 * through an early reference to the given bean
+	 */
+	private boolean acquireSingletonCreationLock(String beanName, SingletonCreationLock lock) {
+		if (lock.tryLock()) {
+			return true;
+		}
+		Thread currentThread = Thread.currentThread();
+		if (Thread.holdsLock(this.singletonObjects)) {
+			throw new BeanCurrentlyInCreationException(beanName, "Singleton bean '" + beanName +
+					"' is currently in creation in another thread, and cannot be awaited while holding the " +
+					"singleton mutex");
+		}
+		this.singletonCreationWaits.put(currentThread, beanName);
+		try {
+			while (!lock.tryLock(CREATION_LOCK_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+				List<String> awaitedBeans = getCreationDeadlock(lock, currentThread);
+				if (awaitedBeans != null) {
+					if (hasEarlySingletonReference(beanName)) {
+						return false;
+					}
+					if (awaitedBeans.stream().noneMatch(this::hasEarlySingletonReference)) {
+						throw new BeanCurrentlyInCreationException(beanName, "Singleton bean '" + beanName +
+								"' is currently in creation in another thread which in turn awaits a bean " +
+								"in creation in this thread: Is there an unresolvable circular reference?");
+					}
+					// Another thread in the cycle is going to proceed with an early reference
+				}
+			}
+			return true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(beanName, "Interrupted while waiting for concurrent creation", ex);
+		}
+		finally {
+			this.singletonCreationWaits.remove(currentThread);
+		}
+	}
+
+	/**
+	 * Determine whether awaiting the given lock would deadlock the current thread.
+	 * @return the beans awaited by the other threads in the cycle, or {@code null}
+	 * if there is no deadlock
+	 */
+	@Nullable
+	private List<String> getCreationDeadlock(SingletonCreationLock lock, Thread currentThread) {
+		List<String> awaitedBeans = new ArrayList<>();
+		Set<Thread> visited = new HashSet<>();
+		Thread owner = lock.getOwnerThread();
+		while (owner != null && visited.add(owner)) {
+			if (owner == currentThread) {
+				return awaitedBeans;
+			}
+			String awaitedBean = this.singletonCreationWaits.get(owner);
+			if (awaitedBean != null) {
+				awaitedBeans.add(awaitedBean);
+			}
+			SingletonCreationLock awaitedLock = (awaitedBean != null ? this.singletonCreationLocks.get(awaitedBean) : null);
+			owner = (awaitedLock != null ? awaitedLock.getOwnerThread() : null);
+		}
+		return null;
+	}
+
+	private boolean hasEarlySingletonReference(String beanName) {
+		synchronized (this.singletonObjects) {
+			return (this.singletonObjects.containsKey(beanName) || this.earlySingletonObjects.containsKey(beanName) ||
+					this.singletonFactories.containsKey(beanName));
+		}
+	}
+
+	/**
+	 * Obtain an early reference to the given singleton in creation in another
+	 * thread, regardless of {@link #isSingletonCreationVisible visibility}.
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		synchronized (this.singletonObjects) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = this.earlySingletonObjects.get(beanName);
+				if (singletonObject == null) {
+					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+					if (singletonFactory != null) {
+						singletonObject = singletonFactory.getObject();
+						this.earlySingletonObjects.put(beanName, singletonObject);
+						this.singletonFactories.remove(beanName);
+					}
+				}
+			}
+			return singletonObject;
+		}
+	}
+
+	/**
+	 * Return whether the current thread may see the given singleton bean
+	 * while it is in creation, i.e. obtain an early reference to it.
+	 * <p>With concurrent singleton creation, only the creating thread itself
+	 * may do so; other threads need to await the fully initialized instance.
+	 * @param beanName the name of the bean
+	 * @since 5.3
+	 */
+	protected boolean isSingletonCreationVisible(String beanName) {
+		if (!this.concurrentSingletonCreation) {
+			return true;
+		}
+		SingletonCreationLock lock = this.singletonCreationLocks.get(beanName);
+		return (lock == null || !lock.isLocked() || lock.isHeldByCurrentThread());
+	}
+
+	/**
+	 * Switch concurrent singleton creation on or off.
+	 * <p>While switched on, singletons are created under per-bean locks rather
+	 * than under the {@link #getSingletonMutex() singleton mutex}, and early
+	 * references to a singleton in creation are only exposed to its creating
+	 * thread. Only to be switched while no singleton creation is in progress.
+	 * @param concurrentSingletonCreation whether to allow concurrent creation
+	 * @since 5.3
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+		if (!concurrentSingletonCreation) {
+			this.singletonCreationLocks.clear();
+		}
+	}
+
+	/**
+	 * Return whether concurrent singleton creation is currently switched on.
+	 * @since 5.3
+	 * @see #setConcurrentSingletonCreation
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
+	/**
+	 * Publish an immutable lookup table for all currently registered singletons
+	 * that match the given filter, keyed by bean name as well as by alias.
+	 * <p>The table serves {@link #getFrozenSingleton} without any locking and
+	 * is discarded as soon as a singleton gets removed or the aliases change;
+	 * it is not refreshed for singletons registered afterwards.
+	 * @param filter which singleton instances to include
+	 * @since 5.3
+	 */
+	protected void publishFrozenSingletons(Predicate<Object> filter) {
+		int invalidations = this.frozenSingletonInvalidations.get();
+		Map<String, Object> singletons = new LinkedHashMap<>();
+		synchronized (this.singletonObjects) {
+			if (this.singletonsCurrentlyInDestruction) {
+				return;
+			}
+			this.singletonObjects.forEach((beanName, singletonObject) -> {
+				if (filter.test(singletonObject)) {
+					singletons.put(beanName, singletonObject);
+				}
+			});
+		}
+		Map<String, Object> entries = new HashMap<>(singletons);
+		singletons.forEach((beanName, singletonObject) -> {
+			for (String alias : super.getAliases(beanName)) {
+				entries.putIfAbsent(alias, singletonObject);
+			}
+		});
+		FrozenSingletonTable table = FrozenSingletonTable.of(entries);
+		this.frozenSingletonTable.set(table);
+		if (this.frozenSingletonInvalidations.get() != invalidations) {
+			this.frozenSingletonTable.compareAndSet(table, null);
+		}
+		else if (logger.isDebugEnabled()) {
+			logger.debug("Published " + (table.isPerfect() ? "perfectly hashed " : "") +
+					"lookup table for " + singletons.size() + " frozen singletons and " +
+					(entries.size() - singletons.size()) + " aliases");
+		}
+	}
+
+	/**
+	 * Return the singleton registered under the given bean name or alias in the
+	 * currently {@linkplain #publishFrozenSingletons published} lookup table, if any.
+	 * @param name the bean name or alias to look for
+	 * @return the registered singleton object, or {@code null} if none found
+	 * @since 5.3
+	 */
+	@Nullable
+	protected Object getFrozenSingleton(String name) {
+		FrozenSingletonTable table = this.frozenSingletonTable.get();
+		return (table != null ? table.get(name) : null);
+	}
+
+	/**
+	 * Discard the published lookup table for frozen singletons, if any.
+	 * @since 5.3
+	 * @see #publishFrozenSingletons
+	 */
+	protected void invalidateFrozenSingletons() {
+		this.frozenSingletonInvalidations.incrementAndGet();
+		this.frozenSingletonTable.set(null);
+	}
+
+	@Override
+	public void registerAlias(String name, String alias) {
+		super.registerAlias(name, alias);
+		invalidateFrozenSingletons();
+	}
+
+	@Override
+	public void removeAlias(String alias) {
+		super.removeAlias(alias);
+		invalidateFrozenSingletons();
+	}
+
+	@Override
+	public void resolveAliases(StringValueResolver valueResolver) {
+		super.resolveAliases(valueResolver);
+		invalidateFrozenSingletons();
+	}
+
 	/**
 	 * Register an exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -266,6 +613,13 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
+		Set<Exception> concurrentSuppressedExceptions = this.concurrentSuppressedExceptions.get();
+		if (concurrentSuppressedExceptions != null) {
+			if (concurrentSuppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+				concurrentSuppressedExceptions.add(ex);
+			}
+			return;
+		}
 		synchronized (this.singletonObjects) {
 			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
 				this.suppressedExceptions.add(ex);
@@ -281,6 +635,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void removeSingleton(String beanName) {
 		synchronized (this.singletonObjects) {
+			invalidateFrozenSingletons();
 			this.singletonObjects.remove(beanName);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -502,6 +857,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 		synchronized (this.singletonObjects) {
 			this.singletonsCurrentlyInDestruction = true;
+			invalidateFrozenSingletons();
 		}
 
 		String[] disposableBeanNames;
@@ -525,6 +881,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void clearSingletonCache() {
 		synchronized (this.singletonObjects) {
+			invalidateFrozenSingletons();
 			this.singletonObjects.clear();
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
@@ -625,4 +982,18 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Per-bean lock for concurrent singleton creation, exposing its owner
+	 * thread for deadlock detection.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonCreationLock extends ReentrantLock {
+
+		@Nullable
+		Thread getOwnerThread() {
+			return getOwner();
+		}
+	}
+
 }
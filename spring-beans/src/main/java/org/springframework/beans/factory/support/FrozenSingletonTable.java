@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable open-addressing table from bean names and aliases to fully
+ * initialized singleton instances, published once the configuration of a
+ * bean factory is frozen. Lookups neither lock nor allocate.
+ *
+ * <p>On construction, a few table sizes and hash multipliers are tried in
+ * order to find a collision-free ("perfect") layout in which every lookup
+ * is resolved with a single probe. If none is found, the layout with the
+ * shortest maximum probe sequence is used.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see DefaultSingletonBeanRegistry#publishFrozenSingletons
+ */
+final class FrozenSingletonTable {
+
+	private static final int[] MULTIPLIERS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1};
+
+	private static final int MAX_SIZE_FACTOR = 8;
+
+
+	private final String[] names;
+
+	private final Object[] instances;
+
+	private final int multiplier;
+
+	private final int shift;
+
+	private final int mask;
+
+	private final int maxProbes;
+
+
+	private FrozenSingletonTable(String[] names, Object[] instances, int multiplier, int shift, int maxProbes) {
+		this.names = names;
+		this.instances = instances;
+		this.multiplier = multiplier;
+		this.shift = shift;
+		this.mask = names.length - 1;
+		this.maxProbes = maxProbes;
+	}
+
+
+	/**
+	 * Return the singleton registered under the given name or alias, if any.
+	 */
+	@Nullable
+	public Object get(String name) {
+		int index = (name.hashCode() * this.multiplier) >>> this.shift;
+		for (int probe = 0; probe < this.maxProbes; probe++) {
+			String candidate = this.names[index];
+			if (candidate == null) {
+				return null;
+			}
+			if (candidate == name || candidate.equals(name)) {
+				return this.instances[index];
+			}
+			index = (index + 1) & this.mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Return the number of names and aliases in this table.
+	 */
+	public int size() {
+		int size = 0;
+		for (String name : this.names) {
+			if (name != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Return whether every lookup is resolved with a single probe.
+	 */
+	public boolean isPerfect() {
+		return (this.maxProbes <= 1);
+	}
+
+
+	/**
+	 * Build a table for the given names and aliases.
+	 * @param singletons the singleton instances by name or alias
+	 */
+	static FrozenSingletonTable of(Map<String, Object> singletons) {
+		String[] keys = singletons.keySet().toArray(new String[0]);
+		int minSize = tableSizeFor(keys.length * 2);
+		int bestSize = minSize;
+		int bestMultiplier = MULTIPLIERS[0];
+		int bestMaxProbes = Integer.MAX_VALUE;
+		search:
+		for (int size = minSize; size <= minSize * MAX_SIZE_FACTOR / 2; size <<= 1) {
+			for (int multiplier : MULTIPLIERS) {
+				int maxProbes = getMaxProbes(keys, size, multiplier);
+				if (maxProbes < bestMaxProbes) {
+					bestSize = size;
+					bestMultiplier = multiplier;
+					bestMaxProbes = maxProbes;
+					if (maxProbes <= 1) {
+						break search;
+					}
+				}
+			}
+		}
+		int shift = Integer.SIZE - Integer.numberOfTrailingZeros(bestSize);
+		String[] names = new String[bestSize];
+		Object[] instances = new Object[bestSize];
+		for (String key : keys) {
+			int index = (key.hashCode() * bestMultiplier) >>> shift;
+			while (names[index] != null) {
+				index = (index + 1) & (bestSize - 1);
+			}
+			names[index] = key;
+			instances[index] = singletons.get(key);
+		}
+		return new FrozenSingletonTable(names, instances, bestMultiplier, shift, Math.max(bestMaxProbes, 1));
+	}
+
+	private static int getMaxProbes(String[] keys, int size, int multiplier) {
+		int shift = Integer.SIZE - Integer.numberOfTrailingZeros(size);
+		boolean[] used = new boolean[size];
+		int maxProbes = 0;
+		for (String key : keys) {
+			int index = (key.hashCode() * multiplier) >>> shift;
+			int probes = 1;
+			while (used[index]) {
+				index = (index + 1) & (size - 1);
+				probes++;
+			}
+			used[index] = true;
+			maxProbes = Math.max(maxProbes, probes);
+		}
+		return maxProbes;
+	}
+
+	private static int tableSizeFor(int capacity) {
+		int size = 2;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		return size;
+	}
+
+}
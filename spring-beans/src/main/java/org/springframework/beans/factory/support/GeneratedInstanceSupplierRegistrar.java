@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
+
+/**
+ * Base class for the {@link BeanFactoryPostProcessor} classes generated by
+ * {@link InstanceSupplierCodeGenerator}: registers plain Java instance suppliers
+ * on the matching bean definitions, so that the bean factory creates those
+ * beans through generated code instead of reflective constructor and factory
+ * method resolution.
+ *
+ * <p>Every supplier is registered along with the signature of the bean definition
+ * it has been generated for. A bean definition whose bean class, factory bean or
+ * factory method has changed since the code was generated is left untouched and
+ * will be instantiated reflectively as usual.
+ *
+ * <p>Runs with lowest precedence, i.e. after all bean definitions have been
+ * registered, in particular after {@code ConfigurationClassPostProcessor}.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see InstanceSupplierCodeGenerator
+ * @see AbstractBeanDefinition#setInstanceSupplier
+ */
+public abstract class GeneratedInstanceSupplierRegistrar implements BeanFactoryPostProcessor, Ordered {
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private int order = Ordered.LOWEST_PRECEDENCE;
+
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return this.order;
+	}
+
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+		registerInstanceSuppliers(beanFactory);
+	}
+
+	/**
+	 * Register the generated instance suppliers with the given bean factory,
+	 * typically through {@link #registerInstanceSupplier} calls.
+	 * @param beanFactory the bean factory to register instance suppliers with
+	 */
+	protected abstract void registerInstanceSuppliers(ConfigurableListableBeanFactory beanFactory);
+
+	/**
+	 * Register the given instance supplier for the specified bean,
+	 * provided that its bean definition still matches the given signature.
+	 * @param beanFactory the bean factory that holds the bean definition
+	 * @param beanName the name of the bean
+	 * @param signature the signature of the bean definition the supplier
+	 * has been generated for
+	 * @param instanceSupplier the generated instance supplier
+	 * @return whether the instance supplier has been registered
+	 */
+	protected boolean registerInstanceSupplier(ConfigurableListableBeanFactory beanFactory,
+			String beanName, String signature, Supplier<?> instanceSupplier) {
+
+		if (!beanFactory.containsBeanDefinition(beanName)) {
+			return false;
+		}
+		BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+		if (!(bd instanceof AbstractBeanDefinition) || ((AbstractBeanDefinition) bd).getInstanceSupplier() != null) {
+			return false;
+		}
+		if (!signature.equals(getSignature(bd))) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring generated instance supplier for bean '" + beanName +
+						"': bean definition does not match signature [" + signature + "] anymore");
+			}
+			return false;
+		}
+		((AbstractBeanDefinition) bd).setInstanceSupplier(instanceSupplier);
+		return true;
+	}
+
+
+	/**
+	 * Build the signature of the given bean definition: its bean class name
+	 * for constructor-based definitions, and the factory bean name (or class
+	 * name, for static factory methods) plus the factory method name otherwise.
+	 * @param bd the bean definition
+	 * @return the signature, or {@code null} if the bean definition does not
+	 * specify enough information to compute one
+	 */
+	@Nullable
+	static String getSignature(BeanDefinition bd) {
+		String factoryMethodName = bd.getFactoryMethodName();
+		if (factoryMethodName != null) {
+			String factoryName = (bd.getFactoryBeanName() != null ? bd.getFactoryBeanName() : bd.getBeanClassName());
+			return (factoryName != null ? factoryName + "#" + factoryMethodName : null);
+		}
+		return bd.getBeanClassName();
+	}
+
+}
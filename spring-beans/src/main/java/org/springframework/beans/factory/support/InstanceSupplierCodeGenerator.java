@@ -0,0 +1,331 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Build-time generator for plain Java instance suppliers: inspects the
+ * constructors and factory methods that a {@link DefaultListableBeanFactory}
+ * has resolved while creating its beans, and generates the source code of a
+ * {@link GeneratedInstanceSupplierRegistrar} that instantiates the same beans
+ * through direct constructor and factory method invocations.
+ *
+ * <p>Intended to be run against a fully refreshed bean factory, after all bean
+ * definitions have been registered (including the ones contributed by
+ * {@code ConfigurationClassPostProcessor}) and the non-lazy singletons have been
+ * instantiated. The generated class can then be registered as a regular
+ * {@code BeanFactoryPostProcessor} with the application context on subsequent
+ * runs, replacing reflective constructor resolution and argument autowiring
+ * for the covered beans; this matters for startup time as well as for the
+ * repeated creation of prototype beans.
+ *
+ * <p>Code is only generated for beans whose creation can be expressed in plain,
+ * accessible Java code: classes, constructors and factory methods that are
+ * public or declared in the package of the generated class, no explicit
+ * constructor argument values, no method overrides, and arguments that have
+ * each been autowired with a single, identifiable bean.
+ * All other beans are reported by {@link #getSkippedBeanNames()} and keep
+ * being instantiated reflectively.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see GeneratedInstanceSupplierRegistrar
+ */
+public class InstanceSupplierCodeGenerator {
+
+	private static final String LAZY_ANNOTATION_NAME = "org.springframework.context.annotation.Lazy";
+
+	private static final String INDENT = "\t";
+
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final Set<String> generatedBeanNames = new LinkedHashSet<>();
+
+	private final Set<String> skippedBeanNames = new LinkedHashSet<>();
+
+
+	/**
+	 * Create a new {@code InstanceSupplierCodeGenerator} for the given bean factory.
+	 * @param beanFactory the refreshed bean factory to generate instance suppliers for
+	 */
+	public InstanceSupplierCodeGenerator(DefaultListableBeanFactory beanFactory) {
+		Assert.notNull(beanFactory, "BeanFactory must not be null");
+		this.beanFactory = beanFactory;
+	}
+
+
+	/**
+	 * Generate the source code of a {@link GeneratedInstanceSupplierRegistrar}
+	 * subclass with the given fully-qualified name.
+	 * @param className the fully-qualified name of the class to generate
+	 * @return the Java source code
+	 */
+	public String generate(String className) {
+		Assert.hasText(className, "Class name must not be empty");
+		this.generatedBeanNames.clear();
+		this.skippedBeanNames.clear();
+
+		String packageName = ClassUtils.getPackageName(className);
+		List<String> registrations = new ArrayList<>();
+		for (String beanName : this.beanFactory.getBeanDefinitionNames()) {
+			String registration = generateRegistration(beanName, packageName);
+			if (registration != null) {
+				registrations.add(registration);
+				this.generatedBeanNames.add(beanName);
+			}
+			else {
+				this.skippedBeanNames.add(beanName);
+			}
+		}
+
+		String simpleName = StringUtils.unqualify(className);
+		StringBuilder code = new StringBuilder();
+		code.append("/*\n * Generated by ").append(getClass().getSimpleName()).append(" - do not edit.\n */\n\n");
+		if (!packageName.isEmpty()) {
+			code.append("package ").append(packageName).append(";\n\n");
+		}
+		code.append("import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;\n");
+		code.append("import org.springframework.beans.factory.support.GeneratedInstanceSupplierRegistrar;\n\n");
+		code.append("public class ").append(simpleName).append(" extends GeneratedInstanceSupplierRegistrar {\n\n");
+		code.append(INDENT).append("@Override\n");
+		code.append(INDENT).append("protected void registerInstanceSuppliers(ConfigurableListableBeanFactory beanFactory) {\n");
+		for (String registration : registrations) {
+			code.append(registration);
+		}
+		code.append(INDENT).append("}\n\n}\n");
+		return code.toString();
+	}
+
+	/**
+	 * Generate the source code of a {@link GeneratedInstanceSupplierRegistrar}
+	 * subclass with the given fully-qualified name, and write it to the
+	 * corresponding package directory below the given source directory.
+	 * @param className the fully-qualified name of the class to generate
+	 * @param sourceDirectory the root directory for generated sources
+	 * @return the path of the written source file
+	 * @throws IOException if the source file could not be written
+	 */
+	public Path generate(String className, Path sourceDirectory) throws IOException {
+		String code = generate(className);
+		Path sourceFile = sourceDirectory.resolve(ClassUtils.convertClassNameToResourcePath(className) + ".java");
+		Files.createDirectories(sourceFile.getParent());
+		Files.write(sourceFile, code.getBytes(StandardCharsets.UTF_8));
+		return sourceFile;
+	}
+
+	/**
+	 * Return the names of the beans covered by the last generation run.
+	 */
+	public Set<String> getGeneratedBeanNames() {
+		return Collections.unmodifiableSet(this.generatedBeanNames);
+	}
+
+	/**
+	 * Return the names of the beans that could not be expressed in generated
+	 * code in the last generation run, and therefore remain reflective.
+	 */
+	public Set<String> getSkippedBeanNames() {
+		return Collections.unmodifiableSet(this.skippedBeanNames);
+	}
+
+
+	@Nullable
+	private String generateRegistration(String beanName, String packageName) {
+		BeanDefinition bd = this.beanFactory.getBeanDefinition(beanName);
+		String signature = GeneratedInstanceSupplierRegistrar.getSignature(bd);
+		if (signature == null || bd.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+			return null;
+		}
+		RootBeanDefinition mbd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+		if (mbd.isAbstract() || mbd.getInstanceSupplier() != null || mbd.hasMethodOverrides() ||
+				mbd.hasConstructorArgumentValues()) {
+			return null;
+		}
+		Executable executable;
+		synchronized (mbd.constructorArgumentLock) {
+			executable = mbd.resolvedConstructorOrFactoryMethod;
+		}
+		String instantiation = null;
+		if (executable instanceof Constructor) {
+			instantiation = generateConstructorInvocation(beanName, (Constructor<?>) executable, packageName);
+		}
+		else if (executable instanceof Method) {
+			instantiation = generateFactoryMethodInvocation(beanName, mbd, (Method) executable, packageName);
+		}
+		if (instantiation == null) {
+			return null;
+		}
+		return INDENT + INDENT + "registerInstanceSupplier(beanFactory, " + literal(beanName) + ", " +
+				literal(signature) + ",\n" + INDENT + INDENT + INDENT + INDENT + "() -> " + instantiation + ");\n";
+	}
+
+	@Nullable
+	private String generateConstructorInvocation(String beanName, Constructor<?> ctor, String packageName) {
+		Class<?> beanClass = ctor.getDeclaringClass();
+		String beanClassName = getAccessibleName(beanClass, packageName);
+		if (beanClassName == null || !isAccessible(ctor.getModifiers(), beanClass, packageName) ||
+				Modifier.isAbstract(beanClass.getModifiers())) {
+			return null;
+		}
+		String arguments = generateArguments(beanName, ctor, packageName);
+		return (arguments != null ? "new " + beanClassName + "(" + arguments + ")" : null);
+	}
+
+	@Nullable
+	private String generateFactoryMethodInvocation(
+			String beanName, RootBeanDefinition mbd, Method factoryMethod, String packageName) {
+
+		Class<?> declaringClass = factoryMethod.getDeclaringClass();
+		String declaringClassName = getAccessibleName(declaringClass, packageName);
+		if (declaringClassName == null || !isAccessible(factoryMethod.getModifiers(), declaringClass, packageName)) {
+			return null;
+		}
+		String arguments = generateArguments(beanName, factoryMethod, packageName);
+		if (arguments == null) {
+			return null;
+		}
+		if (Modifier.isStatic(factoryMethod.getModifiers())) {
+			return declaringClassName + "." + factoryMethod.getName() + "(" + arguments + ")";
+		}
+		String factoryBeanName = mbd.getFactoryBeanName();
+		if (factoryBeanName == null) {
+			return null;
+		}
+		// A CGLIB-enhanced configuration class intercepts its factory methods and
+		// redirects them to the container, which would recurse into the supplier.
+		Class<?> factoryBeanType = this.beanFactory.getType(factoryBeanName);
+		if (factoryBeanType == null || factoryBeanType.getName().contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+			return null;
+		}
+		return "beanFactory.getBean(" + literal(factoryBeanName) + ", " + declaringClassName + ".class)." +
+				factoryMethod.getName() + "(" + arguments + ")";
+	}
+
+	@Nullable
+	private String generateArguments(String beanName, Executable executable, String packageName) {
+		Class<?>[] parameterTypes = executable.getParameterTypes();
+		if (parameterTypes.length == 0) {
+			return "";
+		}
+		Annotation[][] parameterAnnotations = executable.getParameterAnnotations();
+		String[] dependencies = this.beanFactory.getDependenciesForBean(beanName);
+		StringBuilder arguments = new StringBuilder();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Class<?> parameterType = parameterTypes[i];
+			String parameterTypeName = getAccessibleName(parameterType, packageName);
+			if (parameterTypeName == null || !isSingleBeanType(parameterType) ||
+					isLazy(parameterAnnotations.length == parameterTypes.length ? parameterAnnotations[i] : null)) {
+				return null;
+			}
+			String dependency = findUniqueDependency(dependencies, parameterType);
+			if (dependency == null) {
+				return null;
+			}
+			if (i > 0) {
+				arguments.append(", ");
+			}
+			arguments.append("beanFactory.getBean(").append(literal(dependency)).append(", ")
+					.append(parameterTypeName).append(".class)");
+		}
+		return arguments.toString();
+	}
+
+	@Nullable
+	private String findUniqueDependency(String[] dependencies, Class<?> parameterType) {
+		String match = null;
+		for (String dependency : dependencies) {
+			Class<?> dependencyType = this.beanFactory.getType(dependency);
+			if (dependencyType != null && ClassUtils.isAssignable(parameterType, dependencyType)) {
+				if (match != null) {
+					return null;
+				}
+				match = dependency;
+			}
+		}
+		return match;
+	}
+
+	private static boolean isSingleBeanType(Class<?> type) {
+		return !(type.isPrimitive() || type.isArray() || Collection.class.isAssignableFrom(type) ||
+				Map.class.isAssignableFrom(type) || Optional.class == type ||
+				ObjectFactory.class.isAssignableFrom(type) || Object.class == type || BeanUtils.isSimpleValueType(type));
+	}
+
+	private static boolean isLazy(@Nullable Annotation[] annotations) {
+		if (annotations != null) {
+			for (Annotation annotation : annotations) {
+				if (LAZY_ANNOTATION_NAME.equals(annotation.annotationType().getName())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the canonical name of the given type if it can be referenced from
+	 * generated code in the given package, or {@code null} otherwise.
+	 */
+	@Nullable
+	private static String getAccessibleName(Class<?> type, String packageName) {
+		Class<?> current = type;
+		while (current != null) {
+			if (!isAccessible(current.getModifiers(), current, packageName) ||
+					(current.isMemberClass() && !Modifier.isStatic(current.getModifiers()))) {
+				return null;
+			}
+			current = current.getDeclaringClass();
+		}
+		return type.getCanonicalName();
+	}
+
+	private static boolean isAccessible(int modifiers, Class<?> declaringClass, String packageName) {
+		return (Modifier.isPublic(modifiers) ||
+				(!Modifier.isPrivate(modifiers) && packageName.equals(ClassUtils.getPackageName(declaringClass))));
+	}
+
+	private static String literal(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the pre-filtered post-processors of {@link AbstractBeanFactory}.
+ *
+ * @author Fu Dong
+ */
+class BeanPostProcessorCacheTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Test
+	void postProcessorsGroupedByType() {
+		SmartInstantiationAwareBeanPostProcessor smart = new SmartInstantiationAwareBeanPostProcessor() {};
+		DestructionAwareBeanPostProcessor destructionAware = (bean, beanName) -> {};
+		BeanPostProcessor plain = new BeanPostProcessor() {};
+		this.beanFactory.addBeanPostProcessor(smart);
+		this.beanFactory.addBeanPostProcessor(destructionAware);
+		this.beanFactory.addBeanPostProcessor(plain);
+
+		AbstractBeanFactory.BeanPostProcessorCache bpCache = this.beanFactory.getBeanPostProcessorCache();
+		assertThat(bpCache.all).containsExactly(smart, destructionAware, plain);
+		assertThat(bpCache.instantiationAware).containsExactly(smart);
+		assertThat(bpCache.smartInstantiationAware).containsExactly(smart);
+		assertThat(bpCache.destructionAware).containsExactly(destructionAware);
+		assertThat(bpCache.mergedDefinition).isEmpty();
+		assertThat(this.beanFactory.getBeanPostProcessorCache()).isSameAs(bpCache);
+		assertThat(this.beanFactory.getBeanPostProcessorCache(String.class)).isSameAs(bpCache);
+		assertThat(this.beanFactory.hasInstantiationAwareBeanPostProcessors()).isTrue();
+		assertThat(this.beanFactory.hasDestructionAwareBeanPostProcessors()).isTrue();
+	}
+
+	@Test
+	void cacheResetOnModification() {
+		BeanPostProcessor first = new SmartInstantiationAwareBeanPostProcessor() {};
+		BeanPostProcessor second = new BeanPostProcessor() {};
+		this.beanFactory.addBeanPostProcessor(first);
+		AbstractBeanFactory.BeanPostProcessorCache bpCache = this.beanFactory.getBeanPostProcessorCache();
+
+		this.beanFactory.addBeanPostProcessor(second);
+		assertThat(this.beanFactory.getBeanPostProcessorCache()).isNotSameAs(bpCache);
+		assertThat(this.beanFactory.getBeanPostProcessorCache().all).containsExactly(first, second);
+
+		this.beanFactory.addBeanPostProcessor(first);
+		assertThat(this.beanFactory.getBeanPostProcessorCache().all).containsExactly(second, first);
+
+		this.beanFactory.getBeanPostProcessors().remove(first);
+		assertThat(this.beanFactory.getBeanPostProcessorCache().all).containsExactly(second);
+		assertThat(this.beanFactory.hasInstantiationAwareBeanPostProcessors()).isFalse();
+
+		this.beanFactory.getBeanPostProcessors().clear();
+		assertThat(this.beanFactory.getBeanPostProcessorCache().all).isEmpty();
+	}
+
+	@Test
+	void postProcessorSkippedForInapplicableBeanClass() {
+		RecordingPostProcessor recorder = new RecordingPostProcessor();
+		this.beanFactory.addBeanPostProcessor(recorder);
+		this.beanFactory.registerBeanDefinition("tagged", new RootBeanDefinition(TaggedBean.class));
+		this.beanFactory.registerBeanDefinition("plain", new RootBeanDefinition(PlainBean.class));
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(recorder.beanNames).containsExactly("tagged");
+		assertThat(this.beanFactory.getBeanPostProcessorCache(PlainBean.class).all).isEmpty();
+		assertThat(this.beanFactory.getBeanPostProcessorCache(TaggedBean.class).all).containsExactly(recorder);
+		assertThat(this.beanFactory.getBeanPostProcessorCache(TaggedBean.class))
+				.isSameAs(this.beanFactory.getBeanPostProcessorCache());
+	}
+
+
+	interface Tagged {
+	}
+
+
+	static class TaggedBean implements Tagged {
+	}
+
+
+	static class PlainBean {
+	}
+
+
+	static class RecordingPostProcessor implements BeanPostProcessor {
+
+		final List<String> beanNames = new ArrayList<>();
+
+		@Override
+		public boolean isApplicableTo(Class<?> beanClass) {
+			return Tagged.class.isAssignableFrom(beanClass);
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) {
+			this.beanNames.add(beanName);
+			return bean;
+		}
+	}
+
+}
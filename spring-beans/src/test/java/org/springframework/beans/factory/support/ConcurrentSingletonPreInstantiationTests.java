@@ -0,0 +1,257 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.OverridingClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for concurrent singleton pre-instantiation via
+ * {@link DefaultListableBeanFactory#setBootstrapExecutor}.
+ *
+ * @author Fu Dong
+ */
+class ConcurrentSingletonPreInstantiationTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@AfterEach
+	void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void independentSingletonsWithDependencies() {
+		for (int i = 0; i < 20; i++) {
+			RootBeanDefinition spouse = new RootBeanDefinition(TestBean.class);
+			this.beanFactory.registerBeanDefinition("spouse" + i, spouse);
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse" + i));
+			this.beanFactory.registerBeanDefinition("tb" + i, bd);
+		}
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.getSingletonCount()).isEqualTo(40);
+		for (int i = 0; i < 20; i++) {
+			TestBean tb = this.beanFactory.getBean("tb" + i, TestBean.class);
+			assertThat(tb.getSpouse()).isSameAs(this.beanFactory.getBean("spouse" + i));
+		}
+		assertThat(this.beanFactory.isConcurrentSingletonCreation()).isFalse();
+	}
+
+	@Test
+	void circularReferencesCreatedSerially() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("tb2"));
+		this.beanFactory.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("tb1"));
+		this.beanFactory.registerBeanDefinition("tb2", bd2);
+		this.beanFactory.registerBeanDefinition("other", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		TestBean tb1 = this.beanFactory.getBean("tb1", TestBean.class);
+		TestBean tb2 = this.beanFactory.getBean("tb2", TestBean.class);
+		assertThat(tb1.getSpouse()).isSameAs(tb2);
+		assertThat(tb2.getSpouse()).isSameAs(tb1);
+		assertThat(this.beanFactory.containsSingleton("other")).isTrue();
+	}
+
+	@Test
+	void rejectedTasksCreatedSerially() {
+		this.beanFactory.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.setBootstrapExecutor(task -> {
+			throw new RejectedExecutionException();
+		});
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.containsSingleton("tb1")).isTrue();
+		assertThat(this.beanFactory.containsSingleton("tb2")).isTrue();
+	}
+
+	@Test
+	void creationFailureRethrownFromCallingThread() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("failing", new RootBeanDefinition(FailingBean.class));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("failing"));
+		assertThat(this.beanFactory.isConcurrentSingletonCreation()).isFalse();
+	}
+
+	@Test
+	void circularReferenceAcrossGroupsInitializedOnce() {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(CyclicBeanA.class);
+		bd1.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_TYPE);
+		bd1.getConstructorArgumentValues().addGenericArgumentValue(barrier);
+		this.beanFactory.registerBeanDefinition("a", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(CyclicBeanB.class);
+		bd2.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_TYPE);
+		bd2.getConstructorArgumentValues().addGenericArgumentValue(barrier);
+		this.beanFactory.registerBeanDefinition("b", bd2);
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		CyclicBeanA a = this.beanFactory.getBean(CyclicBeanA.class);
+		CyclicBeanB b = this.beanFactory.getBean(CyclicBeanB.class);
+		assertThat(a.getB()).isSameAs(b);
+		assertThat(b.getA()).isSameAs(a);
+		assertThat(CyclicBeanA.instances.get()).isEqualTo(1);
+		assertThat(CyclicBeanB.instances.get()).isEqualTo(1);
+		assertThat(a.initCount.get()).isEqualTo(1);
+		assertThat(b.initCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void contextClassLoaderPropagatedToWorkerThreads() {
+		this.beanFactory.registerBeanDefinition("tb1", new RootBeanDefinition(ClassLoaderRecordingBean.class));
+		this.beanFactory.registerBeanDefinition("tb2", new RootBeanDefinition(ClassLoaderRecordingBean.class));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		ClassLoader classLoader = new OverridingClassLoader(getClass().getClassLoader());
+		ClassLoader previous = Thread.currentThread().getContextClassLoader();
+		Thread.currentThread().setContextClassLoader(classLoader);
+		try {
+			this.beanFactory.preInstantiateSingletons();
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader(previous);
+		}
+
+		assertThat(this.beanFactory.getBean("tb1", ClassLoaderRecordingBean.class).classLoader).isSameAs(classLoader);
+		assertThat(this.beanFactory.getBean("tb2", ClassLoaderRecordingBean.class).classLoader).isSameAs(classLoader);
+	}
+
+	@Test
+	void suppressedExceptionsRecordedForConcurrentCreation() {
+		RootBeanDefinition bd = new RootBeanDefinition(UnsatisfiableBean.class);
+		bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("unsatisfiable", bd);
+		this.beanFactory.setConcurrentSingletonCreation(true);
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> this.beanFactory.getBean("unsatisfiable"))
+				.satisfies(ex -> assertThat(ex.getRelatedCauses()).hasSize(1));
+	}
+
+
+	public static class FailingBean {
+
+		public FailingBean() {
+			throw new IllegalStateException("Expected failure");
+		}
+	}
+
+
+	public static class CyclicBeanA implements InitializingBean {
+
+		static final AtomicInteger instances = new AtomicInteger();
+
+		final AtomicInteger initCount = new AtomicInteger();
+
+		private CyclicBeanB b;
+
+		public CyclicBeanA(CyclicBarrier barrier) throws Exception {
+			instances.incrementAndGet();
+			// Make sure that both beans are in creation at the same time
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+
+		public void setB(CyclicBeanB b) {
+			this.b = b;
+		}
+
+		public CyclicBeanB getB() {
+			return this.b;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			this.initCount.incrementAndGet();
+		}
+	}
+
+
+	public static class CyclicBeanB implements InitializingBean {
+
+		static final AtomicInteger instances = new AtomicInteger();
+
+		final AtomicInteger initCount = new AtomicInteger();
+
+		private CyclicBeanA a;
+
+		public CyclicBeanB(CyclicBarrier barrier) throws Exception {
+			instances.incrementAndGet();
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+
+		public void setA(CyclicBeanA a) {
+			this.a = a;
+		}
+
+		public CyclicBeanA getA() {
+			return this.a;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			this.initCount.incrementAndGet();
+		}
+	}
+
+
+	public static class ClassLoaderRecordingBean {
+
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+	}
+
+
+	public static class UnsatisfiableBean {
+
+		public UnsatisfiableBean(Runnable runnable) {
+		}
+
+		public UnsatisfiableBean(Runnable runnable, Thread thread) {
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanNotOfRequiredTypeException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.testfixture.beans.DummyFactory;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for the frozen singleton lookup table of {@link DefaultListableBeanFactory}.
+ *
+ * @author Fu Dong
+ */
+class FrozenSingletonLookupTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Test
+	void publishedAfterPreInstantiationOfFrozenConfiguration() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerAlias("tb", "alias");
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.getFrozenSingleton("tb")).isNull();
+
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+		Object tb = this.beanFactory.getSingleton("tb");
+		assertThat(this.beanFactory.getFrozenSingleton("tb")).isSameAs(tb);
+		assertThat(this.beanFactory.getFrozenSingleton("alias")).isSameAs(tb);
+		assertThat(this.beanFactory.getBean("alias")).isSameAs(tb);
+		assertThat(this.beanFactory.getBean("tb", TestBean.class)).isSameAs(tb);
+	}
+
+	@Test
+	void requiredTypeCheckedOnFastPath() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.getFrozenSingleton("tb")).isNotNull();
+		assertThatExceptionOfType(BeanNotOfRequiredTypeException.class).isThrownBy(() ->
+				this.beanFactory.getBean("tb", Runnable.class));
+	}
+
+	@Test
+	void nullNameRejectedOnFastPath() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.getFrozenSingleton("tb")).isNotNull();
+		assertThatIllegalArgumentException().isThrownBy(() -> this.beanFactory.getBean((String) null));
+	}
+
+	@Test
+	void dependentBeanRegisteredForInstanceSupplierOnFastPath() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerAlias("tb", "alias");
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class,
+				() -> new TestBean((TestBean) this.beanFactory.getBean("alias")));
+		bd.setLazyInit(true);
+		this.beanFactory.registerBeanDefinition("supplied", bd);
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.getFrozenSingleton("alias")).isNotNull();
+
+		this.beanFactory.getBean("supplied");
+		assertThat(this.beanFactory.getDependentBeans("tb")).containsExactly("supplied");
+	}
+
+	@Test
+	void factoryBeansExcluded() {
+		this.beanFactory.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.getFrozenSingleton("factory")).isNull();
+		assertThat(this.beanFactory.getBean("factory")).isInstanceOf(TestBean.class);
+		assertThat(this.beanFactory.getBean("&factory")).isInstanceOf(DummyFactory.class);
+	}
+
+	@Test
+	void invalidatedOnSingletonDestruction() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+		Object tb = this.beanFactory.getBean("tb");
+
+		this.beanFactory.destroySingleton("tb");
+		assertThat(this.beanFactory.getFrozenSingleton("tb")).isNull();
+		assertThat(this.beanFactory.getBean("tb")).isNotSameAs(tb);
+	}
+
+	@Test
+	void invalidatedOnAliasRemoval() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerAlias("tb", "alias");
+		this.beanFactory.freezeConfiguration();
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.getFrozenSingleton("alias")).isNotNull();
+
+		this.beanFactory.removeAlias("alias");
+		assertThat(this.beanFactory.getFrozenSingleton("tb")).isNull();
+		assertThatExceptionOfType(NoSuchBeanDefinitionException.class).isThrownBy(() ->
+				this.beanFactory.getBean("alias"));
+	}
+
+	@Test
+	void tableLookups() {
+		Map<String, Object> singletons = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			singletons.put("bean" + i, i);
+		}
+		FrozenSingletonTable table = FrozenSingletonTable.of(singletons);
+
+		assertThat(table.size()).isEqualTo(1000);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(table.get("bean" + i)).isEqualTo(i);
+		}
+		assertThat(table.get("bean1000")).isNull();
+		assertThat(table.get("")).isNull();
+	}
+
+	@Test
+	void emptyTable() {
+		FrozenSingletonTable table = FrozenSingletonTable.of(new HashMap<>());
+
+		assertThat(table.size()).isEqualTo(0);
+		assertThat(table.isPerfect()).isTrue();
+		assertThat(table.get("any")).isNull();
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InstanceSupplierCodeGenerator} and {@link GeneratedInstanceSupplierRegistrar}.
+ *
+ * @author Fu Dong
+ */
+class InstanceSupplierCodeGeneratorTests {
+
+	private static final String GENERATED_CLASS_NAME =
+			InstanceSupplierCodeGeneratorTests.class.getPackage().getName() + ".GeneratedSuppliers";
+
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@BeforeEach
+	void registerBeanDefinitions() {
+		this.beanFactory.registerBeanDefinition("repository", new RootBeanDefinition(Repository.class));
+
+		RootBeanDefinition service = new RootBeanDefinition(Service.class);
+		service.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("service", service);
+
+		RootBeanDefinition prototype = new RootBeanDefinition(Service.class);
+		prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		prototype.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("prototypeService", prototype);
+
+		RootBeanDefinition staticFactory = new RootBeanDefinition(Factories.class);
+		staticFactory.setFactoryMethodName("createHelper");
+		this.beanFactory.registerBeanDefinition("staticFactoryHelper", staticFactory);
+
+		this.beanFactory.registerBeanDefinition("factories", new RootBeanDefinition(Factories.class));
+		RootBeanDefinition instanceFactory = new RootBeanDefinition();
+		instanceFactory.setFactoryBeanName("factories");
+		instanceFactory.setFactoryMethodName("createService");
+		instanceFactory.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		instanceFactory.setLazyInit(true);
+		this.beanFactory.registerBeanDefinition("instanceFactoryService", instanceFactory);
+
+		RootBeanDefinition listConsumer = new RootBeanDefinition(ListConsumer.class);
+		listConsumer.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("listConsumer", listConsumer);
+
+		this.beanFactory.registerBeanDefinition("hidden", new RootBeanDefinition(HiddenBean.class));
+		this.beanFactory.registerBeanDefinition("neverCreated", new RootBeanDefinition(Helper.class, BeanDefinition.SCOPE_PROTOTYPE, null));
+	}
+
+
+	@Test
+	void generateForResolvedConstructorsAndFactoryMethods() {
+		this.beanFactory.preInstantiateSingletons();
+		this.beanFactory.getBean("prototypeService");
+
+		InstanceSupplierCodeGenerator generator = new InstanceSupplierCodeGenerator(this.beanFactory);
+		String code = generator.generate(GENERATED_CLASS_NAME);
+
+		assertThat(code).contains("package org.springframework.beans.factory.support;");
+		assertThat(code).contains("public class GeneratedSuppliers extends GeneratedInstanceSupplierRegistrar {");
+		assertThat(code).contains("registerInstanceSupplier(beanFactory, \"repository\", \"" + Repository.class.getName() + "\",")
+				.contains("() -> new " + Repository.class.getCanonicalName() + "());");
+		assertThat(code).contains("registerInstanceSupplier(beanFactory, \"service\", \"" + Service.class.getName() + "\",")
+				.contains("() -> new " + Service.class.getCanonicalName() +
+						"(beanFactory.getBean(\"repository\", " + Repository.class.getCanonicalName() + ".class)));");
+		assertThat(code).contains("registerInstanceSupplier(beanFactory, \"staticFactoryHelper\", \"" +
+				Factories.class.getName() + "#createHelper\",")
+				.contains("() -> " + Factories.class.getCanonicalName() + ".createHelper());");
+		assertThat(generator.getGeneratedBeanNames()).containsExactly(
+				"repository", "service", "prototypeService", "staticFactoryHelper", "factories");
+		// lazy and never created, collection argument, private class, prototype never created
+		assertThat(generator.getSkippedBeanNames()).containsExactly(
+				"instanceFactoryService", "listConsumer", "hidden", "neverCreated");
+	}
+
+	@Test
+	void generateForInstanceFactoryMethod() {
+		this.beanFactory.preInstantiateSingletons();
+		this.beanFactory.getBean("instanceFactoryService");
+
+		InstanceSupplierCodeGenerator generator = new InstanceSupplierCodeGenerator(this.beanFactory);
+		String code = generator.generate(GENERATED_CLASS_NAME);
+
+		assertThat(code).contains("() -> beanFactory.getBean(\"factories\", " + Factories.class.getCanonicalName() +
+				".class).createService(beanFactory.getBean(\"repository\", " + Repository.class.getCanonicalName() + ".class)));");
+		assertThat(generator.getGeneratedBeanNames()).contains("instanceFactoryService");
+	}
+
+	@Test
+	void generateSkipsClassesNotAccessibleFromTargetPackage() {
+		this.beanFactory.preInstantiateSingletons();
+
+		InstanceSupplierCodeGenerator generator = new InstanceSupplierCodeGenerator(this.beanFactory);
+		String code = generator.generate("com.example.GeneratedSuppliers");
+
+		assertThat(code).contains("package com.example;");
+		assertThat(code).doesNotContain("registerInstanceSupplier(");
+		assertThat(generator.getGeneratedBeanNames()).isEmpty();
+	}
+
+	@Test
+	void generateToSourceDirectory(@TempDir Path sourceDirectory) throws Exception {
+		this.beanFactory.preInstantiateSingletons();
+
+		InstanceSupplierCodeGenerator generator = new InstanceSupplierCodeGenerator(this.beanFactory);
+		Path sourceFile = generator.generate("com.example.GeneratedSuppliers", sourceDirectory);
+
+		assertThat(sourceFile).isEqualTo(sourceDirectory.resolve("com/example/GeneratedSuppliers.java"));
+		List<String> lines = Files.readAllLines(sourceFile);
+		assertThat(lines).contains("package com.example;");
+	}
+
+	@Test
+	void registrarAppliesMatchingSuppliersOnly() {
+		Repository repository = new Repository();
+		GeneratedInstanceSupplierRegistrar registrar = new GeneratedInstanceSupplierRegistrar() {
+			@Override
+			protected void registerInstanceSuppliers(ConfigurableListableBeanFactory beanFactory) {
+				registerInstanceSupplier(beanFactory, "repository", Repository.class.getName(), () -> repository);
+				registerInstanceSupplier(beanFactory, "service", "com.example.OutdatedService",
+						() -> new Service(new Repository()));
+				registerInstanceSupplier(beanFactory, "missing", Repository.class.getName(), Repository::new);
+			}
+		};
+		registrar.postProcessBeanFactory(this.beanFactory);
+
+		assertThat(((AbstractBeanDefinition) this.beanFactory.getBeanDefinition("repository")).getInstanceSupplier()).isNotNull();
+		assertThat(((AbstractBeanDefinition) this.beanFactory.getBeanDefinition("service")).getInstanceSupplier()).isNull();
+		assertThat(this.beanFactory.getBean("repository")).isSameAs(repository);
+		assertThat(this.beanFactory.getBean("service", Service.class).getRepository()).isSameAs(repository);
+	}
+
+	@Test
+	void generatedSupplierRegistersDependentBeans() {
+		GeneratedInstanceSupplierRegistrar registrar = new GeneratedInstanceSupplierRegistrar() {
+			@Override
+			protected void registerInstanceSuppliers(ConfigurableListableBeanFactory beanFactory) {
+				registerInstanceSupplier(beanFactory, "service", Service.class.getName(),
+						() -> new Service(beanFactory.getBean("repository", Repository.class)));
+			}
+		};
+		registrar.postProcessBeanFactory(this.beanFactory);
+
+		Service service = this.beanFactory.getBean("service", Service.class);
+		assertThat(service.getRepository()).isSameAs(this.beanFactory.getBean("repository"));
+		assertThat(this.beanFactory.getDependenciesForBean("service")).containsExactly("repository");
+	}
+
+
+	public static class Repository {
+	}
+
+
+	public static class Service {
+
+		private final Repository repository;
+
+		public Service(Repository repository) {
+			this.repository = repository;
+		}
+
+		public Repository getRepository() {
+			return this.repository;
+		}
+	}
+
+
+	public static class Factories {
+
+		public static Helper createHelper() {
+			return new Helper();
+		}
+
+		public Service createService(Repository repository) {
+			return new Service(repository);
+		}
+	}
+
+
+	public static class Helper {
+	}
+
+
+	public static class ListConsumer {
+
+		public ListConsumer(List<Repository> repositories) {
+		}
+	}
+
+
+	private static class HiddenBean {
+	}
+
+}
@@ -24,6 +24,7 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ProtocolResolver;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 
 /**
@@ -70,6 +71,15 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
    */
   String LOAD_TIME_WEAVER_BEAN_NAME = "loadTimeWeaver";
 
+  /**
+   * 工厂中用于并行预实例化单例的{@link java.util.concurrent.Executor} bean的名称。如果提供了这样的bean，
+   * 则互不依赖的非惰性单例将在该执行器上并发创建；否则所有单例都在刷新线程中依次创建。
+   *
+   * @since 5.3
+   * @see org.springframework.beans.factory.support.DefaultListableBeanFactory#setBootstrapExecutor
+   */
+  String BOOTSTRAP_EXECUTOR_BEAN_NAME = "bootstrapExecutor";
+
   /**
    * Name of the {@link Environment} bean in the factory.
    *
@@ -91,6 +101,13 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
    */
   String SYSTEM_ENVIRONMENT_BEAN_NAME = "systemEnvironment";
 
+  /**
+   * Name of the {@link ApplicationStartup} bean in the factory.
+   *
+   * @since 5.3
+   */
+  String APPLICATION_STARTUP_BEAN_NAME = "applicationStartup";
+
   /**
    * {@link Thread#getName() Name} of the {@linkplain #registerShutdownHook() shutdown hook} thread:
    * {@value}.
@@ -136,6 +153,24 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
   @Override
   ConfigurableEnvironment getEnvironment();
 
+  /**
+   * Set the {@link ApplicationStartup} for this application context.
+   *
+   * <p>This allows the application context to record metrics during startup. To be set before
+   * {@link #refresh()}.
+   *
+   * @param applicationStartup the new application startup
+   * @since 5.3
+   */
+  void setApplicationStartup(ApplicationStartup applicationStartup);
+
+  /**
+   * Return the {@link ApplicationStartup} for this application context.
+   *
+   * @since 5.3
+   */
+  ApplicationStartup getApplicationStartup();
+
   /**
    * Add a new BeanFactoryPostProcessor that will get applied to the internal bean factory of this
    * application context on refresh, before any of the bean definitions get evaluated. To be invoked
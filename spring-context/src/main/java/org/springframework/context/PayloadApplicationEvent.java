@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,12 @@
 
 package org.springframework.context;
 
+import java.util.Map;
+
 import org.springframework.core.ResolvableType;
 import org.springframework.core.ResolvableTypeProvider;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * An {@link ApplicationEvent} that carries an arbitrary payload.
@@ -32,6 +35,10 @@ import org.springframework.util.Assert;
 @SuppressWarnings("serial")
 public class PayloadApplicationEvent<T> extends ApplicationEvent implements ResolvableTypeProvider {
 
+	/** Cache of the event types of plain PayloadApplicationEvents, keyed by payload class. */
+	private static final Map<Class<?>, ResolvableType> eventTypeCache = new ConcurrentReferenceHashMap<>();
+
+
 	private final T payload;
 
 
@@ -49,7 +56,13 @@ public class PayloadApplicationEvent<T> extends ApplicationEvent implements Reso
 
 	@Override
 	public ResolvableType getResolvableType() {
-		return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(getPayload()));
+		Object payload = getPayload();
+		if (getClass() != PayloadApplicationEvent.class || payload instanceof ResolvableTypeProvider) {
+			return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(payload));
+		}
+		// The event type only depends on the payload class -> no need to build it for every event
+		return eventTypeCache.computeIfAbsent(payload.getClass(), payloadClass ->
+				ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, payloadClass));
 	}
 
 	/**
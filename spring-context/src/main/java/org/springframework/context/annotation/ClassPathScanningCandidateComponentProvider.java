@@ -18,6 +18,7 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -35,6 +36,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -48,6 +50,7 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.PersistentMetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
@@ -59,6 +62,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -88,6 +92,17 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/**
+	 * System property that points to a directory for persisting the metadata of
+	 * scanned classes from jar files across restarts, e.g. "/var/cache/app/scan".
+	 * <p>By default, no metadata is persisted. If set, a default
+	 * {@link PersistentMetadataReaderFactory} is used instead of a
+	 * {@link CachingMetadataReaderFactory}, with the metadata of newly read
+	 * classes written to the given directory after each scan.
+	 * @since 5.3
+	 */
+	public static final String METADATA_CACHE_DIRECTORY_PROPERTY_NAME = "spring.scan.metadata-cache-dir";
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -262,7 +277,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Override
 	public void setResourceLoader(@Nullable ResourceLoader resourceLoader) {
 		this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
-		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+		this.metadataReaderFactory = createMetadataReaderFactory(resourceLoader);
 		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
 
@@ -296,11 +311,20 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	 */
 	public final MetadataReaderFactory getMetadataReaderFactory() {
 		if (this.metadataReaderFactory == null) {
-			this.metadataReaderFactory = new CachingMetadataReaderFactory();
+			this.metadataReaderFactory = createMetadataReaderFactory(null);
 		}
 		return this.metadataReaderFactory;
 	}
 
+	private static MetadataReaderFactory createMetadataReaderFactory(@Nullable ResourceLoader resourceLoader) {
+		String cacheDirectory = SpringProperties.getProperty(METADATA_CACHE_DIRECTORY_PROPERTY_NAME);
+		if (StringUtils.hasText(cacheDirectory)) {
+			return new PersistentMetadataReaderFactory(Paths.get(cacheDirectory), resourceLoader);
+		}
+		return (resourceLoader != null ?
+				new CachingMetadataReaderFactory(resourceLoader) : new CachingMetadataReaderFactory());
+	}
+
 
 	/**
 	 * Scan the class path for candidate components.
@@ -463,9 +487,21 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		catch (IOException ex) {
 			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
 		}
+		flushMetadataCache();
 		return candidates;
 	}
 
+	private void flushMetadataCache() {
+		if (this.metadataReaderFactory instanceof PersistentMetadataReaderFactory) {
+			try {
+				((PersistentMetadataReaderFactory) this.metadataReaderFactory).flush();
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to persist class metadata cache - continuing without it", ex);
+			}
+		}
+	}
+
 
 	/**
 	 * Resolve the specified base package into a pattern specification for
@@ -537,6 +573,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			// for a shared cache since it'll be cleared by the ApplicationContext.
 			((CachingMetadataReaderFactory) this.metadataReaderFactory).clearCache();
 		}
+		else if (this.metadataReaderFactory instanceof PersistentMetadataReaderFactory) {
+			((PersistentMetadataReaderFactory) this.metadataReaderFactory).clearCache();
+		}
 	}
 
 }
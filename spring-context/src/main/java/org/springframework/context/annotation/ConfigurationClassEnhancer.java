@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,17 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,6 +43,7 @@ import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
 import org.springframework.cglib.core.ClassGenerator;
 import org.springframework.cglib.core.ClassLoaderAwareGeneratorStrategy;
 import org.springframework.cglib.core.Constants;
+import org.springframework.cglib.core.ReflectUtils;
 import org.springframework.cglib.core.SpringNamingPolicy;
 import org.springframework.cglib.proxy.Callback;
 import org.springframework.cglib.proxy.CallbackFilter;
@@ -47,6 +54,9 @@ import org.springframework.cglib.proxy.MethodProxy;
 import org.springframework.cglib.proxy.NoOp;
 import org.springframework.cglib.transform.ClassEmitterTransformer;
 import org.springframework.cglib.transform.TransformingClassGenerator;
+import org.springframework.core.SpringVersion;
+import org.springframework.core.hint.RuntimeHints;
+import org.springframework.core.hint.RuntimeHintsRecorder;
 import org.springframework.lang.Nullable;
 import org.springframework.objenesis.ObjenesisException;
 import org.springframework.objenesis.SpringObjenesis;
@@ -106,7 +116,14 @@ class ConfigurationClassEnhancer {
 			}
 			return configClass;
 		}
-		Class<?> enhancedClass = createClass(newEnhancer(configClass, classLoader));
+		String key = getGeneratedClassKey(configClass);
+		Class<?> enhancedClass = (key != null ? loadGeneratedClass(key, configClass) : null);
+		if (enhancedClass == null) {
+			enhancedClass = createClass(newEnhancer(configClass, classLoader));
+			if (key != null) {
+				RuntimeHintsRecorder.recordGeneratedClassName(key, enhancedClass.getName());
+			}
+		}
 		if (logger.isTraceEnabled()) {
 			logger.trace(String.format("Successfully enhanced %s; enhanced class name is: %s",
 					configClass.getName(), enhancedClass.getName()));
@@ -114,6 +131,100 @@ class ConfigurationClassEnhancer {
 		return enhancedClass;
 	}
 
+	/**
+	 * Build a key for reusing the enhanced subclass of the given configuration class
+	 * on a later run: the class name plus a checksum over the Spring version, the
+	 * callback layout, the class files of this enhancer and its callbacks, and the
+	 * class files of the configuration class hierarchy including all implemented
+	 * interfaces, so that any change to these invalidates the key.
+	 * @return the key, or {@code null} if neither recording nor replaying
+	 * generated classes, or if the class files are not accessible
+	 * @see RuntimeHintsRecorder
+	 */
+	@Nullable
+	String getGeneratedClassKey(Class<?> configClass) {
+		if (!RuntimeHintsRecorder.isRecording() && RuntimeHintsRecorder.getReplayHints() == null) {
+			return null;
+		}
+		if (configClass.getClassLoader() == null) {
+			return null;
+		}
+		CRC32 checksum = new CRC32();
+		checksum.update(String.valueOf(SpringVersion.getVersion()).getBytes(StandardCharsets.UTF_8));
+		for (Class<?> callbackType : CALLBACK_FILTER.getCallbackTypes()) {
+			checksum.update(callbackType.getName().getBytes(StandardCharsets.UTF_8));
+		}
+		Set<Class<?>> classes = new LinkedHashSet<>();
+		classes.add(ConfigurationClassEnhancer.class);
+		classes.add(ConditionalCallbackFilter.class);
+		for (Callback callback : CALLBACKS) {
+			classes.add(callback.getClass());
+		}
+		for (Class<?> clazz = configClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			classes.add(clazz);
+		}
+		classes.addAll(ClassUtils.getAllInterfacesForClassAsSet(configClass));
+		classes.add(EnhancedConfiguration.class);
+		byte[] buffer = new byte[4096];
+		for (Class<?> clazz : classes) {
+			ClassLoader classLoader = clazz.getClassLoader();
+			if (classLoader == null) {
+				// JDK types do not change without a restart on a different JVM anyway
+				continue;
+			}
+			String resourceName = ClassUtils.convertClassNameToResourcePath(clazz.getName()) + ClassUtils.CLASS_FILE_SUFFIX;
+			try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+				if (in == null) {
+					return null;
+				}
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					checksum.update(buffer, 0, read);
+				}
+			}
+			catch (IOException ex) {
+				return null;
+			}
+		}
+		return getClass().getName() + ':' + configClass.getName() + ':' + Long.toHexString(checksum.getValue());
+	}
+
+	/**
+	 * Load the enhanced subclass generated on a previous run for the given key, if any,
+	 * defining it in the ClassLoader of the configuration class (as the Enhancer does).
+	 * @return the enhanced subclass, or {@code null} if it needs to be generated
+	 */
+	@Nullable
+	private Class<?> loadGeneratedClass(String key, Class<?> configClass) {
+		RuntimeHints hints = RuntimeHintsRecorder.getReplayHints();
+		String className = (hints != null ? hints.getGeneratedClassName(key) : null);
+		byte[] bytecode = (className != null ? hints.getGeneratedClass(className) : null);
+		if (bytecode == null) {
+			return null;
+		}
+		ClassLoader classLoader = configClass.getClassLoader();
+		try {
+			Class<?> subclass;
+			try {
+				// Already defined by an earlier context in the same ClassLoader?
+				subclass = ClassUtils.forName(className, classLoader);
+			}
+			catch (ClassNotFoundException ex) {
+				subclass = ReflectUtils.defineClass(
+						className, bytecode, classLoader, configClass.getProtectionDomain(), configClass);
+			}
+			Enhancer.registerStaticCallbacks(subclass, CALLBACKS);
+			return subclass;
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to load pre-generated subclass " + className + " of " +
+						configClass.getName() + " - generating it instead", ex);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Creates a new CGLIB {@link Enhancer} instance.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -110,9 +110,10 @@ public abstract class AbstractApplicationEventMulticaster
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
 			if (singletonTarget instanceof ApplicationListener) {
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
+				evictRetrievers((ApplicationListener<?>) singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			evictRetrievers(listener);
 		}
 	}
 
@@ -120,7 +121,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			evictRetrievers(listenerBeanName);
 		}
 	}
 
@@ -128,7 +129,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			evictRetrievers(listener);
 		}
 	}
 
@@ -136,7 +137,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			evictRetrievers(listenerBeanName);
 		}
 	}
 
@@ -150,6 +151,41 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Evict the cached retrievers for all event types that the given listener
+	 * supports, keeping the retrievers for unrelated event types.
+	 * <p>Cached retrievers are never modified, so they can be read without locking.
+	 */
+	private void evictRetrievers(ApplicationListener<?> listener) {
+		this.retrieverCache.entrySet().removeIf(entry -> entry.getValue().applicationListeners.contains(listener) ||
+				supportsEvent(listener, entry.getKey().eventType, entry.getKey().sourceType));
+	}
+
+	/**
+	 * Evict the cached retrievers for all event types that the given listener
+	 * bean may support, as far as determinable from its bean type.
+	 */
+	private void evictRetrievers(String listenerBeanName) {
+		ConfigurableBeanFactory beanFactory = this.beanFactory;
+		if (beanFactory == null) {
+			this.retrieverCache.clear();
+			return;
+		}
+		this.retrieverCache.entrySet().removeIf(entry -> {
+			if (entry.getValue().applicationListenerBeans.contains(listenerBeanName)) {
+				return true;
+			}
+			try {
+				return supportsEvent(beanFactory, listenerBeanName, entry.getKey().eventType);
+			}
+			catch (RuntimeException ex) {
+				// Cannot determine listener type -> better evict
+				return true;
+			}
+		});
+	}
+
+
 	/**
 	 * Return a Collection containing all ApplicationListeners.
 	 * @return a Collection of ApplicationListeners
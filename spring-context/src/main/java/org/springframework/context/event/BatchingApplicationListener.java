@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Variant of the standard {@link ApplicationListener} interface for listeners
+ * that are able to process several events at once.
+ *
+ * <p>A {@link PartitionedApplicationEventMulticaster} hands the events queued
+ * for such a listener over in batches, in the order of their publication
+ * within each partition. Other multicasters call {@link #onApplicationEvent}
+ * for each individual event, which delegates to a singleton batch.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @param <E> the specific {@code ApplicationEvent} subclass to listen to
+ * @see PartitionedApplicationEventMulticaster#setMaxBatchSize
+ */
+@FunctionalInterface
+public interface BatchingApplicationListener<E extends ApplicationEvent> extends ApplicationListener<E> {
+
+	/**
+	 * Handle the given batch of application events.
+	 * @param events the events to respond to (never empty)
+	 */
+	void onApplicationEvents(List<E> events);
+
+	/**
+	 * Handle a single application event as a batch of one.
+	 */
+	@Override
+	default void onApplicationEvent(E event) {
+		onApplicationEvents(Collections.singletonList(event));
+	}
+
+}
@@ -0,0 +1,614 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link SimpleApplicationEventMulticaster} variant that hands events over to
+ * bounded per-listener queues, drained asynchronously by the configured
+ * {@linkplain #setTaskExecutor task executor}.
+ *
+ * <p>Each listener has a fixed number of {@linkplain #setPartitionsPerListener
+ * partitions}, each with a queue of limited {@linkplain #setQueueCapacity capacity}.
+ * Events with the same {@linkplain #setEventKeyResolver key} (e.g. the id of an
+ * aggregate) always end up in the same partition and are therefore delivered
+ * to each listener in the order of their publication. At most one task per
+ * partition is active at any time, processing up to {@linkplain #setMaxBatchSize
+ * a batch of events} before yielding to other partitions;
+ * a {@link BatchingApplicationListener} receives such a batch in a single call.
+ *
+ * <p>What happens when a queue is full is determined by the
+ * {@linkplain #setOverflowPolicy overflow policy}: blocking the publisher
+ * (the default), dropping the event, or invoking the listener in the publishing
+ * thread. Queue depth, throughput and latency are exposed per listener through
+ * {@link #getListenerMetrics()}.
+ *
+ * <p>Listener exceptions are passed to the {@linkplain #setErrorHandler error
+ * handler}, if any, or logged otherwise; they never reach the publisher, nor
+ * do they prevent the delivery of the remaining events of a batch.
+ * Queues are kept per listener instance, so this multicaster is meant for
+ * singleton listeners rather than prototype-scoped listener beans.
+ *
+ * <p>Events still queued for a listener that gets {@linkplain
+ * #removeApplicationListener removed} are discarded and counted as dropped.
+ * On {@linkplain #destroy() destruction}, i.e. when the application context
+ * is closed, the remaining events are delivered in the calling thread instead.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see BatchingApplicationListener
+ */
+public class PartitionedApplicationEventMulticaster extends SimpleApplicationEventMulticaster
+		implements DisposableBean {
+
+	/**
+	 * Policies for events that do not fit into the queue of a listener partition.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Block the publisher until the partition has room for the event.
+		 */
+		BLOCK,
+
+		/**
+		 * Drop the event for the listener, counting it in the listener's metrics.
+		 */
+		DROP,
+
+		/**
+		 * Invoke the listener in the publishing thread, ahead of any events
+		 * still queued for the same partition.
+		 */
+		CALLER_RUNS
+	}
+
+
+	private static final Log logger = LogFactory.getLog(PartitionedApplicationEventMulticaster.class);
+
+	private int partitionsPerListener = 1;
+
+	private int queueCapacity = 1000;
+
+	private int maxBatchSize = 100;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	@Nullable
+	private Function<ApplicationEvent, Object> eventKeyResolver;
+
+	private final Map<ApplicationListener<?>, ListenerQueue> listenerQueues = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Create a new PartitionedApplicationEventMulticaster.
+	 * <p>A {@linkplain #setTaskExecutor task executor} needs to be set before use.
+	 */
+	public PartitionedApplicationEventMulticaster() {
+	}
+
+	/**
+	 * Create a new PartitionedApplicationEventMulticaster for the given executor.
+	 * @param taskExecutor the executor to process the listener partitions with
+	 */
+	public PartitionedApplicationEventMulticaster(Executor taskExecutor) {
+		setTaskExecutor(taskExecutor);
+	}
+
+
+	/**
+	 * Set the number of partitions per listener, i.e. the number of events that
+	 * a listener may process concurrently.
+	 * <p>Default is 1, delivering all events to each listener in order.
+	 */
+	public void setPartitionsPerListener(int partitionsPerListener) {
+		Assert.isTrue(partitionsPerListener > 0, "'partitionsPerListener' must be greater than 0");
+		this.partitionsPerListener = partitionsPerListener;
+	}
+
+	/**
+	 * Set the maximum number of events queued per listener partition.
+	 * <p>Default is 1000.
+	 * @see #setOverflowPolicy
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "'queueCapacity' must be greater than 0");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Set the maximum number of events that a partition processes in one go,
+	 * and thereby the maximum size of the batches passed to a
+	 * {@link BatchingApplicationListener}.
+	 * <p>Default is 100.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "'maxBatchSize' must be greater than 0");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Set the policy for events that do not fit into the queue of a partition.
+	 * <p>Default is {@link OverflowPolicy#BLOCK}. Note that a listener which
+	 * publishes events to itself needs a non-blocking policy, since its own
+	 * partition may be full at that point.
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Set a function that determines the ordering key of an event: events with
+	 * equal keys are processed in the order of their publication.
+	 * <p>Default is none, distributing events across the partitions of a
+	 * listener in a round-robin fashion. This is only relevant with more than
+	 * one {@linkplain #setPartitionsPerListener partition per listener}.
+	 * @see org.springframework.context.PayloadApplicationEvent#getPayload()
+	 */
+	public void setEventKeyResolver(@Nullable Function<ApplicationEvent, Object> eventKeyResolver) {
+		this.eventKeyResolver = eventKeyResolver;
+	}
+
+
+	@Override
+	public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+		ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+		Object key = (this.eventKeyResolver != null ? this.eventKeyResolver.apply(event) : null);
+		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			this.listenerQueues.computeIfAbsent(listener, ListenerQueue::new).enqueue(event, key);
+		}
+	}
+
+	/**
+	 * Remove the given listener, discarding any events still queued for it.
+	 * <p>Discarded events are counted as dropped.
+	 */
+	@Override
+	public void removeApplicationListener(ApplicationListener<?> listener) {
+		super.removeApplicationListener(listener);
+		ListenerQueue queue = this.listenerQueues.remove(listener);
+		if (queue != null) {
+			queue.discard();
+		}
+	}
+
+	/**
+	 * Remove all listeners, discarding any events still queued for them.
+	 * <p>Discarded events are counted as dropped.
+	 */
+	@Override
+	public void removeAllListeners() {
+		super.removeAllListeners();
+		for (ApplicationListener<?> listener : this.listenerQueues.keySet()) {
+			ListenerQueue queue = this.listenerQueues.remove(listener);
+			if (queue != null) {
+				queue.discard();
+			}
+		}
+	}
+
+	/**
+	 * Deliver the events still queued for each listener in the calling thread,
+	 * after waiting for any batch currently being delivered to the same partition.
+	 * <p>Called on shutdown of the application context, when the
+	 * {@linkplain #setTaskExecutor task executor} may not run further tasks.
+	 */
+	@Override
+	public void destroy() {
+		for (ListenerQueue queue : this.listenerQueues.values()) {
+			queue.drain();
+		}
+	}
+
+	/**
+	 * Return the metrics of the given listener.
+	 * @param listener the listener
+	 * @return the current metrics, or {@code null} if no event has been
+	 * multicast to the listener yet
+	 */
+	@Nullable
+	public ListenerMetrics getListenerMetrics(ApplicationListener<?> listener) {
+		ListenerQueue queue = this.listenerQueues.get(listener);
+		return (queue != null ? queue.getMetrics() : null);
+	}
+
+	/**
+	 * Return the metrics of all listeners that events have been multicast to.
+	 */
+	public Map<ApplicationListener<?>, ListenerMetrics> getListenerMetrics() {
+		Map<ApplicationListener<?>, ListenerMetrics> metrics = new LinkedHashMap<>(this.listenerQueues.size());
+		this.listenerQueues.forEach((listener, queue) -> metrics.put(listener, queue.getMetrics()));
+		return Collections.unmodifiableMap(metrics);
+	}
+
+	/**
+	 * Invoke the given batching listener with the given events.
+	 * @param listener the BatchingApplicationListener to invoke
+	 * @param events the current events to propagate
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	protected void invokeBatchListener(BatchingApplicationListener listener, List<ApplicationEvent> events) {
+		ErrorHandler errorHandler = getErrorHandler();
+		if (errorHandler != null) {
+			try {
+				listener.onApplicationEvents(events);
+			}
+			catch (Throwable err) {
+				errorHandler.handleError(err);
+			}
+		}
+		else {
+			listener.onApplicationEvents(events);
+		}
+	}
+
+
+	/**
+	 * The partitions of a single listener, along with its metrics.
+	 */
+	private final class ListenerQueue {
+
+		private final ApplicationListener<?> listener;
+
+		private final Partition[] partitions;
+
+		private final AtomicInteger nextPartition = new AtomicInteger();
+
+		private final LongAdder deliveredCount = new LongAdder();
+
+		private final LongAdder failedCount = new LongAdder();
+
+		private final LongAdder droppedCount = new LongAdder();
+
+		private final LongAdder callerRunsCount = new LongAdder();
+
+		private final LongAdder totalLatency = new LongAdder();
+
+		private final AtomicLong maxLatency = new AtomicLong();
+
+		ListenerQueue(ApplicationListener<?> listener) {
+			this.listener = listener;
+			this.partitions = new Partition[partitionsPerListener];
+			for (int i = 0; i < this.partitions.length; i++) {
+				this.partitions[i] = new Partition(this);
+			}
+		}
+
+		void enqueue(ApplicationEvent event, @Nullable Object key) {
+			int index = (key != null ? Math.floorMod(key.hashCode(), this.partitions.length) :
+					Math.floorMod(this.nextPartition.getAndIncrement(), this.partitions.length));
+			this.partitions[index].enqueue(new QueuedEvent(event));
+		}
+
+		void deliver(List<QueuedEvent> batch) {
+			if (this.listener instanceof BatchingApplicationListener) {
+				List<ApplicationEvent> events = new ArrayList<>(batch.size());
+				for (QueuedEvent queuedEvent : batch) {
+					events.add(queuedEvent.event);
+				}
+				try {
+					invokeBatchListener((BatchingApplicationListener<?>) this.listener, events);
+				}
+				catch (Throwable ex) {
+					handleFailure(batch.size(), ex);
+					return;
+				}
+				long now = System.nanoTime();
+				for (QueuedEvent queuedEvent : batch) {
+					handleDelivery(queuedEvent, now);
+				}
+			}
+			else {
+				for (QueuedEvent queuedEvent : batch) {
+					try {
+						invokeListener(this.listener, queuedEvent.event);
+					}
+					catch (Throwable ex) {
+						handleFailure(1, ex);
+						continue;
+					}
+					handleDelivery(queuedEvent, System.nanoTime());
+				}
+			}
+		}
+
+		private void handleDelivery(QueuedEvent queuedEvent, long now) {
+			long latency = now - queuedEvent.enqueueTime;
+			this.totalLatency.add(latency);
+			this.maxLatency.accumulateAndGet(latency, Math::max);
+			this.deliveredCount.increment();
+		}
+
+		private void handleFailure(int eventCount, Throwable ex) {
+			this.failedCount.add(eventCount);
+			logger.error("Unexpected error occurred in application event listener " + this.listener, ex);
+		}
+
+		void discard() {
+			int discarded = 0;
+			for (Partition partition : this.partitions) {
+				discarded += partition.discard();
+			}
+			if (discarded > 0) {
+				this.droppedCount.add(discarded);
+				if (logger.isWarnEnabled()) {
+					logger.warn("Discarded " + discarded + " queued events for removed listener " + this.listener);
+				}
+			}
+		}
+
+		void drain() {
+			for (Partition partition : this.partitions) {
+				partition.drain();
+			}
+		}
+
+		ListenerMetrics getMetrics() {
+			int queueDepth = 0;
+			for (Partition partition : this.partitions) {
+				queueDepth += partition.queue.size();
+			}
+			long delivered = this.deliveredCount.sum();
+			return new ListenerMetrics(queueDepth, delivered, this.failedCount.sum(), this.droppedCount.sum(),
+					this.callerRunsCount.sum(), (delivered > 0 ? this.totalLatency.sum() / delivered : 0),
+					this.maxLatency.get());
+		}
+	}
+
+
+	/**
+	 * A bounded queue of events for a listener, drained by at most one task at a time.
+	 */
+	private final class Partition implements Runnable {
+
+		private final ListenerQueue owner;
+
+		private final BlockingQueue<QueuedEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private final Lock deliveryLock = new ReentrantLock();
+
+		Partition(ListenerQueue owner) {
+			this.owner = owner;
+		}
+
+		void enqueue(QueuedEvent queuedEvent) {
+			if (!this.queue.offer(queuedEvent)) {
+				switch (overflowPolicy) {
+					case BLOCK:
+						try {
+							this.queue.put(queuedEvent);
+						}
+						catch (InterruptedException ex) {
+							Thread.currentThread().interrupt();
+							this.owner.droppedCount.increment();
+							return;
+						}
+						break;
+					case DROP:
+						this.owner.droppedCount.increment();
+						return;
+					case CALLER_RUNS:
+						this.owner.callerRunsCount.increment();
+						this.owner.deliver(Collections.singletonList(queuedEvent));
+						return;
+				}
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				Executor executor = getTaskExecutor();
+				Assert.state(executor != null, "No task executor set");
+				try {
+					executor.execute(this);
+				}
+				catch (RuntimeException ex) {
+					// Leave the queued events to the next scheduling attempt
+					this.scheduled.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			this.deliveryLock.lock();
+			try {
+				List<QueuedEvent> batch = new ArrayList<>(Math.min(maxBatchSize, this.queue.size()));
+				this.queue.drainTo(batch, maxBatchSize);
+				if (!batch.isEmpty()) {
+					this.owner.deliver(batch);
+				}
+			}
+			finally {
+				this.deliveryLock.unlock();
+				this.scheduled.set(false);
+			}
+			if (!this.queue.isEmpty()) {
+				// Yield to other partitions rather than draining the remaining events right away
+				schedule();
+			}
+		}
+
+		int discard() {
+			List<QueuedEvent> discarded = new ArrayList<>();
+			this.queue.drainTo(discarded);
+			return discarded.size();
+		}
+
+		void drain() {
+			// Not relying on the scheduled flag: the executor may never run a pending task
+			this.deliveryLock.lock();
+			try {
+				List<QueuedEvent> batch = new ArrayList<>(Math.min(maxBatchSize, this.queue.size()));
+				while (this.queue.drainTo(batch, maxBatchSize) > 0) {
+					this.owner.deliver(batch);
+					batch.clear();
+				}
+			}
+			finally {
+				this.deliveryLock.unlock();
+			}
+		}
+	}
+
+
+	private static final class QueuedEvent {
+
+		final ApplicationEvent event;
+
+		final long enqueueTime = System.nanoTime();
+
+		QueuedEvent(ApplicationEvent event) {
+			this.event = event;
+		}
+	}
+
+
+	/**
+	 * Snapshot of the metrics of a listener.
+	 */
+	public static final class ListenerMetrics {
+
+		private final int queueDepth;
+
+		private final long deliveredCount;
+
+		private final long failedCount;
+
+		private final long droppedCount;
+
+		private final long callerRunsCount;
+
+		private final long averageLatency;
+
+		private final long maxLatency;
+
+		ListenerMetrics(int queueDepth, long deliveredCount, long failedCount, long droppedCount,
+				long callerRunsCount, long averageLatency, long maxLatency) {
+
+			this.queueDepth = queueDepth;
+			this.deliveredCount = deliveredCount;
+			this.failedCount = failedCount;
+			this.droppedCount = droppedCount;
+			this.callerRunsCount = callerRunsCount;
+			this.averageLatency = averageLatency;
+			this.maxLatency = maxLatency;
+		}
+
+		/**
+		 * Return the number of events currently queued for the listener.
+		 */
+		public int getQueueDepth() {
+			return this.queueDepth;
+		}
+
+		/**
+		 * Return the number of events delivered to the listener,
+		 * including the ones delivered in a publishing thread.
+		 * <p>Events for which the listener threw an exception that was
+		 * not handled by an {@link ErrorHandler} are not included.
+		 * @see #getFailedCount()
+		 */
+		public long getDeliveredCount() {
+			return this.deliveredCount;
+		}
+
+		/**
+		 * Return the number of events for which the listener threw an exception
+		 * that was not handled by an {@link ErrorHandler}.
+		 * <p>For a {@link BatchingApplicationListener}, all events of the batch
+		 * count as failed.
+		 */
+		public long getFailedCount() {
+			return this.failedCount;
+		}
+
+		/**
+		 * Return the number of events dropped for the listener, including the
+		 * ones discarded on removal of the listener.
+		 * @see OverflowPolicy#DROP
+		 */
+		public long getDroppedCount() {
+			return this.droppedCount;
+		}
+
+		/**
+		 * Return the number of events delivered in a publishing thread.
+		 * @see OverflowPolicy#CALLER_RUNS
+		 */
+		public long getCallerRunsCount() {
+			return this.callerRunsCount;
+		}
+
+		/**
+		 * Return the average time between the publication of an event
+		 * and the completion of its delivery, for delivered events.
+		 */
+		public Duration getAverageLatency() {
+			return Duration.ofNanos(this.averageLatency);
+		}
+
+		/**
+		 * Return the maximum time between the publication of an event
+		 * and the completion of its delivery, for delivered events.
+		 */
+		public Duration getMaxLatency() {
+			return Duration.ofNanos(this.maxLatency);
+		}
+
+		@Override
+		public String toString() {
+			return "queueDepth=" + this.queueDepth + ", delivered=" + this.deliveredCount +
+					", failed=" + this.failedCount + ", dropped=" + this.droppedCount + ", callerRuns=" + this.callerRunsCount +
+					", averageLatency=" + getAverageLatency() + ", maxLatency=" + getMaxLatency();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,16 @@
 
 package org.springframework.context.expression;
 
+import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -30,6 +34,12 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>Parsed expressions are obtained from a {@link SpelExpressionCache}, by default
+ * one per evaluator, so that an expression string used on several elements is only
+ * parsed and compiled once. Method-based evaluation contexts can be
+ * created cheaply from precomputed {@link #getArgumentBindings argument bindings}
+ * and {@link #applySharedDelegates shared delegates}.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
@@ -38,15 +48,34 @@ public abstract class CachedExpressionEvaluator {
 
 	private final SpelExpressionParser parser;
 
+	private final SpelExpressionCache expressionCache;
+
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private final Map<Method, MethodArgumentBindings> argumentBindingsCache = new ConcurrentHashMap<>(64);
+
+	private final StandardEvaluationContext sharedDelegates = new StandardEvaluationContext();
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
 	 */
 	protected CachedExpressionEvaluator(SpelExpressionParser parser) {
+		this(parser, new SpelExpressionCache(SpelExpressionCache.DEFAULT_CACHE_LIMIT));
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser}
+	 * and {@link SpelExpressionCache}.
+	 * <p>Since cached expressions keep their compiled state, the given cache
+	 * should not be shared with evaluators that use a different root object.
+	 * @since 5.3
+	 */
+	protected CachedExpressionEvaluator(SpelExpressionParser parser, SpelExpressionCache expressionCache) {
 		Assert.notNull(parser, "SpelExpressionParser must not be null");
+		Assert.notNull(expressionCache, "SpelExpressionCache must not be null");
 		this.parser = parser;
+		this.expressionCache = expressionCache;
 	}
 
 	/**
@@ -64,6 +93,14 @@ public abstract class CachedExpressionEvaluator {
 		return this.parser;
 	}
 
+	/**
+	 * Return the {@link SpelExpressionCache} to obtain parsed expressions from.
+	 * @since 5.3
+	 */
+	protected SpelExpressionCache getExpressionCache() {
+		return this.expressionCache;
+	}
+
 	/**
 	 * Return a shared parameter name discoverer which caches data internally.
 	 * @since 4.3
@@ -72,10 +109,39 @@ public abstract class CachedExpressionEvaluator {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Return the {@link MethodArgumentBindings} for the specified method,
+	 * resolving them with the {@link #getParameterNameDiscoverer() shared
+	 * parameter name discoverer} if they haven't been already.
+	 * @param method the method to expose the arguments of
+	 * @since 5.3
+	 */
+	protected MethodArgumentBindings getArgumentBindings(Method method) {
+		MethodArgumentBindings bindings = this.argumentBindingsCache.get(method);
+		if (bindings == null) {
+			bindings = MethodArgumentBindings.forMethod(method, getParameterNameDiscoverer());
+			this.argumentBindingsCache.put(method, bindings);
+		}
+		return bindings;
+	}
+
+	/**
+	 * Apply the property accessors, resolvers and type handling delegates shared
+	 * by all evaluation contexts created by this evaluator to the specified
+	 * context, so that their internal caches are reused across evaluations.
+	 * @param evaluationContext the newly created evaluation context
+	 * @since 5.3
+	 * @see StandardEvaluationContext#applyDelegatesTo
+	 */
+	protected void applySharedDelegates(StandardEvaluationContext evaluationContext) {
+		this.sharedDelegates.applyDelegatesTo(evaluationContext);
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
-	 * <p>Parse the expression if it hasn't been already.
+	 * <p>Parse the expression if it hasn't been already, consulting the
+	 * {@link #getExpressionCache() expression cache} first.
 	 * @param cache the cache to use
 	 * @param elementKey the element on which the expression is defined
 	 * @param expression the expression to parse
@@ -86,7 +152,7 @@ public abstract class CachedExpressionEvaluator {
 		ExpressionKey expressionKey = createKey(elementKey, expression);
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
-			expr = getParser().parseExpression(expression);
+			expr = getExpressionCache().getExpression(getParser(), expression);
 			cache.put(expressionKey, expr);
 		}
 		return expr;
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Precomputed mapping of the variable names under which the arguments of a
+ * given method are exposed by a {@link MethodBasedEvaluationContext}.
+ *
+ * <p>The aliases are the same as those registered by
+ * {@link MethodBasedEvaluationContext#lazyLoadArguments()}: {@code aX} and
+ * {@code pX} for the argument at index {@code X}, plus the parameter name if
+ * it is discoverable. Since the mapping only depends on the method signature,
+ * it is meant to be resolved once per method and shared: a context created
+ * with it looks arguments up by index and does not need to discover parameter
+ * names or register variables for every evaluation.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see MethodBasedEvaluationContext#MethodBasedEvaluationContext(Object, Method, Object[], MethodArgumentBindings)
+ */
+public final class MethodArgumentBindings {
+
+	private final int parameterCount;
+
+	private final Map<String, Integer> parameterIndexes;
+
+
+	private MethodArgumentBindings(int parameterCount, Map<String, Integer> parameterIndexes) {
+		this.parameterCount = parameterCount;
+		this.parameterIndexes = parameterIndexes;
+	}
+
+
+	/**
+	 * Return the number of parameters of the method.
+	 */
+	public int getParameterCount() {
+		return this.parameterCount;
+	}
+
+	/**
+	 * Return the index of the parameter exposed under the given variable name,
+	 * or {@code -1} if the name does not denote a method argument.
+	 * @param name the variable name
+	 */
+	public int getParameterIndex(String name) {
+		Integer index = this.parameterIndexes.get(name);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Resolve the value of the variable with the given name against the given
+	 * actual arguments.
+	 * <p>If more arguments than parameters are given, the remaining arguments
+	 * are exposed as a vararg array for the last parameter.
+	 * @param name the variable name
+	 * @param arguments the actual method arguments
+	 * @return the argument value, or {@code null} if the name does not denote a
+	 * method argument or if no actual argument has been specified for it
+	 */
+	@Nullable
+	public Object getArgument(String name, Object[] arguments) {
+		int index = getParameterIndex(name);
+		if (index == -1) {
+			return null;
+		}
+		int argsCount = arguments.length;
+		if (argsCount > this.parameterCount && index == this.parameterCount - 1) {
+			return Arrays.copyOfRange(arguments, index, argsCount);
+		}
+		return (argsCount > index ? arguments[index] : null);
+	}
+
+
+	/**
+	 * Create the argument bindings for the given method.
+	 * @param method the method to create the bindings for
+	 * @param parameterNameDiscoverer the discoverer to use for parameter names
+	 */
+	public static MethodArgumentBindings forMethod(Method method, ParameterNameDiscoverer parameterNameDiscoverer) {
+		Assert.notNull(method, "Method must not be null");
+		Assert.notNull(parameterNameDiscoverer, "ParameterNameDiscoverer must not be null");
+		String[] paramNames = parameterNameDiscoverer.getParameterNames(method);
+		int paramCount = (paramNames != null ? paramNames.length : method.getParameterCount());
+		Map<String, Integer> parameterIndexes = new HashMap<>(paramCount * 4);
+		for (int i = 0; i < paramCount; i++) {
+			// Same registration order as lazyLoadArguments, so that later aliases win
+			parameterIndexes.put("a" + i, i);
+			parameterIndexes.put("p" + i, i);
+			if (paramNames != null && paramNames[i] != null) {
+				parameterIndexes.put(paramNames[i], i);
+			}
+		}
+		return new MethodArgumentBindings(paramCount, parameterIndexes);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,9 @@ import org.springframework.util.ObjectUtils;
  * <li>the name of the parameter as discovered by a configurable {@link ParameterNameDiscoverer}</li>
  * </ol>
  *
+ * <p>If the context is created with precomputed {@link MethodArgumentBindings},
+ * arguments are resolved by index on lookup rather than registered as variables.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @since 4.2
@@ -45,8 +48,12 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 
 	private final Object[] arguments;
 
+	@Nullable
 	private final ParameterNameDiscoverer parameterNameDiscoverer;
 
+	@Nullable
+	private final MethodArgumentBindings argumentBindings;
+
 	private boolean argumentsLoaded = false;
 
 
@@ -57,6 +64,27 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		this.method = method;
 		this.arguments = arguments;
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.argumentBindings = null;
+	}
+
+	/**
+	 * Create a new context for the given method, resolving its arguments
+	 * through the given precomputed bindings.
+	 * @param rootObject the root object
+	 * @param method the method being invoked
+	 * @param arguments the actual method arguments
+	 * @param argumentBindings the bindings for the given method
+	 * @since 5.3
+	 * @see MethodArgumentBindings#forMethod
+	 */
+	public MethodBasedEvaluationContext(Object rootObject, Method method, Object[] arguments,
+			MethodArgumentBindings argumentBindings) {
+
+		super(rootObject);
+		this.method = method;
+		this.arguments = arguments;
+		this.parameterNameDiscoverer = null;
+		this.argumentBindings = argumentBindings;
 	}
 
 
@@ -67,6 +95,9 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		if (variable != null) {
 			return variable;
 		}
+		if (this.argumentBindings != null) {
+			return this.argumentBindings.getArgument(name, this.arguments);
+		}
 		if (!this.argumentsLoaded) {
 			lazyLoadArguments();
 			this.argumentsLoaded = true;
@@ -80,7 +111,7 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 	 */
 	protected void lazyLoadArguments() {
 		// Shortcut if no args need to be loaded
-		if (ObjectUtils.isEmpty(this.arguments)) {
+		if (ObjectUtils.isEmpty(this.arguments) || this.parameterNameDiscoverer == null) {
 			return;
 		}
 
@@ -18,6 +18,8 @@ package org.springframework.context.support;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -26,6 +28,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,6 +40,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.support.ResourceEditorRegistrar;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -65,16 +69,22 @@ import org.springframework.context.expression.StandardBeanExpressionResolver;
 import org.springframework.context.weaving.LoadTimeWeaverAware;
 import org.springframework.context.weaving.LoadTimeWeaverAwareProcessor;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.hint.RuntimeHints;
+import org.springframework.core.hint.RuntimeHintsManifest;
+import org.springframework.core.hint.RuntimeHintsRecorder;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -148,6 +158,19 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
   public static final String APPLICATION_EVENT_MULTICASTER_BEAN_NAME =
       "applicationEventMulticaster";
 
+  /**
+   * System property that points to a directory for runtime hints: {@code
+   * "spring.context.runtime-hints-dir"}. If the directory contains a manifest from a previous run,
+   * the classes generated on that run are reused; otherwise, the reflection, proxy and resource
+   * hints as well as the generated classes of the refresh are recorded and written to it.
+   *
+   * @since 5.3
+   * @see RuntimeHintsManifest
+   * @see RuntimeHintsRecorder
+   */
+  public static final String RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME =
+      "spring.context.runtime-hints-dir";
+
   static {
     // Eagerly load the ContextClosedEvent class to avoid weird classloader issues
     // on application shutdown in WebLogic 8.1. (Reported by Dustin Woods.)
@@ -208,6 +231,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
   /** ApplicationEvents published before the multicaster setup. */
   @Nullable private Set<ApplicationEvent> earlyApplicationEvents;
 
+  /** Application startup metrics. */
+  private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
   /** Create a new AbstractApplicationContext with no parent. */
   public AbstractApplicationContext() {
     this.resourcePatternResolver = getResourcePatternResolver();
@@ -321,6 +347,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     return new StandardEnvironment();
   }
 
+  @Override
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    Assert.notNull(applicationStartup, "applicationStartup should not be null");
+    this.applicationStartup = applicationStartup;
+  }
+
+  @Override
+  public ApplicationStartup getApplicationStartup() {
+    return this.applicationStartup;
+  }
+
   /**
    * Return this context's internal bean factory as AutowireCapableBeanFactory, if already
    * available.
@@ -511,59 +548,90 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
   @Override
   public void refresh() throws BeansException, IllegalStateException {
     synchronized (this.startupShutdownMonitor) {
-      // 1 刷新前的预处理。准备此上下文以进行刷新(前戏)
-      prepareRefresh();
-
-      // 2 获取BeanFactory；刚创建的默认DefaultListableBeanFactory
-      ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
-
-      // 3 BeanFactory的预准备工作（BeanFactory进行一些设置）。
-      prepareBeanFactory(beanFactory);
-
+      Path runtimeHintsDirectory = getRuntimeHintsDirectory();
+      RuntimeHints runtimeHints = null;
+      boolean refreshed = false;
+      StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
       try {
-        // 4 BeanFactory准备工作完成后进行的后置处理工作；
-        postProcessBeanFactory(beanFactory);
-        /**************************以上是BeanFactory的创建及预准备工作  ****************/
-        // 5 执行BeanFactoryPostProcessor的方法；
-        invokeBeanFactoryPostProcessors(beanFactory);
+        // 0 如已配置运行时提示目录：重用上次生成的类，或开始记录运行时提示
+        runtimeHints = startRuntimeHints(runtimeHintsDirectory);
 
-        // 6 注册BeanPostProcessor（Bean的后置处理器）
-        registerBeanPostProcessors(beanFactory);
+        // 1 刷新前的预处理。准备此上下文以进行刷新(前戏)
+        prepareRefresh();
 
-        // 7 initMessageSource();初始化MessageSource组件（做国际化功能；消息绑定，消息解析）；
-        initMessageSource();
+        // 2 获取BeanFactory；刚创建的默认DefaultListableBeanFactory
+        ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
 
-        // 8 初始化事件派发器
-        initApplicationEventMulticaster();
+        // 3 BeanFactory的预准备工作（BeanFactory进行一些设置）。
+        prepareBeanFactory(beanFactory);
 
-        // 9 子类重写这个方法，在容器刷新的时候可以自定义逻辑；
-        onRefresh();
-
-        // 10 给容器中将所有项目里面的ApplicationListener注册进来
-        registerListeners();
-
-        // 11.初始化所有剩下的单实例bean；
-        finishBeanFactoryInitialization(beanFactory);
-
-        // 最后一步:发布相应的事件。
-        finishRefresh();
-      } catch (BeansException ex) {
-        if (logger.isWarnEnabled()) {
-          logger.warn("在上下文初始化过程中遇到异常 - " + "取消刷新尝试: " + ex);
+        try {
+          // 4 BeanFactory准备工作完成后进行的后置处理工作；
+          postProcessBeanFactory(beanFactory);
+          /**************************以上是BeanFactory的创建及预准备工作  ****************/
+          // 5 执行BeanFactoryPostProcessor的方法；
+          StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+          try {
+            invokeBeanFactoryPostProcessors(beanFactory);
+          } finally {
+            beanPostProcess.end();
+          }
+
+          // 6 注册BeanPostProcessor（Bean的后置处理器）
+          StartupStep registerPostProcessors =
+              this.applicationStartup.start("spring.context.beans.register-post-processors");
+          try {
+            registerBeanPostProcessors(beanFactory);
+          } finally {
+            registerPostProcessors.end();
+          }
+
+          // 7 initMessageSource();初始化MessageSource组件（做国际化功能；消息绑定，消息解析）；
+          initMessageSource();
+
+          // 8 初始化事件派发器
+          initApplicationEventMulticaster();
+
+          // 9 子类重写这个方法，在容器刷新的时候可以自定义逻辑；
+          onRefresh();
+
+          // 10 给容器中将所有项目里面的ApplicationListener注册进来
+          registerListeners();
+
+          // 11.初始化所有剩下的单实例bean；
+          finishBeanFactoryInitialization(beanFactory);
+
+          // 最后一步:发布相应的事件。
+          StartupStep finishStep = this.applicationStartup.start("spring.context.refresh.finish");
+          try {
+            finishRefresh();
+          } finally {
+            finishStep.end();
+          }
+          refreshed = true;
+        } catch (BeansException ex) {
+          if (logger.isWarnEnabled()) {
+            logger.warn("在上下文初始化过程中遇到异常 - " + "取消刷新尝试: " + ex);
+          }
+
+          // 销毁已经创建的单例以避免悬空资源
+          destroyBeans();
+
+          // 重置“活动”标志。
+          cancelRefresh(ex);
+
+          // 将异常传播给调用者。
+          throw ex;
+        } finally {
+          // 在Spring的核心中重置常见的自省缓存，因为我们
+          // 可能再也不需要单例bean的元数据了……
+          resetCommonCaches();
         }
-
-        // 销毁已经创建的单例以避免悬空资源
-        destroyBeans();
-
-        // 重置“活动”标志。
-        cancelRefresh(ex);
-
-        // 将异常传播给调用者。
-        throw ex;
       } finally {
-        // 在Spring的核心中重置常见的自省缓存，因为我们
-        // 可能再也不需要单例bean的元数据了……
-        resetCommonCaches();
+        contextRefresh.end();
+        if (runtimeHints != null) {
+          finishRuntimeHints(runtimeHints, runtimeHintsDirectory, refreshed);
+        }
       }
     }
     /*
@@ -896,6 +964,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
   protected void prepareBeanFactory(ConfigurableListableBeanFactory beanFactory) {
     // 告诉内部bean工厂使用上下文的类装入器等。
     beanFactory.setBeanClassLoader(getClassLoader());
+    beanFactory.setApplicationStartup(getApplicationStartup());
     beanFactory.setBeanExpressionResolver(
         new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
     beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
@@ -938,6 +1007,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
       beanFactory.registerSingleton(
           SYSTEM_ENVIRONMENT_BEAN_NAME, getEnvironment().getSystemEnvironment());
     }
+    if (!beanFactory.containsLocalBean(APPLICATION_STARTUP_BEAN_NAME)) {
+      beanFactory.registerSingleton(APPLICATION_STARTUP_BEAN_NAME, getApplicationStartup());
+    }
   }
 
   /**
@@ -1139,6 +1211,14 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     // Stop using the temporary ClassLoader for type matching.
     beanFactory.setTempClassLoader(null);
 
+    // Initialize bootstrap executor for concurrent singleton pre-instantiation, if any.
+    if (beanFactory instanceof DefaultListableBeanFactory
+        && beanFactory.containsBean(BOOTSTRAP_EXECUTOR_BEAN_NAME)
+        && beanFactory.isTypeMatch(BOOTSTRAP_EXECUTOR_BEAN_NAME, Executor.class)) {
+      ((DefaultListableBeanFactory) beanFactory)
+          .setBootstrapExecutor(beanFactory.getBean(BOOTSTRAP_EXECUTOR_BEAN_NAME, Executor.class));
+    }
+
     // Allow for caching all bean definition metadata, not expecting further changes.
     beanFactory.freezeConfiguration();
 
@@ -1177,6 +1257,68 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     this.active.set(false);
   }
 
+  /**
+   * Return the configured runtime hints directory, if any.
+   *
+   * @see #RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME
+   */
+  @Nullable
+  private Path getRuntimeHintsDirectory() {
+    String directory = SpringProperties.getProperty(RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME);
+    return (directory != null ? Paths.get(directory) : null);
+  }
+
+  /**
+   * Reuse the classes generated on a previous run, or start recording runtime hints for this
+   * context, depending on the contents of the given runtime hints directory.
+   *
+   * @param directory the runtime hints directory, or {@code null} if none configured
+   * @return the hints recorded for this context, or {@code null} if not recording
+   */
+  @Nullable
+  private RuntimeHints startRuntimeHints(@Nullable Path directory) {
+    if (directory == null) {
+      return null;
+    }
+    try {
+      RuntimeHints hints = RuntimeHintsManifest.read(directory);
+      if (hints != null) {
+        RuntimeHintsRecorder.setReplayHints(hints);
+        return null;
+      }
+    } catch (IOException ex) {
+      if (logger.isWarnEnabled()) {
+        logger.warn(
+            "Failed to read runtime hints from " + directory + " - recording them instead", ex);
+      }
+    }
+    return RuntimeHintsRecorder.startRecording();
+  }
+
+  /**
+   * Stop recording runtime hints for this context and write them to the given directory, unless
+   * the refresh failed.
+   *
+   * @param hints the hints recorded for this context
+   * @param directory the runtime hints directory
+   * @param refreshed whether the refresh completed successfully
+   */
+  private void finishRuntimeHints(RuntimeHints hints, Path directory, boolean refreshed) {
+    RuntimeHintsRecorder.stopRecording(hints);
+    if (refreshed) {
+      try {
+        RuntimeHintsManifest.write(hints, directory);
+        if (logger.isDebugEnabled()) {
+          logger.debug("Wrote runtime hints to " + directory);
+        }
+      } catch (IOException ex) {
+        if (logger.isWarnEnabled()) {
+          logger.warn("Failed to write runtime hints to " + directory, ex);
+        }
+      }
+    }
+  }
+
   /**
    * Reset Spring's common reflection metadata caches, in particular the {@link ReflectionUtils},
    * {@link AnnotationUtils}, {@link ResolvableType} and {@link CachedIntrospectionResults} caches.
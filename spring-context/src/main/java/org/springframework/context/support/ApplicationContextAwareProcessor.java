@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -75,6 +75,16 @@ class ApplicationContextAwareProcessor implements BeanPostProcessor {
 	}
 
 
+	@Override
+	public boolean isApplicableTo(Class<?> beanClass) {
+		return (EnvironmentAware.class.isAssignableFrom(beanClass) ||
+				EmbeddedValueResolverAware.class.isAssignableFrom(beanClass) ||
+				ResourceLoaderAware.class.isAssignableFrom(beanClass) ||
+				ApplicationEventPublisherAware.class.isAssignableFrom(beanClass) ||
+				MessageSourceAware.class.isAssignableFrom(beanClass) ||
+				ApplicationContextAware.class.isAssignableFrom(beanClass));
+	}
+
 	@Override
 	@Nullable
 	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
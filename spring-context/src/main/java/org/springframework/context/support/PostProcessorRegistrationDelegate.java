@@ -38,6 +38,8 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 
 /**
@@ -90,7 +92,8 @@ final class PostProcessorRegistrationDelegate {
       }
       sortPostProcessors(currentRegistryProcessors, beanFactory);
       registryProcessors.addAll(currentRegistryProcessors);
-      invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry);
+      invokeBeanDefinitionRegistryPostProcessors(
+          currentRegistryProcessors, registry, beanFactory.getApplicationStartup());
       currentRegistryProcessors.clear();
 
       // 接下来，调用实现Ordered的BeanDefinitionRegistryPostProcessors。
@@ -105,7 +108,8 @@ final class PostProcessorRegistrationDelegate {
       }
       sortPostProcessors(currentRegistryProcessors, beanFactory);
       registryProcessors.addAll(currentRegistryProcessors);
-      invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry);
+      invokeBeanDefinitionRegistryPostProcessors(
+          currentRegistryProcessors, registry, beanFactory.getApplicationStartup());
       currentRegistryProcessors.clear();
 
       // 最后，调用所有其他BeanDefinitionRegistryPostProcessors，直到没有其他BeanDefinitionRegistryPostProcessors出现为止。
@@ -124,7 +128,8 @@ final class PostProcessorRegistrationDelegate {
         }
         sortPostProcessors(currentRegistryProcessors, beanFactory);
         registryProcessors.addAll(currentRegistryProcessors);
-        invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry);
+        invokeBeanDefinitionRegistryPostProcessors(
+            currentRegistryProcessors, registry, beanFactory.getApplicationStartup());
         currentRegistryProcessors.clear();
       }
 
@@ -275,10 +280,19 @@ final class PostProcessorRegistrationDelegate {
   /** Invoke the given BeanDefinitionRegistryPostProcessor beans. */
   private static void invokeBeanDefinitionRegistryPostProcessors(
       Collection<? extends BeanDefinitionRegistryPostProcessor> postProcessors,
-      BeanDefinitionRegistry registry) {
+      BeanDefinitionRegistry registry,
+      ApplicationStartup applicationStartup) {
 
     for (BeanDefinitionRegistryPostProcessor postProcessor : postProcessors) {
-      postProcessor.postProcessBeanDefinitionRegistry(registry);
+      StartupStep postProcessBeanDefRegistry =
+          applicationStartup
+              .start("spring.context.beandef-registry.post-process")
+              .tag("postProcessor", postProcessor::toString);
+      try {
+        postProcessor.postProcessBeanDefinitionRegistry(registry);
+      } finally {
+        postProcessBeanDefRegistry.end();
+      }
     }
   }
 
@@ -288,7 +302,16 @@ final class PostProcessorRegistrationDelegate {
       ConfigurableListableBeanFactory beanFactory) {
 
     for (BeanFactoryPostProcessor postProcessor : postProcessors) {
-      postProcessor.postProcessBeanFactory(beanFactory);
+      StartupStep postProcessBeanFactory =
+          beanFactory
+              .getApplicationStartup()
+              .start("spring.context.bean-factory.post-process")
+              .tag("postProcessor", postProcessor::toString);
+      try {
+        postProcessor.postProcessBeanFactory(beanFactory);
+      } finally {
+        postProcessBeanFactory.end();
+      }
     }
   }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.OverridingClassLoader;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.hint.RuntimeHints;
+import org.springframework.core.hint.RuntimeHintsManifest;
+import org.springframework.core.hint.RuntimeHintsRecorder;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.context.support.AbstractApplicationContext.RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME;
+
+/**
+ * Tests for recording runtime hints on refresh, and for reusing the enhanced
+ * configuration classes recorded on a previous refresh.
+ *
+ * @author Fu Dong
+ */
+class ConfigurationClassRuntimeHintsTests {
+
+	@TempDir
+	Path directory;
+
+
+	@AfterEach
+	void reset() {
+		SpringProperties.setProperty(RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME, null);
+		RuntimeHintsRecorder.setReplayHints(null);
+	}
+
+
+	@Test
+	void hintsRecordedOnFirstRefresh() throws IOException {
+		SpringProperties.setProperty(RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME, this.directory.toString());
+		Class<?> enhancedClass;
+		try (AnnotationConfigApplicationContext context = refresh()) {
+			enhancedClass = context.getBean("config").getClass();
+		}
+		assertThat(RuntimeHintsRecorder.isRecording()).isFalse();
+
+		String reflectionConfig = new String(Files.readAllBytes(
+				this.directory.resolve(RuntimeHintsManifest.REFLECTION_CONFIG_FILE)), StandardCharsets.UTF_8);
+		assertThat(reflectionConfig).contains("\"name\": \"" + Config.class.getName() + "\"");
+		assertThat(reflectionConfig).contains("\"name\": \"first\", \"parameterTypes\": []");
+
+		RuntimeHints hints = RuntimeHintsManifest.read(this.directory);
+		assertThat(hints).isNotNull();
+		assertThat(hints.getGeneratedClassKeys()).hasSize(1);
+		String key = hints.getGeneratedClassKeys().iterator().next();
+		assertThat(hints.getGeneratedClassName(key)).isEqualTo(enhancedClass.getName());
+		assertThat(hints.getGeneratedClass(enhancedClass.getName())).isNotEmpty();
+	}
+
+	@Test
+	void enhancedClassReusedOnLaterRefresh() {
+		SpringProperties.setProperty(RUNTIME_HINTS_DIRECTORY_PROPERTY_NAME, this.directory.toString());
+		Class<?> enhancedClass;
+		try (AnnotationConfigApplicationContext context = refresh()) {
+			enhancedClass = context.getBean("config").getClass();
+		}
+
+		try (AnnotationConfigApplicationContext context = refresh()) {
+			assertThat(RuntimeHintsRecorder.isRecording()).isFalse();
+			assertThat(RuntimeHintsRecorder.getReplayHints()).isNotNull();
+			Class<?> reusedClass = context.getBean("config").getClass();
+			assertThat(reusedClass).isNotSameAs(enhancedClass);
+			assertThat(reusedClass.getName()).isEqualTo(enhancedClass.getName());
+			assertThat(reusedClass.getClassLoader()).isSameAs(context.getClassLoader());
+			assertThat(context.getBean("second")).isSameAs(context.getBean("first"));
+		}
+	}
+
+
+	@Test
+	void generatedClassKeyCoversImplementedInterfaces() {
+		ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
+		RuntimeHints recording = RuntimeHintsRecorder.startRecording();
+		try {
+			String key = enhancer.getGeneratedClassKey(InterfaceConfig.class);
+			assertThat(key).isNotNull();
+			assertThat(enhancer.getGeneratedClassKey(loadInterfaceConfig(false))).isEqualTo(key);
+			assertThat(enhancer.getGeneratedClassKey(loadInterfaceConfig(true))).isNotEqualTo(key);
+		}
+		finally {
+			RuntimeHintsRecorder.stopRecording(recording);
+		}
+	}
+
+
+	private AnnotationConfigApplicationContext refresh() {
+		// Fresh ClassLoader for each context, enforcing the definition of the enhanced class
+		ClassLoader classLoader = new OverridingClassLoader(getClass().getClassLoader()) {
+			@Override
+			protected boolean isEligibleForOverriding(String className) {
+				return className.equals(Config.class.getName());
+			}
+		};
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(classLoader);
+		context.registerBean("config", ClassUtils.resolveClassName(Config.class.getName(), classLoader));
+		context.refresh();
+		return context;
+	}
+
+	private Class<?> loadInterfaceConfig(boolean changeInterface) {
+		String interfaceResource = ClassUtils.convertClassNameToResourcePath(BeanMethods.class.getName()) +
+				ClassUtils.CLASS_FILE_SUFFIX;
+		ClassLoader classLoader = new OverridingClassLoader(getClass().getClassLoader()) {
+			@Override
+			protected boolean isEligibleForOverriding(String className) {
+				return (className.equals(InterfaceConfig.class.getName()) ||
+						className.equals(BeanMethods.class.getName()));
+			}
+			@Override
+			public InputStream getResourceAsStream(String name) {
+				if (changeInterface && name.equals(interfaceResource)) {
+					// Class file of a changed interface, e.g. after an upgrade
+					name = ClassUtils.convertClassNameToResourcePath(OtherBeanMethods.class.getName()) +
+							ClassUtils.CLASS_FILE_SUFFIX;
+				}
+				return super.getResourceAsStream(name);
+			}
+		};
+		Class<?> configClass = ClassUtils.resolveClassName(InterfaceConfig.class.getName(), classLoader);
+		assertThat(configClass.getInterfaces()[0].getClassLoader()).isSameAs(classLoader);
+		return configClass;
+	}
+
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public Object first() {
+			return new Object();
+		}
+
+		@Bean
+		public Object second() {
+			return first();
+		}
+	}
+
+
+	interface BeanMethods {
+
+		@Bean
+		default Object fromInterface() {
+			return new Object();
+		}
+	}
+
+
+	interface OtherBeanMethods {
+
+		@Bean
+		default Object fromInterface() {
+			return "changed";
+		}
+	}
+
+
+	@Configuration
+	static class InterfaceConfig implements BeanMethods {
+	}
+
+}
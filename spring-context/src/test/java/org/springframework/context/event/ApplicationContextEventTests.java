@@ -16,6 +16,7 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -195,6 +196,37 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.size()).isEqualTo(2);
 	}
 
+	@Test
+	public void retrieverCacheEvictedForAffectedEventTypesOnly() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		List<MyOtherEvent> otherEvents = new ArrayList<>();
+		ApplicationListener<MyOtherEvent> listener2 = new ApplicationListener<MyOtherEvent>() {
+			@Override
+			public void onApplicationEvent(MyOtherEvent event) {
+				otherEvents.add(event);
+			}
+		};
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertThat(smc.retrieverCache.size()).isEqualTo(2);
+
+		smc.addApplicationListener(listener2);
+		assertThat(smc.retrieverCache.size()).isEqualTo(1);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertThat(smc.retrieverCache.size()).isEqualTo(2);
+		assertThat(otherEvents).hasSize(1);
+
+		smc.removeApplicationListener(listener2);
+		assertThat(smc.retrieverCache.size()).isEqualTo(1);
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertThat(otherEvents).hasSize(1);
+		assertThat(listener1.seenEvents.size()).isEqualTo(5);
+	}
+
 	@Test
 	public void orderedListenersWithAnnotation() {
 		MyOrderedListener3 listener1 = new MyOrderedListener3();
@@ -299,7 +331,7 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.contains(event4)).isTrue();
 
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
-		assertThat(multicaster.retrieverCache.size()).isEqualTo(2);
+		assertThat(multicaster.retrieverCache.size()).isEqualTo(3);
 
 		context.close();
 	}
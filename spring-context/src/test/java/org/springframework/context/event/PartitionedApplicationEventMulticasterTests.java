@@ -0,0 +1,279 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.PartitionedApplicationEventMulticaster.ListenerMetrics;
+import org.springframework.context.event.PartitionedApplicationEventMulticaster.OverflowPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PartitionedApplicationEventMulticaster}.
+ *
+ * @author Fu Dong
+ */
+class PartitionedApplicationEventMulticasterTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final PartitionedApplicationEventMulticaster multicaster =
+			new PartitionedApplicationEventMulticaster(this.executor);
+
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void eventsWithSameKeyDeliveredInOrder() throws Exception {
+		this.multicaster.setPartitionsPerListener(4);
+		this.multicaster.setEventKeyResolver(event -> ((Item) ((PayloadApplicationEvent<?>) event).getPayload()).key);
+		Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+		CountDownLatch latch = new CountDownLatch(400);
+		this.multicaster.addApplicationListener((PayloadApplicationEvent<Item> event) -> {
+			Item item = event.getPayload();
+			received.computeIfAbsent(item.key, key -> Collections.synchronizedList(new ArrayList<>())).add(item.sequence);
+			latch.countDown();
+		});
+
+		for (int i = 0; i < 100; i++) {
+			for (String key : new String[] {"a", "b", "c", "d"}) {
+				this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new Item(key, i)));
+			}
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(received).hasSize(4);
+		for (List<Integer> sequences : received.values()) {
+			assertThat(sequences).hasSize(100).isSorted();
+		}
+	}
+
+	@Test
+	void batchingListenerReceivesBatches() throws Exception {
+		this.multicaster.setMaxBatchSize(10);
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(21);
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		this.multicaster.addApplicationListener((BatchingApplicationListener<MyEvent>) events -> {
+			awaitUninterruptibly(blocked);
+			batchSizes.add(events.size());
+			events.forEach(event -> done.countDown());
+		});
+
+		for (int i = 0; i < 21; i++) {
+			this.multicaster.multicastEvent(new MyEvent(this));
+		}
+		blocked.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(10));
+		assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(21);
+		assertThat(batchSizes.size()).isLessThan(21);
+	}
+
+	@Test
+	void dropPolicyWithMetrics() throws Exception {
+		this.multicaster.setQueueCapacity(2);
+		this.multicaster.setOverflowPolicy(OverflowPolicy.DROP);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(3);
+		ApplicationListener<MyEvent> listener = event -> {
+			started.countDown();
+			awaitUninterruptibly(blocked);
+			done.countDown();
+		};
+		this.multicaster.addApplicationListener(listener);
+
+		this.multicaster.multicastEvent(new MyEvent(this));
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < 4; i++) {
+			this.multicaster.multicastEvent(new MyEvent(this));
+		}
+		ListenerMetrics metrics = this.multicaster.getListenerMetrics(listener);
+		assertThat(metrics).isNotNull();
+		assertThat(metrics.getQueueDepth()).isEqualTo(2);
+		assertThat(metrics.getDroppedCount()).isEqualTo(2);
+
+		blocked.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		this.executor.shutdown();
+		assertThat(this.executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		metrics = this.multicaster.getListenerMetrics().get(listener);
+		assertThat(metrics.getQueueDepth()).isEqualTo(0);
+		assertThat(metrics.getDeliveredCount()).isEqualTo(3);
+		assertThat(metrics.getMaxLatency()).isGreaterThanOrEqualTo(metrics.getAverageLatency());
+	}
+
+	@Test
+	void callerRunsPolicy() throws Exception {
+		this.multicaster.setQueueCapacity(1);
+		this.multicaster.setOverflowPolicy(OverflowPolicy.CALLER_RUNS);
+		CountDownLatch blocked = new CountDownLatch(1);
+		List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+		ApplicationListener<MyEvent> listener = event -> {
+			threads.add(Thread.currentThread());
+			if (threads.size() == 1) {
+				awaitUninterruptibly(blocked);
+			}
+		};
+		this.multicaster.addApplicationListener(listener);
+
+		this.multicaster.multicastEvent(new MyEvent(this));
+		while (threads.isEmpty()) {
+			Thread.sleep(5);
+		}
+		this.multicaster.multicastEvent(new MyEvent(this));
+		this.multicaster.multicastEvent(new MyEvent(this));
+		assertThat(threads).hasSize(2);
+		assertThat(threads.get(1)).isSameAs(Thread.currentThread());
+		assertThat(this.multicaster.getListenerMetrics(listener).getCallerRunsCount()).isEqualTo(1);
+		blocked.countDown();
+	}
+
+	@Test
+	void listenerExceptionPassedToErrorHandler() throws Exception {
+		CountDownLatch handled = new CountDownLatch(1);
+		this.multicaster.setErrorHandler(ex -> handled.countDown());
+		this.multicaster.addApplicationListener((MyEvent event) -> {
+			throw new IllegalStateException("test");
+		});
+
+		this.multicaster.multicastEvent(new MyEvent(this));
+		assertThat(handled.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+
+	@Test
+	void listenerExceptionWithoutErrorHandlerDoesNotAffectRemainingEvents() {
+		List<Runnable> tasks = new ArrayList<>();
+		PartitionedApplicationEventMulticaster multicaster = new PartitionedApplicationEventMulticaster(tasks::add);
+		List<Object> received = new ArrayList<>();
+		ApplicationListener<PayloadApplicationEvent<String>> listener = event -> {
+			received.add(event.getPayload());
+			if (event.getPayload().equals("failure")) {
+				throw new IllegalStateException("test");
+			}
+		};
+		multicaster.addApplicationListener(listener);
+
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "failure"));
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "first"));
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "second"));
+		assertThat(tasks).hasSize(1);
+		tasks.get(0).run();
+
+		assertThat(received).containsExactly("failure", "first", "second");
+		ListenerMetrics metrics = multicaster.getListenerMetrics(listener);
+		assertThat(metrics.getDeliveredCount()).isEqualTo(2);
+		assertThat(metrics.getFailedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void queuedEventsDiscardedOnRemovalOfListener() {
+		List<Runnable> tasks = new ArrayList<>();
+		PartitionedApplicationEventMulticaster multicaster = new PartitionedApplicationEventMulticaster(tasks::add);
+		List<ApplicationEvent> received = new ArrayList<>();
+		ApplicationListener<MyEvent> listener = received::add;
+		multicaster.addApplicationListener(listener);
+
+		multicaster.multicastEvent(new MyEvent(this));
+		multicaster.multicastEvent(new MyEvent(this));
+		multicaster.removeApplicationListener(listener);
+		assertThat(multicaster.getListenerMetrics(listener)).isNull();
+		tasks.forEach(Runnable::run);
+
+		assertThat(received).isEmpty();
+	}
+
+	@Test
+	void queuedEventsDeliveredOnDestroy() {
+		List<Runnable> tasks = new ArrayList<>();
+		PartitionedApplicationEventMulticaster multicaster = new PartitionedApplicationEventMulticaster(tasks::add);
+		List<Object> received = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		ApplicationListener<PayloadApplicationEvent<Integer>> listener = event -> {
+			received.add(event.getPayload());
+			threads.add(Thread.currentThread());
+		};
+		multicaster.addApplicationListener(listener);
+
+		for (int i = 0; i < 3; i++) {
+			multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+		}
+		assertThat(received).isEmpty();
+		multicaster.destroy();
+
+		assertThat(received).containsExactly(0, 1, 2);
+		assertThat(threads).containsOnly(Thread.currentThread());
+		assertThat(multicaster.getListenerMetrics(listener).getQueueDepth()).isEqualTo(0);
+		tasks.forEach(Runnable::run);
+		assertThat(received).hasSize(3);
+	}
+
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class MyEvent extends ApplicationEvent {
+
+		MyEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	static class Item {
+
+		final String key;
+
+		final int sequence;
+
+		Item(String key, int sequence) {
+			this.key = key;
+			this.sequence = sequence;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -66,6 +67,30 @@ public class CachedExpressionEvaluatorTests {
 		assertThat(expressionEvaluator.testCache.size()).as("Cached expression should be based on type").isEqualTo(2);
 	}
 
+	@Test
+	public void shareParsedExpressionAcrossEvaluators() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		SpelExpressionCache sharedCache = new SpelExpressionCache(16);
+		TestExpressionEvaluator first = new TestExpressionEvaluator(sharedCache);
+		TestExpressionEvaluator second = new TestExpressionEvaluator(sharedCache);
+
+		Expression expression = first.getTestExpression("1 + 1", method, getClass());
+		assertThat(second.getTestExpression("1 + 1", method, Object.class)).isSameAs(expression);
+		verify(first.getParser(), times(1)).parseExpression("1 + 1");
+		verify(second.getParser(), times(0)).parseExpression("1 + 1");
+		assertThat(sharedCache.getMissCount()).isEqualTo(1);
+		assertThat(sharedCache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void expressionCacheNotSharedByDefault() {
+		CachedExpressionEvaluator first = new CachedExpressionEvaluator(new SpelExpressionParser()) {};
+		CachedExpressionEvaluator second = new CachedExpressionEvaluator() {};
+
+		assertThat(first.getExpressionCache()).isNotSameAs(second.getExpressionCache());
+		assertThat(first.getExpressionCache()).isNotSameAs(SpelExpressionCache.getSharedInstance());
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -75,7 +100,11 @@ public class CachedExpressionEvaluatorTests {
 		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
 
 		public TestExpressionEvaluator() {
-			super(mockSpelExpressionParser());
+			this(new SpelExpressionCache(16));
+		}
+
+		public TestExpressionEvaluator(SpelExpressionCache expressionCache) {
+			super(mockSpelExpressionParser(), expressionCache);
 		}
 
 		public Expression getTestExpression(String expression, Method method, Class<?> type) {
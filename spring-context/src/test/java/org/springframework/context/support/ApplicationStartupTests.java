@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStartupStep;
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for the {@link org.springframework.core.metrics.ApplicationStartup}
+ * steps recorded on refresh.
+ *
+ * @author Fu Dong
+ */
+class ApplicationStartupTests {
+
+	@Test
+	void refreshRecordsSteps() throws Exception {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			context.setApplicationStartup(startup);
+			context.register(Config.class);
+			context.refresh();
+			assertThat(context.getBean(ConfigurableApplicationContext.APPLICATION_STARTUP_BEAN_NAME)).isSameAs(startup);
+		}
+
+		List<BufferedStartupStep> steps = startup.getBufferedSteps();
+		assertThat(steps).extracting(StartupStep::getName).contains(
+				"spring.context.refresh", "spring.context.beans.post-process",
+				"spring.context.beandef-registry.post-process", "spring.context.config-classes.parse",
+				"spring.context.beans.register-post-processors", "spring.context.refresh.finish");
+
+		BufferedStartupStep refresh = getStep(steps, "spring.context.refresh", null);
+		assertThat(refresh.getParentId()).isNull();
+		assertThat(getStep(steps, "spring.context.config-classes.parse", "applicationStartupTests.Config").getParentId()).isNotNull();
+
+		BufferedStartupStep service = getStep(steps, "spring.beans.instantiate", "service");
+		BufferedStartupStep repository = getStep(steps, "spring.beans.instantiate", "repository");
+		assertThat(service.getParentId()).isEqualTo(refresh.getId());
+		assertThat(repository.getParentId()).isEqualTo(service.getId());
+
+		StringBuilder out = new StringBuilder();
+		startup.exportFoldedStacks(out);
+		assertThat(out.toString()).contains(
+				"spring.context.refresh;spring.beans.instantiate[beanName=service];" +
+				"spring.beans.instantiate[beanName=repository]");
+	}
+
+	@Test
+	void failedRefreshEndsSteps() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setApplicationStartup(startup);
+		context.registerBean(FailingPostProcessor.class);
+		assertThatIllegalStateException().isThrownBy(context::refresh);
+
+		assertThat(startup.getBufferedSteps()).extracting(StartupStep::getName).contains(
+				"spring.context.refresh", "spring.context.beans.post-process",
+				"spring.context.bean-factory.post-process");
+		StartupStep next = startup.start("next");
+		assertThat(next.getParentId()).isNull();
+		next.end();
+	}
+
+	private static BufferedStartupStep getStep(List<BufferedStartupStep> steps, String name, String beanName) {
+		List<BufferedStartupStep> matches = steps.stream()
+				.filter(step -> step.getName().equals(name))
+				.filter(step -> beanName == null || step.toString().contains("beanName=" + beanName + "]"))
+				.collect(Collectors.toList());
+		assertThat(matches).hasSize(1);
+		return matches.get(0);
+	}
+
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public Service service(Repository repository) throws InterruptedException {
+			Thread.sleep(2);
+			return new Service();
+		}
+
+		@Bean
+		public Repository repository() throws InterruptedException {
+			Thread.sleep(2);
+			return new Repository();
+		}
+	}
+
+
+	static class FailingPostProcessor implements BeanFactoryPostProcessor {
+
+		@Override
+		public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+			throw new IllegalStateException("Expected failure");
+		}
+	}
+
+
+	static class Service {
+	}
+
+
+	static class Repository {
+	}
+
+}
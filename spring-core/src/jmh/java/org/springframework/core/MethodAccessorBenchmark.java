@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmark for invoking a handler-like method reflectively, as handler
+ * methods used to be invoked, compared to invoking it through a
+ * {@link MethodAccessor}.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MethodAccessorBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Handler handler;
+
+		public Method method;
+
+		public MethodAccessor methodHandleAccessor;
+
+		public MethodAccessor reflectiveAccessor;
+
+		public Object[] args;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.handler = new Handler();
+			this.method = Handler.class.getMethod("handle", String.class, int.class, Long.class);
+			this.methodHandleAccessor = MethodAccessor.forMethod(this.method);
+			this.reflectiveAccessor = MethodAccessor.reflective(this.method);
+			this.args = new Object[] {"name", 42, 7L};
+		}
+	}
+
+	@Benchmark
+	public Object reflection(BenchmarkState state) throws Exception {
+		ReflectionUtils.makeAccessible(state.method);
+		return state.method.invoke(state.handler, state.args);
+	}
+
+	@Benchmark
+	public Object reflectiveAccessor(BenchmarkState state) throws Exception {
+		return state.reflectiveAccessor.invoke(state.handler, state.args);
+	}
+
+	@Benchmark
+	public Object methodHandleAccessor(BenchmarkState state) throws Exception {
+		return state.methodHandleAccessor.invoke(state.handler, state.args);
+	}
+
+
+	public static class Handler {
+
+		public String handle(String name, int count, Long id) {
+			return name;
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for {@link ResolvableType} creation and assignability checks,
+ * as performed by listener and codec selection for every message.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public ResolvableType stringListType;
+
+		public ResolvableType charSequenceListType;
+
+		public ResolvableType wildcardMapType;
+
+		public ResolvableType stringMapType;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.stringListType = ResolvableType.forClassWithGenerics(List.class, String.class);
+			this.charSequenceListType = ResolvableType.forClassWithGenerics(List.class, CharSequence.class);
+			this.wildcardMapType = ResolvableType.forClass(Map.class);
+			this.stringMapType = ResolvableType.forClassWithGenerics(Map.class, String.class, Integer.class);
+		}
+	}
+
+	@Benchmark
+	public ResolvableType forClass() {
+		return ResolvableType.forClass(StringList.class);
+	}
+
+	@Benchmark
+	public ResolvableType forClassWithGenerics() {
+		return ResolvableType.forClassWithGenerics(List.class, String.class);
+	}
+
+	@Benchmark
+	public ResolvableType resolveGenericSuperType() {
+		return ResolvableType.forClass(StringList.class).as(List.class).getGeneric(0);
+	}
+
+	@Benchmark
+	public boolean isAssignableFromRawType(BenchmarkState state) {
+		return state.wildcardMapType.isAssignableFrom(state.stringMapType);
+	}
+
+	@Benchmark
+	public boolean isAssignableFromGenericType(BenchmarkState state) {
+		return state.stringListType.isAssignableFrom(state.charSequenceListType);
+	}
+
+	@Benchmark
+	public boolean isAssignableFromClass(BenchmarkState state) {
+		return state.stringListType.isAssignableFrom(ResolvableType.forClass(StringList.class));
+	}
+
+
+	@SuppressWarnings("serial")
+	static class StringList extends java.util.ArrayList<String> {
+	}
+
+}
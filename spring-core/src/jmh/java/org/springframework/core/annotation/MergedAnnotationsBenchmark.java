@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+
+/**
+ * Benchmark for annotation lookups through {@link AnnotationUtils},
+ * {@link AnnotatedElementUtils} and {@link MergedAnnotations} on a
+ * meta-annotated and inherited method declaration.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Method method;
+
+		public Method plainMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.method = ServiceImpl.class.getMethod("handle", String.class);
+			this.plainMethod = ServiceImpl.class.getMethod("toString");
+		}
+	}
+
+	@Benchmark
+	public Mapping annotationUtilsFindAnnotation(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.method, Mapping.class);
+	}
+
+	@Benchmark
+	public Mapping annotatedElementUtilsFindMergedAnnotation(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.method, Mapping.class);
+	}
+
+	@Benchmark
+	public boolean mergedAnnotationsIsPresent(BenchmarkState state) {
+		return MergedAnnotations.from(state.method, SearchStrategy.TYPE_HIERARCHY).isPresent(Mapping.class);
+	}
+
+	@Benchmark
+	public String mergedAnnotationsGetAttribute(BenchmarkState state) {
+		return MergedAnnotations.from(state.method, SearchStrategy.TYPE_HIERARCHY)
+				.get(Mapping.class).getString("path");
+	}
+
+	@Benchmark
+	public boolean mergedAnnotationsMissing(BenchmarkState state) {
+		return MergedAnnotations.from(state.plainMethod, SearchStrategy.TYPE_HIERARCHY).isPresent(Mapping.class);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	public @interface Mapping {
+
+		@AliasFor("path")
+		String value() default "";
+
+		@AliasFor("value")
+		String path() default "";
+
+		String method() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
+	@Mapping(method = "GET")
+	public @interface GetMapping {
+
+		@AliasFor(annotation = Mapping.class)
+		String path() default "";
+	}
+
+
+	public interface Service {
+
+		@GetMapping(path = "/handle")
+		String handle(String input);
+	}
+
+
+	public static class ServiceImpl implements Service {
+
+		@Override
+		public String handle(String input) {
+			return input;
+		}
+	}
+
+}
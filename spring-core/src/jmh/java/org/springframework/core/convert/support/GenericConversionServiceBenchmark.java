@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Benchmark for {@link GenericConversionService#convert} on the conversions
+ * that are typical for data binding and row mapping.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GenericConversionServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public GenericConversionService conversionService;
+
+		public List<String> stringList;
+
+		public TypeDescriptor stringListType;
+
+		public TypeDescriptor integerListType;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.conversionService = new DefaultConversionService();
+			this.stringList = Arrays.asList("1", "2", "3", "4", "5");
+			this.stringListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+			this.integerListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+		}
+	}
+
+	@Benchmark
+	public Integer stringToInteger(BenchmarkState state) {
+		return state.conversionService.convert("42", Integer.class);
+	}
+
+	@Benchmark
+	public Integer stringToPrimitiveInt(BenchmarkState state) {
+		return state.conversionService.convert("42", int.class);
+	}
+
+	@Benchmark
+	public Long integerToLong(BenchmarkState state) {
+		return state.conversionService.convert(42, Long.class);
+	}
+
+	@Benchmark
+	public Mode stringToEnum(BenchmarkState state) {
+		return state.conversionService.convert("Throughput", Mode.class);
+	}
+
+	@Benchmark
+	public Object stringListToIntegerList(BenchmarkState state) {
+		return state.conversionService.convert(state.stringList, state.stringListType, state.integerListType);
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmark for {@link DataBufferUtils#join} with a varying number of
+ * buffers to aggregate.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataBufferUtilsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "16", "128"})
+		public int bufferCount;
+
+		public DataBufferFactory bufferFactory;
+
+		public byte[] chunk;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.bufferFactory = new DefaultDataBufferFactory();
+			this.chunk = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+		}
+
+		public List<DataBuffer> createBuffers() {
+			List<DataBuffer> buffers = new ArrayList<>(this.bufferCount);
+			for (int i = 0; i < this.bufferCount; i++) {
+				buffers.add(this.bufferFactory.wrap(this.chunk));
+			}
+			return buffers;
+		}
+	}
+
+	@Benchmark
+	public int join(BenchmarkState state) {
+		DataBuffer joined = DataBufferUtils.join(Flux.fromIterable(state.createBuffers())).block();
+		int readable = joined.readableByteCount();
+		DataBufferUtils.release(joined);
+		return readable;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package org.springframework.cglib.core;
 
+import org.springframework.core.hint.RuntimeHintsRecorder;
+
 /**
  * CGLIB GeneratorStrategy variant which exposes the application ClassLoader
  * as current thread context ClassLoader for the time of class generation.
  * The ASM ClassWriter in Spring's ASM variant will pick it up when doing
  * common superclass resolution.
  *
+ * <p>As of 5.3, the generated bytecode is also passed on to the
+ * {@link RuntimeHintsRecorder}, if recording.
+ *
  * @author Juergen Hoeller
  * @since 5.2
  */
@@ -35,6 +40,12 @@ public class ClassLoaderAwareGeneratorStrategy extends DefaultGeneratorStrategy
 
 	@Override
 	public byte[] generate(ClassGenerator cg) throws Exception {
+		byte[] bytecode = generateWithClassLoader(cg);
+		RuntimeHintsRecorder.recordGeneratedClass(bytecode);
+		return bytecode;
+	}
+
+	private byte[] generateWithClassLoader(ClassGenerator cg) throws Exception {
 		if (this.classLoader == null) {
 			return super.generate(cg);
 		}
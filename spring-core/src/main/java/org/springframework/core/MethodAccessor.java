@@ -0,0 +1,259 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Accessor for the invocation of a given {@link Method}, following the
+ * contract of {@link Method#invoke(Object, Object...)}: exceptions thrown by
+ * the method are wrapped in an {@link InvocationTargetException}, while an
+ * argument or target that does not fit the method leads to an
+ * {@link IllegalArgumentException}.
+ *
+ * <p>The accessors returned from {@link #forMethod(Method)} invoke the method
+ * through a {@link MethodHandle} that is adapted once to a generic
+ * {@code (Object, Object[])Object} signature, which avoids the access checks
+ * and argument handling that reflection performs on every call. Invocations
+ * that depend on reflection for converting the arguments (e.g. widening an
+ * {@code Integer} to a {@code long} parameter) and methods that cannot be
+ * looked up as method handles fall back to reflective invocation, as does
+ * every invocation if the {@link #IGNORE_METHOD_HANDLES_PROPERTY_NAME}
+ * property is set.
+ *
+ * <p>Accessors are cached per method, and are meant to be obtained once and
+ * then reused for every invocation of the method, e.g. by handler methods.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see #forMethod(Method)
+ */
+public abstract class MethodAccessor {
+
+	/**
+	 * System property that instructs Spring to invoke methods reflectively
+	 * instead of through method handles: "spring.methodhandles.ignore".
+	 * <p>The default is "false", using method handles where possible.
+	 */
+	public static final String IGNORE_METHOD_HANDLES_PROPERTY_NAME = "spring.methodhandles.ignore";
+
+	private static final boolean shouldIgnoreMethodHandles =
+			SpringProperties.getFlag(IGNORE_METHOD_HANDLES_PROPERTY_NAME);
+
+	private static final Map<Method, MethodAccessor> accessorCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	private final Method method;
+
+
+	MethodAccessor(Method method) {
+		this.method = method;
+	}
+
+
+	/**
+	 * Return the method to invoke.
+	 */
+	public final Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Invoke the method on the given target with the given arguments.
+	 * @param target the target to invoke the method on, or {@code null}
+	 * for a static method
+	 * @param args the arguments for the method
+	 * @return the value returned from the method, or {@code null} for a
+	 * {@code void} method
+	 * @throws IllegalAccessException if the method is not accessible
+	 * @throws IllegalArgumentException if the target is not an instance of the
+	 * declaring class, or if the arguments do not match the method parameters
+	 * @throws InvocationTargetException if the method throws an exception
+	 * @see Method#invoke(Object, Object...)
+	 */
+	@Nullable
+	public abstract Object invoke(@Nullable Object target, @Nullable Object... args)
+			throws IllegalAccessException, InvocationTargetException;
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " for " + this.method.toGenericString();
+	}
+
+
+	/**
+	 * Return an accessor for the given method, using a method handle where
+	 * possible and reflection otherwise.
+	 * @param method the method to invoke
+	 * @return the (potentially cached) accessor for the method
+	 */
+	public static MethodAccessor forMethod(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		MethodAccessor accessor = accessorCache.get(method);
+		if (accessor == null) {
+			accessor = (shouldIgnoreMethodHandles ? new ReflectiveMethodAccessor(method) :
+					new MethodHandleMethodAccessor(method));
+			accessorCache.put(method, accessor);
+		}
+		return accessor;
+	}
+
+	/**
+	 * Return an accessor that always invokes the given method reflectively.
+	 * @param method the method to invoke
+	 * @return a new accessor for the method
+	 */
+	public static MethodAccessor reflective(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		return new ReflectiveMethodAccessor(method);
+	}
+
+
+	/**
+	 * Accessor that invokes a method through {@link Method#invoke}.
+	 */
+	private static class ReflectiveMethodAccessor extends MethodAccessor {
+
+		private volatile boolean accessible;
+
+		ReflectiveMethodAccessor(Method method) {
+			super(method);
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws IllegalAccessException, InvocationTargetException {
+
+			Method method = getMethod();
+			if (!this.accessible) {
+				ReflectionUtils.makeAccessible(method);
+				this.accessible = true;
+			}
+			return method.invoke(target, args);
+		}
+	}
+
+
+	/**
+	 * Accessor that invokes a method through a {@link MethodHandle}, as long as
+	 * the target and arguments can be passed to it without conversion, and
+	 * reflectively otherwise.
+	 */
+	private static final class MethodHandleMethodAccessor extends ReflectiveMethodAccessor {
+
+		private final boolean isStatic;
+
+		private final Class<?>[] parameterTypes;
+
+		private final boolean[] primitiveParameters;
+
+		@Nullable
+		private volatile MethodHandle methodHandle;
+
+		private volatile boolean methodHandleResolved;
+
+		MethodHandleMethodAccessor(Method method) {
+			super(method);
+			this.isStatic = Modifier.isStatic(method.getModifiers());
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			this.parameterTypes = new Class<?>[parameterTypes.length];
+			this.primitiveParameters = new boolean[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				this.parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(parameterTypes[i]);
+				this.primitiveParameters[i] = parameterTypes[i].isPrimitive();
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws IllegalAccessException, InvocationTargetException {
+
+			MethodHandle methodHandle = getMethodHandle();
+			if (methodHandle == null || !canInvokeExactly(target, args)) {
+				return super.invoke(target, args);
+			}
+			try {
+				return (Object) methodHandle.invokeExact(target, args);
+			}
+			catch (Throwable ex) {
+				throw new InvocationTargetException(ex);
+			}
+		}
+
+		@Nullable
+		private MethodHandle getMethodHandle() {
+			if (!this.methodHandleResolved) {
+				this.methodHandle = createMethodHandle(getMethod());
+				this.methodHandleResolved = true;
+			}
+			return this.methodHandle;
+		}
+
+		/**
+		 * Whether the target and arguments can be passed to the method handle
+		 * as they are, i.e. without the checks and conversions of reflection.
+		 */
+		private boolean canInvokeExactly(@Nullable Object target, @Nullable Object[] args) {
+			if (!this.isStatic && !getMethod().getDeclaringClass().isInstance(target)) {
+				return false;
+			}
+			if (args == null || args.length != this.parameterTypes.length) {
+				return false;
+			}
+			for (int i = 0; i < args.length; i++) {
+				Object arg = args[i];
+				if (arg != null ? !this.parameterTypes[i].isInstance(arg) : this.primitiveParameters[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Nullable
+		private static MethodHandle createMethodHandle(Method method) {
+			try {
+				ReflectionUtils.makeAccessible(method);
+				MethodHandle methodHandle = MethodHandles.lookup().unreflect(method).asFixedArity();
+				int parameterCount = method.getParameterCount();
+				if (Modifier.isStatic(method.getModifiers())) {
+					methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+				}
+				return methodHandle.asType(MethodType.genericMethodType(parameterCount + 1))
+						.asSpreader(Object[].class, parameterCount);
+			}
+			catch (IllegalAccessException | RuntimeException ex) {
+				// Not accessible as a method handle, e.g. in a module that is not open to Spring
+				return null;
+			}
+		}
+	}
+
+}
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.SerializableTypeWrapper.FieldTypeProvider;
 import org.springframework.core.SerializableTypeWrapper.MethodParameterTypeProvider;
@@ -94,6 +95,11 @@ public class ResolvableType implements Serializable {
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	private static final ConcurrentReferenceHashMap<Class<?>, ResolvableType> classTypeCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private static final int ASSIGNABLE_FROM_CACHE_LIMIT = 64;
+
 
 	/**
 	 * The underlying Java type being managed.
@@ -125,13 +131,18 @@ public class ResolvableType implements Serializable {
 	private Class<?> resolved;
 
 	@Nullable
-	private volatile ResolvableType superType;
+	private transient volatile ResolvableType superType;
 
 	@Nullable
-	private volatile ResolvableType[] interfaces;
+	private transient volatile ResolvableType[] interfaces;
 
 	@Nullable
-	private volatile ResolvableType[] generics;
+	private transient volatile ResolvableType[] generics;
+
+	@Nullable
+	private transient volatile Map<Class<?>, Boolean> assignableFromCache;
+
+	private transient volatile boolean assignableFromChecked;
 
 
 	/**
@@ -260,7 +271,7 @@ public class ResolvableType implements Serializable {
 	 * @see #isAssignableFrom(ResolvableType)
 	 */
 	public boolean isAssignableFrom(Class<?> other) {
-		return isAssignableFrom(forClass(other), null);
+		return isAssignableFromPlainClass(forClass(other));
 	}
 
 	/**
@@ -275,9 +286,55 @@ public class ResolvableType implements Serializable {
 	 * {@code ResolvableType}; {@code false} otherwise
 	 */
 	public boolean isAssignableFrom(ResolvableType other) {
+		Assert.notNull(other, "ResolvableType must not be null");
+		if (other.isPlainClass()) {
+			return isAssignableFromPlainClass(other);
+		}
 		return isAssignableFrom(other, null);
 	}
 
+	/**
+	 * Check assignability from a type created through {@link #forClass(Class)},
+	 * remembering the outcome per class for types that are checked repeatedly
+	 * (such as declared event types or codec target types).
+	 */
+	private boolean isAssignableFromPlainClass(ResolvableType other) {
+		Class<?> otherClass = (Class<?>) other.type;
+		Map<Class<?>, Boolean> assignableFromCache = this.assignableFromCache;
+		if (assignableFromCache != null) {
+			Boolean assignable = assignableFromCache.get(otherClass);
+			if (assignable != null) {
+				return assignable;
+			}
+		}
+		boolean assignable = isAssignableFrom(other, null);
+		if (this.resolved == null || !ClassUtils.isCacheSafe(otherClass, this.resolved.getClassLoader())) {
+			return assignable;
+		}
+		if (assignableFromCache == null) {
+			if (!this.assignableFromChecked) {
+				// Only start caching once this type is checked a second time
+				this.assignableFromChecked = true;
+				return assignable;
+			}
+			assignableFromCache = new ConcurrentHashMap<>(8);
+			this.assignableFromCache = assignableFromCache;
+		}
+		if (assignableFromCache.size() < ASSIGNABLE_FROM_CACHE_LIMIT) {
+			assignableFromCache.put(otherClass, assignable);
+		}
+		return assignable;
+	}
+
+	/**
+	 * Return {@code true} if this type is a straight {@link Class} wrapper,
+	 * as created through {@link #forClass(Class)}.
+	 */
+	private boolean isPlainClass() {
+		return (this.type == this.resolved && this.typeProvider == null && this.variableResolver == null &&
+				this.componentType == null && getClass() == ResolvableType.class);
+	}
+
 	private boolean isAssignableFrom(ResolvableType other, @Nullable Map<Type, Type> matchedBefore) {
 		Assert.notNull(other, "ResolvableType must not be null");
 
@@ -1007,7 +1064,18 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(@Nullable Class<?> clazz) {
-		return new ResolvableType(clazz);
+		// Share fully resolved Class wrappers, along with their lazily
+		// resolved supertype, interfaces and generics...
+		Class<?> key = (clazz != null ? clazz : Object.class);
+		ResolvableType resolvableType = classTypeCache.get(key);
+		if (resolvableType == null) {
+			resolvableType = new ResolvableType(key);
+			ResolvableType existing = classTypeCache.putIfAbsent(key, resolvableType);
+			if (existing != null) {
+				resolvableType = existing;
+			}
+		}
+		return resolvableType;
 	}
 
 	/**
@@ -1450,6 +1518,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static void clearCache() {
 		cache.clear();
+		classTypeCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
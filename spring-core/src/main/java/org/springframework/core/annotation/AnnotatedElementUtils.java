@@ -207,7 +207,7 @@ public abstract class AnnotatedElementUtils {
 			return element.isAnnotationPresent(annotationType);
 		}
 		// Exhaustive retrieval of merged annotations...
-		return getAnnotations(element).isPresent(annotationType);
+		return MergedAnnotationIndex.forInheritedAnnotations(element).isPresent(annotationType);
 	}
 
 	/**
@@ -247,8 +247,7 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
-		MergedAnnotation<?> mergedAnnotation = getAnnotations(element)
-				.get(annotationType, null, MergedAnnotationSelectors.firstDirectlyDeclared());
+		MergedAnnotation<?> mergedAnnotation = MergedAnnotationIndex.forInheritedAnnotations(element).get(annotationType);
 		return getAnnotationAttributes(mergedAnnotation, false, false);
 	}
 
@@ -334,9 +333,7 @@ public abstract class AnnotatedElementUtils {
 			return element.getDeclaredAnnotation(annotationType);
 		}
 		// Exhaustive retrieval of merged annotations...
-		return getAnnotations(element)
-				.get(annotationType, null, MergedAnnotationSelectors.firstDirectlyDeclared())
-				.synthesize(MergedAnnotation::isPresent).orElse(null);
+		return MergedAnnotationIndex.forInheritedAnnotations(element).synthesize(annotationType);
 	}
 
 	/**
@@ -528,7 +525,7 @@ public abstract class AnnotatedElementUtils {
 			return element.isAnnotationPresent(annotationType);
 		}
 		// Exhaustive retrieval of merged annotations...
-		return findAnnotations(element).isPresent(annotationType);
+		return MergedAnnotationIndex.forTypeHierarchy(element).isPresent(annotationType);
 	}
 
 	/**
@@ -562,8 +559,7 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		MergedAnnotation<?> mergedAnnotation = findAnnotations(element)
-				.get(annotationType, null, MergedAnnotationSelectors.firstDirectlyDeclared());
+		MergedAnnotation<?> mergedAnnotation = MergedAnnotationIndex.forTypeHierarchy(element).get(annotationType);
 		return getAnnotationAttributes(mergedAnnotation, classValuesAsString, nestedAnnotationsAsMap);
 	}
 
@@ -629,9 +625,7 @@ public abstract class AnnotatedElementUtils {
 			return element.getDeclaredAnnotation(annotationType);
 		}
 		// Exhaustive retrieval of merged annotations...
-		return findAnnotations(element)
-				.get(annotationType, null, MergedAnnotationSelectors.firstDirectlyDeclared())
-				.synthesize(MergedAnnotation::isPresent).orElse(null);
+		return MergedAnnotationIndex.forTypeHierarchy(element).synthesize(annotationType);
 	}
 
 	/**
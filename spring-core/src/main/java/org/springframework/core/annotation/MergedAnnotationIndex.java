@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Index of the merged annotations of a single {@link AnnotatedElement}, used
+ * by {@link AnnotatedElementUtils} for repeated lookups of the same annotation
+ * type. The first lookup of a type searches the annotation hierarchy as usual;
+ * the resulting {@link MergedAnnotation} (which holds the merged and aliased
+ * attribute values and caches its synthesized form) is then kept for all
+ * further lookups, so that these neither walk the hierarchy nor allocate.
+ *
+ * <p>Indexes are held in soft-referenced caches, as with
+ * {@link AnnotationsScanner}, and are therefore released under memory pressure
+ * and along with discarded class loaders. As with {@link AnnotationsScanner},
+ * only indexes for classes and members are cached; other elements, such as
+ * short-lived adapters, get a new index each time. Each index only contains
+ * entries for annotation types that have actually been requested.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see AnnotationUtils#clearCache()
+ */
+final class MergedAnnotationIndex {
+
+	private static final Map<AnnotatedElement, MergedAnnotationIndex> inheritedAnnotationsCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private static final Map<AnnotatedElement, MergedAnnotationIndex> typeHierarchyCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+
+	private final MergedAnnotations annotations;
+
+	private final Map<Class<?>, MergedAnnotation<?>> mergedAnnotations = new ConcurrentHashMap<>(4);
+
+
+	private MergedAnnotationIndex(AnnotatedElement element, SearchStrategy searchStrategy) {
+		this.annotations = MergedAnnotations.from(element, searchStrategy, RepeatableContainers.none());
+	}
+
+
+	/**
+	 * Return the first directly declared merged annotation of the given type,
+	 * or {@link MergedAnnotation#missing()} if not present.
+	 * @param annotationType the annotation type to find
+	 */
+	@SuppressWarnings("unchecked")
+	<A extends Annotation> MergedAnnotation<A> get(Class<A> annotationType) {
+		MergedAnnotation<?> mergedAnnotation = this.mergedAnnotations.get(annotationType);
+		if (mergedAnnotation == null) {
+			mergedAnnotation = this.annotations.get(
+					annotationType, null, MergedAnnotationSelectors.firstDirectlyDeclared());
+			this.mergedAnnotations.put(annotationType, mergedAnnotation);
+		}
+		return (MergedAnnotation<A>) mergedAnnotation;
+	}
+
+	/**
+	 * Determine whether an annotation of the given type is present.
+	 * @param annotationType the annotation type to check
+	 */
+	boolean isPresent(Class<? extends Annotation> annotationType) {
+		return get(annotationType).isPresent();
+	}
+
+	/**
+	 * Return the synthesized form of the first directly declared merged
+	 * annotation of the given type, or {@code null} if not present.
+	 * @param annotationType the annotation type to find
+	 */
+	@Nullable
+	<A extends Annotation> A synthesize(Class<A> annotationType) {
+		MergedAnnotation<A> mergedAnnotation = get(annotationType);
+		return (mergedAnnotation.isPresent() ? mergedAnnotation.synthesize() : null);
+	}
+
+
+	/**
+	 * Return the index for the given element, following
+	 * {@link SearchStrategy#INHERITED_ANNOTATIONS get semantics}.
+	 */
+	static MergedAnnotationIndex forInheritedAnnotations(AnnotatedElement element) {
+		if (!isCacheable(element)) {
+			return new MergedAnnotationIndex(element, SearchStrategy.INHERITED_ANNOTATIONS);
+		}
+		return inheritedAnnotationsCache.computeIfAbsent(element,
+				key -> new MergedAnnotationIndex(key, SearchStrategy.INHERITED_ANNOTATIONS));
+	}
+
+	/**
+	 * Return the index for the given element, following
+	 * {@link SearchStrategy#TYPE_HIERARCHY find semantics}.
+	 */
+	static MergedAnnotationIndex forTypeHierarchy(AnnotatedElement element) {
+		if (!isCacheable(element)) {
+			return new MergedAnnotationIndex(element, SearchStrategy.TYPE_HIERARCHY);
+		}
+		return typeHierarchyCache.computeIfAbsent(element,
+				key -> new MergedAnnotationIndex(key, SearchStrategy.TYPE_HIERARCHY));
+	}
+
+	private static boolean isCacheable(AnnotatedElement element) {
+		return (element instanceof Class || element instanceof Member);
+	}
+
+	/**
+	 * Clear the internal index caches.
+	 */
+	static void clearCache() {
+		inheritedAnnotationsCache.clear();
+		typeHierarchyCache.clear();
+	}
+
+}
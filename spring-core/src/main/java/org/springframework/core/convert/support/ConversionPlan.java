@@ -0,0 +1,163 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.lang.Nullable;
+
+/**
+ * A conversion between a fixed source and target type, resolved against a
+ * {@link GenericConversionService} once and meant to be invoked repeatedly.
+ *
+ * <p>Converting through a plan is equivalent to calling
+ * {@link GenericConversionService#convert(Object, TypeDescriptor, TypeDescriptor)}
+ * with the plan's type descriptors, but skips the per-call converter cache
+ * lookup. For plain {@link Converter} and
+ * {@link org.springframework.core.convert.converter.ConverterFactory} based
+ * conversions (String to number or enum, number widening, etc.), the plan
+ * also holds on to the target-specific converter, so that non-null values are
+ * converted without any adapter or factory indirection.
+ *
+ * <p>A plan transparently re-resolves its converter if converters are added
+ * to or removed from the conversion service after the plan has been obtained.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see GenericConversionService#getConversionPlan(TypeDescriptor, TypeDescriptor)
+ */
+public final class ConversionPlan {
+
+	private final GenericConversionService conversionService;
+
+	private final TypeDescriptor sourceType;
+
+	private final TypeDescriptor targetType;
+
+	@Nullable
+	private volatile Resolution resolution;
+
+
+	ConversionPlan(GenericConversionService conversionService, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		this.conversionService = conversionService;
+		this.sourceType = sourceType;
+		this.targetType = targetType;
+	}
+
+
+	/**
+	 * Return the type descriptor of the source values.
+	 */
+	public TypeDescriptor getSourceType() {
+		return this.sourceType;
+	}
+
+	/**
+	 * Return the type descriptor of the converted values.
+	 */
+	public TypeDescriptor getTargetType() {
+		return this.targetType;
+	}
+
+	/**
+	 * Return whether the conversion service has a converter for this plan's
+	 * source and target types.
+	 * @see GenericConversionService#canConvert(TypeDescriptor, TypeDescriptor)
+	 */
+	public boolean canConvert() {
+		return (resolve().converter != null);
+	}
+
+	/**
+	 * Convert the given source value to the target type of this plan.
+	 * @param source the source value, an instance of the source type (may be {@code null})
+	 * @return the converted value
+	 * @throws org.springframework.core.convert.ConversionException if a conversion exception occurred
+	 * @throws IllegalArgumentException if the source is not an instance of the source type
+	 * @see GenericConversionService#convert(Object, TypeDescriptor, TypeDescriptor)
+	 */
+	@Nullable
+	public Object convert(@Nullable Object source) {
+		if (source != null && !this.sourceType.getObjectType().isInstance(source)) {
+			throw new IllegalArgumentException("Source to convert from must be an instance of [" +
+					this.sourceType + "]; instead it was a [" + source.getClass().getName() + "]");
+		}
+		Resolution resolution = resolve();
+		GenericConverter converter = resolution.converter;
+		if (converter == null) {
+			return this.conversionService.handleConverterNotFound(source, this.sourceType, this.targetType);
+		}
+		Object result;
+		Converter<Object, Object> directConverter = resolution.directConverter;
+		if (directConverter != null && source != null) {
+			try {
+				result = directConverter.convert(source);
+			}
+			catch (ConversionFailedException ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new ConversionFailedException(this.sourceType, this.targetType, source, ex);
+			}
+		}
+		else {
+			result = ConversionUtils.invokeConverter(converter, source, this.sourceType, this.targetType);
+		}
+		return this.conversionService.handleResult(this.sourceType, this.targetType, result);
+	}
+
+	private Resolution resolve() {
+		Resolution resolution = this.resolution;
+		int generation = this.conversionService.getConverterGeneration();
+		if (resolution == null || resolution.generation != generation) {
+			GenericConverter converter = this.conversionService.getConverter(this.sourceType, this.targetType);
+			Converter<Object, Object> directConverter = (converter != null ?
+					this.conversionService.getDirectConverter(converter, this.targetType) : null);
+			resolution = new Resolution(generation, converter, directConverter);
+			this.resolution = resolution;
+		}
+		return resolution;
+	}
+
+	@Override
+	public String toString() {
+		return "ConversionPlan from [" + this.sourceType + "] to [" + this.targetType + "]";
+	}
+
+
+	private static final class Resolution {
+
+		final int generation;
+
+		@Nullable
+		final GenericConverter converter;
+
+		@Nullable
+		final Converter<Object, Object> directConverter;
+
+		Resolution(int generation, @Nullable GenericConverter converter,
+				@Nullable Converter<Object, Object> directConverter) {
+
+			this.generation = generation;
+			this.converter = converter;
+			this.directConverter = directConverter;
+		}
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
@@ -78,6 +79,8 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	private final AtomicInteger converterGeneration = new AtomicInteger();
+
 
 	// ConverterRegistry implementation
 
@@ -212,6 +215,37 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return convert(source, TypeDescriptor.forObject(source), targetType);
 	}
 
+	/**
+	 * Return a {@link ConversionPlan} for converting values of the given source
+	 * type to the given target type, typically to be held on to by the caller and
+	 * invoked for every value of a recurring conversion.
+	 * @param sourceType the source type to convert from
+	 * @param targetType the target type to convert to
+	 * @return the conversion plan (never {@code null}; use
+	 * {@link ConversionPlan#canConvert()} to find out whether it is applicable)
+	 * @since 5.3
+	 */
+	public ConversionPlan getConversionPlan(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		Assert.notNull(sourceType, "Source type to convert from cannot be null");
+		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		return new ConversionPlan(this, sourceType, targetType);
+	}
+
+	/**
+	 * Return a {@link ConversionPlan} for converting values of the given source
+	 * class to the given target class.
+	 * @param sourceType the source type to convert from
+	 * @param targetType the target type to convert to
+	 * @return the conversion plan (never {@code null})
+	 * @since 5.3
+	 * @see #getConversionPlan(TypeDescriptor, TypeDescriptor)
+	 */
+	public ConversionPlan getConversionPlan(Class<?> sourceType, Class<?> targetType) {
+		Assert.notNull(sourceType, "Source type to convert from cannot be null");
+		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		return getConversionPlan(TypeDescriptor.valueOf(sourceType), TypeDescriptor.valueOf(targetType));
+	}
+
 	@Override
 	public String toString() {
 		return this.converters.toString();
@@ -304,10 +338,39 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.converterGeneration.incrementAndGet();
+	}
+
+	/**
+	 * Return a counter that changes whenever the registered converters change,
+	 * allowing {@link ConversionPlan conversion plans} to detect stale converters.
+	 */
+	int getConverterGeneration() {
+		return this.converterGeneration.get();
+	}
+
+	/**
+	 * Return the plain {@link Converter} that the given converter delegates to
+	 * for non-null values of the given target type, if any.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	Converter<Object, Object> getDirectConverter(GenericConverter converter, TypeDescriptor targetType) {
+		if (converter == NO_OP_CONVERTER) {
+			return source -> source;
+		}
+		if (converter instanceof ConverterAdapter) {
+			return ((ConverterAdapter) converter).converter;
+		}
+		if (converter instanceof ConverterFactoryAdapter) {
+			return (Converter<Object, Object>)
+					((ConverterFactoryAdapter) converter).converterFactory.getConverter(targetType.getObjectType());
+		}
+		return null;
 	}
 
 	@Nullable
-	private Object handleConverterNotFound(
+	Object handleConverterNotFound(
 			@Nullable Object source, @Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
 
 		if (source == null) {
@@ -322,7 +385,7 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 	@Nullable
-	private Object handleResult(@Nullable TypeDescriptor sourceType, TypeDescriptor targetType, @Nullable Object result) {
+	Object handleResult(@Nullable TypeDescriptor sourceType, TypeDescriptor targetType, @Nullable Object result) {
 		if (result == null) {
 			assertNotPrimitiveTargetType(sourceType, targetType);
 		}
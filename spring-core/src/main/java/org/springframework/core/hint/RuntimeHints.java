@@ -0,0 +1,219 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.hint;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Collection of the reflective members, JDK proxies and resources that an
+ * application accesses at runtime, along with the bytecode of the classes it
+ * generates at runtime. Safe for concurrent registration.
+ *
+ * <p>Reflective executables are kept per declaring type, in the form
+ * {@code name(parameterType,...)}, with constructors named {@code <init>}.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see RuntimeHintsRecorder
+ * @see RuntimeHintsManifest
+ */
+public class RuntimeHints {
+
+	/**
+	 * Name used for constructors in the list of reflective executables.
+	 */
+	public static final String CONSTRUCTOR_NAME = "<init>";
+
+
+	private final Map<String, Set<String>> executables = new ConcurrentHashMap<>(256);
+
+	private final Map<String, Set<String>> fields = new ConcurrentHashMap<>(64);
+
+	private final Set<List<String>> proxies = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> resources = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, byte[]> generatedClasses = new ConcurrentHashMap<>(64);
+
+	private final Map<String, String> generatedClassNames = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Register the given type for reflective access, without any members.
+	 */
+	public void registerType(String typeName) {
+		getOrCreate(this.executables, typeName);
+	}
+
+	/**
+	 * Register the given constructor for reflective invocation.
+	 */
+	public void registerConstructor(Constructor<?> constructor) {
+		registerExecutable(constructor, CONSTRUCTOR_NAME);
+	}
+
+	/**
+	 * Register the given method for reflective invocation.
+	 */
+	public void registerMethod(Method method) {
+		registerExecutable(method, method.getName());
+	}
+
+	private void registerExecutable(Executable executable, String name) {
+		String parameterTypes = Arrays.stream(executable.getParameterTypes())
+				.map(Class::getTypeName).collect(Collectors.joining(","));
+		getOrCreate(this.executables, executable.getDeclaringClass().getName()).add(name + '(' + parameterTypes + ')');
+	}
+
+	/**
+	 * Register the given field for reflective access.
+	 */
+	public void registerField(Field field) {
+		String typeName = field.getDeclaringClass().getName();
+		registerType(typeName);
+		getOrCreate(this.fields, typeName).add(field.getName());
+	}
+
+	/**
+	 * Register a JDK proxy for the given interfaces, in the given order.
+	 */
+	public void registerProxy(String... interfaceNames) {
+		Assert.notEmpty(interfaceNames, "At least one interface is required");
+		this.proxies.add(Collections.unmodifiableList(Arrays.asList(interfaceNames)));
+	}
+
+	/**
+	 * Register a class path resource location, possibly an Ant-style pattern.
+	 */
+	public void registerResource(String location) {
+		this.resources.add(StringUtils.cleanPath(location.startsWith("/") ? location.substring(1) : location));
+	}
+
+	/**
+	 * Register the bytecode of a class generated at runtime.
+	 * @param className the fully qualified name of the class
+	 * @param bytecode the bytecode of the class
+	 */
+	public void registerGeneratedClass(String className, byte[] bytecode) {
+		this.generatedClasses.put(className, bytecode);
+	}
+
+	/**
+	 * Associate a generated class with a stable key, allowing it to be reused
+	 * for the same purpose on a later run.
+	 * @param key a key identifying the purpose and input of the generated class
+	 * @param className the fully qualified name of the generated class
+	 * @see #getGeneratedClassName(String)
+	 */
+	public void registerGeneratedClassName(String key, String className) {
+		this.generatedClassNames.put(key, className);
+	}
+
+
+	/**
+	 * Return the names of all types registered for reflective access, in order.
+	 */
+	public Set<String> getTypes() {
+		return new TreeSet<>(this.executables.keySet());
+	}
+
+	/**
+	 * Return the executables registered for the given type, in order.
+	 */
+	public Set<String> getExecutables(String typeName) {
+		Set<String> executables = this.executables.get(typeName);
+		return (executables != null ? new TreeSet<>(executables) : Collections.emptySet());
+	}
+
+	/**
+	 * Return the fields registered for the given type, in order.
+	 */
+	public Set<String> getFields(String typeName) {
+		Set<String> fields = this.fields.get(typeName);
+		return (fields != null ? new TreeSet<>(fields) : Collections.emptySet());
+	}
+
+	/**
+	 * Return the interface lists of all registered JDK proxies.
+	 */
+	public Set<List<String>> getProxies() {
+		return Collections.unmodifiableSet(this.proxies);
+	}
+
+	/**
+	 * Return all registered resource locations, in order.
+	 */
+	public Set<String> getResources() {
+		return new TreeSet<>(this.resources);
+	}
+
+	/**
+	 * Return the names of all registered generated classes, in order.
+	 */
+	public Set<String> getGeneratedClasses() {
+		return new TreeSet<>(this.generatedClasses.keySet());
+	}
+
+	/**
+	 * Return the bytecode of the given generated class, if registered.
+	 */
+	@Nullable
+	public byte[] getGeneratedClass(String className) {
+		return this.generatedClasses.get(className);
+	}
+
+	/**
+	 * Return the keys of all generated classes registered for reuse.
+	 */
+	public Set<String> getGeneratedClassKeys() {
+		return new TreeSet<>(this.generatedClassNames.keySet());
+	}
+
+	/**
+	 * Return the name of the generated class registered for the given key, if any.
+	 * @see #registerGeneratedClassName(String, String)
+	 */
+	@Nullable
+	public String getGeneratedClassName(String key) {
+		return this.generatedClassNames.get(key);
+	}
+
+
+	private static Set<String> getOrCreate(Map<String, Set<String>> map, String typeName) {
+		Set<String> members = map.get(typeName);
+		if (members == null) {
+			members = map.computeIfAbsent(typeName, key -> ConcurrentHashMap.newKeySet());
+		}
+		return members;
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.hint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reads and writes {@link RuntimeHints} from and to a manifest directory.
+ *
+ * <p>Reflection, proxy and resource hints are written as GraalVM native-image
+ * configuration files ({@value #REFLECTION_CONFIG_FILE},
+ * {@value #PROXY_CONFIG_FILE} and {@value #RESOURCE_CONFIG_FILE}). Generated
+ * classes are written as class files below {@value #CLASSES_DIRECTORY}, with
+ * the keys of reusable classes listed in {@value #GENERATED_CLASSES_FILE}.
+ * The latter file is written last and marks the manifest as complete.
+ *
+ * <p>Only the generated classes are read back, for replay on a later run;
+ * the native-image configuration files are not meant to be consumed at runtime.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ */
+public abstract class RuntimeHintsManifest {
+
+	/**
+	 * Name of the reflection configuration file.
+	 */
+	public static final String REFLECTION_CONFIG_FILE = "reflect-config.json";
+
+	/**
+	 * Name of the JDK proxy configuration file.
+	 */
+	public static final String PROXY_CONFIG_FILE = "proxy-config.json";
+
+	/**
+	 * Name of the resource configuration file.
+	 */
+	public static final String RESOURCE_CONFIG_FILE = "resource-config.json";
+
+	/**
+	 * Name of the directory containing the generated class files.
+	 */
+	public static final String CLASSES_DIRECTORY = "classes";
+
+	/**
+	 * Name of the file mapping the keys of reusable generated classes to class names.
+	 */
+	public static final String GENERATED_CLASSES_FILE = "generated-classes.properties";
+
+
+	/**
+	 * Write the given hints to the given directory, replacing any existing manifest.
+	 * @param hints the hints to write
+	 * @param directory the manifest directory, created if necessary
+	 * @throws IOException in case of I/O errors
+	 */
+	public static void write(RuntimeHints hints, Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Files.deleteIfExists(directory.resolve(GENERATED_CLASSES_FILE));
+		writeReflectionConfig(hints, directory.resolve(REFLECTION_CONFIG_FILE));
+		writeProxyConfig(hints, directory.resolve(PROXY_CONFIG_FILE));
+		writeResourceConfig(hints, directory.resolve(RESOURCE_CONFIG_FILE));
+
+		Properties classNames = new Properties();
+		for (String className : hints.getGeneratedClasses()) {
+			byte[] bytecode = hints.getGeneratedClass(className);
+			if (bytecode != null) {
+				Path classFile = getClassFile(directory, className);
+				Files.createDirectories(classFile.getParent());
+				Files.write(classFile, bytecode);
+			}
+		}
+		for (String key : hints.getGeneratedClassKeys()) {
+			String className = hints.getGeneratedClassName(key);
+			if (className != null && hints.getGeneratedClass(className) != null) {
+				classNames.setProperty(key, className);
+			}
+		}
+		try (OutputStream out = Files.newOutputStream(directory.resolve(GENERATED_CLASSES_FILE))) {
+			classNames.store(out, null);
+		}
+	}
+
+	/**
+	 * Read the reusable generated classes from the given directory.
+	 * @param directory the manifest directory
+	 * @return the hints, containing generated classes only,
+	 * or {@code null} if the directory does not contain a complete manifest
+	 * @throws IOException in case of I/O errors
+	 */
+	@Nullable
+	public static RuntimeHints read(Path directory) throws IOException {
+		Path generatedClassesFile = directory.resolve(GENERATED_CLASSES_FILE);
+		if (!Files.isRegularFile(generatedClassesFile)) {
+			return null;
+		}
+		Properties classNames = new Properties();
+		try (InputStream in = Files.newInputStream(generatedClassesFile)) {
+			classNames.load(in);
+		}
+		RuntimeHints hints = new RuntimeHints();
+		for (String key : classNames.stringPropertyNames()) {
+			String className = classNames.getProperty(key);
+			Path classFile = getClassFile(directory, className);
+			if (Files.isRegularFile(classFile)) {
+				hints.registerGeneratedClass(className, Files.readAllBytes(classFile));
+				hints.registerGeneratedClassName(key, className);
+			}
+		}
+		return hints;
+	}
+
+	private static Path getClassFile(Path directory, String className) {
+		return directory.resolve(CLASSES_DIRECTORY).resolve(
+				ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX);
+	}
+
+	private static void writeReflectionConfig(RuntimeHints hints, Path file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("[");
+			for (Iterator<String> types = hints.getTypes().iterator(); types.hasNext();) {
+				String typeName = types.next();
+				writer.write("\n  {\"name\": " + quote(typeName));
+				Set<String> executables = hints.getExecutables(typeName);
+				if (!executables.isEmpty()) {
+					writer.write(", \"methods\": [");
+					for (Iterator<String> it = executables.iterator(); it.hasNext();) {
+						String executable = it.next();
+						int paramsStart = executable.indexOf('(');
+						String parameterTypes = executable.substring(paramsStart + 1, executable.length() - 1);
+						writer.write("\n    {\"name\": " + quote(executable.substring(0, paramsStart)) +
+								", \"parameterTypes\": [" + quoteAll(parameterTypes) + "]}" + (it.hasNext() ? "," : ""));
+					}
+					writer.write("\n  ]");
+				}
+				Set<String> fields = hints.getFields(typeName);
+				if (!fields.isEmpty()) {
+					writer.write(", \"fields\": [");
+					for (Iterator<String> it = fields.iterator(); it.hasNext();) {
+						writer.write("\n    {\"name\": " + quote(it.next()) + "}" + (it.hasNext() ? "," : ""));
+					}
+					writer.write("\n  ]");
+				}
+				writer.write("}" + (types.hasNext() ? "," : ""));
+			}
+			writer.write("\n]\n");
+		}
+	}
+
+	private static void writeProxyConfig(RuntimeHints hints, Path file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("[");
+			for (Iterator<List<String>> proxies = hints.getProxies().iterator(); proxies.hasNext();) {
+				writer.write("\n  {\"interfaces\": [" + quoteAll(String.join(",", proxies.next())) + "]}" +
+						(proxies.hasNext() ? "," : ""));
+			}
+			writer.write("\n]\n");
+		}
+	}
+
+	private static void writeResourceConfig(RuntimeHints hints, Path file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("{\"resources\": {\"includes\": [");
+			for (Iterator<String> resources = hints.getResources().iterator(); resources.hasNext();) {
+				writer.write("\n  {\"pattern\": " + quote(toRegex(resources.next())) + "}" +
+						(resources.hasNext() ? "," : ""));
+			}
+			writer.write("\n]}}\n");
+		}
+	}
+
+	/**
+	 * Convert an Ant-style resource pattern into a regular expression.
+	 */
+	static String toRegex(String location) {
+		StringBuilder regex = new StringBuilder();
+		int start = 0;
+		for (int i = 0; i < location.length(); i++) {
+			char c = location.charAt(i);
+			if (c == '*' || c == '?') {
+				if (i > start) {
+					regex.append(Pattern.quote(location.substring(start, i)));
+				}
+				if (c == '?') {
+					regex.append("[^/]");
+				}
+				else if (i + 1 < location.length() && location.charAt(i + 1) == '*') {
+					regex.append(".*");
+					i++;
+				}
+				else {
+					regex.append("[^/]*");
+				}
+				start = i + 1;
+			}
+		}
+		if (start < location.length()) {
+			regex.append(Pattern.quote(location.substring(start)));
+		}
+		return regex.toString();
+	}
+
+	private static String quoteAll(String commaDelimitedValues) {
+		if (commaDelimitedValues.isEmpty()) {
+			return "";
+		}
+		StringBuilder result = new StringBuilder();
+		for (String value : commaDelimitedValues.split(",")) {
+			if (result.length() > 0) {
+				result.append(", ");
+			}
+			result.append(quote(value));
+		}
+		return result.toString();
+	}
+
+	private static String quote(String value) {
+		return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.hint;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.lang.Nullable;
+
+/**
+ * Static entry point for recording {@link RuntimeHints} while the container
+ * starts up, and for exposing the hints of a previous run for replay.
+ *
+ * <p>The {@code record*} methods are called from the container's reflective
+ * code paths and are no-ops unless a recording is active, costing a single
+ * volatile read in that case. Each call to {@link #startRecording()} starts
+ * a separate recording that is owned by its caller, typically an application
+ * context for the duration of its refresh, and that collects everything
+ * recorded until it is {@link #stopRecording(RuntimeHints) stopped}. Nested
+ * or concurrent refreshes therefore never stop or discard each other's
+ * recordings; a recording may however contain hints of another context that
+ * started up at the same time.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see RuntimeHintsManifest
+ */
+public abstract class RuntimeHintsRecorder {
+
+	private static final RuntimeHints[] NO_RECORDINGS = new RuntimeHints[0];
+
+	private static final Object recordingMonitor = new Object();
+
+	private static volatile RuntimeHints[] recordings = NO_RECORDINGS;
+
+	@Nullable
+	private static volatile RuntimeHints replayHints;
+
+
+	/**
+	 * Start a new recording, independent of any other active recording.
+	 * @return the hints to record into, to be passed to
+	 * {@link #stopRecording(RuntimeHints)} once done
+	 */
+	public static RuntimeHints startRecording() {
+		RuntimeHints hints = new RuntimeHints();
+		synchronized (recordingMonitor) {
+			RuntimeHints[] current = recordings;
+			RuntimeHints[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = hints;
+			recordings = updated;
+		}
+		return hints;
+	}
+
+	/**
+	 * Stop the given recording, leaving any other active recording untouched.
+	 * @param hints the hints returned from {@link #startRecording()}
+	 */
+	public static void stopRecording(RuntimeHints hints) {
+		synchronized (recordingMonitor) {
+			RuntimeHints[] current = recordings;
+			for (int i = 0; i < current.length; i++) {
+				if (current[i] == hints) {
+					RuntimeHints[] updated = new RuntimeHints[current.length - 1];
+					System.arraycopy(current, 0, updated, 0, i);
+					System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+					recordings = updated;
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return whether any recording is active.
+	 */
+	public static boolean isRecording() {
+		return (recordings.length > 0);
+	}
+
+	/**
+	 * Record reflective invocation of the given constructor.
+	 */
+	public static void recordConstructor(Constructor<?> constructor) {
+		for (RuntimeHints hints : recordings) {
+			hints.registerConstructor(constructor);
+		}
+	}
+
+	/**
+	 * Record reflective invocation of the given method.
+	 */
+	public static void recordMethod(Method method) {
+		for (RuntimeHints hints : recordings) {
+			hints.registerMethod(method);
+		}
+	}
+
+	/**
+	 * Record reflective access to the given field.
+	 */
+	public static void recordField(Field field) {
+		for (RuntimeHints hints : recordings) {
+			hints.registerField(field);
+		}
+	}
+
+	/**
+	 * Record the creation of a JDK proxy for the given interfaces.
+	 */
+	public static void recordProxy(Class<?>... interfaces) {
+		RuntimeHints[] recordings = RuntimeHintsRecorder.recordings;
+		if (recordings.length > 0 && interfaces.length > 0) {
+			String[] interfaceNames = new String[interfaces.length];
+			for (int i = 0; i < interfaces.length; i++) {
+				interfaceNames[i] = interfaces[i].getName();
+			}
+			for (RuntimeHints hints : recordings) {
+				hints.registerProxy(interfaceNames);
+			}
+		}
+	}
+
+	/**
+	 * Record a lookup of the given class path resource location or pattern.
+	 */
+	public static void recordResource(String location) {
+		for (RuntimeHints hints : recordings) {
+			hints.registerResource(location);
+		}
+	}
+
+	/**
+	 * Record the bytecode of a class generated at runtime.
+	 */
+	public static void recordGeneratedClass(byte[] bytecode) {
+		RuntimeHints[] recordings = RuntimeHintsRecorder.recordings;
+		if (recordings.length > 0) {
+			String className = new ClassReader(bytecode).getClassName().replace('/', '.');
+			for (RuntimeHints hints : recordings) {
+				hints.registerGeneratedClass(className, bytecode);
+			}
+		}
+	}
+
+	/**
+	 * Record that the given generated class may be reused for the given key.
+	 * @see RuntimeHints#registerGeneratedClassName(String, String)
+	 */
+	public static void recordGeneratedClassName(String key, String className) {
+		for (RuntimeHints hints : recordings) {
+			hints.registerGeneratedClassName(key, className);
+		}
+	}
+
+
+	/**
+	 * Expose the hints recorded on a previous run for replay,
+	 * or remove them if {@code null}.
+	 */
+	public static void setReplayHints(@Nullable RuntimeHints hints) {
+		replayHints = hints;
+	}
+
+	/**
+	 * Return the hints of a previous run, if exposed for replay.
+	 */
+	@Nullable
+	public static RuntimeHints getReplayHints() {
+		return replayHints;
+	}
+
+}
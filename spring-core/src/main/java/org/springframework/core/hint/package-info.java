@@ -0,0 +1,11 @@
+/**
+ * Support for recording the reflection, proxy and resource hints of a running
+ * application, as well as the classes it generates at runtime, for use with
+ * native images and for faster subsequent startup.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.hint;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that keeps the most recently ended
+ * steps in a fixed-size ring buffer, for inspection once the application
+ * has started.
+ *
+ * <p>Recording a step costs a couple of atomic operations and does not
+ * allocate beyond the step itself; when the buffer is full, the oldest steps
+ * are overwritten (see {@link #getDroppedCount()}). Steps are nested per
+ * thread: a step started while another step of the same thread is running
+ * becomes a child of that step, e.g. the creation of a dependency within the
+ * creation of the bean that requires it.
+ *
+ * <p>The recorded timeline can be exported in the "folded stacks" format
+ * consumed by flame graph tools, see {@link #exportFoldedStacks(Appendable)}.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final AtomicReferenceArray<BufferedStartupStep> buffer;
+
+	private final AtomicLong idGenerator = new AtomicLong();
+
+	private final AtomicLong endedCount = new AtomicLong();
+
+	private final ThreadLocal<BufferedStartupStep> currentStep =
+			new NamedThreadLocal<>("Current startup step");
+
+
+	/**
+	 * Create a new {@code BufferingApplicationStartup}.
+	 * @param capacity the maximum number of ended steps to keep
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+		this.buffer = new AtomicReferenceArray<>(capacity);
+	}
+
+
+	@Override
+	public StartupStep start(String name) {
+		BufferedStartupStep parent = this.currentStep.get();
+		BufferedStartupStep step = new BufferedStartupStep(
+				this, this.idGenerator.incrementAndGet(), name, parent, System.nanoTime());
+		this.currentStep.set(step);
+		return step;
+	}
+
+	private void record(BufferedStartupStep step) {
+		// Restore the parent as current step, also if nested steps have not been
+		// ended properly (e.g. in case of an exception)
+		for (BufferedStartupStep current = this.currentStep.get(); current != null; current = current.parent) {
+			if (current == step) {
+				if (step.parent != null) {
+					this.currentStep.set(step.parent);
+				}
+				else {
+					this.currentStep.remove();
+				}
+				break;
+			}
+		}
+		long sequence = this.endedCount.getAndIncrement();
+		step.sequence = sequence;
+		this.buffer.set((int) (sequence % this.capacity), step);
+	}
+
+	/**
+	 * Return the ended steps currently held in the buffer, in the order in
+	 * which they ended. Steps that end concurrently with this call may be missing.
+	 */
+	public List<BufferedStartupStep> getBufferedSteps() {
+		long count = this.endedCount.get();
+		List<BufferedStartupStep> steps = new ArrayList<>((int) Math.min(count, this.capacity));
+		for (long sequence = Math.max(0, count - this.capacity); sequence < count; sequence++) {
+			BufferedStartupStep step = this.buffer.get((int) (sequence % this.capacity));
+			if (step != null && step.sequence == sequence) {
+				steps.add(step);
+			}
+		}
+		return steps;
+	}
+
+	/**
+	 * Return the number of ended steps that have been overwritten in the buffer.
+	 */
+	public long getDroppedCount() {
+		return Math.max(0, this.endedCount.get() - this.capacity);
+	}
+
+	/**
+	 * Export the buffered steps in the "folded stacks" format used by flame
+	 * graph tools: one line per distinct stack of steps, with the frames
+	 * separated by {@code ';'} and followed by the self time of the innermost
+	 * step in microseconds. Each frame consists of the step name and its tags,
+	 * e.g. {@code spring.beans.instantiate[beanName=dataSource]}.
+	 * @param out the target to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void exportFoldedStacks(Appendable out) throws IOException {
+		List<BufferedStartupStep> steps = getBufferedSteps();
+		Map<BufferedStartupStep, Long> selfTimes = new IdentityHashMap<>(steps.size());
+		for (BufferedStartupStep step : steps) {
+			selfTimes.merge(step, step.getDurationNanos(), Long::sum);
+			if (step.parent != null) {
+				selfTimes.merge(step.parent, -step.getDurationNanos(), Long::sum);
+			}
+		}
+		Map<String, Long> stacks = new LinkedHashMap<>();
+		for (BufferedStartupStep step : steps) {
+			long selfTime = selfTimes.get(step);
+			if (selfTime > 0) {
+				stacks.merge(getStack(step), selfTime, Long::sum);
+			}
+		}
+		for (Map.Entry<String, Long> entry : stacks.entrySet()) {
+			long micros = entry.getValue() / 1000;
+			if (micros > 0) {
+				out.append(entry.getKey()).append(' ').append(Long.toString(micros)).append('\n');
+			}
+		}
+	}
+
+	private static String getStack(BufferedStartupStep step) {
+		StringBuilder stack = new StringBuilder(getFrame(step));
+		for (BufferedStartupStep parent = step.parent; parent != null; parent = parent.parent) {
+			stack.insert(0, ';').insert(0, getFrame(parent));
+		}
+		return stack.toString();
+	}
+
+	private static String getFrame(BufferedStartupStep step) {
+		StringBuilder frame = new StringBuilder(step.getName());
+		if (!step.tags.isEmpty()) {
+			frame.append('[');
+			for (Iterator<StartupStep.Tag> it = step.tags.iterator(); it.hasNext();) {
+				StartupStep.Tag tag = it.next();
+				frame.append(tag.getKey()).append('=').append(tag.getValue());
+				if (it.hasNext()) {
+					frame.append(',');
+				}
+			}
+			frame.append(']');
+		}
+		return frame.toString().replace(';', ',').replace('\n', ' ');
+	}
+
+
+	/**
+	 * {@link StartupStep} recorded by a {@link BufferingApplicationStartup}.
+	 */
+	public static final class BufferedStartupStep implements StartupStep {
+
+		private final BufferingApplicationStartup startup;
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final BufferedStartupStep parent;
+
+		private final long startTime;
+
+		private final List<Tag> tags = new ArrayList<>(2);
+
+		private volatile long endTime = -1;
+
+		private volatile long sequence = -1;
+
+		BufferedStartupStep(BufferingApplicationStartup startup, long id, String name,
+				@Nullable BufferedStartupStep parent, long startTime) {
+
+			this.startup = startup;
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+			this.startTime = startTime;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(this.endTime < 0, "StartupStep has already ended");
+			this.tags.add(new BufferedTag(key, value));
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			List<Tag> tags = Collections.unmodifiableList(this.tags);
+			return tags::iterator;
+		}
+
+		/**
+		 * Return the duration of this step in nanoseconds.
+		 */
+		public long getDurationNanos() {
+			return (this.endTime - this.startTime);
+		}
+
+		/**
+		 * Return the duration of this step.
+		 */
+		public Duration getDuration() {
+			return Duration.ofNanos(getDurationNanos());
+		}
+
+		@Override
+		public void end() {
+			Assert.state(this.endTime < 0, "StartupStep has already ended");
+			this.endTime = System.nanoTime();
+			this.startup.record(this);
+		}
+
+		@Override
+		public String toString() {
+			return getFrame(this);
+		}
+	}
+
+
+	private static final class BufferedTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		BufferedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+	}
+
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+
+/**
+ * ASM class visitor that passes all events on to a delegate visitor while
+ * recording the parts relevant to {@link SimpleAnnotationMetadataReadingVisitor}
+ * in a compact binary form. Such a record can later be {@linkplain #replay replayed}
+ * into another visitor without access to the original class file.
+ *
+ * <p>Only runtime-visible annotations are recorded, and methods only if they
+ * declare at least one of them. Class names are kept as plain strings, so that
+ * annotation and enum types get resolved against the class loader in use at
+ * replay time.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see PersistentMetadataReaderFactory
+ */
+final class ClassMetadataRecorder extends ClassVisitor {
+
+	private static final int END = 0;
+
+	private static final int OUTER_CLASS = 1;
+
+	private static final int INNER_CLASS = 2;
+
+	private static final int ANNOTATION = 3;
+
+	private static final int METHOD = 4;
+
+	private static final int VALUE = 1;
+
+	private static final int ENUM_VALUE = 2;
+
+	private static final int ANNOTATION_VALUE = 3;
+
+	private static final int ARRAY_VALUE = 4;
+
+
+	private final Record record = new Record();
+
+	private String className = "";
+
+
+	ClassMetadataRecorder(ClassVisitor delegate) {
+		super(SpringAsmInfo.ASM_VERSION, delegate);
+	}
+
+
+	@Override
+	public void visit(int version, int access, String name, @Nullable String signature,
+			@Nullable String superName, String[] interfaces) {
+
+		this.className = name;
+		this.record.write(out -> {
+			out.writeInt(access);
+			out.writeUTF(name);
+			writeNullableUTF(out, superName);
+			out.writeShort(interfaces.length);
+			for (String interfaceName : interfaces) {
+				out.writeUTF(interfaceName);
+			}
+		});
+		super.visit(version, access, name, signature, superName, interfaces);
+	}
+
+	@Override
+	public void visitOuterClass(String owner, @Nullable String name, @Nullable String descriptor) {
+		this.record.write(out -> {
+			out.writeByte(OUTER_CLASS);
+			out.writeUTF(owner);
+			writeNullableUTF(out, name);
+			writeNullableUTF(out, descriptor);
+		});
+		super.visitOuterClass(owner, name, descriptor);
+	}
+
+	@Override
+	public void visitInnerClass(String name, @Nullable String outerName, @Nullable String innerName, int access) {
+		if (outerName != null && (this.className.equals(name) || this.className.equals(outerName))) {
+			this.record.write(out -> {
+				out.writeByte(INNER_CLASS);
+				out.writeUTF(name);
+				out.writeUTF(outerName);
+				writeNullableUTF(out, innerName);
+				out.writeInt(access);
+			});
+		}
+		super.visitInnerClass(name, outerName, innerName, access);
+	}
+
+	@Override
+	@Nullable
+	public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+		AnnotationVisitor delegate = super.visitAnnotation(descriptor, visible);
+		if (!visible) {
+			return delegate;
+		}
+		this.record.write(out -> {
+			out.writeByte(ANNOTATION);
+			out.writeUTF(descriptor);
+		});
+		return new AnnotationRecorder(this.record, delegate);
+	}
+
+	@Override
+	@Nullable
+	public MethodVisitor visitMethod(int access, String name, String descriptor,
+			@Nullable String signature, @Nullable String[] exceptions) {
+
+		MethodVisitor delegate = super.visitMethod(access, name, descriptor, signature, exceptions);
+		if ((access & Opcodes.ACC_BRIDGE) != 0) {
+			return delegate;
+		}
+		return new MethodRecorder(access, name, descriptor, delegate);
+	}
+
+	@Override
+	public void visitEnd() {
+		this.record.write(out -> out.writeByte(END));
+		super.visitEnd();
+	}
+
+	/**
+	 * Return the recorded class structure, or {@code null} if it could not
+	 * be recorded (for example due to an unsupported attribute value).
+	 */
+	@Nullable
+	public byte[] toByteArray() {
+		return this.record.toByteArray();
+	}
+
+
+	/**
+	 * Replay a record created by a {@code ClassMetadataRecorder} into the given visitor.
+	 * @param in the record to read
+	 * @param visitor the visitor to notify
+	 * @throws IOException if the record is truncated or corrupt
+	 */
+	public static void replay(DataInput in, ClassVisitor visitor) throws IOException {
+		int access = in.readInt();
+		String name = in.readUTF();
+		String superName = readNullableUTF(in);
+		String[] interfaces = new String[in.readShort()];
+		for (int i = 0; i < interfaces.length; i++) {
+			interfaces[i] = in.readUTF();
+		}
+		visitor.visit(Opcodes.V1_8, access, name, null, superName, interfaces);
+		while (true) {
+			int tag = in.readByte();
+			switch (tag) {
+				case OUTER_CLASS:
+					visitor.visitOuterClass(in.readUTF(), readNullableUTF(in), readNullableUTF(in));
+					break;
+				case INNER_CLASS:
+					visitor.visitInnerClass(in.readUTF(), in.readUTF(), readNullableUTF(in), in.readInt());
+					break;
+				case ANNOTATION:
+					replayAnnotation(in, visitor.visitAnnotation(in.readUTF(), true));
+					break;
+				case METHOD:
+					MethodVisitor mv = visitor.visitMethod(in.readInt(), in.readUTF(), in.readUTF(), null, null);
+					int annotationCount = in.readShort();
+					for (int i = 0; i < annotationCount; i++) {
+						String descriptor = in.readUTF();
+						replayAnnotation(in, (mv != null ? mv.visitAnnotation(descriptor, true) : null));
+					}
+					if (mv != null) {
+						mv.visitEnd();
+					}
+					break;
+				case END:
+					visitor.visitEnd();
+					return;
+				default:
+					throw new IOException("Corrupt class metadata record: unexpected tag " + tag);
+			}
+		}
+	}
+
+	private static void replayAnnotation(DataInput in, @Nullable AnnotationVisitor av) throws IOException {
+		while (true) {
+			int tag = in.readByte();
+			if (tag == END) {
+				if (av != null) {
+					av.visitEnd();
+				}
+				return;
+			}
+			String name = readNullableUTF(in);
+			switch (tag) {
+				case VALUE:
+					Object value = readValue(in);
+					if (av != null) {
+						av.visit(name, value);
+					}
+					break;
+				case ENUM_VALUE:
+					String enumDescriptor = in.readUTF();
+					String enumValue = in.readUTF();
+					if (av != null) {
+						av.visitEnum(name, enumDescriptor, enumValue);
+					}
+					break;
+				case ANNOTATION_VALUE:
+					String descriptor = in.readUTF();
+					replayAnnotation(in, (av != null ? av.visitAnnotation(name, descriptor) : null));
+					break;
+				case ARRAY_VALUE:
+					replayAnnotation(in, (av != null ? av.visitArray(name) : null));
+					break;
+				default:
+					throw new IOException("Corrupt class metadata record: unexpected value tag " + tag);
+			}
+		}
+	}
+
+	private static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value instanceof String) {
+			out.writeByte('s');
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Type) {
+			out.writeByte('T');
+			out.writeUTF(((Type) value).getDescriptor());
+		}
+		else if (value instanceof Integer) {
+			out.writeByte('I');
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte('Z');
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte('J');
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Byte) {
+			out.writeByte('B');
+			out.writeByte((Byte) value);
+		}
+		else if (value instanceof Character) {
+			out.writeByte('C');
+			out.writeChar((Character) value);
+		}
+		else if (value instanceof Short) {
+			out.writeByte('S');
+			out.writeShort((Short) value);
+		}
+		else if (value instanceof Float) {
+			out.writeByte('F');
+			out.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte('D');
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof byte[]) {
+			byte[] array = (byte[]) value;
+			out.writeByte('b');
+			out.writeInt(array.length);
+			out.write(array);
+		}
+		else if (value instanceof boolean[]) {
+			boolean[] array = (boolean[]) value;
+			out.writeByte('z');
+			out.writeInt(array.length);
+			for (boolean element : array) {
+				out.writeBoolean(element);
+			}
+		}
+		else if (value instanceof char[]) {
+			char[] array = (char[]) value;
+			out.writeByte('c');
+			out.writeInt(array.length);
+			for (char element : array) {
+				out.writeChar(element);
+			}
+		}
+		else if (value instanceof short[]) {
+			short[] array = (short[]) value;
+			out.writeByte('h');
+			out.writeInt(array.length);
+			for (short element : array) {
+				out.writeShort(element);
+			}
+		}
+		else if (value instanceof int[]) {
+			int[] array = (int[]) value;
+			out.writeByte('i');
+			out.writeInt(array.length);
+			for (int element : array) {
+				out.writeInt(element);
+			}
+		}
+		else if (value instanceof long[]) {
+			long[] array = (long[]) value;
+			out.writeByte('j');
+			out.writeInt(array.length);
+			for (long element : array) {
+				out.writeLong(element);
+			}
+		}
+		else if (value instanceof float[]) {
+			float[] array = (float[]) value;
+			out.writeByte('f');
+			out.writeInt(array.length);
+			for (float element : array) {
+				out.writeFloat(element);
+			}
+		}
+		else if (value instanceof double[]) {
+			double[] array = (double[]) value;
+			out.writeByte('d');
+			out.writeInt(array.length);
+			for (double element : array) {
+				out.writeDouble(element);
+			}
+		}
+		else {
+			throw new IOException("Unsupported annotation attribute value type: " + value.getClass().getName());
+		}
+	}
+
+	private static Object readValue(DataInput in) throws IOException {
+		int type = in.readByte();
+		switch (type) {
+			case 's':
+				return in.readUTF();
+			case 'T':
+				return Type.getType(in.readUTF());
+			case 'I':
+				return in.readInt();
+			case 'Z':
+				return in.readBoolean();
+			case 'J':
+				return in.readLong();
+			case 'B':
+				return in.readByte();
+			case 'C':
+				return in.readChar();
+			case 'S':
+				return in.readShort();
+			case 'F':
+				return in.readFloat();
+			case 'D':
+				return in.readDouble();
+			case 'b': {
+				byte[] array = new byte[in.readInt()];
+				in.readFully(array);
+				return array;
+			}
+			case 'z': {
+				boolean[] array = new boolean[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readBoolean();
+				}
+				return array;
+			}
+			case 'c': {
+				char[] array = new char[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readChar();
+				}
+				return array;
+			}
+			case 'h': {
+				short[] array = new short[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readShort();
+				}
+				return array;
+			}
+			case 'i': {
+				int[] array = new int[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readInt();
+				}
+				return array;
+			}
+			case 'j': {
+				long[] array = new long[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readLong();
+				}
+				return array;
+			}
+			case 'f': {
+				float[] array = new float[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readFloat();
+				}
+				return array;
+			}
+			case 'd': {
+				double[] array = new double[in.readInt()];
+				for (int i = 0; i < array.length; i++) {
+					array[i] = in.readDouble();
+				}
+				return array;
+			}
+			default:
+				throw new IOException("Corrupt class metadata record: unexpected value type " + type);
+		}
+	}
+
+	private static void writeNullableUTF(DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableUTF(DataInput in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+
+	/**
+	 * Callback for writing a part of a record.
+	 */
+	@FunctionalInterface
+	private interface RecordWriter {
+
+		void write(DataOutputStream out) throws IOException;
+	}
+
+
+	/**
+	 * Binary record buffer which is marked as failed on the first write error,
+	 * ignoring all subsequent writes.
+	 */
+	private static class Record {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+		private final DataOutputStream out = new DataOutputStream(this.bytes);
+
+		private boolean failed;
+
+		void write(RecordWriter writer) {
+			if (!this.failed) {
+				try {
+					writer.write(this.out);
+				}
+				catch (IOException ex) {
+					this.failed = true;
+				}
+			}
+		}
+
+		void append(Record other) {
+			if (other.failed) {
+				this.failed = true;
+			}
+			else {
+				write(out -> other.bytes.writeTo(out));
+			}
+		}
+
+		@Nullable
+		byte[] toByteArray() {
+			return (this.failed ? null : this.bytes.toByteArray());
+		}
+	}
+
+
+	/**
+	 * {@link AnnotationVisitor} that records annotation attributes.
+	 */
+	private static class AnnotationRecorder extends AnnotationVisitor {
+
+		private final Record record;
+
+		AnnotationRecorder(Record record, @Nullable AnnotationVisitor delegate) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.record = record;
+		}
+
+		@Override
+		public void visit(@Nullable String name, Object value) {
+			this.record.write(out -> {
+				out.writeByte(VALUE);
+				writeNullableUTF(out, name);
+				writeValue(out, value);
+			});
+			super.visit(name, value);
+		}
+
+		@Override
+		public void visitEnum(@Nullable String name, String descriptor, String value) {
+			this.record.write(out -> {
+				out.writeByte(ENUM_VALUE);
+				writeNullableUTF(out, name);
+				out.writeUTF(descriptor);
+				out.writeUTF(value);
+			});
+			super.visitEnum(name, descriptor, value);
+		}
+
+		@Override
+		public AnnotationVisitor visitAnnotation(@Nullable String name, String descriptor) {
+			this.record.write(out -> {
+				out.writeByte(ANNOTATION_VALUE);
+				writeNullableUTF(out, name);
+				out.writeUTF(descriptor);
+			});
+			return new AnnotationRecorder(this.record, super.visitAnnotation(name, descriptor));
+		}
+
+		@Override
+		public AnnotationVisitor visitArray(@Nullable String name) {
+			this.record.write(out -> {
+				out.writeByte(ARRAY_VALUE);
+				writeNullableUTF(out, name);
+			});
+			return new AnnotationRecorder(this.record, super.visitArray(name));
+		}
+
+		@Override
+		public void visitEnd() {
+			this.record.write(out -> out.writeByte(END));
+			super.visitEnd();
+		}
+	}
+
+
+	/**
+	 * {@link MethodVisitor} that records a method if it declares visible annotations.
+	 */
+	private class MethodRecorder extends MethodVisitor {
+
+		private final int access;
+
+		private final String name;
+
+		private final String descriptor;
+
+		private final Record annotations = new Record();
+
+		private int annotationCount;
+
+		MethodRecorder(int access, String name, String descriptor, @Nullable MethodVisitor delegate) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.access = access;
+			this.name = name;
+			this.descriptor = descriptor;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			AnnotationVisitor delegate = super.visitAnnotation(descriptor, visible);
+			if (!visible) {
+				return delegate;
+			}
+			this.annotationCount++;
+			this.annotations.write(out -> out.writeUTF(descriptor));
+			return new AnnotationRecorder(this.annotations, delegate);
+		}
+
+		@Override
+		public void visitEnd() {
+			if (this.annotationCount > 0) {
+				Record record = ClassMetadataRecorder.this.record;
+				record.write(out -> {
+					out.writeByte(METHOD);
+					out.writeInt(this.access);
+					out.writeUTF(this.name);
+					out.writeUTF(this.descriptor);
+					out.writeShort(this.annotationCount);
+				});
+				record.append(this.annotations);
+			}
+			super.visitEnd();
+		}
+	}
+
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * {@link MetadataReaderFactory} that persists class metadata read from jar files
+ * in a cache directory, so that subsequent JVMs can obtain the metadata of unchanged
+ * jars without reading or parsing any class files.
+ *
+ * <p>One cache file is kept per jar file, keyed by the jar's absolute path and
+ * validated against its size and last-modified timestamp. Cache files are
+ * memory-mapped on first access to a jar; each class entry holds a compact
+ * record of the class structure, the annotations and the annotated methods
+ * exposed through {@link org.springframework.core.type.AnnotationMetadata}.
+ * Classes in directories (or other non-jar locations) are always read through
+ * ASM, just like with a {@link SimpleMetadataReaderFactory}.
+ *
+ * <p>Metadata for classes that have not been cached yet is collected in memory
+ * and only written to disk on {@link #flush()}.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see ClassMetadataRecorder
+ */
+public class PersistentMetadataReaderFactory extends SimpleMetadataReaderFactory {
+
+	private static final int MAGIC = 0x534D4443;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String CACHE_FILE_SUFFIX = ".metadata";
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+
+	private final Path cacheDirectory;
+
+	private final Map<File, ArchiveCache> archiveCaches = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the default class loader.
+	 * @param cacheDirectory the directory to keep the cache files in
+	 */
+	public PersistentMetadataReaderFactory(Path cacheDirectory) {
+		super();
+		Assert.notNull(cacheDirectory, "Cache directory must not be null");
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given resource loader.
+	 * @param cacheDirectory the directory to keep the cache files in
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 */
+	public PersistentMetadataReaderFactory(Path cacheDirectory, @Nullable ResourceLoader resourceLoader) {
+		super(resourceLoader);
+		Assert.notNull(cacheDirectory, "Cache directory must not be null");
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given class loader.
+	 * @param cacheDirectory the directory to keep the cache files in
+	 * @param classLoader the ClassLoader to use
+	 */
+	public PersistentMetadataReaderFactory(Path cacheDirectory, @Nullable ClassLoader classLoader) {
+		super(classLoader);
+		Assert.notNull(cacheDirectory, "Cache directory must not be null");
+		this.cacheDirectory = cacheDirectory;
+	}
+
+
+	/**
+	 * Return the directory that cache files are kept in.
+	 */
+	public final Path getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+
+
+	@Override
+	public MetadataReader getMetadataReader(Resource resource) throws IOException {
+		ArchiveEntry entry = getArchiveEntry(resource);
+		if (entry == null) {
+			return super.getMetadataReader(resource);
+		}
+		ArchiveCache cache = this.archiveCaches.computeIfAbsent(entry.archive, this::loadArchiveCache);
+		ClassLoader classLoader = getResourceLoader().getClassLoader();
+		ByteBuffer record = cache.get(entry.name);
+		if (record != null) {
+			try {
+				SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
+				ClassMetadataRecorder.replay(new DataInputStream(new ByteBufferInputStream(record)), visitor);
+				return new SimpleMetadataReader(resource, visitor.getMetadata());
+			}
+			catch (IOException | RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring cached metadata for " + resource + ": " + ex);
+				}
+			}
+		}
+		SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
+		ClassMetadataRecorder recorder = new ClassMetadataRecorder(visitor);
+		SimpleMetadataReader.getClassReader(resource).accept(recorder, SimpleMetadataReader.PARSING_OPTIONS);
+		byte[] bytes = recorder.toByteArray();
+		if (bytes != null) {
+			cache.put(entry.name, bytes);
+		}
+		return new SimpleMetadataReader(resource, visitor.getMetadata());
+	}
+
+	/**
+	 * Write the metadata collected for not yet cached classes to the cache directory.
+	 * <p>Only cache files for jars with new entries get rewritten. Each cache file is
+	 * written to a temporary file first and then moved into place.
+	 * @throws IOException if a cache file could not be written
+	 */
+	public void flush() throws IOException {
+		for (ArchiveCache cache : this.archiveCaches.values()) {
+			cache.flush();
+		}
+	}
+
+	/**
+	 * Clear the in-memory state of this factory, including metadata that has
+	 * not been {@linkplain #flush() flushed} yet. Cache files get re-read on
+	 * next access.
+	 */
+	public void clearCache() {
+		this.archiveCaches.clear();
+	}
+
+
+	@Nullable
+	private ArchiveEntry getArchiveEntry(Resource resource) {
+		try {
+			URL url = resource.getURL();
+			if (!ResourceUtils.URL_PROTOCOL_JAR.equals(url.getProtocol())) {
+				return null;
+			}
+			String urlFile = url.getFile();
+			int separatorIndex = urlFile.indexOf(ResourceUtils.JAR_URL_SEPARATOR);
+			URL jarFileUrl = ResourceUtils.extractJarFileURL(url);
+			if (separatorIndex == -1 || !ResourceUtils.isFileURL(jarFileUrl)) {
+				return null;
+			}
+			File archive = ResourceUtils.getFile(jarFileUrl).getAbsoluteFile();
+			return new ArchiveEntry(archive, urlFile.substring(separatorIndex + ResourceUtils.JAR_URL_SEPARATOR.length()));
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private ArchiveCache loadArchiveCache(File archive) {
+		String archivePath = archive.getPath();
+		Path cacheFile = this.cacheDirectory.resolve(
+				DigestUtils.md5DigestAsHex(archivePath.getBytes(StandardCharsets.UTF_8)) + CACHE_FILE_SUFFIX);
+		ArchiveCache cache = new ArchiveCache(archivePath, archive.length(), archive.lastModified(), cacheFile);
+		if (Files.isRegularFile(cacheFile)) {
+			try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+				cache.load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			}
+			catch (IOException | RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring unreadable metadata cache file " + cacheFile + ": " + ex);
+				}
+			}
+		}
+		return cache;
+	}
+
+
+	/**
+	 * A class file entry within a jar file.
+	 */
+	private static class ArchiveEntry {
+
+		final File archive;
+
+		final String name;
+
+		ArchiveEntry(File archive, String name) {
+			this.archive = archive;
+			this.name = name;
+		}
+	}
+
+
+	/**
+	 * Cached class metadata records for a single jar file.
+	 */
+	private class ArchiveCache {
+
+		private final String archivePath;
+
+		private final long archiveLength;
+
+		private final long archiveLastModified;
+
+		private final Path cacheFile;
+
+		private final Map<String, ByteBuffer> records = new ConcurrentHashMap<>();
+
+		private final AtomicBoolean dirty = new AtomicBoolean();
+
+		ArchiveCache(String archivePath, long archiveLength, long archiveLastModified, Path cacheFile) {
+			this.archivePath = archivePath;
+			this.archiveLength = archiveLength;
+			this.archiveLastModified = archiveLastModified;
+			this.cacheFile = cacheFile;
+		}
+
+		@Nullable
+		ByteBuffer get(String entryName) {
+			ByteBuffer record = this.records.get(entryName);
+			return (record != null ? record.duplicate() : null);
+		}
+
+		void put(String entryName, byte[] record) {
+			this.records.put(entryName, ByteBuffer.wrap(record));
+			this.dirty.set(true);
+		}
+
+		/**
+		 * Index the given cache file content, unless it is stale. Records are
+		 * exposed as slices of the given buffer rather than being copied.
+		 */
+		void load(ByteBuffer buffer) {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION ||
+					!this.archivePath.equals(getString(buffer)) || buffer.getLong() != this.archiveLength ||
+					buffer.getLong() != this.archiveLastModified) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring stale metadata cache file " + this.cacheFile);
+				}
+				return;
+			}
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				String entryName = getString(buffer);
+				int length = buffer.getInt();
+				ByteBuffer record = buffer.duplicate();
+				record.limit(record.position() + length);
+				this.records.put(entryName, record.slice());
+				buffer.position(buffer.position() + length);
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("Loaded " + count + " class metadata records for " + this.archivePath);
+			}
+		}
+
+		synchronized void flush() throws IOException {
+			if (!this.dirty.getAndSet(false)) {
+				return;
+			}
+			try {
+				Files.createDirectories(cacheDirectory);
+				Path tempFile = Files.createTempFile(cacheDirectory, this.cacheFile.getFileName().toString(), ".tmp");
+				try {
+					write(tempFile);
+					try {
+						Files.move(tempFile, this.cacheFile,
+								StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+					}
+					catch (AtomicMoveNotSupportedException ex) {
+						Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+				finally {
+					Files.deleteIfExists(tempFile);
+				}
+			}
+			catch (IOException | RuntimeException ex) {
+				this.dirty.set(true);
+				throw ex;
+			}
+		}
+
+		private void write(Path file) throws IOException {
+			Map<String, ByteBuffer> records = new TreeMap<>(this.records);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				putString(out, this.archivePath);
+				out.writeLong(this.archiveLength);
+				out.writeLong(this.archiveLastModified);
+				out.writeInt(records.size());
+				byte[] buffer = new byte[1024];
+				for (Map.Entry<String, ByteBuffer> entry : records.entrySet()) {
+					putString(out, entry.getKey());
+					ByteBuffer record = entry.getValue().duplicate();
+					out.writeInt(record.remaining());
+					while (record.hasRemaining()) {
+						int length = Math.min(buffer.length, record.remaining());
+						record.get(buffer, 0, length);
+						out.write(buffer, 0, length);
+					}
+				}
+			}
+		}
+
+		private String getString(ByteBuffer buffer) {
+			byte[] bytes = new byte[buffer.getInt()];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private void putString(DataOutputStream out, String value) throws IOException {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+
+	/**
+	 * {@link InputStream} reading from a {@link ByteBuffer}.
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int length = Math.min(len, this.buffer.remaining());
+			this.buffer.get(bytes, off, length);
+			return length;
+		}
+	}
+
+}
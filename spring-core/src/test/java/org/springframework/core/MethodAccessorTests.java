@@ -0,0 +1,150 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link MethodAccessor}.
+ *
+ * @author Fu Dong
+ */
+class MethodAccessorTests {
+
+	private final Sample sample = new Sample();
+
+
+	@Test
+	void invokeInstanceMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("concat", String.class, int.class));
+		assertThat(accessor.invoke(this.sample, "a", 1)).isEqualTo("a1");
+		assertThat(accessor.invoke(this.sample, null, 2)).isEqualTo("null2");
+		assertThat(accessor.getMethod()).isEqualTo(method("concat", String.class, int.class));
+	}
+
+	@Test
+	void invokeStaticMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("twice", long.class));
+		assertThat(accessor.invoke(null, 21L)).isEqualTo(42L);
+		assertThat(accessor.invoke(this.sample, 21L)).isEqualTo(42L);
+	}
+
+	@Test
+	void invokeVoidMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("increment"));
+		assertThat(accessor.invoke(this.sample)).isNull();
+		assertThat(this.sample.count).isEqualTo(1);
+	}
+
+	@Test
+	void invokePrivateMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("secret"));
+		assertThat(accessor.invoke(this.sample)).isEqualTo("secret");
+	}
+
+	@Test
+	void invokeVarargsMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("join", String[].class));
+		assertThat(accessor.invoke(this.sample, (Object) new String[] {"a", "b"})).isEqualTo("a,b");
+	}
+
+	@Test
+	void invokeWithWideningConversion() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("twice", long.class));
+		assertThat(accessor.invoke(null, 21)).isEqualTo(42L);
+	}
+
+	@Test
+	void exceptionThrownFromMethod() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("fail"));
+		assertThatExceptionOfType(InvocationTargetException.class)
+				.isThrownBy(() -> accessor.invoke(this.sample))
+				.satisfies(ex -> assertThat(ex.getTargetException()).isInstanceOf(IOException.class));
+	}
+
+	@Test
+	void argumentMismatch() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("concat", String.class, int.class));
+		assertThatIllegalArgumentException().isThrownBy(() -> accessor.invoke(this.sample, 1, "a"));
+		assertThatIllegalArgumentException().isThrownBy(() -> accessor.invoke(this.sample, "a", null));
+		assertThatIllegalArgumentException().isThrownBy(() -> accessor.invoke(this.sample, "a"));
+	}
+
+	@Test
+	void targetMismatch() throws Exception {
+		MethodAccessor accessor = MethodAccessor.forMethod(method("concat", String.class, int.class));
+		assertThatIllegalArgumentException().isThrownBy(() -> accessor.invoke("target", "a", 1))
+				.withMessageContaining("not an instance of declaring class");
+	}
+
+	@Test
+	void accessorIsCached() throws Exception {
+		Method method = method("concat", String.class, int.class);
+		assertThat(MethodAccessor.forMethod(method)).isSameAs(MethodAccessor.forMethod(method));
+	}
+
+	@Test
+	void reflectiveAccessor() throws Exception {
+		MethodAccessor accessor = MethodAccessor.reflective(method("secret"));
+		assertThat(accessor.invoke(this.sample)).isEqualTo("secret");
+	}
+
+
+	private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return Sample.class.getDeclaredMethod(name, parameterTypes);
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class Sample {
+
+		int count;
+
+		public String concat(String value, int number) {
+			return value + number;
+		}
+
+		public static long twice(long value) {
+			return value * 2;
+		}
+
+		public void increment() {
+			this.count++;
+		}
+
+		private String secret() {
+			return "secret";
+		}
+
+		public String join(String... values) {
+			return String.join(",", values);
+		}
+
+		public void fail() throws IOException {
+			throw new IOException("failure");
+		}
+	}
+
+}
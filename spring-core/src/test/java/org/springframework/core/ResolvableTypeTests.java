@@ -116,6 +116,17 @@ class ResolvableTypeTests {
 		assertThat(type.isAssignableFrom(String.class)).isTrue();
 	}
 
+	@Test
+	void forClassReturnsSharedInstance() throws Exception {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		assertThat(ResolvableType.forClass(ExtendsList.class)).isSameAs(type);
+		assertThat(ResolvableType.forClass(null)).isSameAs(ResolvableType.forClass(Object.class));
+		assertThat(type.as(List.class).getGeneric()).isSameAs(type.as(List.class).getGeneric());
+
+		ResolvableType.clearCache();
+		assertThat(ResolvableType.forClass(ExtendsList.class)).isNotSameAs(type).isEqualTo(type);
+	}
+
 	@Test
 	void forRawClass() throws Exception {
 		ResolvableType type = ResolvableType.forRawClass(ExtendsList.class);
@@ -1002,6 +1013,19 @@ class ResolvableTypeTests {
 		assertThat(stringType.isInstance(new StringBuilder("a StringBuilder"))).isFalse();
 	}
 
+	@Test
+	void isAssignableFromRepeatedlyForClassWithGenerics() throws Exception {
+		ResolvableType charSequenceList = ResolvableType.forField(Fields.class.getField("charSequenceList"));
+		ResolvableType stringList = ResolvableType.forField(Fields.class.getField("stringList"));
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(charSequenceList.isAssignableFrom(ExtendsList.class)).isTrue();
+			assertThat(charSequenceList.isAssignableFrom(ResolvableType.forClass(ExtendsList.class))).isTrue();
+			assertThat(stringList.isAssignableFrom(ExtendsList.class)).isFalse();
+			assertThat(stringList.isAssignableFrom(ResolvableType.forClass(ExtendsList.class))).isFalse();
+		}
+	}
+
 	@Test
 	void isAssignableFromCannotBeResolved() throws Exception {
 		ResolvableType objectType = ResolvableType.forClass(Object.class);
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MergedAnnotationIndex}.
+ *
+ * @author Fu Dong
+ */
+class MergedAnnotationIndexTests {
+
+	@Test
+	void getReturnsMergedAttributes() {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forInheritedAnnotations(Composed.class);
+		MergedAnnotation<Base> mergedAnnotation = index.get(Base.class);
+
+		assertThat(mergedAnnotation.isPresent()).isTrue();
+		assertThat(mergedAnnotation.getString("value")).isEqualTo("composed");
+		assertThat(index.get(Base.class)).isSameAs(mergedAnnotation);
+	}
+
+	@Test
+	void synthesizeReturnsSameInstance() {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forTypeHierarchy(Composed.class);
+		Base base = index.synthesize(Base.class);
+
+		assertThat(base).isNotNull();
+		assertThat(base.value()).isEqualTo("composed");
+		assertThat(base.name()).isEqualTo("composed");
+		assertThat(index.synthesize(Base.class)).isSameAs(base);
+		assertThat(AnnotatedElementUtils.findMergedAnnotation(Composed.class, Base.class)).isSameAs(base);
+	}
+
+	@Test
+	void missingAnnotation() {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forInheritedAnnotations(Plain.class);
+
+		assertThat(index.isPresent(Base.class)).isFalse();
+		assertThat(index.get(Base.class)).isSameAs(MergedAnnotation.missing());
+		assertThat(index.synthesize(Base.class)).isNull();
+	}
+
+	@Test
+	void searchStrategiesIndexedSeparately() {
+		assertThat(MergedAnnotationIndex.forInheritedAnnotations(ImplementsInterface.class)
+				.isPresent(Base.class)).isFalse();
+		assertThat(MergedAnnotationIndex.forTypeHierarchy(ImplementsInterface.class)
+				.isPresent(Base.class)).isTrue();
+		assertThat(AnnotatedElementUtils.isAnnotated(ImplementsInterface.class, Base.class)).isFalse();
+		assertThat(AnnotatedElementUtils.hasAnnotation(ImplementsInterface.class, Base.class)).isTrue();
+	}
+
+	@Test
+	void clearCache() {
+		MergedAnnotationIndex index = MergedAnnotationIndex.forInheritedAnnotations(Composed.class);
+		assertThat(MergedAnnotationIndex.forInheritedAnnotations(Composed.class)).isSameAs(index);
+
+		AnnotationUtils.clearCache();
+		assertThat(MergedAnnotationIndex.forInheritedAnnotations(Composed.class)).isNotSameAs(index);
+	}
+
+	@Test
+	void adaptersNotCached() {
+		AnnotatedElement element = AnnotatedElementUtils.forAnnotations(Composed.class.getAnnotations());
+		MergedAnnotationIndex index = MergedAnnotationIndex.forInheritedAnnotations(element);
+		assertThat(index.get(Base.class).getString("value")).isEqualTo("composed");
+		assertThat(MergedAnnotationIndex.forInheritedAnnotations(element)).isNotSameAs(index);
+		assertThat(MergedAnnotationIndex.forTypeHierarchy(element)).isNotSameAs(
+				MergedAnnotationIndex.forTypeHierarchy(element));
+	}
+
+	@Test
+	void membersCached() throws Exception {
+		Method method = Composed.class.getDeclaredMethod("method");
+		assertThat(MergedAnnotationIndex.forTypeHierarchy(method)).isSameAs(
+				MergedAnnotationIndex.forTypeHierarchy(method));
+	}
+
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Inherited
+	@interface Base {
+
+		@AliasFor("name")
+		String value() default "";
+
+		@AliasFor("value")
+		String name() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Inherited
+	@Base
+	@interface ComposedBase {
+
+		@AliasFor(annotation = Base.class)
+		String name() default "";
+	}
+
+	@ComposedBase(name = "composed")
+	static class Composed {
+
+		@Base
+		void method() {
+		}
+	}
+
+	static class Plain {
+	}
+
+	@Base("interface")
+	interface AnnotatedInterface {
+	}
+
+	static class ImplementsInterface implements AnnotatedInterface {
+	}
+
+}
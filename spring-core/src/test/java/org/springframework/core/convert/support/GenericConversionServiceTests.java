@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -616,6 +616,70 @@ class GenericConversionServiceTests {
 		assertThat(conversionService.convert("test", TypeDescriptor.valueOf(String.class), new TypeDescriptor(getClass().getField("integerCollection")))).isEqualTo(Collections.singleton("testX"));
 	}
 
+	@Test
+	void conversionPlanWithConverterFactory() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		ConversionPlan plan = conversionService.getConversionPlan(String.class, Integer.class);
+		assertThat(plan.canConvert()).isTrue();
+		assertThat(plan.convert("3")).isEqualTo(3);
+		assertThat(plan.convert(" 42 ")).isEqualTo(42);
+		assertThat(plan.convert("")).isNull();
+		assertThat(plan.convert(null)).isNull();
+		assertThatExceptionOfType(ConversionFailedException.class).isThrownBy(() -> plan.convert("x"));
+		assertThatIllegalArgumentException().isThrownBy(() -> plan.convert(3));
+	}
+
+	@Test
+	void conversionPlanWithPrimitiveTarget() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverterFactory(new NumberToNumberConverterFactory());
+		assertThat(conversionService.getConversionPlan(String.class, int.class).convert("7")).isEqualTo(7);
+		assertThat(conversionService.getConversionPlan(Integer.class, long.class).convert(7)).isEqualTo(7L);
+		assertThatExceptionOfType(ConversionFailedException.class).isThrownBy(() ->
+				conversionService.getConversionPlan(String.class, int.class).convert(""));
+	}
+
+	@Test
+	void conversionPlanWithEnum() {
+		conversionService.addConverterFactory(new StringToEnumConverterFactory());
+		ConversionPlan plan = conversionService.getConversionPlan(String.class, MyEnum.class);
+		assertThat(plan.convert("A")).isEqualTo(MyEnum.A);
+		assertThat(plan.convert("C")).isEqualTo(MyEnum.C);
+	}
+
+	@Test
+	void conversionPlanWithAssignableTypes() {
+		ConversionPlan plan = conversionService.getConversionPlan(Integer.class, Number.class);
+		assertThat(plan.canConvert()).isTrue();
+		assertThat(plan.convert(3)).isEqualTo(3);
+
+		plan = conversionService.getConversionPlan(String.class, Integer.class);
+		assertThat(plan.canConvert()).isFalse();
+		ConversionPlan stringToInteger = plan;
+		assertThatExceptionOfType(ConverterNotFoundException.class).isThrownBy(() -> stringToInteger.convert("3"));
+	}
+
+	@Test
+	void conversionPlanReflectsConverterChanges() {
+		ConversionPlan plan = conversionService.getConversionPlan(String.class, Integer.class);
+		assertThat(plan.canConvert()).isFalse();
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		assertThat(plan.canConvert()).isTrue();
+		assertThat(plan.convert("3")).isEqualTo(3);
+		conversionService.removeConvertible(String.class, Number.class);
+		assertThat(plan.canConvert()).isFalse();
+	}
+
+	@Test
+	void conversionPlanWithGenericConverter() {
+		conversionService.addConverter(new CollectionToCollectionConverter(conversionService));
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		ConversionPlan plan = conversionService.getConversionPlan(
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class)),
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class)));
+		assertThat(plan.convert(Arrays.asList("1", "2"))).isEqualTo(Arrays.asList(1, 2));
+	}
+
 	@Test
 	void rawCollectionAsSource() throws Exception {
 		conversionService.addConverter(new MyStringToRawCollectionConverter());
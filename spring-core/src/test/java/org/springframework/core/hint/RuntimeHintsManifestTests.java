@@ -0,0 +1,172 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.hint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RuntimeHintsManifest} and {@link RuntimeHintsRecorder}.
+ *
+ * @author Fu Dong
+ */
+class RuntimeHintsManifestTests {
+
+	@TempDir
+	Path directory;
+
+
+	@Test
+	void recordingOnlyWhenStarted() throws Exception {
+		RuntimeHintsRecorder.recordMethod(Sample.class.getMethod("setName", String.class));
+		assertThat(RuntimeHintsRecorder.isRecording()).isFalse();
+
+		RuntimeHints hints = RuntimeHintsRecorder.startRecording();
+		RuntimeHintsRecorder.recordMethod(Sample.class.getMethod("setName", String.class));
+		RuntimeHintsRecorder.recordConstructor(Sample.class.getConstructor(String[].class));
+		RuntimeHintsRecorder.recordField(Sample.class.getDeclaredField("name"));
+		RuntimeHintsRecorder.recordProxy(Runnable.class, AutoCloseable.class);
+		RuntimeHintsRecorder.recordResource("/META-INF/spring.factories");
+		RuntimeHintsRecorder.stopRecording(hints);
+
+		assertThat(hints.getTypes()).containsExactly(Sample.class.getName());
+		assertThat(hints.getExecutables(Sample.class.getName()))
+				.containsExactly("<init>(java.lang.String[])", "setName(java.lang.String)");
+		assertThat(hints.getFields(Sample.class.getName())).containsExactly("name");
+		assertThat(hints.getProxies()).containsExactly(
+				Arrays.asList(Runnable.class.getName(), AutoCloseable.class.getName()));
+		assertThat(hints.getResources()).containsExactly("META-INF/spring.factories");
+		assertThat(RuntimeHintsRecorder.isRecording()).isFalse();
+	}
+
+	@Test
+	void concurrentRecordingsStoppedIndependently() throws Exception {
+		RuntimeHints outer = RuntimeHintsRecorder.startRecording();
+		RuntimeHintsRecorder.recordResource("outer.properties");
+		RuntimeHints inner = RuntimeHintsRecorder.startRecording();
+		RuntimeHintsRecorder.recordResource("inner.properties");
+		RuntimeHintsRecorder.stopRecording(inner);
+		RuntimeHintsRecorder.recordResource("after.properties");
+		assertThat(RuntimeHintsRecorder.isRecording()).isTrue();
+		RuntimeHintsRecorder.stopRecording(outer);
+
+		assertThat(inner.getResources()).containsExactly("inner.properties");
+		assertThat(outer.getResources()).containsExactlyInAnyOrder(
+				"outer.properties", "inner.properties", "after.properties");
+		assertThat(RuntimeHintsRecorder.isRecording()).isFalse();
+	}
+
+	@Test
+	void writeNativeImageConfiguration() throws Exception {
+		RuntimeHints hints = new RuntimeHints();
+		hints.registerMethod(Sample.class.getMethod("setName", String.class));
+		hints.registerField(Sample.class.getDeclaredField("name"));
+		hints.registerProxy(Runnable.class.getName());
+		hints.registerResource("META-INF/spring/*.properties");
+		RuntimeHintsManifest.write(hints, this.directory);
+
+		assertThat(read(RuntimeHintsManifest.REFLECTION_CONFIG_FILE)).isEqualTo("[\n" +
+				"  {\"name\": \"" + Sample.class.getName() + "\", \"methods\": [\n" +
+				"    {\"name\": \"setName\", \"parameterTypes\": [\"java.lang.String\"]}\n" +
+				"  ], \"fields\": [\n" +
+				"    {\"name\": \"name\"}\n" +
+				"  ]}\n" +
+				"]\n");
+		assertThat(read(RuntimeHintsManifest.PROXY_CONFIG_FILE)).isEqualTo("[\n" +
+				"  {\"interfaces\": [\"java.lang.Runnable\"]}\n" +
+				"]\n");
+		assertThat(read(RuntimeHintsManifest.RESOURCE_CONFIG_FILE)).contains(
+				"{\"pattern\": \"\\\\QMETA-INF/spring/\\\\E[^/]*\\\\Q.properties\\\\E\"}");
+	}
+
+	@Test
+	void generatedClassesRoundTrip() throws IOException {
+		byte[] bytecode = getBytecode(Sample.class);
+		RuntimeHints recorded = RuntimeHintsRecorder.startRecording();
+		RuntimeHintsRecorder.recordGeneratedClass(bytecode);
+		RuntimeHintsRecorder.recordGeneratedClassName("key", Sample.class.getName());
+		RuntimeHintsRecorder.stopRecording(recorded);
+		RuntimeHintsManifest.write(recorded, this.directory);
+
+		RuntimeHints hints = RuntimeHintsManifest.read(this.directory);
+		assertThat(hints).isNotNull();
+		assertThat(hints.getGeneratedClassName("key")).isEqualTo(Sample.class.getName());
+		assertThat(hints.getGeneratedClass(Sample.class.getName())).isEqualTo(bytecode);
+		assertThat(hints.getGeneratedClassName("other")).isNull();
+	}
+
+	@Test
+	void readWithoutManifest() throws IOException {
+		assertThat(RuntimeHintsManifest.read(this.directory)).isNull();
+		assertThat(RuntimeHintsManifest.read(this.directory.resolve("missing"))).isNull();
+	}
+
+	@Test
+	void resourcePatternToRegex() {
+		assertThat(matches("a/b.xml", "a/b.xml")).isTrue();
+		assertThat(matches("a/b.xml", "a/bxxml")).isFalse();
+		assertThat(matches("a/*.xml", "a/b.xml")).isTrue();
+		assertThat(matches("a/*.xml", "a/b/c.xml")).isFalse();
+		assertThat(matches("a/**/*.xml", "a/b/c.xml")).isTrue();
+		assertThat(matches("a/?.xml", "a/b.xml")).isTrue();
+		assertThat(matches("a/?.xml", "a/bc.xml")).isFalse();
+	}
+
+
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(this.directory.resolve(fileName)), StandardCharsets.UTF_8);
+	}
+
+	private static boolean matches(String location, String path) {
+		return Pattern.matches(RuntimeHintsManifest.toRegex(location), path);
+	}
+
+	private static byte[] getBytecode(Class<?> clazz) throws IOException {
+		String resourceName = ClassUtils.convertClassNameToResourcePath(clazz.getName()) + ClassUtils.CLASS_FILE_SUFFIX;
+		try (InputStream in = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+			return FileCopyUtils.copyToByteArray(in);
+		}
+	}
+
+
+	@SuppressWarnings("unused")
+	public static class Sample {
+
+		private String name;
+
+		public Sample(String... names) {
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
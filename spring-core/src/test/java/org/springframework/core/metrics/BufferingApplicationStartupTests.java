@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ *
+ * @author Fu Dong
+ */
+class BufferingApplicationStartupTests {
+
+	@Test
+	void nestedStepsRecordParent() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("outer").tag("beanName", "a");
+		StartupStep inner = startup.start("inner").tag("beanName", () -> "b");
+		inner.end();
+		outer.end();
+		StartupStep next = startup.start("next");
+		next.end();
+
+		List<BufferedStartupStep> steps = startup.getBufferedSteps();
+		assertThat(steps).extracting(StartupStep::getName).containsExactly("inner", "outer", "next");
+		assertThat(steps.get(0).getParentId()).isEqualTo(outer.getId());
+		assertThat(steps.get(1).getParentId()).isNull();
+		assertThat(steps.get(2).getParentId()).isNull();
+		assertThat(steps.get(0).getTags()).hasSize(1);
+		StartupStep.Tag tag = steps.get(0).getTags().iterator().next();
+		assertThat(tag.getKey()).isEqualTo("beanName");
+		assertThat(tag.getValue()).isEqualTo("b");
+		assertThat(steps.get(1).getDurationNanos()).isGreaterThanOrEqualTo(steps.get(0).getDurationNanos());
+	}
+
+	@Test
+	void parentRestoredWhenNestedStepNotEnded() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("outer");
+		startup.start("abandoned");
+		outer.end();
+		StartupStep next = startup.start("next");
+		assertThat(next.getParentId()).isNull();
+	}
+
+	@Test
+	void oldestStepsDroppedWhenFull() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			startup.start("step" + i).end();
+		}
+		assertThat(startup.getBufferedSteps()).extracting(StartupStep::getName).containsExactly("step3", "step4");
+		assertThat(startup.getDroppedCount()).isEqualTo(3);
+	}
+
+	@Test
+	void endedStepCannotChange() {
+		StartupStep step = new BufferingApplicationStartup(1).start("step");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(step::end);
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("key", "value"));
+	}
+
+	@Test
+	void exportFoldedStacks() throws Exception {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("outer").tag("beanName", "a;b");
+		StartupStep inner = startup.start("inner");
+		Thread.sleep(5);
+		inner.end();
+		Thread.sleep(5);
+		outer.end();
+
+		StringBuilder out = new StringBuilder();
+		startup.exportFoldedStacks(out);
+		String[] lines = out.toString().split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).matches("outer\\[beanName=a,b\\];inner \\d+");
+		assertThat(lines[1]).matches("outer\\[beanName=a,b\\] \\d+");
+		long innerMicros = Long.parseLong(lines[0].substring(lines[0].lastIndexOf(' ') + 1));
+		long outerSelfMicros = Long.parseLong(lines[1].substring(lines[1].lastIndexOf(' ') + 1));
+		assertThat(innerMicros).isGreaterThanOrEqualTo(5000);
+		assertThat(outerSelfMicros).isGreaterThanOrEqualTo(5000);
+		assertThat(outerSelfMicros + innerMicros)
+				.isLessThanOrEqualTo(((BufferedStartupStep) outer).getDuration().toNanos() / 1000);
+	}
+
+}
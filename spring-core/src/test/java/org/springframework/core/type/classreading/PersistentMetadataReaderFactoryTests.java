@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PersistentMetadataReaderFactory}. The inherited tests verify
+ * metadata that has been replayed from a cache file, without access to the
+ * original class file.
+ *
+ * @author Fu Dong
+ */
+class PersistentMetadataReaderFactoryTests extends AbstractAnnotationMetadataTests {
+
+	private Path jarDirectory;
+
+	private Path cacheDirectory;
+
+
+	@BeforeEach
+	void setup(@TempDir Path tempDirectory) throws IOException {
+		this.jarDirectory = Files.createDirectory(tempDirectory.resolve("jars"));
+		this.cacheDirectory = tempDirectory.resolve("cache");
+	}
+
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			URL url = createJar(source, source.getName() + ".jar");
+			PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+			factory.getMetadataReader(new UrlResource(url));
+			factory.flush();
+			factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+			return factory.getMetadataReader(new UnreadableResource(url)).getAnnotationMetadata();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Test
+	void metadataNotPersistedWithoutFlush() throws IOException {
+		URL url = createJar(WithAnnotatedMethod.class, "test.jar");
+		new PersistentMetadataReaderFactory(this.cacheDirectory).getMetadataReader(new UrlResource(url));
+
+		assertThat(Files.exists(this.cacheDirectory)).isFalse();
+		assertThatIllegalStateException().isThrownBy(() ->
+				new PersistentMetadataReaderFactory(this.cacheDirectory).getMetadataReader(new UnreadableResource(url)));
+	}
+
+	@Test
+	void staleCacheFileIgnored() throws IOException {
+		URL url = createJar(WithAnnotatedMethod.class, "test.jar");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		factory.getMetadataReader(new UrlResource(url));
+		factory.flush();
+
+		URL changedUrl = createJar(WithAnnotatedMethod.class, "test.jar", TestClass.class);
+		assertThat(changedUrl).isEqualTo(url);
+		assertThatIllegalStateException().isThrownBy(() ->
+				new PersistentMetadataReaderFactory(this.cacheDirectory).getMetadataReader(new UnreadableResource(url)));
+
+		factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		AnnotationMetadata metadata = factory.getMetadataReader(new UrlResource(url)).getAnnotationMetadata();
+		assertThat(metadata.getClassName()).isEqualTo(WithAnnotatedMethod.class.getName());
+		factory.flush();
+		try (Stream<Path> cacheFiles = Files.list(this.cacheDirectory)) {
+			assertThat(cacheFiles).hasSize(1);
+		}
+	}
+
+	@Test
+	void classFilesOutsideOfJarsNotCached() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(this.cacheDirectory);
+		ClassPathResource resource = new ClassPathResource(
+				ClassUtils.convertClassNameToResourcePath(TestClass.class.getName()) + ClassUtils.CLASS_FILE_SUFFIX);
+		assertThat(factory.getMetadataReader(resource).getClassMetadata().getClassName())
+				.isEqualTo(TestClass.class.getName());
+		factory.flush();
+
+		assertThat(Files.exists(this.cacheDirectory)).isFalse();
+	}
+
+
+	private URL createJar(Class<?> source, String jarName, Class<?>... additionalClasses) throws IOException {
+		Path jar = this.jarDirectory.resolve(jarName);
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			writeClass(out, source);
+			for (Class<?> additionalClass : additionalClasses) {
+				writeClass(out, additionalClass);
+			}
+		}
+		return new URL("jar:" + jar.toUri().toURL() + "!/" + getEntryName(source));
+	}
+
+	private void writeClass(JarOutputStream out, Class<?> source) throws IOException {
+		String entryName = getEntryName(source);
+		out.putNextEntry(new JarEntry(entryName));
+		try (InputStream in = ClassUtils.getDefaultClassLoader().getResourceAsStream(entryName)) {
+			out.write(FileCopyUtils.copyToByteArray(in));
+		}
+		out.closeEntry();
+	}
+
+	private static String getEntryName(Class<?> source) {
+		return ClassUtils.convertClassNameToResourcePath(source.getName()) + ClassUtils.CLASS_FILE_SUFFIX;
+	}
+
+
+	/**
+	 * Resource that fails if its content is requested.
+	 */
+	private static class UnreadableResource extends UrlResource {
+
+		UnreadableResource(URL url) {
+			super(url);
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			throw new IllegalStateException("Class file should not be read: " + getDescription());
+		}
+	}
+
+}
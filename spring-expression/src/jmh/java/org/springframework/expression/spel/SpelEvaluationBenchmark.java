@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmark comparing interpreted and compiled evaluation of
+ * the same SpEL expressions.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelEvaluationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"name", "address.city", "name.length() > 3 and age >= 18", "'key-' + name + '-' + age"})
+		public String expressionString;
+
+		public Person person;
+
+		public EvaluationContext context;
+
+		public Expression interpreted;
+
+		public Expression compiled;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.person = new Person("Juergen", 42, new Address("Linz"));
+			this.context = new StandardEvaluationContext(this.person);
+
+			SpelExpressionParser interpretingParser = new SpelExpressionParser(
+					new SpelParserConfiguration(SpelCompilerMode.OFF, getClass().getClassLoader()));
+			this.interpreted = interpretingParser.parseExpression(this.expressionString);
+
+			SpelExpressionParser compilingParser = new SpelExpressionParser(
+					new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+			this.compiled = compilingParser.parseExpression(this.expressionString);
+			// Evaluate twice: the first evaluation discovers the exit type descriptors,
+			// the second one triggers the compilation in IMMEDIATE mode.
+			this.compiled.getValue(this.context);
+			this.compiled.getValue(this.context);
+		}
+	}
+
+	@Benchmark
+	public Object interpreted(BenchmarkState state) {
+		return state.interpreted.getValue(state.context);
+	}
+
+	@Benchmark
+	public Object compiled(BenchmarkState state) {
+		return state.compiled.getValue(state.context);
+	}
+
+
+	public static class Person {
+
+		private final String name;
+
+		private final int age;
+
+		private final Address address;
+
+		public Person(String name, int age, Address address) {
+			this.name = name;
+			this.age = age;
+			this.address = address;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		private final String city;
+
+		public Address(String city) {
+			this.city = city;
+		}
+
+		public String getCity() {
+			return this.city;
+		}
+	}
+
+}
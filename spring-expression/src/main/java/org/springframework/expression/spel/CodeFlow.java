@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,9 +85,22 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the active context object, i.e. what {@link #loadTarget}
+	 * loads, innermost first. If empty, the active context object is the target.
+	 */
+	private final Deque<Integer> activeContextObjects = new ArrayDeque<>();
+
+	/**
+	 * Local variables holding the root objects of nested evaluation scopes, such as
+	 * the current element of a projection or selection, innermost first.
+	 */
+	private final Deque<Integer> scopeRootObjects = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +118,14 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * if a nested evaluation scope has been entered.
 	 * @param mv the visitor into which the load instruction should be inserted
+	 * @see #enterContextScope(int)
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variableId = this.activeContextObjects.peek();
+		mv.visitVarInsn(ALOAD, (variableId != null ? variableId : 1));
 	}
 
 	/**
@@ -122,6 +138,58 @@ public class CodeFlow implements Opcodes {
 		mv.visitVarInsn(ALOAD, 2);
 	}
 
+	/**
+	 * Enter a nested evaluation scope whose active context object and scope root object
+	 * is held in the given local variable, for example the current element while
+	 * iterating over a collection for a projection or selection.
+	 * @param variableId the local variable holding the new context object
+	 * @since 5.3
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterContextScope(int variableId) {
+		this.activeContextObjects.push(variableId);
+		this.scopeRootObjects.push(variableId);
+	}
+
+	/**
+	 * Exit a nested evaluation scope entered through {@link #enterContextScope(int)}.
+	 * @since 5.3
+	 */
+	public void exitContextScope() {
+		this.activeContextObjects.pop();
+		this.scopeRootObjects.pop();
+	}
+
+	/**
+	 * Make the target the active context object again, for example while generating
+	 * code for an index expression which is evaluated against the root object.
+	 * Must be followed by a call to {@link #popActiveContextObject()}.
+	 * @since 5.3
+	 */
+	public void pushRootContextObject() {
+		this.activeContextObjects.push(1);
+	}
+
+	/**
+	 * Make the root object of the current evaluation scope the active context object
+	 * again, for example while generating code for method arguments.
+	 * Must be followed by a call to {@link #popActiveContextObject()}.
+	 * @since 5.3
+	 */
+	public void pushScopeRootContextObject() {
+		Integer variableId = this.scopeRootObjects.peek();
+		this.activeContextObjects.push(variableId != null ? variableId : 1);
+	}
+
+	/**
+	 * Restore the active context object replaced by {@link #pushRootContextObject()}
+	 * or {@link #pushScopeRootContextObject()}.
+	 * @since 5.3
+	 */
+	public void popActiveContextObject() {
+		this.activeContextObjects.pop();
+	}
+
 	/**
 	 * Record the descriptor for the most recently evaluated expression element.
 	 * @param descriptor type descriptor for most recently evaluated element
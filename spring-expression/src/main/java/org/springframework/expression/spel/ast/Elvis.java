@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -115,6 +115,17 @@ public class Elvis extends SpelNodeImpl {
 			String conditionDescriptor = this.children[0].exitTypeDescriptor;
 			String ifNullValueDescriptor = this.children[1].exitTypeDescriptor;
 			if (ObjectUtils.nullSafeEquals(conditionDescriptor, ifNullValueDescriptor)) {
+				// The condition is always boxed for the null check, so the result is too
+				this.exitTypeDescriptor = (CodeFlow.isPrimitive(conditionDescriptor) ?
+						CodeFlow.toBoxedDescriptor(conditionDescriptor) : conditionDescriptor);
+			}
+			else if (CodeFlow.isPrimitive(conditionDescriptor) &&
+					CodeFlow.areBoxingCompatible(conditionDescriptor, ifNullValueDescriptor)) {
+				// e.g. int and Integer: keep the boxed type so that numeric operators can still compile
+				this.exitTypeDescriptor = ifNullValueDescriptor;
+			}
+			else if (CodeFlow.isPrimitive(ifNullValueDescriptor) &&
+					CodeFlow.areBoxingCompatible(ifNullValueDescriptor, conditionDescriptor)) {
 				this.exitTypeDescriptor = conditionDescriptor;
 			}
 			else {
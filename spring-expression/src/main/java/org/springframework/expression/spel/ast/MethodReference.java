@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -346,7 +346,10 @@ public class MethodReference extends SpelNodeImpl {
 			CodeFlow.insertCheckCast(mv, "L" + classDesc);
 		}
 
+		// Make the root object of the current scope the active context again for the arguments
+		cf.pushScopeRootContextObject();
 		generateCodeForArguments(mv, cf, method, this.children);
+		cf.popActiveContextObject();
 		mv.visitMethodInsn((isStaticMethod ? INVOKESTATIC : INVOKEVIRTUAL), classDesc, method.getName(),
 				CodeFlow.createSignatureDescriptor(method), method.getDeclaringClass().isInterface());
 		cf.pushDescriptor(this.exitTypeDescriptor);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -232,7 +232,8 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 			String arrayType = paramDescriptors[paramDescriptors.length - 1];
 			// Determine if the final passed argument is already suitably packaged in array
 			// form to be passed to the method
-			if (lastChild != null && arrayType.equals(lastChild.getExitDescriptor())) {
+			if (lastChild != null && childCount == paramDescriptors.length &&
+					arrayType.equals(lastChild.getExitDescriptor())) {
 				generateCodeForArgument(mv, cf, lastChild, paramDescriptors[p]);
 			}
 			else {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.springframework.asm.Opcodes;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.CompiledExpression;
+import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.ast.SpelNodeImpl;
 import org.springframework.lang.Nullable;
@@ -114,11 +115,35 @@ public final class SpelCompiler implements Opcodes {
 		}
 
 		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			SpelNode nonCompilableNode = findNonCompilableNode(expression);
+			logger.debug("SpEL: unable to compile " + expression.toStringAST() +
+					(nonCompilableNode != null ? " due to " + nonCompilableNode.getClass().getSimpleName() +
+							" '" + nonCompilableNode.toStringAST() + "'" : ""));
 		}
 		return null;
 	}
 
+	/**
+	 * Determine the node that prevents the supplied expression from being compiled,
+	 * that is the innermost node of the AST that does not consider itself compilable.
+	 * @param expression the expression AST to check
+	 * @return the non-compilable node, or {@code null} if all nodes are compilable
+	 * @since 5.3
+	 */
+	@Nullable
+	public static SpelNode findNonCompilableNode(SpelNodeImpl expression) {
+		if (expression.isCompilable()) {
+			return null;
+		}
+		for (int i = 0; i < expression.getChildCount(); i++) {
+			SpelNode nonCompilableChild = findNonCompilableNode((SpelNodeImpl) expression.getChild(i));
+			if (nonCompilableChild != null) {
+				return nonCompilableChild;
+			}
+		}
+		return expression;
+	}
+
 	private int getNextSuffix() {
 		return this.suffixId.incrementAndGet();
 	}
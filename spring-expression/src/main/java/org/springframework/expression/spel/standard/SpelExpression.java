@@ -69,6 +69,10 @@ public class SpelExpression implements Expression {
 	@Nullable
 	private volatile CompiledExpression compiledAst;
 
+	// The node that caused the last compilation attempt to fail (if it did fail)
+	@Nullable
+	private volatile SpelNode nonCompilableNode;
+
 	// Count of many times as the expression been interpreted - can trigger compilation
 	// when certain limit reached
 	private final AtomicInteger interpretedCount = new AtomicInteger(0);
@@ -527,10 +531,13 @@ public class SpelExpression implements Expression {
 			if (compiledAst != null) {
 				// Successfully compiled
 				this.compiledAst = compiledAst;
+				this.nonCompilableNode = null;
 				return true;
 			}
 			else {
-				// Failed to compile
+				// Failed to compile - if all nodes claim to be compilable, code generation opted out
+				SpelNode nonCompilableNode = SpelCompiler.findNonCompilableNode(this.ast);
+				this.nonCompilableNode = (nonCompilableNode != null ? nonCompilableNode : this.ast);
 				this.failedAttempts.incrementAndGet();
 				return false;
 			}
@@ -544,10 +551,26 @@ public class SpelExpression implements Expression {
 	 */
 	public void revertToInterpreted() {
 		this.compiledAst = null;
+		this.nonCompilableNode = null;
 		this.interpretedCount.set(0);
 		this.failedAttempts.set(0);
 	}
 
+	/**
+	 * Return the node of the Abstract Syntax Tree that caused the most recent
+	 * compilation attempt to fail, i.e. the reason why this expression is still
+	 * being interpreted. This is typically a node whose type information is not
+	 * known yet, since it has not been evaluated, or a node type that cannot be
+	 * compiled at all.
+	 * @return the non-compilable node, or {@code null} if this expression has
+	 * been compiled or no compilation attempt has failed yet
+	 * @since 5.3
+	 */
+	@Nullable
+	public SpelNode getNonCompilableNode() {
+		return this.nonCompilableNode;
+	}
+
 	/**
 	 * Return the Abstract Syntax Tree for the expression.
 	 */
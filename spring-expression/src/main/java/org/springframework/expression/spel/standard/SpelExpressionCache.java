@@ -0,0 +1,286 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Size-bounded, least recently used cache of parsed {@link Expression expressions},
+ * keyed by expression string, parser context and parser configuration.
+ *
+ * <p>Since a {@link SpelExpression} keeps its compiled state, handing out the same
+ * instance for a given expression string means that the expression is parsed and
+ * compiled only once, no matter how many components evaluate it. Expressions
+ * obtained from {@link SpelExpressionParser SpelExpressionParsers} with equal
+ * {@link org.springframework.expression.spel.SpelParserConfiguration configurations}
+ * are shared; expressions obtained from any other {@link ExpressionParser} are
+ * cached per parser instance.
+ *
+ * <p>Cached expressions are shared between callers and must therefore always be
+ * evaluated against an explicitly supplied evaluation context. Since a compiled
+ * expression is specialized for the types it was first evaluated with, a cache
+ * should only be shared by callers that evaluate against the same kind of root
+ * object; components that consult a cache therefore use their own instance
+ * by default.
+ *
+ * <p>A JVM-wide instance is available through {@link #getSharedInstance()}, for
+ * explicit use only.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ */
+public class SpelExpressionCache {
+
+	/**
+	 * Default maximum number of entries: 1024.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	private static final SpelExpressionCache sharedInstance = new SpelExpressionCache(DEFAULT_CACHE_LIMIT);
+
+
+	private final int cacheLimit;
+
+	private final ConcurrentHashMap<CacheKey, Expression> cache;
+
+	private final ConcurrentLinkedDeque<CacheKey> queue = new ConcurrentLinkedDeque<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private volatile int size = 0;
+
+
+	/**
+	 * Create a new cache holding up to the given number of expressions.
+	 * @param cacheLimit the maximum number of cached expressions
+	 */
+	public SpelExpressionCache(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be positive");
+		this.cacheLimit = cacheLimit;
+		this.cache = new ConcurrentHashMap<>(Math.min(cacheLimit, 256));
+	}
+
+
+	/**
+	 * Return the cached {@link Expression} for the given expression string,
+	 * parsing it with the given parser if necessary.
+	 * @param parser the parser to use on a cache miss
+	 * @param expressionString the raw expression string
+	 * @return the parsed (and possibly already compiled) expression
+	 * @throws ParseException if the expression string cannot be parsed
+	 */
+	public Expression getExpression(ExpressionParser parser, String expressionString) throws ParseException {
+		return getExpression(parser, expressionString, null);
+	}
+
+	/**
+	 * Return the cached {@link Expression} for the given expression string and
+	 * parser context, parsing it with the given parser if necessary.
+	 * @param parser the parser to use on a cache miss
+	 * @param expressionString the raw expression string
+	 * @param context the parser context to apply, if any
+	 * @return the parsed (and possibly already compiled) expression
+	 * @throws ParseException if the expression string cannot be parsed
+	 */
+	public Expression getExpression(ExpressionParser parser, String expressionString,
+			@Nullable ParserContext context) throws ParseException {
+
+		Assert.notNull(parser, "ExpressionParser must not be null");
+		Assert.notNull(expressionString, "Expression string must not be null");
+		CacheKey key = new CacheKey(parser, expressionString, context);
+
+		Expression cached = this.cache.get(key);
+		if (cached != null) {
+			this.hitCount.incrementAndGet();
+			if (this.size < this.cacheLimit) {
+				return cached;
+			}
+			this.lock.readLock().lock();
+			try {
+				if (this.queue.removeLastOccurrence(key)) {
+					this.queue.offer(key);
+				}
+				return cached;
+			}
+			finally {
+				this.lock.readLock().unlock();
+			}
+		}
+
+		this.lock.writeLock().lock();
+		try {
+			// Retrying in case of concurrent parsing of the same expression
+			cached = this.cache.get(key);
+			if (cached != null) {
+				this.hitCount.incrementAndGet();
+				if (this.queue.removeLastOccurrence(key)) {
+					this.queue.offer(key);
+				}
+				return cached;
+			}
+			this.missCount.incrementAndGet();
+			// Parse first, to prevent size inconsistency
+			Expression expression = (context != null ?
+					parser.parseExpression(expressionString, context) : parser.parseExpression(expressionString));
+			int cacheSize = this.size;
+			if (cacheSize == this.cacheLimit) {
+				CacheKey leastUsed = this.queue.poll();
+				if (leastUsed != null) {
+					this.cache.remove(leastUsed);
+					cacheSize--;
+				}
+			}
+			this.queue.offer(key);
+			this.cache.put(key, expression);
+			this.size = cacheSize + 1;
+			return expression;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Return the maximum number of expressions held by this cache.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Return the current number of cached expressions.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the number of lookups that were served from the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that required the expression to be parsed.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Remove all cached expressions and reset the statistics.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.cache.clear();
+			this.queue.clear();
+			this.size = 0;
+			this.hitCount.set(0);
+			this.missCount.set(0);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SpelExpressionCache [size = " + this.size + ", limit = " + this.cacheLimit +
+				", hits = " + getHitCount() + ", misses = " + getMissCount() + "]";
+	}
+
+
+	/**
+	 * Return the JVM-wide shared cache instance.
+	 * <p>Not used by default by any component. Note that the shared instance
+	 * holds on to the compiled expressions and thereby to the classes they
+	 * refer to, potentially beyond the lifetime of the application that
+	 * created them, and that its entries are evicted by all of its users.
+	 */
+	public static SpelExpressionCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+
+	private static final class CacheKey {
+
+		private final Object parserKey;
+
+		private final String expressionString;
+
+		private final boolean template;
+
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		private final int hashCode;
+
+		CacheKey(ExpressionParser parser, String expressionString, @Nullable ParserContext context) {
+			this.parserKey = (parser instanceof SpelExpressionParser ?
+					((SpelExpressionParser) parser).getConfiguration() : parser);
+			this.expressionString = expressionString;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+			this.hashCode = (this.parserKey.hashCode() * 29 + expressionString.hashCode()) * 29 +
+					ObjectUtils.nullSafeHashCode(this.prefix);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey otherKey = (CacheKey) other;
+			return (this.parserKey.equals(otherKey.parserKey) &&
+					this.expressionString.equals(otherKey.expressionString) &&
+					this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+}
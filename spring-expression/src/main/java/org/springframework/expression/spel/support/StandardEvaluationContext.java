@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -276,6 +276,30 @@ public class StandardEvaluationContext implements EvaluationContext {
 		resolver.registerMethodFilter(type, filter);
 	}
 
+	/**
+	 * Apply the internal delegates of this instance to the specified
+	 * {@code evaluationContext}. Typically invoked right after a new context
+	 * instance has been created, in order to reuse the delegates (including the
+	 * caches of the reflective property accessor and method resolver) of a
+	 * shared template context instead of initializing new ones.
+	 * <p>The property accessor, constructor resolver and method resolver lists
+	 * are copied, so that later registrations on either context do not affect
+	 * the other one.
+	 * @param evaluationContext the evaluation context to update
+	 * @since 5.3
+	 */
+	public void applyDelegatesTo(StandardEvaluationContext evaluationContext) {
+		evaluationContext.setPropertyAccessors(new ArrayList<>(initPropertyAccessors()));
+		evaluationContext.setConstructorResolvers(new ArrayList<>(initConstructorResolvers()));
+		evaluationContext.setMethodResolvers(new ArrayList<>(initMethodResolvers()));
+		evaluationContext.reflectiveMethodResolver = this.reflectiveMethodResolver;
+		evaluationContext.beanResolver = this.beanResolver;
+		evaluationContext.setTypeLocator(getTypeLocator());
+		evaluationContext.setTypeConverter(getTypeConverter());
+		evaluationContext.setTypeComparator(this.typeComparator);
+		evaluationContext.setOperatorOverloader(this.operatorOverloader);
+	}
+
 
 	private List<PropertyAccessor> initPropertyAccessors() {
 		List<PropertyAccessor> accessors = this.propertyAccessors;
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +38,9 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.ast.CompoundExpression;
 import org.springframework.expression.spel.ast.OpLT;
+import org.springframework.expression.spel.ast.OpPlus;
+import org.springframework.expression.spel.ast.Projection;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
 import org.springframework.expression.spel.ast.SpelNodeImpl;
 import org.springframework.expression.spel.ast.Ternary;
 import org.springframework.expression.spel.standard.SpelCompiler;
@@ -105,7 +109,10 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * ConstructorReference
 	 * FunctionReference
 	 * InlineList
+	 * InlineMap
 	 * OpModulus
+	 * Projection
+	 * Selection
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -116,9 +123,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -5106,6 +5111,171 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	}
 
 
+	@Test
+	public void projectionAndSelection() throws Exception {
+		Team team = new Team();
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("numbers", Arrays.asList(1, 2, 3, 4));
+		String[] expressions = {
+				"members.![name]",
+				"members.![age * 2]",
+				"members.![buddy?.name]",
+				"members.![name.toUpperCase()]",
+				"members.![greet(name)]",
+				"members.![#root.prefix + name]",
+				"members.![#root.codes[index]]",
+				"#numbers.![#this * 10]",
+				"members.?[age > 25]",
+				"members.?[age > 25].![name]",
+				"members.^[age > 25].name",
+				"members.$[age > 25].name",
+				"members.^[age > 100]",
+				"#numbers.?[#this % 2 == 0]",
+				"members.![#root.labels.![#this + #root.prefix]]"
+		};
+		for (String expressionString : expressions) {
+			expression = parser.parseExpression(expressionString);
+			Object interpreted = expression.getValue(ctx, team);
+			assertCanCompile(expression);
+			assertThat(expression.getValue(ctx, team)).as(expressionString).isEqualTo(interpreted);
+		}
+
+		// Maps and arrays are still interpreted
+		expression = parser.parseExpression("codes.![#this]");
+		assertThat(expression.getValue(team)).isEqualTo(new String[] {"x", "y"});
+		assertCantCompile(expression);
+		expression = parser.parseExpression("scores.![key]");
+		assertThat(expression.getValue(team)).isEqualTo(Collections.singletonList("alice"));
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projectionAndSelectionNullSafe() throws Exception {
+		Team team = new Team();
+		expression = parser.parseExpression("members?.![name]");
+		assertThat(expression.getValue(team)).isEqualTo(Arrays.asList("alice", "bob", "carol"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(team)).isEqualTo(Arrays.asList("alice", "bob", "carol"));
+		team.members = null;
+		assertThat(expression.getValue(team)).isNull();
+
+		team = new Team();
+		expression = parser.parseExpression("members?.^[age < 25]");
+		assertThat(expression.getValue(team)).isSameAs(team.members.get(0));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(team)).isSameAs(team.members.get(0));
+		team.members = null;
+		assertThat(expression.getValue(team)).isNull();
+	}
+
+	@Test
+	public void indexerWithNonLiteralIndex() throws Exception {
+		Team team = new Team();
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("i", 1);
+		ctx.setVariable("k", "alice");
+		String[] expressions = {
+				"labels[index]",
+				"labels[boxedIndex]",
+				"labels[#i]",
+				"codes[#i]",
+				"scores[#k]",
+				"scores[prefix.substring(0, 0) + 'alice']",
+				"members.![#root.labels[index]]"
+		};
+		for (String expressionString : expressions) {
+			expression = parser.parseExpression(expressionString);
+			Object interpreted = expression.getValue(ctx, team);
+			assertCanCompile(expression);
+			assertThat(expression.getValue(ctx, team)).as(expressionString).isEqualTo(interpreted);
+		}
+
+		// The interpreter converts the key to the declared key type of the map
+		expression = parser.parseExpression("ranks[1]");
+		assertThat(expression.getValue(team)).isEqualTo("first");
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void inlineMapAndNonConstantInlineList() throws Exception {
+		Team team = new Team();
+		expression = parser.parseExpression("{a:1,b:{c:'d',e:{1,2}}}");
+		Object interpreted = expression.getValue();
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(interpreted);
+
+		expression = parser.parseExpression("{name:prefix,'index':index,3:members[0].name}");
+		assertThat(expression.getValue(team).toString()).isEqualTo("{name=Hello , index=1, 3=alice}");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(team).toString()).isEqualTo("{name=Hello , index=1, 3=alice}");
+
+		expression = parser.parseExpression("{prefix,index,members.size()}");
+		assertThat(expression.getValue(team)).isEqualTo(Arrays.asList("Hello ", 1, 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(team)).isEqualTo(Arrays.asList("Hello ", 1, 3));
+
+		expression = parser.parseExpression("members.![{name:name,age:age}]");
+		interpreted = expression.getValue(team);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(team)).isEqualTo(interpreted);
+	}
+
+	@Test
+	public void elvisWithMixedTypes() throws Exception {
+		Team team = new Team();
+		expression = parser.parseExpression("(boxedIndex ?: 0) + 1");
+		assertThat(expression.getValue(team)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(team)).isEqualTo(3);
+		team.boxedIndex = null;
+		assertThat(expression.getValue(team)).isEqualTo(1);
+
+		expression = parser.parseExpression("3 ?: 4");
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertThat(getAst().getExitDescriptor()).isEqualTo("Ljava/lang/Integer");
+	}
+
+	@Test
+	public void varargsWithArrayArguments() throws Exception {
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("objects", new Object[] {"a", 1});
+		Team team = new Team();
+		expression = parser.parseExpression("join(#objects)");
+		assertThat(expression.getValue(ctx, team)).isEqualTo("a1");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx, team)).isEqualTo("a1");
+
+		expression = parser.parseExpression("join(#objects, #objects)");
+		Object interpreted = expression.getValue(ctx, team);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx, team)).isEqualTo(interpreted);
+	}
+
+	@Test
+	public void nonCompilableNodeIsRecorded() throws Exception {
+		Team team = new Team();
+		SpelExpression expression = (SpelExpression) parser.parseExpression("members.![name] + labels[index]");
+		assertCantCompile(expression);
+		assertThat(expression.getNonCompilableNode()).isInstanceOf(PropertyOrFieldReference.class);
+		assertThat(expression.getNonCompilableNode().toStringAST()).isEqualTo("members");
+
+		expression.getValue(team);
+		assertCantCompile(expression);
+		assertThat(expression.getNonCompilableNode()).isInstanceOf(OpPlus.class);
+
+		expression = (SpelExpression) parser.parseExpression("scores.![value]");
+		expression.getValue(team);
+		assertCantCompile(expression);
+		assertThat(expression.getNonCompilableNode()).isInstanceOf(Projection.class);
+
+		expression = (SpelExpression) parser.parseExpression("members.![name]");
+		expression.getValue(team);
+		assertCanCompile(expression);
+		assertThat(expression.getNonCompilableNode()).isNull();
+	}
+
 	// Helper methods
 
 	private SpelNodeImpl getAst() {
@@ -6262,4 +6432,66 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		}
 	}
 
+
+	public static class Team {
+
+		public List<TeamMember> members = new ArrayList<>(Arrays.asList(
+				new TeamMember("alice", 20, new TeamMember("bob", 30, null)),
+				new TeamMember("bob", 30, null), new TeamMember("carol", 40, null)));
+
+		public Map<String, Integer> scores = Collections.singletonMap("alice", 5);
+
+		public Map<Long, String> ranks = Collections.singletonMap(1L, "first");
+
+		public List<String> labels = Arrays.asList("a", "b", "c");
+
+		public String[] codes = {"x", "y"};
+
+		public String prefix = "Hello ";
+
+		public int index = 1;
+
+		public Integer boxedIndex = 2;
+
+		public String join(Object... parts) {
+			StringBuilder sb = new StringBuilder();
+			for (Object part : parts) {
+				sb.append(part instanceof Object[] ? Arrays.toString((Object[]) part) : part);
+			}
+			return sb.toString();
+		}
+	}
+
+
+	public static class TeamMember {
+
+		private final String name;
+
+		private final int age;
+
+		private final TeamMember buddy;
+
+		public TeamMember(String name, int age, TeamMember buddy) {
+			this.name = name;
+			this.age = age;
+			this.buddy = buddy;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public TeamMember getBuddy() {
+			return this.buddy;
+		}
+
+		public String greet(String other) {
+			return this.name + " greets " + other;
+		}
+	}
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link SpelExpressionCache}.
+ *
+ * @author Fu Dong
+ */
+class SpelExpressionCacheTests {
+
+	private final SpelExpressionCache cache = new SpelExpressionCache(2);
+
+
+	@Test
+	void sameExpressionForEquallyConfiguredParsers() {
+		Expression expression = this.cache.getExpression(new SpelExpressionParser(), "1 + 2");
+		assertThat(this.cache.getExpression(new SpelExpressionParser(), "1 + 2")).isSameAs(expression);
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertThat(this.cache.getMissCount()).isEqualTo(1);
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+		assertThat(this.cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void distinctExpressionsForDifferentConfigurations() {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null));
+		Expression expression = this.cache.getExpression(new SpelExpressionParser(), "1 + 2");
+		assertThat(this.cache.getExpression(parser, "1 + 2")).isNotSameAs(expression);
+		assertThat(this.cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void distinctExpressionsForDifferentParserContexts() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression expression = this.cache.getExpression(parser, "#{1 + 2}", new TemplateParserContext());
+		assertThat(expression.getValue()).isEqualTo("3");
+		Expression other = this.cache.getExpression(parser, "#{1 + 2}", new TemplateParserContext("${", "}"));
+		assertThat(other).isNotSameAs(expression);
+		assertThat(this.cache.getExpression(parser, "#{1 + 2}", new TemplateParserContext())).isSameAs(expression);
+	}
+
+	@Test
+	void evictLeastRecentlyUsedExpression() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression first = this.cache.getExpression(parser, "1");
+		Expression second = this.cache.getExpression(parser, "2");
+		assertThat(this.cache.getExpression(parser, "1")).isSameAs(first);
+		this.cache.getExpression(parser, "3");
+
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.getExpression(parser, "1")).isSameAs(first);
+		assertThat(this.cache.getExpression(parser, "2")).isNotSameAs(second);
+	}
+
+	@Test
+	void compiledStateIsShared() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpression expression = (SpelExpression)
+				this.cache.getExpression(new SpelExpressionParser(config), "'abc'.length()");
+		for (int i = 0; i < 3; i++) {
+			assertThat(expression.getValue()).isEqualTo(3);
+		}
+		Expression cached = this.cache.getExpression(new SpelExpressionParser(config), "'abc'.length()");
+		assertThat(cached).isSameAs(expression);
+		assertThat(expression.compileExpression()).isTrue();
+		assertThat(expression.getNonCompilableNode()).isNull();
+	}
+
+	@Test
+	void parseFailureIsNotCached() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		assertThatExceptionOfType(ParseException.class).isThrownBy(() -> this.cache.getExpression(parser, "1 +"));
+		assertThat(this.cache.size()).isEqualTo(0);
+		assertThat(this.cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void clear() {
+		this.cache.getExpression(new SpelExpressionParser(), "1");
+		this.cache.getExpression(new SpelExpressionParser(), "1");
+		this.cache.clear();
+		assertThat(this.cache.size()).isEqualTo(0);
+		assertThat(this.cache.getHitCount()).isEqualTo(0);
+		assertThat(this.cache.getMissCount()).isEqualTo(0);
+	}
+
+}
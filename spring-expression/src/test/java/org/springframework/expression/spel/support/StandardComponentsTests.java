@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,39 @@ public class StandardComponentsTests {
 		assertThat(context.getTypeLocator()).isEqualTo(tl);
 	}
 
+	@Test
+	public void testApplyDelegatesTo() {
+		StandardEvaluationContext template = new StandardEvaluationContext();
+		template.setBeanResolver((context, beanName) -> beanName);
+		StandardEvaluationContext context = new StandardEvaluationContext("root");
+		template.applyDelegatesTo(context);
+
+		assertThat(context.getPropertyAccessors()).isEqualTo(template.getPropertyAccessors());
+		assertThat(context.getConstructorResolvers()).isEqualTo(template.getConstructorResolvers());
+		assertThat(context.getMethodResolvers()).isEqualTo(template.getMethodResolvers());
+		assertThat(context.getBeanResolver()).isSameAs(template.getBeanResolver());
+		assertThat(context.getTypeLocator()).isSameAs(template.getTypeLocator());
+		assertThat(context.getTypeConverter()).isSameAs(template.getTypeConverter());
+		assertThat(context.getTypeComparator()).isSameAs(template.getTypeComparator());
+		assertThat(context.getOperatorOverloader()).isSameAs(template.getOperatorOverloader());
+		assertThat(context.getRootObject().getValue()).isEqualTo("root");
+	}
+
+	@Test
+	public void testApplyDelegatesToCopiesLists() {
+		StandardEvaluationContext template = new StandardEvaluationContext();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		template.applyDelegatesTo(context);
+
+		context.addPropertyAccessor(DataBindingPropertyAccessor.forReadOnlyAccess());
+		context.addMethodResolver(DataBindingMethodResolver.forInstanceMethodInvocation());
+		assertThat(template.getPropertyAccessors()).hasSize(1);
+		assertThat(template.getMethodResolvers()).hasSize(1);
+
+		template.addConstructorResolver(new ReflectiveConstructorResolver());
+		assertThat(context.getConstructorResolvers()).hasSize(1);
+	}
+
 	@Test
 	public void testStandardOperatorOverloader() throws EvaluationException {
 		OperatorOverloader oo = new StandardOperatorOverloader();
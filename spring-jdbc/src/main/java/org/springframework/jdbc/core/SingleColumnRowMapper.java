@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,9 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.ConversionPlan;
 import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.dao.TypeMismatchDataAccessException;
 import org.springframework.jdbc.IncorrectResultSetColumnCountException;
 import org.springframework.jdbc.support.JdbcUtils;
@@ -53,6 +55,9 @@ public class SingleColumnRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private ConversionService conversionService = DefaultConversionService.getSharedInstance();
 
+	@Nullable
+	private volatile ConversionPlan conversionPlan;
+
 	/**
 	 * Create a new {@code SingleColumnRowMapper} for bean-style configuration.
 	 * @see #setRequiredType
@@ -88,6 +93,7 @@ public class SingleColumnRowMapper<T> implements RowMapper<T> {
 	 */
 	public void setConversionService(@Nullable ConversionService conversionService) {
 		this.conversionService = conversionService;
+		this.conversionPlan = null;
 	}
 
 	/**
@@ -204,14 +210,35 @@ public class SingleColumnRowMapper<T> implements RowMapper<T> {
 				return NumberUtils.parseNumber(value.toString(),(Class<Number>) requiredType);
 			}
 		}
+		else if (this.conversionService instanceof GenericConversionService) {
+			ConversionPlan plan = getConversionPlan((GenericConversionService) this.conversionService,
+					value.getClass(), requiredType);
+			if (plan.canConvert()) {
+				return plan.convert(value);
+			}
+		}
 		else if (this.conversionService != null && this.conversionService.canConvert(value.getClass(), requiredType)) {
 			return this.conversionService.convert(value, requiredType);
 		}
-		else {
-			throw new IllegalArgumentException(
-					"Value [" + value + "] is of type [" + value.getClass().getName() +
-					"] and cannot be converted to required type [" + requiredType.getName() + "]");
+		throw new IllegalArgumentException(
+				"Value [" + value + "] is of type [" + value.getClass().getName() +
+				"] and cannot be converted to required type [" + requiredType.getName() + "]");
+	}
+
+	/**
+	 * Return a conversion plan for the given value and required type, reusing the
+	 * plan of the previous row since all values of a column usually share a type.
+	 */
+	private ConversionPlan getConversionPlan(
+			GenericConversionService conversionService, Class<?> valueType, Class<?> requiredType) {
+
+		ConversionPlan plan = this.conversionPlan;
+		if (plan == null || plan.getSourceType().getType() != valueType ||
+				plan.getTargetType().getType() != requiredType) {
+			plan = conversionService.getConversionPlan(valueType, requiredType);
+			this.conversionPlan = plan;
 		}
+		return plan;
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodAccessor;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.SynthesizingMethodParameter;
@@ -68,6 +69,8 @@ public class HandlerMethod {
 
 	private final Method bridgedMethod;
 
+	private final MethodAccessor bridgedMethodAccessor;
+
 	private final MethodParameter[] parameters;
 
 	@Nullable
@@ -87,6 +90,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(bean);
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.bridgedMethodAccessor = MethodAccessor.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 	}
 
@@ -102,6 +106,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(bean);
 		this.method = bean.getClass().getMethod(methodName, parameterTypes);
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(this.method);
+		this.bridgedMethodAccessor = MethodAccessor.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 	}
 
@@ -123,6 +128,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(beanType);
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.bridgedMethodAccessor = MethodAccessor.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 	}
 
@@ -136,6 +142,7 @@ public class HandlerMethod {
 		this.beanType = handlerMethod.beanType;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
+		this.bridgedMethodAccessor = handlerMethod.bridgedMethodAccessor;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
 	}
@@ -151,6 +158,7 @@ public class HandlerMethod {
 		this.beanType = handlerMethod.beanType;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
+		this.bridgedMethodAccessor = handlerMethod.bridgedMethodAccessor;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod;
 	}
@@ -214,6 +222,16 @@ public class HandlerMethod {
 		return this.bridgedMethod;
 	}
 
+	/**
+	 * Return the accessor for invoking the {@link #getBridgedMethod() bridged method},
+	 * shared with the handler methods that are copied from this one.
+	 * @since 5.3
+	 * @see MethodAccessor#forMethod(java.lang.reflect.Method)
+	 */
+	protected MethodAccessor getBridgedMethodAccessor() {
+		return this.bridgedMethodAccessor;
+	}
+
 	/**
 	 * Return the method parameters for this handler method.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -130,14 +130,14 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			boolean isSuspendingFunction = false;
 			try {
 				Method method = getBridgedMethod();
-				ReflectionUtils.makeAccessible(method);
 				if (KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(method.getDeclaringClass())
 						&& CoroutinesUtils.isSuspendingFunction(method)) {
 					isSuspendingFunction = true;
+					ReflectionUtils.makeAccessible(method);
 					value = CoroutinesUtils.invokeSuspendingFunction(method, getBean(), args);
 				}
 				else {
-					value = method.invoke(getBean(), args);
+					value = getBridgedMethodAccessor().invoke(getBean(), args);
 				}
 			}
 			catch (IllegalArgumentException ex) {
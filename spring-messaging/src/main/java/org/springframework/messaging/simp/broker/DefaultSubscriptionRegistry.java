@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.lang.Nullable;
@@ -81,6 +82,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private final ExpressionParser expressionParser = new SpelExpressionParser();
 
+	private SpelExpressionCache expressionCache = new SpelExpressionCache(DEFAULT_CACHE_LIMIT);
+
 	private final DestinationCache destinationCache = new DestinationCache();
 
 	private final SessionSubscriptionRegistry subscriptionRegistry = new SessionSubscriptionRegistry();
@@ -142,6 +145,19 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		return this.selectorHeaderName;
 	}
 
+	/**
+	 * Specify the cache to obtain parsed selector expressions from, so that
+	 * subscriptions sharing the same selector also share the parsed and
+	 * compiled expression.
+	 * <p>By default, a {@link SpelExpressionCache} for this registry only is
+	 * used, holding up to {@link #DEFAULT_CACHE_LIMIT} selector expressions.
+	 * @since 5.3
+	 */
+	public void setExpressionCache(SpelExpressionCache expressionCache) {
+		Assert.notNull(expressionCache, "SpelExpressionCache must not be null");
+		this.expressionCache = expressionCache;
+	}
+
 
 	@Override
 	protected void addSubscriptionInternal(
@@ -159,7 +175,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			String selector = SimpMessageHeaderAccessor.getFirstNativeHeader(getSelectorHeaderName(), headers);
 			if (selector != null) {
 				try {
-					expression = this.expressionParser.parseExpression(selector);
+					expression = this.expressionCache.getExpression(this.expressionParser, selector);
 					this.selectorHeaderInUse = true;
 					if (logger.isTraceEnabled()) {
 						logger.trace("Subscription selector: [" + selector + "]");
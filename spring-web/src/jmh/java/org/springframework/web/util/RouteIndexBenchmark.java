@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Benchmark for matching request paths against a growing number of endpoints,
+ * either by matching every pattern or by only matching the candidates
+ * selected by a {@link RouteIndex}.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class RouteIndexBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Routes {
+
+		@Param({"10", "100", "1000"})
+		public int endpointCount;
+
+		public List<PathPattern> patterns;
+
+		public RouteIndex<PathPattern> index;
+
+		public List<PathContainer> paths;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			PathPatternParser parser = new PathPatternParser();
+			this.patterns = new ArrayList<>(this.endpointCount);
+			this.index = new RouteIndex<>();
+			for (int i = 0; i < this.endpointCount; i++) {
+				String resource = "/api/resource" + (i / 4);
+				String pattern = (i % 4 == 0 ? resource : i % 4 == 1 ? resource + "/{id}" :
+						i % 4 == 2 ? resource + "/{id}/items/{itemId}" : resource + "/{id}/**");
+				PathPattern pathPattern = parser.parse(pattern);
+				this.patterns.add(pathPattern);
+				this.index.add(Collections.singletonList(pattern), pathPattern);
+			}
+			int resourceCount = Math.max(this.endpointCount / 4, 1);
+			this.paths = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				String resource = "/api/resource" + (i * 7 % resourceCount);
+				this.paths.add(PathContainer.parsePath(resource + "/" + i + "/items/" + i));
+				this.paths.add(PathContainer.parsePath(resource + "/" + i));
+			}
+			this.paths.add(PathContainer.parsePath("/api/unknown/1"));
+		}
+	}
+
+
+	@Benchmark
+	public void matchAllPatterns(Routes routes, Blackhole bh) {
+		for (PathContainer path : routes.paths) {
+			for (PathPattern pattern : routes.patterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchIndexedCandidates(Routes routes, Blackhole bh) {
+		for (PathContainer path : routes.paths) {
+			for (PathPattern pattern : routes.index.getCandidates(path)) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmark comparing {@link AntPathMatcher#match} with {@link PathPattern#matches}
+ * for a set of route patterns against a set of request paths.
+ *
+ * @author Fu Dong
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathMatchingBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/", "/about", "/orders", "/orders/{id}", "/orders/{id}/items", "/orders/{id}/items/{itemId}",
+			"/customers/{customerId}/orders/**", "/static/**", "/static/*.css", "/api/v{version}/users/{id:[0-9]+}"
+	};
+
+	private static final String[] PATHS = {
+			"/", "/about", "/orders/42", "/orders/42/items/7", "/customers/3/orders/2020/06",
+			"/static/css/main.css", "/static/site.css", "/api/v2/users/12345", "/missing/path"
+	};
+
+
+	@State(Scope.Benchmark)
+	public static class AntPathMatcherState {
+
+		public AntPathMatcher matcher;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.matcher = new AntPathMatcher();
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class PathPatternState {
+
+		public List<PathPattern> patterns;
+
+		public List<PathContainer> paths;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			PathPatternParser parser = new PathPatternParser();
+			this.patterns = new ArrayList<>(PATTERNS.length);
+			for (String pattern : PATTERNS) {
+				this.patterns.add(parser.parse(pattern));
+			}
+			this.paths = new ArrayList<>(PATHS.length);
+			for (String path : PATHS) {
+				this.paths.add(PathContainer.parsePath(path));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void antPathMatcher(AntPathMatcherState state, Blackhole bh) {
+		for (String path : PATHS) {
+			for (String pattern : PATTERNS) {
+				bh.consume(state.matcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPattern(PathPatternState state, Blackhole bh) {
+		for (PathContainer path : state.paths) {
+			for (PathPattern pattern : state.patterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPatternWithParsing(PathPatternState state, Blackhole bh) {
+		for (String path : PATHS) {
+			PathContainer pathContainer = PathContainer.parsePath(path);
+			for (PathPattern pattern : state.patterns) {
+				bh.consume(pattern.matches(pathContainer));
+			}
+		}
+	}
+
+}
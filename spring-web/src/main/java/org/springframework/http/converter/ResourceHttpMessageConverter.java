@@ -131,6 +131,12 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 
 	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
+
+		if (resource instanceof ByteArrayResource) {
+			// Content already in memory: write it without copying through a stream
+			outputMessage.getBody().write(((ByteArrayResource) resource).getByteArray());
+			return;
+		}
 		try {
 			InputStream in = resource.getInputStream();
 			try {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,11 +22,15 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Provide a per request {@link CorsConfiguration} instance based on a
@@ -34,6 +38,8 @@ import org.springframework.web.util.UrlPathHelper;
  *
  * <p>Exact path mapping URIs (such as {@code "/admin"}) are supported
  * as well as Ant-style path patterns (such as {@code "/admin/**"}).
+ * Alternatively, if a {@link #setPatternParser PathPatternParser} is set,
+ * the patterns are parsed once and matched against the parsed request path.
  *
  * @author Sebastien Deleuze
  * @since 4.2
@@ -49,6 +55,11 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	@Nullable
 	private String lookupPathAttributeName;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
+	private final Map<PathPattern, CorsConfiguration> pathPatternConfigurations = new LinkedHashMap<>();
+
 
 	/**
 	 * Set the PathMatcher implementation to use for matching URL paths
@@ -104,6 +115,28 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		this.urlPathHelper = urlPathHelper;
 	}
 
+	/**
+	 * Set the {@link PathPatternParser} to parse the registered URL patterns
+	 * with. If set, patterns are matched against the request path as parsed by
+	 * {@link ServletRequestPathUtils} rather than through the configured
+	 * {@link #setPathMatcher PathMatcher} and {@link #setUrlPathHelper UrlPathHelper}.
+	 * <p>By default this is not set.
+	 * @since 5.3
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		initPathPatternConfigurations();
+	}
+
+	/**
+	 * Return the {@link #setPatternParser configured} {@code PathPatternParser}, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Set CORS configuration based on URL patterns.
 	 */
@@ -112,6 +145,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		if (corsConfigurations != null) {
 			this.corsConfigurations.putAll(corsConfigurations);
 		}
+		initPathPatternConfigurations();
 	}
 
 	/**
@@ -126,12 +160,33 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	 */
 	public void registerCorsConfiguration(String path, CorsConfiguration config) {
 		this.corsConfigurations.put(path, config);
+		initPathPatternConfigurations();
+	}
+
+	private void initPathPatternConfigurations() {
+		this.pathPatternConfigurations.clear();
+		PathPatternParser parser = this.patternParser;
+		if (parser != null) {
+			this.corsConfigurations.forEach((pattern, config) ->
+					this.pathPatternConfigurations.put(parser.parse(pattern), config));
+		}
 	}
 
 
 	@Override
 	@Nullable
 	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+		if (this.patternParser != null) {
+			PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					ServletRequestPathUtils.getParsedRequestPath(request) :
+					ServletRequestPathUtils.parse(request)).pathWithinApplication();
+			for (Map.Entry<PathPattern, CorsConfiguration> entry : this.pathPatternConfigurations.entrySet()) {
+				if (entry.getKey().matches(path)) {
+					return entry.getValue();
+				}
+			}
+			return null;
+		}
 		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, this.lookupPathAttributeName);
 		for (Map.Entry<String, CorsConfiguration> entry : this.corsConfigurations.entrySet()) {
 			if (this.pathMatcher.match(entry.getKey(), lookupPath)) {
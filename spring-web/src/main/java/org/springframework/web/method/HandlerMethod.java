@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodAccessor;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
@@ -75,6 +76,8 @@ public class HandlerMethod {
 
 	private final Method bridgedMethod;
 
+	private final MethodAccessor bridgedMethodAccessor;
+
 	private final MethodParameter[] parameters;
 
 	@Nullable
@@ -103,6 +106,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(bean);
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.bridgedMethodAccessor = MethodAccessor.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 		evaluateResponseStatus();
 		this.description = initDescription(this.beanType, this.method);
@@ -120,6 +124,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(bean);
 		this.method = bean.getClass().getMethod(methodName, parameterTypes);
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(this.method);
+		this.bridgedMethodAccessor = MethodAccessor.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 		evaluateResponseStatus();
 		this.description = initDescription(this.beanType, this.method);
@@ -143,6 +148,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(beanType);
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.bridgedMethodAccessor = MethodAccessor.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 		evaluateResponseStatus();
 		this.description = initDescription(this.beanType, this.method);
@@ -158,6 +164,7 @@ public class HandlerMethod {
 		this.beanType = handlerMethod.beanType;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
+		this.bridgedMethodAccessor = handlerMethod.bridgedMethodAccessor;
 		this.parameters = handlerMethod.parameters;
 		this.responseStatus = handlerMethod.responseStatus;
 		this.responseStatusReason = handlerMethod.responseStatusReason;
@@ -176,6 +183,7 @@ public class HandlerMethod {
 		this.beanType = handlerMethod.beanType;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
+		this.bridgedMethodAccessor = handlerMethod.bridgedMethodAccessor;
 		this.parameters = handlerMethod.parameters;
 		this.responseStatus = handlerMethod.responseStatus;
 		this.responseStatusReason = handlerMethod.responseStatusReason;
@@ -243,6 +251,16 @@ public class HandlerMethod {
 		return this.bridgedMethod;
 	}
 
+	/**
+	 * Return the accessor for invoking the {@link #getBridgedMethod() bridged method},
+	 * shared with the handler methods that are copied from this one.
+	 * @since 5.3
+	 * @see MethodAccessor#forMethod(java.lang.reflect.Method)
+	 */
+	protected MethodAccessor getBridgedMethodAccessor() {
+		return this.bridgedMethodAccessor;
+	}
+
 	/**
 	 * Return the method parameters for this handler method.
 	 */
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Resolution of the {@link HandlerMethodArgumentResolver argument resolvers}
+ * and the {@link HandlerMethodReturnValueHandler return value handler} for a
+ * given {@link HandlerMethod}, performed once against a given set of resolvers
+ * and handlers.
+ *
+ * <p>A plan is meant to be shared by the {@link InvocableHandlerMethod}
+ * instances that are created for the same handler method on every request.
+ * Arguments are then resolved without looking up the resolver for each
+ * parameter, and the return value handler is only selected anew when the
+ * class of the return value changes, or for asynchronous return values.
+ * The resolvers and handlers are expected not to change once a plan has
+ * been created for them.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see InvocableHandlerMethod#setInvocationPlan
+ */
+public final class HandlerMethodInvocationPlan {
+
+	private final MethodParameter[] parameters;
+
+	private final HandlerMethodArgumentResolverComposite argumentResolvers;
+
+	private final ParameterNameDiscoverer parameterNameDiscoverer;
+
+	private final HandlerMethodArgumentResolver[] resolvers;
+
+	@Nullable
+	private final HandlerMethodReturnValueHandlerComposite returnValueHandlers;
+
+	private final AsyncHandlerMethodReturnValueHandler[] asyncReturnValueHandlers;
+
+	@Nullable
+	private volatile ReturnValueHandlerSelection returnValueHandlerSelection;
+
+
+	/**
+	 * Create a plan for the given handler method.
+	 * @param handlerMethod the handler method to create the plan for
+	 * @param argumentResolvers the resolvers for the method arguments
+	 * @param returnValueHandlers the handlers for the return value, if any
+	 * @param parameterNameDiscoverer the discoverer for parameter names
+	 */
+	public HandlerMethodInvocationPlan(HandlerMethod handlerMethod,
+			HandlerMethodArgumentResolverComposite argumentResolvers,
+			@Nullable HandlerMethodReturnValueHandlerComposite returnValueHandlers,
+			ParameterNameDiscoverer parameterNameDiscoverer) {
+
+		Assert.notNull(handlerMethod, "HandlerMethod must not be null");
+		Assert.notNull(argumentResolvers, "HandlerMethodArgumentResolverComposite must not be null");
+		Assert.notNull(parameterNameDiscoverer, "ParameterNameDiscoverer must not be null");
+		this.parameters = handlerMethod.getMethodParameters();
+		this.argumentResolvers = argumentResolvers;
+		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.resolvers = new HandlerMethodArgumentResolver[this.parameters.length];
+		for (int i = 0; i < this.parameters.length; i++) {
+			MethodParameter parameter = this.parameters[i];
+			parameter.initParameterNameDiscovery(parameterNameDiscoverer);
+			this.resolvers[i] = argumentResolvers.getArgumentResolver(parameter);
+		}
+		this.returnValueHandlers = returnValueHandlers;
+		this.asyncReturnValueHandlers = initAsyncReturnValueHandlers(returnValueHandlers);
+	}
+
+	private static AsyncHandlerMethodReturnValueHandler[] initAsyncReturnValueHandlers(
+			@Nullable HandlerMethodReturnValueHandlerComposite returnValueHandlers) {
+
+		List<AsyncHandlerMethodReturnValueHandler> result = new ArrayList<>();
+		if (returnValueHandlers != null) {
+			for (HandlerMethodReturnValueHandler handler : returnValueHandlers.getHandlers()) {
+				if (handler instanceof AsyncHandlerMethodReturnValueHandler) {
+					result.add((AsyncHandlerMethodReturnValueHandler) handler);
+				}
+			}
+		}
+		return result.toArray(new AsyncHandlerMethodReturnValueHandler[0]);
+	}
+
+
+	/**
+	 * Return the argument resolvers this plan was created with.
+	 */
+	public HandlerMethodArgumentResolverComposite getArgumentResolvers() {
+		return this.argumentResolvers;
+	}
+
+	/**
+	 * Return the return value handlers this plan was created with, if any.
+	 */
+	@Nullable
+	public HandlerMethodReturnValueHandlerComposite getReturnValueHandlers() {
+		return this.returnValueHandlers;
+	}
+
+	/**
+	 * Whether this plan applies to the given method parameters, i.e. whether
+	 * it was created for the same handler method, argument resolvers and
+	 * parameter name discoverer.
+	 * @param parameters the parameters of the handler method
+	 * @param argumentResolvers the argument resolvers to use
+	 * @param parameterNameDiscoverer the parameter name discoverer to use
+	 */
+	public boolean isApplicableTo(MethodParameter[] parameters,
+			HandlerMethodArgumentResolverComposite argumentResolvers, ParameterNameDiscoverer parameterNameDiscoverer) {
+
+		return (this.parameters == parameters && this.argumentResolvers == argumentResolvers &&
+				this.parameterNameDiscoverer == parameterNameDiscoverer);
+	}
+
+	/**
+	 * Return the resolver for the argument at the given index, or {@code null}
+	 * if none of the argument resolvers supports the parameter.
+	 * @param index the index of the method parameter
+	 */
+	@Nullable
+	public HandlerMethodArgumentResolver getArgumentResolver(int index) {
+		return this.resolvers[index];
+	}
+
+	/**
+	 * Handle the given return value through the return value handler that
+	 * {@link HandlerMethodReturnValueHandlerComposite} would select for it.
+	 * @param returnValue the value returned from the handler method
+	 * @param returnType the type of the return value
+	 * @param mavContainer the ModelAndViewContainer for the current request
+	 * @param webRequest the current request
+	 * @throws IllegalArgumentException if no suitable return value handler is found
+	 * @throws Exception if the return value handling results in an error
+	 */
+	public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+			ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+
+		HandlerMethodReturnValueHandlerComposite returnValueHandlers = this.returnValueHandlers;
+		Assert.state(returnValueHandlers != null, "No return value handlers");
+		HandlerMethodReturnValueHandler handler;
+		if (isAsyncReturnValue(returnValue, returnType)) {
+			handler = returnValueHandlers.selectHandler(returnType, true);
+		}
+		else {
+			Class<?> valueClass = (returnValue != null ? returnValue.getClass() : null);
+			ReturnValueHandlerSelection selection = this.returnValueHandlerSelection;
+			if (selection != null && selection.valueClass == valueClass) {
+				handler = selection.handler;
+			}
+			else {
+				handler = returnValueHandlers.selectHandler(returnType, false);
+				if (handler != null) {
+					this.returnValueHandlerSelection = new ReturnValueHandlerSelection(valueClass, handler);
+				}
+			}
+		}
+		if (handler == null) {
+			throw new IllegalArgumentException("Unknown return value type: " + returnType.getParameterType().getName());
+		}
+		handler.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+	}
+
+	private boolean isAsyncReturnValue(@Nullable Object returnValue, MethodParameter returnType) {
+		for (AsyncHandlerMethodReturnValueHandler handler : this.asyncReturnValueHandlers) {
+			if (handler.isAsyncReturnValue(returnValue, returnType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * The return value handler selected for return values of a given class.
+	 */
+	private static final class ReturnValueHandlerSelection {
+
+		@Nullable
+		final Class<?> valueClass;
+
+		final HandlerMethodReturnValueHandler handler;
+
+		ReturnValueHandlerSelection(@Nullable Class<?> valueClass, HandlerMethodReturnValueHandler handler) {
+			this.valueClass = valueClass;
+			this.handler = handler;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,7 +84,16 @@ public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodRe
 
 	@Nullable
 	private HandlerMethodReturnValueHandler selectHandler(@Nullable Object value, MethodParameter returnType) {
-		boolean isAsyncValue = isAsyncReturnValue(value, returnType);
+		return selectHandler(returnType, isAsyncReturnValue(value, returnType));
+	}
+
+	/**
+	 * Select the first handler that supports the given return type, among the
+	 * {@link AsyncHandlerMethodReturnValueHandler async handlers} only in case
+	 * of an asynchronous return value.
+	 */
+	@Nullable
+	HandlerMethodReturnValueHandler selectHandler(MethodParameter returnType, boolean isAsyncValue) {
 		for (HandlerMethodReturnValueHandler handler : this.returnValueHandlers) {
 			if (isAsyncValue && !(handler instanceof AsyncHandlerMethodReturnValueHandler)) {
 				continue;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,7 +25,6 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.SessionStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -53,6 +52,9 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	@Nullable
+	private HandlerMethodInvocationPlan invocationPlan;
+
 
 	/**
 	 * Create an instance from a {@code HandlerMethod}.
@@ -107,6 +109,26 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
 	}
 
+	/**
+	 * Set a {@link HandlerMethodInvocationPlan} created for this handler method,
+	 * in order to resolve arguments without looking up the resolver for each
+	 * parameter. The plan is only used if it was created with the argument
+	 * resolvers and parameter name discoverer configured on this instance.
+	 * @since 5.3
+	 */
+	public void setInvocationPlan(@Nullable HandlerMethodInvocationPlan invocationPlan) {
+		this.invocationPlan = invocationPlan;
+	}
+
+	/**
+	 * Return the configured {@link HandlerMethodInvocationPlan}, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public HandlerMethodInvocationPlan getInvocationPlan() {
+		return this.invocationPlan;
+	}
+
 
 	/**
 	 * Invoke the method after resolving its argument values in the context of the given request.
@@ -152,19 +174,28 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			return EMPTY_ARGS;
 		}
 
+		HandlerMethodInvocationPlan plan = this.invocationPlan;
+		if (plan != null && !plan.isApplicableTo(parameters, this.resolvers, this.parameterNameDiscoverer)) {
+			plan = null;
+		}
+
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
-			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+			if (plan == null) {
+				parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+			}
 			args[i] = findProvidedArgument(parameter, providedArgs);
 			if (args[i] != null) {
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
+			HandlerMethodArgumentResolver resolver = (plan != null ? plan.getArgumentResolver(i) :
+					this.resolvers.supportsParameter(parameter) ? this.resolvers : null);
+			if (resolver == null) {
 				throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
 			}
 			try {
-				args[i] = this.resolvers.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+				args[i] = resolver.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
 			}
 			catch (Exception ex) {
 				// Leave stack trace for later, exception may actually be resolved and handled...
@@ -185,9 +216,8 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return getBridgedMethodAccessor().invoke(getBean(), args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(getBridgedMethod(), getBean(), args);
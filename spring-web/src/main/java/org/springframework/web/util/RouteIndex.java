@@ -0,0 +1,298 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Prefix tree over the segments of URL path patterns, used to narrow down the
+ * routes that may match a request path before actually matching any pattern.
+ *
+ * <p>Patterns are indexed segment by segment, in the syntax common to
+ * {@link org.springframework.util.AntPathMatcher} and
+ * {@link org.springframework.web.util.pattern.PathPattern}: a literal segment
+ * leads to a child node for its value, while a segment that matches exactly
+ * one path segment (e.g. {@code "{id}"}, {@code "*"} or {@code "*.html"})
+ * leads to a wildcard node. Indexing stops at the first segment that may
+ * match any number of path segments (e.g. {@code "**"} or {@code "{*path}"}),
+ * and a route without patterns is a candidate for any path.
+ *
+ * <p>The candidates for a path are a superset of the routes with a pattern
+ * that matches the path, so they still have to be matched against the path.
+ * Literal segments are compared ignoring case and surrounding whitespace, a
+ * trailing slash is ignored, and the last segment of the path also matches
+ * literal segments that it extends by a file extension, as with suffix
+ * pattern matching.
+ *
+ * <p>This class is not thread-safe: additions, removals and lookups are
+ * expected to be guarded by the same lock as the registration of the routes.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @param <T> the type of route
+ */
+public class RouteIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private final Map<T, List<Set<T>>> registrations = new HashMap<>();
+
+
+	/**
+	 * Add a route with the given patterns to the index.
+	 * @param patterns the path patterns of the route, or an empty collection
+	 * if the route is not constrained by a path
+	 * @param route the route to add
+	 */
+	public void add(Collection<String> patterns, T route) {
+		Assert.notNull(patterns, "Patterns must not be null");
+		Assert.notNull(route, "Route must not be null");
+		List<Set<T>> routeSets = this.registrations.computeIfAbsent(route, key -> new ArrayList<>(1));
+		if (patterns.isEmpty()) {
+			addRoute(this.root.getRemainderRoutes(), route, routeSets);
+		}
+		for (String pattern : patterns) {
+			addRoute(getRouteSet(pattern), route, routeSets);
+		}
+	}
+
+	private void addRoute(Set<T> routeSet, T route, List<Set<T>> routeSets) {
+		if (routeSet.add(route)) {
+			routeSets.add(routeSet);
+		}
+	}
+
+	private Set<T> getRouteSet(String pattern) {
+		Node<T> node = this.root;
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i <= pattern.length(); i++) {
+			char c = (i < pattern.length() ? pattern.charAt(i) : '/');
+			if (c == '{') {
+				depth++;
+			}
+			else if (c == '}') {
+				depth = Math.max(depth - 1, 0);
+			}
+			else if (c == '/') {
+				if (depth > 0) {
+					// Capture spanning several path segments
+					return node.getRemainderRoutes();
+				}
+				if (i > start) {
+					String segment = pattern.substring(start, i);
+					if (segment.contains("**") || segment.contains("{*")) {
+						return node.getRemainderRoutes();
+					}
+					node = (isLiteral(segment) ? node.getLiteralChild(normalize(segment)) : node.getWildcardChild());
+				}
+				start = i + 1;
+			}
+		}
+		return node.getTerminalRoutes();
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '}') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String normalize(String segment) {
+		return segment.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Remove the given route from the index.
+	 * @param route the route to remove
+	 */
+	public void remove(T route) {
+		List<Set<T>> routeSets = this.registrations.remove(route);
+		if (routeSets != null) {
+			for (Set<T> routeSet : routeSets) {
+				routeSet.remove(route);
+			}
+		}
+	}
+
+	/**
+	 * Return the routes that may match the given path, as a decoded or
+	 * encoded path string, depending on how the patterns are matched.
+	 * @param path the path to look up
+	 * @return the candidate routes, in no particular order
+	 */
+	public Set<T> getCandidates(String path) {
+		List<String> segments = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i <= path.length(); i++) {
+			if (i == path.length() || path.charAt(i) == '/') {
+				if (i > start) {
+					segments.add(path.substring(start, i));
+				}
+				start = i + 1;
+			}
+		}
+		return getCandidates(segments, path.endsWith("/"));
+	}
+
+	/**
+	 * Return the routes that may match the given parsed path, comparing the
+	 * {@link PathContainer.PathSegment#valueToMatch() decoded} values of its
+	 * segments, as {@link org.springframework.web.util.pattern.PathPattern}
+	 * does.
+	 * @param path the path to look up
+	 * @return the candidate routes, in no particular order
+	 */
+	public Set<T> getCandidates(PathContainer path) {
+		List<PathContainer.Element> elements = path.elements();
+		List<String> segments = new ArrayList<>(elements.size() / 2 + 1);
+		for (PathContainer.Element element : elements) {
+			if (element instanceof PathContainer.PathSegment) {
+				String value = ((PathContainer.PathSegment) element).valueToMatch();
+				if (!value.isEmpty()) {
+					segments.add(value);
+				}
+			}
+		}
+		boolean trailingSlash = (!elements.isEmpty() &&
+				elements.get(elements.size() - 1) instanceof PathContainer.Separator);
+		return getCandidates(segments, trailingSlash);
+	}
+
+	private Set<T> getCandidates(List<String> segments, boolean trailingSlash) {
+		Set<T> candidates = new LinkedHashSet<>();
+		collectCandidates(this.root, segments, 0, trailingSlash, candidates);
+		return candidates;
+	}
+
+	private void collectCandidates(
+			Node<T> node, List<String> segments, int index, boolean trailingSlash, Set<T> candidates) {
+
+		node.addRemainderRoutesTo(candidates);
+		if (index == segments.size()) {
+			node.addTerminalRoutesTo(candidates);
+			Node<T> wildcardChild = node.wildcardChild;
+			if (trailingSlash && wildcardChild != null) {
+				// e.g. "/path/*" matches "/path/"
+				collectCandidates(wildcardChild, segments, index, false, candidates);
+			}
+			return;
+		}
+		Map<String, Node<T>> literalChildren = node.literalChildren;
+		if (literalChildren != null) {
+			String segment = normalize(segments.get(index));
+			Node<T> child = literalChildren.get(segment);
+			if (child != null) {
+				collectCandidates(child, segments, index + 1, trailingSlash, candidates);
+			}
+			if (index == segments.size() - 1) {
+				// e.g. "/path" matches "/path.json" with suffix pattern matching
+				int dotIndex = segment.indexOf('.');
+				while (dotIndex > 0) {
+					child = literalChildren.get(segment.substring(0, dotIndex));
+					if (child != null) {
+						collectCandidates(child, segments, index + 1, trailingSlash, candidates);
+					}
+					dotIndex = segment.indexOf('.', dotIndex + 1);
+				}
+			}
+		}
+		if (node.wildcardChild != null) {
+			collectCandidates(node.wildcardChild, segments, index + 1, trailingSlash, candidates);
+		}
+	}
+
+
+	private static final class Node<T> {
+
+		@Nullable
+		Map<String, Node<T>> literalChildren;
+
+		@Nullable
+		Node<T> wildcardChild;
+
+		@Nullable
+		Set<T> terminalRoutes;
+
+		@Nullable
+		Set<T> remainderRoutes;
+
+		Node<T> getLiteralChild(String segment) {
+			Map<String, Node<T>> children = this.literalChildren;
+			if (children == null) {
+				children = new HashMap<>();
+				this.literalChildren = children;
+			}
+			return children.computeIfAbsent(segment, key -> new Node<>());
+		}
+
+		Node<T> getWildcardChild() {
+			Node<T> child = this.wildcardChild;
+			if (child == null) {
+				child = new Node<>();
+				this.wildcardChild = child;
+			}
+			return child;
+		}
+
+		Set<T> getTerminalRoutes() {
+			Set<T> routes = this.terminalRoutes;
+			if (routes == null) {
+				routes = new LinkedHashSet<>(2);
+				this.terminalRoutes = routes;
+			}
+			return routes;
+		}
+
+		Set<T> getRemainderRoutes() {
+			Set<T> routes = this.remainderRoutes;
+			if (routes == null) {
+				routes = new LinkedHashSet<>(2);
+				this.remainderRoutes = routes;
+			}
+			return routes;
+		}
+
+		void addTerminalRoutesTo(Set<T> candidates) {
+			if (this.terminalRoutes != null) {
+				candidates.addAll(this.terminalRoutes);
+			}
+		}
+
+		void addRemainderRoutesTo(Set<T> candidates) {
+			if (this.remainderRoutes != null) {
+				candidates.addAll(this.remainderRoutes);
+			}
+		}
+	}
+
+}
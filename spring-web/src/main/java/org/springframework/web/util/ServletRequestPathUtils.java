@@ -0,0 +1,171 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility class to parse the path of an {@link HttpServletRequest} to a
+ * {@link RequestPath} and cache it in a request attribute for further access.
+ * The parsed path can then be matched against parsed
+ * {@link org.springframework.web.util.pattern.PathPattern PathPatterns}
+ * without any further string processing.
+ *
+ * <p>The {@link RequestPath#contextPath() context path} of the parsed path
+ * comprises the Servlet context path and, for Servlets mapped by path prefix
+ * (e.g. {@code "/api/*"}), the Servlet path. In other words, the
+ * {@link RequestPath#pathWithinApplication() path within the application}
+ * corresponds to the default lookup path of {@link UrlPathHelper}, but
+ * remains encoded.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ */
+public abstract class ServletRequestPathUtils {
+
+	/**
+	 * Name of the request attribute that holds the parsed {@link RequestPath}.
+	 */
+	public static final String PATH_ATTRIBUTE = ServletRequestPathUtils.class.getName() + ".PATH";
+
+
+	/**
+	 * Parse the {@link HttpServletRequest#getRequestURI() requestURI} of the
+	 * given request to a {@link RequestPath} and save it in the request
+	 * attribute {@link #PATH_ATTRIBUTE} for subsequent use with
+	 * {@link org.springframework.web.util.pattern.PathPattern parsed patterns}.
+	 * <p>For an include request, the path of the included resource is parsed.
+	 * @param request the current request
+	 * @return the parsed path
+	 */
+	public static RequestPath parseAndCache(HttpServletRequest request) {
+		RequestPath requestPath = parse(request);
+		request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		return requestPath;
+	}
+
+	/**
+	 * Parse the path of the given request to a {@link RequestPath}, without
+	 * saving it as a request attribute.
+	 * @param request the current request
+	 * @return the parsed path
+	 * @see #parseAndCache(HttpServletRequest)
+	 */
+	public static RequestPath parse(HttpServletRequest request) {
+		boolean include = WebUtils.isIncludeRequest(request);
+		String requestUri = (include ?
+				(String) request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE) : request.getRequestURI());
+		String contextPath = (include ?
+				(String) request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE) : request.getContextPath());
+		String servletPath = (include ?
+				(String) request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE) : request.getServletPath());
+		String pathInfo = (include ?
+				(String) request.getAttribute(WebUtils.INCLUDE_PATH_INFO_ATTRIBUTE) : request.getPathInfo());
+
+		Assert.notNull(requestUri, "Request URI must not be null");
+		contextPath = (contextPath != null ? contextPath : "");
+		if (pathInfo != null && StringUtils.hasLength(servletPath)) {
+			// Servlet mapped by path prefix: match within the Servlet path, as UrlPathHelper does
+			String servletContextPath = getServletContextPath(requestUri, contextPath, servletPath);
+			if (servletContextPath != null) {
+				contextPath = servletContextPath;
+			}
+		}
+		return RequestPath.parse(requestUri, contextPath);
+	}
+
+	/**
+	 * Find the prefix of the given (encoded) request URI that corresponds to the
+	 * context path plus the given (decoded) Servlet path, comparing the Servlet
+	 * path segment by segment with the decoded URI segments, ignoring any path
+	 * parameters such as {@code ";jsessionid=..."}.
+	 * @return the matching prefix of the request URI, or {@code null} if none
+	 */
+	@Nullable
+	private static String getServletContextPath(String requestUri, String contextPath, String servletPath) {
+		if (!requestUri.startsWith(contextPath)) {
+			return null;
+		}
+		int index = contextPath.length();
+		for (String servletPathSegment : StringUtils.delimitedListToStringArray(servletPath.substring(1), "/")) {
+			if (index >= requestUri.length() || requestUri.charAt(index) != '/') {
+				return null;
+			}
+			int end = requestUri.indexOf('/', index + 1);
+			end = (end != -1 ? end : requestUri.length());
+			String segment = requestUri.substring(index + 1, end);
+			int paramsIndex = segment.indexOf(';');
+			segment = (paramsIndex != -1 ? segment.substring(0, paramsIndex) : segment);
+			try {
+				if (!servletPathSegment.equals(UriUtils.decode(segment, StandardCharsets.UTF_8))) {
+					return null;
+				}
+			}
+			catch (IllegalArgumentException ex) {
+				// Invalid encoded sequence
+				return null;
+			}
+			index = end;
+		}
+		return requestUri.substring(0, index);
+	}
+
+	/**
+	 * Return a {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 * @return the parsed path
+	 * @throws IllegalArgumentException if the request path has not been parsed
+	 */
+	public static RequestPath getParsedRequestPath(ServletRequest request) {
+		RequestPath path = (RequestPath) request.getAttribute(PATH_ATTRIBUTE);
+		Assert.notNull(path, "Expected parsed RequestPath in request attribute \"" + PATH_ATTRIBUTE + "\".");
+		return path;
+	}
+
+	/**
+	 * Check for a {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 */
+	public static boolean hasParsedRequestPath(ServletRequest request) {
+		return (request.getAttribute(PATH_ATTRIBUTE) != null);
+	}
+
+	/**
+	 * Set the given {@link RequestPath} as a request attribute, or remove the
+	 * attribute if the given path is {@code null}. Useful for restoring a
+	 * previously parsed path after a nested dispatch.
+	 * @param requestPath the path to set, or {@code null} to remove it
+	 * @param request the current request
+	 */
+	public static void setParsedRequestPath(@Nullable RequestPath requestPath, ServletRequest request) {
+		if (requestPath != null) {
+			request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		}
+		else {
+			request.removeAttribute(PATH_ATTRIBUTE);
+		}
+	}
+
+}
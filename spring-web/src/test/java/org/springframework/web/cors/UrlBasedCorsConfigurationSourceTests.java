@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -50,6 +52,24 @@ public class UrlBasedCorsConfigurationSourceTests {
 		assertThat(this.configSource.getCorsConfiguration(request)).isEqualTo(config);
 	}
 
+	@Test
+	public void registerAndMatchWithPathPatterns() {
+		CorsConfiguration config = new CorsConfiguration();
+		this.configSource.registerCorsConfiguration("/bar/**", config);
+		this.configSource.setPatternParser(new PathPatternParser());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/test.html");
+		assertThat(this.configSource.getCorsConfiguration(request)).isNull();
+
+		request.setRequestURI("/bar/test.html");
+		assertThat(this.configSource.getCorsConfiguration(request)).isEqualTo(config);
+
+		request.setRequestURI("/app/bar/test.html");
+		request.setContextPath("/app");
+		ServletRequestPathUtils.parseAndCache(request);
+		assertThat(this.configSource.getCorsConfiguration(request)).isEqualTo(config);
+	}
+
 	@Test
 	public void unmodifiableConfigurationsMap() {
 		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method.support;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.testfixture.method.ResolvableMethod;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link HandlerMethodInvocationPlan}.
+ *
+ * @author Fu Dong
+ */
+class HandlerMethodInvocationPlanTests {
+
+	private final NativeWebRequest request =
+			new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+	private final HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+
+	private final HandlerMethodReturnValueHandlerComposite handlers = new HandlerMethodReturnValueHandlerComposite();
+
+	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+	private final ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+
+
+	@Test
+	void resolveArgumentsThroughPlan() throws Exception {
+		StubArgumentResolver intResolver = new StubArgumentResolver(99);
+		StubArgumentResolver stringResolver = new StubArgumentResolver("value");
+		this.resolvers.addResolver(intResolver).addResolver(stringResolver);
+
+		HandlerMethod handlerMethod = handlerMethod(Integer.class, String.class);
+		HandlerMethodInvocationPlan plan = createPlan(handlerMethod);
+		assertThat(plan.getArgumentResolver(0)).isSameAs(intResolver);
+		assertThat(plan.getArgumentResolver(1)).isSameAs(stringResolver);
+
+		for (int i = 0; i < 2; i++) {
+			InvocableHandlerMethod invocable = invocable(handlerMethod.createWithResolvedBean(), plan);
+			assertThat(invocable.invokeForRequest(this.request, null)).isEqualTo("99-value");
+		}
+		assertThat(intResolver.getResolvedParameters()).hasSize(2);
+		assertThat(intResolver.getResolvedParameters().get(0).getParameterName()).isEqualTo("intArg");
+	}
+
+	@Test
+	void unsupportedArgument() throws Exception {
+		HandlerMethod handlerMethod = handlerMethod(Integer.class, String.class);
+		HandlerMethodInvocationPlan plan = createPlan(handlerMethod);
+		assertThat(plan.getArgumentResolver(0)).isNull();
+
+		InvocableHandlerMethod invocable = invocable(handlerMethod, plan);
+		assertThatIllegalStateException().isThrownBy(() -> invocable.invokeForRequest(this.request, null))
+				.withMessageContaining("Could not resolve parameter [0]");
+		assertThat(invocable.invokeForRequest(this.request, null, 1, "provided")).isEqualTo("1-provided");
+	}
+
+	@Test
+	void planNotApplicableToOtherResolvers() throws Exception {
+		HandlerMethod handlerMethod = handlerMethod(Integer.class, String.class);
+		HandlerMethodInvocationPlan plan = createPlan(handlerMethod);
+
+		HandlerMethodArgumentResolverComposite otherResolvers = new HandlerMethodArgumentResolverComposite();
+		otherResolvers.addResolver(new StubArgumentResolver(1)).addResolver(new StubArgumentResolver("other"));
+		InvocableHandlerMethod invocable = invocable(handlerMethod, plan);
+		invocable.setHandlerMethodArgumentResolvers(otherResolvers);
+
+		MethodParameter[] parameters = handlerMethod.getMethodParameters();
+		assertThat(plan.isApplicableTo(parameters, this.resolvers, this.parameterNameDiscoverer)).isTrue();
+		assertThat(plan.isApplicableTo(parameters, otherResolvers, this.parameterNameDiscoverer)).isFalse();
+		assertThat(invocable.invokeForRequest(this.request, null)).isEqualTo("1-other");
+	}
+
+	@Test
+	void returnValueHandlerSelectedOncePerValueClass() throws Exception {
+		HandlerMethodReturnValueHandler handler = mock(HandlerMethodReturnValueHandler.class);
+		given(handler.supportsReturnType(any())).willReturn(true);
+		this.handlers.addHandler(handler);
+
+		HandlerMethod handlerMethod = handlerMethod(Integer.class, String.class);
+		HandlerMethodInvocationPlan plan = createPlan(handlerMethod);
+		MethodParameter returnType = handlerMethod.getReturnType();
+		plan.handleReturnValue("first", returnType, this.mavContainer, this.request);
+		plan.handleReturnValue("second", returnType, this.mavContainer, this.request);
+
+		verify(handler, times(1)).supportsReturnType(returnType);
+		verify(handler).handleReturnValue("first", returnType, this.mavContainer, this.request);
+		verify(handler).handleReturnValue("second", returnType, this.mavContainer, this.request);
+	}
+
+	@Test
+	void asyncReturnValue() throws Exception {
+		HandlerMethodReturnValueHandler handler = mock(HandlerMethodReturnValueHandler.class);
+		given(handler.supportsReturnType(any())).willReturn(true);
+		AsyncHandlerMethodReturnValueHandler asyncHandler = mock(AsyncHandlerMethodReturnValueHandler.class);
+		given(asyncHandler.supportsReturnType(any())).willReturn(true);
+		this.handlers.addHandler(handler).addHandler(asyncHandler);
+
+		HandlerMethod handlerMethod = handlerMethod(Integer.class, String.class);
+		HandlerMethodInvocationPlan plan = createPlan(handlerMethod);
+		MethodParameter returnType = handlerMethod.getReturnType();
+		given(asyncHandler.isAsyncReturnValue("async", returnType)).willReturn(true);
+		plan.handleReturnValue("sync", returnType, this.mavContainer, this.request);
+		plan.handleReturnValue("async", returnType, this.mavContainer, this.request);
+
+		verify(handler).handleReturnValue("sync", returnType, this.mavContainer, this.request);
+		verify(handler, never()).handleReturnValue("async", returnType, this.mavContainer, this.request);
+		verify(asyncHandler).handleReturnValue("async", returnType, this.mavContainer, this.request);
+	}
+
+	@Test
+	void noSuitableReturnValueHandler() throws Exception {
+		HandlerMethod handlerMethod = handlerMethod(Integer.class, String.class);
+		HandlerMethodInvocationPlan plan = createPlan(handlerMethod);
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				plan.handleReturnValue("value", handlerMethod.getReturnType(), this.mavContainer, this.request));
+	}
+
+
+	private HandlerMethod handlerMethod(Class<?>... argTypes) {
+		Method method = ResolvableMethod.on(Handler.class).argTypes(argTypes).resolveMethod();
+		return new HandlerMethod(new Handler(), method);
+	}
+
+	private HandlerMethodInvocationPlan createPlan(HandlerMethod handlerMethod) {
+		return new HandlerMethodInvocationPlan(
+				handlerMethod, this.resolvers, this.handlers, this.parameterNameDiscoverer);
+	}
+
+	private InvocableHandlerMethod invocable(HandlerMethod handlerMethod, HandlerMethodInvocationPlan plan) {
+		InvocableHandlerMethod invocable = new InvocableHandlerMethod(handlerMethod);
+		invocable.setHandlerMethodArgumentResolvers(this.resolvers);
+		invocable.setParameterNameDiscoverer(this.parameterNameDiscoverer);
+		invocable.setInvocationPlan(plan);
+		return invocable;
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class Handler {
+
+		public String handle(Integer intArg, String stringArg) {
+			return intArg + "-" + stringArg;
+		}
+	}
+
+}
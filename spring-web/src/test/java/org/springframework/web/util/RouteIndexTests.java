@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RouteIndex}.
+ *
+ * @author Fu Dong
+ */
+class RouteIndexTests {
+
+	private final RouteIndex<String> index = new RouteIndex<>();
+
+
+	@Test
+	void literalAndWildcardSegments() {
+		this.index.add(Collections.singletonList("/orders"), "orders");
+		this.index.add(Collections.singletonList("/orders/{id}"), "order");
+		this.index.add(Collections.singletonList("/orders/*.pdf"), "invoice");
+		this.index.add(Collections.singletonList("/customers/{id}"), "customer");
+
+		assertThat(this.index.getCandidates("/orders")).containsExactly("orders");
+		assertThat(this.index.getCandidates("/orders/42")).containsExactlyInAnyOrder("order", "invoice");
+		assertThat(this.index.getCandidates("/customers/42")).containsExactly("customer");
+		assertThat(this.index.getCandidates("/customers")).isEmpty();
+		assertThat(this.index.getCandidates("/orders/42/items")).isEmpty();
+	}
+
+	@Test
+	void multipleSegmentPatterns() {
+		this.index.add(Collections.singletonList("/static/**"), "static");
+		this.index.add(Collections.singletonList("/files/{*path}"), "files");
+		this.index.add(Collections.singletonList("/regex/{name:[a-z/]+}"), "regex");
+
+		assertThat(this.index.getCandidates("/static")).containsExactly("static");
+		assertThat(this.index.getCandidates("/static/css/main.css")).containsExactly("static");
+		assertThat(this.index.getCandidates("/files/a/b/c")).containsExactly("files");
+		assertThat(this.index.getCandidates("/regex/a/b")).containsExactly("regex");
+		assertThat(this.index.getCandidates("/other/a/b")).isEmpty();
+	}
+
+	@Test
+	void routeWithoutPatterns() {
+		this.index.add(Collections.emptyList(), "any");
+		this.index.add(Collections.singletonList(""), "empty");
+
+		assertThat(this.index.getCandidates("/")).containsExactlyInAnyOrder("any", "empty");
+		assertThat(this.index.getCandidates("")).containsExactlyInAnyOrder("any", "empty");
+		assertThat(this.index.getCandidates("/orders")).containsExactly("any");
+	}
+
+	@Test
+	void routeWithMultiplePatterns() {
+		this.index.add(Arrays.asList("/orders/{id}", "/orders/{orderId}", "/purchases/{id}"), "order");
+
+		assertThat(this.index.getCandidates("/orders/42")).containsExactly("order");
+		assertThat(this.index.getCandidates("/purchases/42")).containsExactly("order");
+	}
+
+	@Test
+	void trailingSlash() {
+		this.index.add(Collections.singletonList("/orders"), "orders");
+		this.index.add(Collections.singletonList("/users/*"), "user");
+
+		assertThat(this.index.getCandidates("/orders/")).containsExactly("orders");
+		assertThat(this.index.getCandidates("/users/")).containsExactly("user");
+		assertThat(this.index.getCandidates("/users")).isEmpty();
+	}
+
+	@Test
+	void fileExtension() {
+		this.index.add(Collections.singletonList("/orders"), "orders");
+		this.index.add(Collections.singletonList("/orders.v1"), "ordersV1");
+
+		assertThat(this.index.getCandidates("/orders.json")).containsExactly("orders");
+		assertThat(this.index.getCandidates("/orders.v1.json")).containsExactlyInAnyOrder("orders", "ordersV1");
+		assertThat(this.index.getCandidates("/orders.json/items")).isEmpty();
+	}
+
+	@Test
+	void literalSegmentsIgnoreCase() {
+		this.index.add(Collections.singletonList("/Orders"), "orders");
+
+		assertThat(this.index.getCandidates("/orders")).containsExactly("orders");
+		assertThat(this.index.getCandidates("/ORDERS")).containsExactly("orders");
+	}
+
+	@Test
+	void parsedPath() {
+		this.index.add(Collections.singletonList("/orders/{id}"), "order");
+		this.index.add(Collections.singletonList("/my orders"), "myOrders");
+
+		assertThat(this.index.getCandidates(PathContainer.parsePath("/orders;a=b/42"))).containsExactly("order");
+		assertThat(this.index.getCandidates(PathContainer.parsePath("/my%20orders"))).containsExactly("myOrders");
+	}
+
+	@Test
+	void remove() {
+		this.index.add(Arrays.asList("/orders/{id}", "/orders/**"), "order");
+		this.index.add(Collections.emptyList(), "any");
+		this.index.remove("order");
+		this.index.remove("any");
+
+		assertThat(this.index.getCandidates("/orders/42")).isEmpty();
+		assertThat(this.index.getCandidates("/")).isEmpty();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ServletRequestPathUtils}.
+ *
+ * @author Fu Dong
+ */
+class ServletRequestPathUtilsTests {
+
+	@Test
+	void parseAndCache() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/a%20b/c;d=e");
+		request.setContextPath("/app");
+
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+		RequestPath path = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(path);
+		assertThat(path.contextPath().value()).isEqualTo("/app");
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/a%20b/c;d=e");
+	}
+
+	@Test
+	void servletMappedByPathPrefix() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/persons/1");
+		request.setContextPath("/app");
+		request.setServletPath("/api");
+		request.setPathInfo("/persons/1");
+
+		RequestPath path = ServletRequestPathUtils.parse(request);
+		assertThat(path.contextPath().value()).isEqualTo("/app/api");
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/persons/1");
+	}
+
+	@Test
+	void servletMappedByEncodedPathPrefix() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/my%20api;jsessionid=1/persons/1");
+		request.setContextPath("/app");
+		request.setServletPath("/my api");
+		request.setPathInfo("/persons/1");
+
+		RequestPath path = ServletRequestPathUtils.parse(request);
+		assertThat(path.contextPath().value()).isEqualTo("/app/my%20api;jsessionid=1");
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/persons/1");
+	}
+
+	@Test
+	void servletPathNotMatchingRequestUri() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/apis/persons/1");
+		request.setContextPath("/app");
+		request.setServletPath("/api");
+		request.setPathInfo("/persons/1");
+
+		RequestPath path = ServletRequestPathUtils.parse(request);
+		assertThat(path.contextPath().value()).isEqualTo("/app");
+	}
+
+	@Test
+	void defaultServletMapping() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/persons/1");
+		request.setContextPath("/app");
+		request.setServletPath("/persons/1");
+
+		RequestPath path = ServletRequestPathUtils.parse(request);
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/persons/1");
+	}
+
+	@Test
+	void includeRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/persons");
+		request.setContextPath("/app");
+		request.setAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE, "/app/fragments/header");
+		request.setAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE, "/app");
+
+		RequestPath path = ServletRequestPathUtils.parse(request);
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/fragments/header");
+	}
+
+	@Test
+	void setParsedRequestPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/persons");
+		RequestPath path = ServletRequestPathUtils.parseAndCache(request);
+
+		ServletRequestPathUtils.setParsedRequestPath(null, request);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+		assertThatIllegalArgumentException().isThrownBy(() -> ServletRequestPathUtils.getParsedRequestPath(request));
+
+		ServletRequestPathUtils.setParsedRequestPath(path, request);
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(path);
+	}
+
+}
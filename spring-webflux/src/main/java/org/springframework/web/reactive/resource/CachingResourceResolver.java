@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -36,6 +37,10 @@ import org.springframework.web.server.ServerWebExchange;
  * A {@link ResourceResolver} that resolves resources from a {@link Cache} or
  * otherwise delegates to the resolver chain and caches the result.
  *
+ * <p>With a {@link ResourceCache}, resources are served from memory, and
+ * clients that accept gzip are served the gzip variant of the cached content,
+ * if the cache is configured to compute such variants.
+ *
  * @author Rossen Stoyanchev
  * @author Brian Clozel
  * @since 5.0
@@ -114,11 +119,34 @@ public class CachingResourceResolver extends AbstractResourceResolver {
 		if (cachedResource != null) {
 			String logPrefix = exchange != null ? exchange.getLogPrefix() : "";
 			logger.trace(logPrefix + "Resource resolved from cache");
-			return Mono.just(cachedResource);
+			return Mono.just(selectVariant(exchange, cachedResource));
 		}
 
 		return chain.resolveResource(exchange, requestPath, locations)
-				.doOnNext(resource -> this.cache.put(key, resource));
+				.flatMap(resource -> {
+					if (this.cache instanceof ResourceCache) {
+						// Serve the cached copy, and its gzip variant, from the first request on,
+						// reading the content off the event loop
+						return ((ResourceCache) this.cache).storeAsync(key, resource)
+								.map(cached -> selectVariant(exchange, (Resource) cached));
+					}
+					this.cache.put(key, resource);
+					return Mono.just(resource);
+				});
+	}
+
+	private Resource selectVariant(@Nullable ServerWebExchange exchange, Resource resource) {
+		if (exchange != null && resource instanceof ResourceCache.CachedResource) {
+			Resource gzipVariant = ((ResourceCache.CachedResource) resource).getGzipVariant();
+			if (gzipVariant != null) {
+				String codingKey = getContentCodingKey(exchange);
+				if (codingKey != null && ObjectUtils.containsElement(
+						StringUtils.commaDelimitedListToStringArray(codingKey), "gzip")) {
+					return gzipVariant;
+				}
+			}
+		}
+		return resource;
 	}
 
 	protected String computeKey(@Nullable ServerWebExchange exchange, String requestPath) {
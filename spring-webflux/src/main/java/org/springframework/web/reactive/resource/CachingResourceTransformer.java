@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -76,7 +76,14 @@ public class CachingResourceTransformer implements ResourceTransformer {
 		}
 
 		return transformerChain.transform(exchange, resource)
-				.doOnNext(transformed -> this.cache.put(resource, transformed));
+				.flatMap(transformed -> {
+					if (this.cache instanceof ResourceCache) {
+						// Read the content to cache, if any, off the event loop
+						return ((ResourceCache) this.cache).storeAsync(resource, transformed).thenReturn(transformed);
+					}
+					this.cache.put(resource, transformed);
+					return Mono.just(transformed);
+				});
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.web.reactive.resource;
 
+import java.io.IOException;
+import java.util.Map;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -24,6 +27,8 @@ import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StreamUtils;
 
@@ -32,6 +37,12 @@ import org.springframework.util.StreamUtils;
  * of the resource and appends it to the file name, e.g.
  * {@code "styles/main-e36d2e05253c6c7085a91522ce43a0b4.css"}.
  *
+ * <p>The hash of a resource is computed once and reused for as long as the
+ * last-modified timestamp of the resource does not change. Hashes are kept by
+ * the URL of the resource, so they are shared by all {@code Resource} instances
+ * for the same URL, including ones that do not implement {@code equals}, and
+ * are not kept for resources without a URL.
+ *
  * @author Rossen Stoyanchev
  * @author Brian Clozel
  * @since 5.0
@@ -42,8 +53,19 @@ public class ContentVersionStrategy extends AbstractFileNameVersionStrategy {
 	private static final DataBufferFactory dataBufferFactory = new DefaultDataBufferFactory();
 
 
+	private final Map<String, ContentVersion> versionCache = new ConcurrentReferenceHashMap<>(256);
+
+
 	@Override
 	public Mono<String> getResourceVersion(Resource resource) {
+		long lastModified = getLastModified(resource);
+		String cacheKey = (lastModified > 0 ? getCacheKey(resource) : null);
+		if (cacheKey != null) {
+			ContentVersion version = this.versionCache.get(cacheKey);
+			if (version != null && version.lastModified == lastModified) {
+				return Mono.just(version.hash);
+			}
+		}
 		Flux<DataBuffer> flux =
 				DataBufferUtils.read(resource, dataBufferFactory, StreamUtils.BUFFER_SIZE);
 		return DataBufferUtils.join(flux)
@@ -51,8 +73,44 @@ public class ContentVersionStrategy extends AbstractFileNameVersionStrategy {
 					byte[] result = new byte[buffer.readableByteCount()];
 					buffer.read(result);
 					DataBufferUtils.release(buffer);
-					return DigestUtils.md5DigestAsHex(result);
+					String hash = DigestUtils.md5DigestAsHex(result);
+					if (cacheKey != null) {
+						this.versionCache.put(cacheKey, new ContentVersion(hash, lastModified));
+					}
+					return hash;
 				});
 	}
 
+	private static long getLastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	@Nullable
+	private static String getCacheKey(Resource resource) {
+		try {
+			return resource.getURL().toExternalForm();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+
+	private static final class ContentVersion {
+
+		final String hash;
+
+		final long lastModified;
+
+		ContentVersion(String hash, long lastModified) {
+			this.hash = hash;
+			this.lastModified = lastModified;
+		}
+	}
+
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.testfixture.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest.get;
+
+/**
+ * Unit tests for {@link ResourceCache}.
+ *
+ * @author Fu Dong
+ */
+public class ResourceCacheTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+
+	@TempDir
+	Path tempDir;
+
+	private final ResourceCache cache = new ResourceCache("resourceCache");
+
+
+	@Test
+	public void contentCachedInMemory() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		this.cache.put("foo", resource);
+
+		Resource cached = this.cache.get("foo", Resource.class);
+		assertThat(cached).isInstanceOf(ResourceCache.CachedResource.class);
+		assertThat(cached.getFilename()).isEqualTo("foo.css");
+		assertThat(cached.lastModified()).isEqualTo(resource.lastModified());
+		assertThat(StreamUtils.copyToString(cached.getInputStream(), StandardCharsets.UTF_8)).isEqualTo("h1 { color:red; }");
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void outdatedContentEvicted() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		this.cache.put("foo", resource);
+		Files.setLastModifiedTime(resource.getFile().toPath(), FileTime.fromMillis(resource.lastModified() + 60_000));
+
+		assertThat(this.cache.get("foo", Resource.class)).isNull();
+		assertThat(this.cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void gzipVariantServedByResolver() throws Exception {
+		char[] content = new char[1000];
+		Arrays.fill(content, 'a');
+		createResource("foo.css", new String(content));
+		this.cache.setGzipVariants(true);
+		List<ResourceResolver> resolvers =
+				Arrays.asList(new CachingResourceResolver(this.cache), new PathResourceResolver());
+		ResourceResolverChain chain = new DefaultResourceResolverChain(resolvers);
+		List<Resource> locations = Collections.singletonList(new FileSystemResource(this.tempDir.toString() + "/"));
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("/foo.css").header("Accept-Encoding", "gzip"));
+		Resource resource = chain.resolveResource(exchange, "foo.css", locations).block(TIMEOUT);
+
+		assertThat(resource).isInstanceOf(HttpResource.class);
+		HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+		assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(headers.getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+		try (InputStream in = new GZIPInputStream(resource.getInputStream())) {
+			assertThat(StreamUtils.copyToString(in, StandardCharsets.UTF_8)).isEqualTo(new String(content));
+		}
+
+		exchange = MockServerWebExchange.from(get("/foo.css"));
+		resource = chain.resolveResource(exchange, "foo.css", locations).block(TIMEOUT);
+		assertThat(((HttpResource) resource).getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+		assertThat(resource.contentLength()).isEqualTo(1000);
+	}
+
+	@Test
+	public void contentSharedByEntriesForSameResource() throws Exception {
+		char[] content = new char[1000];
+		Arrays.fill(content, 'a');
+		Resource resource = createResource("foo.txt", new String(content));
+		this.cache.put("foo", resource);
+		long size = this.cache.getSize();
+		this.cache.put("foo+encoding=gzip", resource);
+
+		assertThat(this.cache.get("foo+encoding=gzip", Resource.class)).isSameAs(this.cache.get("foo", Resource.class));
+		assertThat(this.cache.getSize()).isLessThan(size + 1000);
+
+		this.cache.evict("foo");
+		assertThat(this.cache.getSize()).isEqualTo(size);
+		this.cache.evict("foo+encoding=gzip");
+		assertThat(this.cache.getSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void contentReadOffCallingThreadByResolver() throws Exception {
+		Path file = Files.write(this.tempDir.resolve("foo.css"), "h1 { color:red; }".getBytes(StandardCharsets.UTF_8));
+		List<Thread> readingThreads = new ArrayList<>();
+		Resource resource = new FileSystemResource(file) {
+			@Override
+			public InputStream getInputStream() throws IOException {
+				readingThreads.add(Thread.currentThread());
+				return super.getInputStream();
+			}
+		};
+		ResourceResolver resolver = new AbstractResourceResolver() {
+			@Override
+			protected Mono<Resource> resolveResourceInternal(@Nullable ServerWebExchange exchange,
+					String requestPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+				return Mono.just(resource);
+			}
+			@Override
+			protected Mono<String> resolveUrlPathInternal(String resourceUrlPath,
+					List<? extends Resource> locations, ResourceResolverChain chain) {
+				return Mono.just(resourceUrlPath);
+			}
+		};
+		ResourceResolverChain chain =
+				new DefaultResourceResolverChain(Arrays.asList(new CachingResourceResolver(this.cache), resolver));
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("/foo.css"));
+		Resource resolved = chain.resolveResource(exchange, "foo.css", Collections.emptyList()).block(TIMEOUT);
+
+		assertThat(resolved).isInstanceOf(ResourceCache.CachedResource.class);
+		assertThat(readingThreads).hasSize(1);
+		assertThat(readingThreads.get(0)).isNotSameAs(Thread.currentThread());
+		assertThat(readingThreads.get(0).getName()).startsWith("boundedElastic");
+	}
+
+
+	private Resource createResource(String filename, String content) throws Exception {
+		Path file = Files.write(this.tempDir.resolve(filename), content.getBytes(StandardCharsets.UTF_8));
+		return new FileSystemResource(file);
+	}
+
+}
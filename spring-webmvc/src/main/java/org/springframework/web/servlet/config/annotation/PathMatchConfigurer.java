@@ -24,6 +24,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -58,6 +59,9 @@ public class PathMatchConfigurer {
 	@Nullable
 	private PathMatcher pathMatcher;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	@Nullable
 	private Map<String, Predicate<Class<?>>> pathPrefixes;
 
@@ -128,6 +132,22 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Enable the use of parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} with the given parser, in place of String pattern matching
+	 * with a {@link PathMatcher}. Patterns are then parsed once at startup and
+	 * matched against the request path as parsed once per request.
+	 * <p>Note that suffix pattern matching is not supported with parsed patterns,
+	 * and that trailing slash matching is then controlled through
+	 * {@link PathPatternParser#setMatchOptionalTrailingSeparator(boolean)}.
+	 * @param patternParser the parser to use
+	 * @since 5.3
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		return this;
+	}
+
 	/**
 	 * Configure a path prefix to apply to matching controller methods.
 	 * <p>Prefixes are used to enrich the mappings of every {@code @RequestMapping}
@@ -187,6 +207,15 @@ public class PathMatchConfigurer {
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Return the {@link PathPatternParser} to use, if configured.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	@Nullable
 	protected Map<String, Predicate<Class<?>>> getPathPrefixes() {
 		return this.pathPrefixes;
@@ -30,6 +30,8 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
@@ -48,7 +50,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for {@link org.springframework.web.servlet.HandlerMapping}
@@ -80,6 +84,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private final List<Object> interceptors = new ArrayList<>();
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
@@ -188,6 +195,38 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Enable the use of parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} for matching URL paths, in place of the configured
+	 * {@link #setPathMatcher PathMatcher}. Patterns are then parsed once and
+	 * matched against the {@link RequestPath} parsed by {@link ServletRequestPathUtils},
+	 * which spares the tokenization and regular expression matching otherwise
+	 * performed for every request. This also applies to mapped interceptors
+	 * and {@link #setCorsConfigurations global CORS configurations}.
+	 * <p>Matching is then performed against the
+	 * {@link RequestPath#pathWithinApplication() path within the application},
+	 * with the {@link #setUrlPathHelper UrlPathHelper} only used to remove
+	 * semicolon content from the lookup path, and to decode matrix variables.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use
+	 * @since 5.3
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		if (this.corsConfigurationSource instanceof UrlBasedCorsConfigurationSource) {
+			((UrlBasedCorsConfigurationSource) this.corsConfigurationSource).setPatternParser(patternParser);
+		}
+	}
+
+	/**
+	 * Return the {@link #setPatternParser configured} {@code PathPatternParser}, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -216,6 +255,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 			source.setPathMatcher(this.pathMatcher);
 			source.setUrlPathHelper(this.urlPathHelper);
 			source.setLookupPathAttributeName(LOOKUP_PATH);
+			source.setPatternParser(this.patternParser);
 			this.corsConfigurationSource = source;
 		}
 		else {
@@ -382,6 +422,16 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	}
 
 
+	/**
+	 * Return {@code true} if this handler mapping has been
+	 * {@link #setPatternParser enabled} to use parsed {@code PathPattern}s.
+	 * @since 5.3
+	 */
+	@Override
+	public boolean usesPathPatterns() {
+		return (this.patternParser != null);
+	}
+
 	/**
 	 * Look up a handler for the given request, falling back to the default
 	 * handler if no specific one is found.
@@ -443,6 +493,44 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Nullable
 	protected abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+	/**
+	 * Initialize the path to use for request mapping and expose it under the
+	 * {@link #LOOKUP_PATH} request attribute.
+	 * <p>When {@link #usesPathPatterns() parsed patterns} are enabled, this is
+	 * the encoded {@link RequestPath#pathWithinApplication() path within the
+	 * application}, with semicolon content removed as configured on the
+	 * {@link #setUrlPathHelper UrlPathHelper}. Otherwise the lookup path is
+	 * resolved through the {@code UrlPathHelper}.
+	 * @param request the current request
+	 * @return the lookup path
+	 * @since 5.3
+	 */
+	protected String initLookupPath(HttpServletRequest request) {
+		String lookupPath;
+		if (usesPathPatterns()) {
+			String path = getRequestPath(request).pathWithinApplication().value();
+			lookupPath = this.urlPathHelper.removeSemicolonContent(path);
+		}
+		else {
+			lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+		}
+		request.setAttribute(LOOKUP_PATH, lookupPath);
+		return lookupPath;
+	}
+
+	/**
+	 * Return the {@link RequestPath} of the given request, as parsed and cached
+	 * by the {@code DispatcherServlet}, or parse and cache it if necessary.
+	 * @param request the current request
+	 * @since 5.3
+	 * @see ServletRequestPathUtils#parseAndCache(HttpServletRequest)
+	 */
+	protected RequestPath getRequestPath(HttpServletRequest request) {
+		return (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+				ServletRequestPathUtils.getParsedRequestPath(request) :
+				ServletRequestPathUtils.parseAndCache(request));
+	}
+
 	/**
 	 * Build a {@link HandlerExecutionChain} for the given handler, including
 	 * applicable interceptors.
@@ -468,10 +556,14 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
 		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH);
+		PathContainer path = (this.patternParser != null ? getRequestPath(request).pathWithinApplication() : null);
 		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
 			if (interceptor instanceof MappedInterceptor) {
 				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
-				if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
+				boolean matches = (path != null && mappedInterceptor.getPathMatcher() == null ?
+						mappedInterceptor.matches(path, this.patternParser) :
+						mappedInterceptor.matches(lookupPath, this.pathMatcher));
+				if (matches) {
 					chain.addInterceptor(mappedInterceptor.getInterceptor());
 				}
 			}
@@ -43,7 +43,9 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.KotlinDetector;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -52,6 +54,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.RouteIndex;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -360,8 +363,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	protected HandlerMethod getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
+		String lookupPath = initLookupPath(request);
 		this.mappingRegistry.acquireReadLock();
 		try {
 			HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
@@ -389,8 +391,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			addMatchingMappings(getCandidateMappings(lookupPath, request), matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -423,6 +424,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	private Collection<T> getCandidateMappings(String lookupPath, HttpServletRequest request) {
+		if (!useRouteIndex()) {
+			// No choice but to go through all mappings...
+			return this.mappingRegistry.getMappings().keySet();
+		}
+		return (usesPathPatterns() ?
+				this.mappingRegistry.getMappingsByPath(getRequestPath(request).pathWithinApplication()) :
+				this.mappingRegistry.getMappingsByPath(lookupPath));
+	}
+
 	private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
 		for (T mapping : mappings) {
 			T match = getMatchingMapping(mapping, request);
@@ -501,9 +512,32 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	/**
 	 * Extract and return the URL paths contained in the supplied mapping.
+	 * <p>Besides direct lookups of non-pattern paths, these are also used to
+	 * narrow down the mappings to match against a request, unless
+	 * {@link #useRouteIndex()} returns {@code false}: a mapping is then only
+	 * matched if one of its paths may match the lookup path, or if it does not
+	 * contain any paths.
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
+	/**
+	 * Whether the mappings to match against a request without a direct path
+	 * match can be narrowed down through an index of the segments of their
+	 * {@link #getMappingPathPatterns path patterns}. This requires that a
+	 * mapping with path patterns only matches a request if one of its patterns
+	 * matches the lookup path, with the semantics of either a parsed
+	 * {@link org.springframework.web.util.pattern.PathPattern} or an
+	 * {@link AntPathMatcher}.
+	 * <p>By default, this is the case when {@link #usesPathPatterns() using
+	 * parsed patterns} or a plain {@link AntPathMatcher}. Subclasses may
+	 * override this to return {@code false} if mappings are matched otherwise,
+	 * in which case all mappings are checked.
+	 * @since 5.3
+	 */
+	protected boolean useRouteIndex() {
+		return (usesPathPatterns() || getPathMatcher().getClass() == AntPathMatcher.class);
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -536,6 +570,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final RouteIndex<T> routeIndex = new RouteIndex<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -559,6 +595,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with a path pattern that may match the given
+		 * lookup path, or without any path pattern. Not thread-safe.
+		 * @since 5.3
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(String lookupPath) {
+			return this.routeIndex.getCandidates(lookupPath);
+		}
+
+		/**
+		 * Variant of {@link #getMappingsByPath(String)} for a parsed path,
+		 * matched against parsed patterns. Not thread-safe.
+		 * @since 5.3
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(PathContainer path) {
+			return this.routeIndex.getCandidates(path);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -607,6 +663,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
 				}
+				this.routeIndex.add(getMappingPathPatterns(mapping), mapping);
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -685,6 +742,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				this.routeIndex.remove(definition.getMapping());
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -21,24 +21,36 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
  * against a set of URL path patterns.
  *
+ * <p>If created with a {@link PathPatternParser}, the patterns are parsed once
+ * to {@link PathPattern PathPatterns} and matched against the request path as
+ * parsed by {@link ServletRequestPathUtils}, rather than through a
+ * {@link PathMatcher} against the lookup path of the request.
+ *
  * @author Rossen Stoyanchev
  * @since 3.1
  */
@@ -59,6 +71,12 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 
 	private final List<String> fileExtensions = new ArrayList<>();
 
+	@Nullable
+	private final PathPatternParser patternParser;
+
+	@Nullable
+	private final Map<String, PathPattern> pathPatterns;
+
 
 	/**
 	 * Creates a new instance with the given URL patterns. Each pattern that is
@@ -85,6 +103,30 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		this(patterns, urlPathHelper, pathMatcher, false, useTrailingSlashMatch, null);
 	}
 
+	/**
+	 * Alternative constructor that parses the URL patterns with the given
+	 * {@link PathPatternParser}, for matching against the parsed request path.
+	 * <p>Suffix pattern matching is not supported in this mode, and whether
+	 * trailing slashes are matched is determined by the
+	 * {@link PathPatternParser#setMatchOptionalTrailingSeparator parser}.
+	 * @param patterns the URL patterns to use; if 0, the condition will match to every request.
+	 * @param patternParser the parser to parse the patterns with
+	 * @since 5.3
+	 */
+	public PatternsRequestCondition(String[] patterns, PathPatternParser patternParser) {
+		Assert.notNull(patternParser, "PathPatternParser must not be null");
+		this.patterns = initPatterns(patterns);
+		this.pathHelper = new UrlPathHelper();
+		this.pathMatcher = new AntPathMatcher();
+		this.useSuffixPatternMatch = false;
+		this.useTrailingSlashMatch = false;
+		this.patternParser = patternParser;
+		this.pathPatterns = new LinkedHashMap<>(this.patterns.size());
+		for (String pattern : this.patterns) {
+			this.pathPatterns.put(pattern, patternParser.parse(pattern));
+		}
+	}
+
 	/**
 	 * Alternative constructor with additional optional parameters.
 	 * @param patterns the URL patterns to use; if 0, the condition will match to every request.
@@ -125,6 +167,8 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		this.pathMatcher = pathMatcher != null ? pathMatcher : new AntPathMatcher();
 		this.useSuffixPatternMatch = useSuffixPatternMatch;
 		this.useTrailingSlashMatch = useTrailingSlashMatch;
+		this.patternParser = null;
+		this.pathPatterns = null;
 
 		if (fileExtensions != null) {
 			for (String fileExtension : fileExtensions) {
@@ -165,12 +209,23 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	 * Private constructor for use when combining and matching.
 	 */
 	private PatternsRequestCondition(Set<String> patterns, PatternsRequestCondition other) {
+		this(patterns, null, other);
+	}
+
+	/**
+	 * Private constructor for use when combining and matching parsed patterns.
+	 */
+	private PatternsRequestCondition(Set<String> patterns, @Nullable Map<String, PathPattern> pathPatterns,
+			PatternsRequestCondition other) {
+
 		this.patterns = patterns;
 		this.pathHelper = other.pathHelper;
 		this.pathMatcher = other.pathMatcher;
 		this.useSuffixPatternMatch = other.useSuffixPatternMatch;
 		this.useTrailingSlashMatch = other.useTrailingSlashMatch;
 		this.fileExtensions.addAll(other.fileExtensions);
+		this.patternParser = other.patternParser;
+		this.pathPatterns = pathPatterns;
 	}
 
 
@@ -178,6 +233,26 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		return this.patterns;
 	}
 
+	/**
+	 * Whether the patterns of this condition have been parsed with a
+	 * {@link PathPatternParser}.
+	 * @since 5.3
+	 * @see #PatternsRequestCondition(String[], PathPatternParser)
+	 */
+	public boolean usesPathPatterns() {
+		return (this.pathPatterns != null);
+	}
+
+	/**
+	 * Return the parsed patterns, in the same order as {@link #getPatterns()},
+	 * or an empty collection if the patterns have not been parsed.
+	 * @since 5.3
+	 * @see #usesPathPatterns()
+	 */
+	public Collection<PathPattern> getPathPatterns() {
+		return (this.pathPatterns != null ? this.pathPatterns.values() : Collections.emptySet());
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -209,6 +284,18 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		else if (isEmptyPathPattern()) {
 			return other;
 		}
+		if (this.pathPatterns != null && this.patternParser != null) {
+			Map<String, PathPattern> combined = new LinkedHashMap<>();
+			for (PathPattern pattern1 : this.pathPatterns.values()) {
+				for (String pattern2 : other.patterns) {
+					PathPattern otherPattern = (other.pathPatterns != null ?
+							other.pathPatterns.get(pattern2) : this.patternParser.parse(pattern2));
+					PathPattern pattern = pattern1.combine(otherPattern);
+					combined.put(pattern.getPatternString(), pattern);
+				}
+			}
+			return new PatternsRequestCondition(new LinkedHashSet<>(combined.keySet()), combined, this);
+		}
 		Set<String> result = new LinkedHashSet<>();
 		if (!this.patterns.isEmpty() && !other.patterns.isEmpty()) {
 			for (String pattern1 : this.patterns) {
@@ -243,6 +330,12 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	@Override
 	@Nullable
 	public PatternsRequestCondition getMatchingCondition(HttpServletRequest request) {
+		if (this.pathPatterns != null) {
+			PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					ServletRequestPathUtils.getParsedRequestPath(request) :
+					ServletRequestPathUtils.parse(request)).pathWithinApplication();
+			return getMatchingCondition(path, this.pathPatterns);
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		List<String> matches = getMatchingPatterns(lookupPath);
 		return !matches.isEmpty() ? new PatternsRequestCondition(new LinkedHashSet<>(matches), this) : null;
@@ -257,6 +350,10 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		if (this.pathPatterns != null) {
+			PatternsRequestCondition match = getMatchingCondition(PathContainer.parsePath(lookupPath), this.pathPatterns);
+			return (match != null ? new ArrayList<>(match.patterns) : Collections.emptyList());
+		}
 		List<String> matches = null;
 		for (String pattern : this.patterns) {
 			String match = getMatchingPattern(pattern, lookupPath);
@@ -274,6 +371,28 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 		return matches;
 	}
 
+	@Nullable
+	private PatternsRequestCondition getMatchingCondition(PathContainer path, Map<String, PathPattern> pathPatterns) {
+		List<PathPattern> matches = null;
+		for (PathPattern pattern : pathPatterns.values()) {
+			if (pattern.matches(path)) {
+				matches = (matches != null ? matches : new ArrayList<>());
+				matches.add(pattern);
+			}
+		}
+		if (matches == null) {
+			return null;
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+		}
+		Map<String, PathPattern> result = new LinkedHashMap<>(matches.size());
+		for (PathPattern match : matches) {
+			result.put(match.getPatternString(), match);
+		}
+		return new PatternsRequestCondition(new LinkedHashSet<>(result.keySet()), result, this);
+	}
+
 	@Nullable
 	private String getMatchingPattern(String pattern, String lookupPath) {
 		if (pattern.equals(lookupPath)) {
@@ -318,10 +437,16 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 	 */
 	@Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
+		if (this.pathPatterns != null && other.pathPatterns != null) {
+			return compareTo(this.pathPatterns.values().iterator(), other.pathPatterns.values().iterator(),
+					PathPattern.SPECIFICITY_COMPARATOR);
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
-		Iterator<String> iterator = this.patterns.iterator();
-		Iterator<String> iteratorOther = other.patterns.iterator();
+		return compareTo(this.patterns.iterator(), other.patterns.iterator(), patternComparator);
+	}
+
+	private static <P> int compareTo(Iterator<P> iterator, Iterator<P> iteratorOther, Comparator<P> patternComparator) {
 		while (iterator.hasNext() && iteratorOther.hasNext()) {
 			int result = patternComparator.compare(iterator.next(), iteratorOther.next());
 			if (result != 0) {
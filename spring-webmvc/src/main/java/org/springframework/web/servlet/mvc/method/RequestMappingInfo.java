@@ -38,6 +38,7 @@ import org.springframework.web.servlet.mvc.condition.RequestConditionHolder;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Request mapping information. Encapsulates the following request mapping conditions:
@@ -547,11 +548,18 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		@SuppressWarnings("deprecation")
 		public RequestMappingInfo build() {
 
-			PatternsRequestCondition patternsCondition = ObjectUtils.isEmpty(this.paths) ? null :
-					new PatternsRequestCondition(
-							this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
-							this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
-							this.options.getFileExtensions());
+			PathPatternParser patternParser = this.options.getPatternParser();
+			PatternsRequestCondition patternsCondition;
+			if (patternParser != null) {
+				patternsCondition = new PatternsRequestCondition(this.paths, patternParser);
+			}
+			else {
+				patternsCondition = ObjectUtils.isEmpty(this.paths) ? null :
+						new PatternsRequestCondition(
+								this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
+								this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
+								this.options.getFileExtensions());
+			}
 
 			ContentNegotiationManager manager = this.options.getContentNegotiationManager();
 
@@ -595,6 +603,9 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		@Nullable
 		private ContentNegotiationManager contentNegotiationManager;
 
+		@Nullable
+		private PathPatternParser patternParser;
+
 		/**
 		 * Set a custom UrlPathHelper to use for the PatternsRequestCondition.
 		 * <p>By default this is not set.
@@ -628,6 +639,29 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 			return this.pathMatcher;
 		}
 
+		/**
+		 * Set a {@link PathPatternParser} to parse the patterns of the
+		 * PatternsRequestCondition with, in which case the patterns are matched
+		 * against the parsed request path, and the
+		 * {@link #setPathMatcher PathMatcher}, trailing slash and suffix pattern
+		 * matching options are ignored.
+		 * <p>By default this is not set.
+		 * @since 5.3
+		 * @see PatternsRequestCondition#PatternsRequestCondition(String[], PathPatternParser)
+		 */
+		public void setPatternParser(@Nullable PathPatternParser patternParser) {
+			this.patternParser = patternParser;
+		}
+
+		/**
+		 * Return the {@code PathPatternParser} to use for the PatternsRequestCondition, if any.
+		 * @since 5.3
+		 */
+		@Nullable
+		public PathPatternParser getPatternParser() {
+			return this.patternParser;
+		}
+
 		/**
 		 * Set whether to apply trailing slash matching in PatternsRequestCondition.
 		 * <p>By default this is set to 'true'.
@@ -85,6 +85,7 @@ import org.springframework.web.method.annotation.SessionAttributesHandler;
 import org.springframework.web.method.annotation.SessionStatusMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.HandlerMethodInvocationPlan;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
 import org.springframework.web.method.support.InvocableHandlerMethod;
@@ -190,6 +191,8 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private final Map<ControllerAdviceBean, Set<Method>> modelAttributeAdviceCache = new LinkedHashMap<>();
 
+	private final Map<HandlerMethod, HandlerMethodInvocationPlan> invocationPlanCache = new ConcurrentHashMap<>(256);
+
 
 	public RequestMappingHandlerAdapter() {
 		this.messageConverters = new ArrayList<>(4);
@@ -849,6 +852,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 			}
 			invocableMethod.setDataBinderFactory(binderFactory);
 			invocableMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
+			invocableMethod.setInvocationPlan(getInvocationPlan(handlerMethod));
 
 			ModelAndViewContainer mavContainer = new ModelAndViewContainer();
 			mavContainer.addAllAttributes(RequestContextUtils.getInputFlashMap(request));
@@ -897,6 +901,27 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		return new ServletInvocableHandlerMethod(handlerMethod);
 	}
 
+	/**
+	 * Return the invocation plan for the given handler method, as resolved for
+	 * the {@link HandlerMethod} that it was {@link HandlerMethod#createWithResolvedBean()
+	 * created from}, e.g. the one registered by a handler mapping.
+	 */
+	@Nullable
+	private HandlerMethodInvocationPlan getInvocationPlan(HandlerMethod handlerMethod) {
+		HandlerMethod resolvedFrom = handlerMethod.getResolvedFromHandlerMethod();
+		if (resolvedFrom == null || this.argumentResolvers == null) {
+			return null;
+		}
+		HandlerMethodInvocationPlan plan = this.invocationPlanCache.get(resolvedFrom);
+		if (plan == null || plan.getReturnValueHandlers() != this.returnValueHandlers ||
+				!plan.isApplicableTo(handlerMethod.getMethodParameters(), this.argumentResolvers, this.parameterNameDiscoverer)) {
+			plan = new HandlerMethodInvocationPlan(
+					resolvedFrom, this.argumentResolvers, this.returnValueHandlers, this.parameterNameDiscoverer);
+			this.invocationPlanCache.put(resolvedFrom, plan);
+		}
+		return plan;
+	}
+
 	private ModelFactory getModelFactory(HandlerMethod handlerMethod, WebDataBinderFactory binderFactory) {
 		SessionAttributesHandler sessionAttrHandler = getSessionAttributesHandler(handlerMethod);
 		Class<?> handlerType = handlerMethod.getBeanType();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -37,6 +38,10 @@ import org.springframework.util.StringUtils;
  * resolves resources from a {@link org.springframework.cache.Cache} or otherwise
  * delegates to the resolver chain and saves the result in the cache.
  *
+ * <p>With a {@link ResourceCache}, resources are served from memory, and
+ * clients that accept gzip are served the gzip variant of the cached content,
+ * if the cache is configured to compute such variants.
+ *
  * @author Rossen Stoyanchev
  * @author Brian Clozel
  * @since 4.1
@@ -116,17 +121,35 @@ public class CachingResourceResolver extends AbstractResourceResolver {
 			if (logger.isTraceEnabled()) {
 				logger.trace("Resource resolved from cache");
 			}
-			return resource;
+			return selectVariant(request, resource);
 		}
 
 		resource = chain.resolveResource(request, requestPath, locations);
 		if (resource != null) {
+			if (this.cache instanceof ResourceCache) {
+				// Serve the cached copy, and its gzip variant, from the first request on
+				return selectVariant(request, (Resource) ((ResourceCache) this.cache).store(key, resource));
+			}
 			this.cache.put(key, resource);
 		}
 
 		return resource;
 	}
 
+	private Resource selectVariant(@Nullable HttpServletRequest request, Resource resource) {
+		if (request != null && resource instanceof ResourceCache.CachedResource) {
+			Resource gzipVariant = ((ResourceCache.CachedResource) resource).getGzipVariant();
+			if (gzipVariant != null) {
+				String codingKey = getContentCodingKey(request);
+				if (codingKey != null && ObjectUtils.containsElement(
+						StringUtils.commaDelimitedListToStringArray(codingKey), "gzip")) {
+					return gzipVariant;
+				}
+			}
+		}
+		return resource;
+	}
+
 	protected String computeKey(@Nullable HttpServletRequest request, String requestPath) {
 		if (request != null) {
 			String codingKey = getContentCodingKey(request);
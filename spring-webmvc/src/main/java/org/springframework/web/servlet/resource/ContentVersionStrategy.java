@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,11 @@
 package org.springframework.web.servlet.resource;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
 
@@ -27,6 +30,12 @@ import org.springframework.util.FileCopyUtils;
  * of the resource and appends it to the file name, e.g.
  * {@code "styles/main-e36d2e05253c6c7085a91522ce43a0b4.css"}.
  *
+ * <p>The hash of a resource is computed once and reused for as long as the
+ * last-modified timestamp of the resource does not change. Hashes are kept by
+ * the URL of the resource, so they are shared by all {@code Resource} instances
+ * for the same URL, including ones that do not implement {@code equals}, and
+ * are not kept for resources without a URL.
+ *
  * @author Brian Clozel
  * @author Rossen Stoyanchev
  * @since 4.1
@@ -34,19 +43,66 @@ import org.springframework.util.FileCopyUtils;
  */
 public class ContentVersionStrategy extends AbstractVersionStrategy {
 
+	private final Map<String, ContentVersion> versionCache = new ConcurrentReferenceHashMap<>(256);
+
+
 	public ContentVersionStrategy() {
 		super(new FileNameVersionPathStrategy());
 	}
 
 	@Override
 	public String getResourceVersion(Resource resource) {
+		long lastModified = getLastModified(resource);
+		String cacheKey = (lastModified > 0 ? getCacheKey(resource) : null);
+		if (cacheKey != null) {
+			ContentVersion version = this.versionCache.get(cacheKey);
+			if (version != null && version.lastModified == lastModified) {
+				return version.hash;
+			}
+		}
 		try {
 			byte[] content = FileCopyUtils.copyToByteArray(resource.getInputStream());
-			return DigestUtils.md5DigestAsHex(content);
+			String hash = DigestUtils.md5DigestAsHex(content);
+			if (cacheKey != null) {
+				this.versionCache.put(cacheKey, new ContentVersion(hash, lastModified));
+			}
+			return hash;
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Failed to calculate hash for " + resource, ex);
 		}
 	}
 
+	private static long getLastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	@Nullable
+	private static String getCacheKey(Resource resource) {
+		try {
+			return resource.getURL().toExternalForm();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+
+	private static final class ContentVersion {
+
+		final String hash;
+
+		final long lastModified;
+
+		ContentVersion(String hash, long lastModified) {
+			this.hash = hash;
+			this.lastModified = lastModified;
+		}
+	}
+
 }
@@ -0,0 +1,598 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link org.springframework.cache.Cache} for {@link CachingResourceResolver}
+ * and {@link CachingResourceTransformer}, bounded by the approximate number
+ * of bytes that it holds rather than by the number of entries, and evicting
+ * the least recently used entries first.
+ *
+ * <p>The content of resources up to the {@link #setMaxContentLength maximum
+ * content length} is kept in memory, including the content of encoded
+ * variants such as {@code ".gz"} files, so that cached resources are served
+ * without reading them again. Entries for the same resource, e.g. resolved
+ * for requests with different {@code Accept-Encoding} headers, share one copy
+ * of its content. Cached content is dropped as soon as the last-modified
+ * timestamp of the original resource changes. If enabled
+ * through {@link #setGzipVariants}, a gzip variant of compressible text
+ * content is also computed once when the content is cached, and served by
+ * {@link CachingResourceResolver} to clients that accept gzip.
+ *
+ * <p>The number of hits, misses and evictions is tracked for monitoring.
+ *
+ * @author Fu Dong
+ * @since 5.3
+ * @see org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration#resourceChain(boolean, org.springframework.cache.Cache)
+ */
+public class ResourceCache extends AbstractValueAdaptingCache {
+
+	/**
+	 * The default maximum size of the cache: 10 MB.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+	/**
+	 * The default maximum content length of a cached resource: 32 KB.
+	 */
+	public static final long DEFAULT_MAX_CONTENT_LENGTH = 32 * 1024;
+
+	/**
+	 * Approximate size of an entry besides the cached content.
+	 */
+	private static final int ENTRY_SIZE = 256;
+
+
+	private final String name;
+
+	private final long maxSize;
+
+	private long maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
+
+	private boolean gzipVariants;
+
+	private final Map<Object, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+	private final Map<String, Content> contents = new HashMap<>();
+
+	private long size;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+
+	/**
+	 * Create a cache with the given name and the {@link #DEFAULT_MAX_SIZE
+	 * default maximum size}.
+	 * @param name the name of the cache
+	 */
+	public ResourceCache(String name) {
+		this(name, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a cache with the given name and maximum size.
+	 * @param name the name of the cache
+	 * @param maxSize the approximate number of bytes the cache may hold
+	 */
+	public ResourceCache(String name, long maxSize) {
+		super(false);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maxSize > 0, "Max size must be greater than 0");
+		this.name = name;
+		this.maxSize = maxSize;
+	}
+
+
+	/**
+	 * Set the maximum content length of resources to keep in memory.
+	 * Larger resources are cached as they are resolved.
+	 * <p>By default this is {@link #DEFAULT_MAX_CONTENT_LENGTH 32 KB}.
+	 * A value of 0 disables caching the content of resources.
+	 */
+	public void setMaxContentLength(long maxContentLength) {
+		this.maxContentLength = maxContentLength;
+	}
+
+	/**
+	 * Return the configured maximum content length of cached resources.
+	 */
+	public long getMaxContentLength() {
+		return this.maxContentLength;
+	}
+
+	/**
+	 * Whether to compute a gzip variant for the cached content of
+	 * compressible text resources that have not been encoded already.
+	 * <p>By default this is set to {@code false}.
+	 */
+	public void setGzipVariants(boolean gzipVariants) {
+		this.gzipVariants = gzipVariants;
+	}
+
+	/**
+	 * Whether gzip variants are computed for cached content.
+	 */
+	public boolean isGzipVariants() {
+		return this.gzipVariants;
+	}
+
+	/**
+	 * Return the maximum size of this cache.
+	 */
+	public long getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the approximate number of bytes currently held by this cache.
+	 */
+	public long getSize() {
+		synchronized (this.entries) {
+			return this.size;
+		}
+	}
+
+	/**
+	 * Return the number of lookups that found a (still valid) entry.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that did not find a valid entry.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Return the number of entries evicted to stay within the maximum size,
+	 * or because their content was outdated.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.get();
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	@Override
+	public final Map<Object, ?> getNativeCache() {
+		return this.entries;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Entry entry;
+		synchronized (this.entries) {
+			entry = this.entries.get(key);
+		}
+		if (entry != null && entry.value instanceof CachedResource && ((CachedResource) entry.value).isOutdated()) {
+			if (remove(key, entry)) {
+				this.evictionCount.incrementAndGet();
+			}
+			entry = null;
+		}
+		if (entry == null) {
+			this.missCount.incrementAndGet();
+			return null;
+		}
+		this.hitCount.incrementAndGet();
+		return entry.value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return (T) fromStoreValue(value);
+		}
+		T loadedValue;
+		try {
+			loadedValue = valueLoader.call();
+		}
+		catch (Throwable ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		return (T) fromStoreValue(store(key, loadedValue));
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		store(key, value);
+	}
+
+	/**
+	 * Put the given value into the cache, and return the value to serve from
+	 * now on, i.e. the in-memory copy of a resource, if its content is cached.
+	 */
+	Object store(Object key, @Nullable Object value) {
+		Object storeValue = toStoreValue(value);
+		Content content = null;
+		if (storeValue instanceof Resource && !(storeValue instanceof ByteArrayResource)) {
+			content = obtainContent((Resource) storeValue);
+		}
+		Entry entry = createEntry(storeValue, content);
+		synchronized (this.entries) {
+			if (content != null && content.references++ == 0) {
+				this.size += content.size;
+				if (content.key != null) {
+					this.contents.put(content.key, content);
+				}
+			}
+			Entry previous = this.entries.put(key, entry);
+			if (previous != null) {
+				release(previous);
+			}
+			this.size += entry.size;
+			Iterator<Entry> iterator = this.entries.values().iterator();
+			while (this.size > this.maxSize && iterator.hasNext()) {
+				Entry eldest = iterator.next();
+				iterator.remove();
+				release(eldest);
+				this.evictionCount.incrementAndGet();
+			}
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Return the in-memory copy of the given resource, keyed by the resource
+	 * itself, caching its content first if necessary. This is used by
+	 * {@link ResourceHttpRequestHandler} to serve the content of resources
+	 * that have not been resolved through a {@link CachingResourceResolver}.
+	 * @return the cached copy, or the given resource if its content is not cached
+	 */
+	Resource getContent(Resource resource) {
+		String contentKey = getContentKey(resource);
+		if (contentKey == null) {
+			return resource;
+		}
+		Object value = lookup(contentKey);
+		if (value == null) {
+			value = store(contentKey, resource);
+		}
+		return (value instanceof Resource ? (Resource) value : resource);
+	}
+
+	@Override
+	public void evict(Object key) {
+		evictIfPresent(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		synchronized (this.entries) {
+			Entry entry = this.entries.remove(key);
+			if (entry != null) {
+				release(entry);
+			}
+			return (entry != null);
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+			this.contents.clear();
+			this.size = 0;
+		}
+	}
+
+	private boolean remove(Object key, Entry entry) {
+		synchronized (this.entries) {
+			if (this.entries.get(key) != entry) {
+				return false;
+			}
+			this.entries.remove(key);
+			release(entry);
+			return true;
+		}
+	}
+
+	/**
+	 * Subtract the size of a removed entry, and of its content if no other
+	 * entry refers to it anymore. To be called while holding the lock.
+	 */
+	private void release(Entry entry) {
+		this.size -= entry.size;
+		Content content = entry.content;
+		if (content != null && --content.references == 0) {
+			this.size -= content.size;
+			if (content.key != null) {
+				this.contents.remove(content.key, content);
+			}
+		}
+	}
+
+	private Entry createEntry(Object value, @Nullable Content content) {
+		long size = ENTRY_SIZE;
+		if (content != null) {
+			value = content.resource;
+		}
+		else if (value instanceof ByteArrayResource) {
+			size += ((ByteArrayResource) value).getByteArray().length;
+		}
+		return new Entry(value, size, content);
+	}
+
+	/**
+	 * Return the cached content of the given resource, shared with other
+	 * entries for the same resource, or a new copy of its content, or
+	 * {@code null} if the content of the resource is not to be cached.
+	 */
+	@Nullable
+	private Content obtainContent(Resource resource) {
+		String contentKey = getContentKey(resource);
+		if (contentKey != null) {
+			Content content;
+			synchronized (this.entries) {
+				content = this.contents.get(contentKey);
+			}
+			if (content != null && !content.resource.isOutdated()) {
+				return content;
+			}
+		}
+		CachedResource cachedResource = cacheContent(resource);
+		return (cachedResource != null ? new Content(contentKey, cachedResource) : null);
+	}
+
+	/**
+	 * Identify the content of the given resource by its URL and content coding.
+	 */
+	@Nullable
+	private static String getContentKey(Resource resource) {
+		try {
+			String key = resource.getURL().toExternalForm();
+			if (resource instanceof HttpResource) {
+				String contentEncoding =
+						((HttpResource) resource).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+				if (contentEncoding != null) {
+					key = key + "+encoding=" + contentEncoding;
+				}
+			}
+			return key;
+		}
+		catch (IOException ex) {
+			// Not resolvable as a URL, e.g. an InputStreamResource: do not share its content
+			return null;
+		}
+	}
+
+	@Nullable
+	private CachedResource cacheContent(Resource resource) {
+		try {
+			long contentLength = resource.contentLength();
+			long lastModified = resource.lastModified();
+			if (contentLength < 0 || contentLength > this.maxContentLength ||
+					contentLength + ENTRY_SIZE > this.maxSize || lastModified <= 0) {
+				return null;
+			}
+			byte[] content;
+			try (InputStream in = resource.getInputStream()) {
+				content = StreamUtils.copyToByteArray(in);
+			}
+			HttpHeaders headers = new HttpHeaders();
+			if (resource instanceof HttpResource) {
+				headers.putAll(((HttpResource) resource).getResponseHeaders());
+			}
+			CachedResource gzipVariant = null;
+			if (this.gzipVariants && !headers.containsKey(HttpHeaders.CONTENT_ENCODING) && isCompressible(resource)) {
+				byte[] gzipContent = gzip(content);
+				if (gzipContent.length < content.length) {
+					HttpHeaders gzipHeaders = new HttpHeaders();
+					gzipHeaders.putAll(headers);
+					gzipHeaders.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+					gzipHeaders.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+					gzipVariant = new CachedResource(resource, gzipContent, lastModified, gzipHeaders, null);
+				}
+			}
+			return new CachedResource(resource, content, lastModified, headers, gzipVariant);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private static boolean isCompressible(Resource resource) {
+		MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(null);
+		if (mediaType == null) {
+			return false;
+		}
+		String subtype = mediaType.getSubtype();
+		return ("text".equals(mediaType.getType()) || subtype.contains("javascript") ||
+				subtype.contains("json") || subtype.contains("xml"));
+	}
+
+	private static byte[] gzip(byte[] content) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 32);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(content);
+		}
+		return out.toByteArray();
+	}
+
+
+	private static final class Entry {
+
+		final Object value;
+
+		final long size;
+
+		@Nullable
+		final Content content;
+
+		Entry(Object value, long size, @Nullable Content content) {
+			this.value = value;
+			this.size = size;
+			this.content = content;
+		}
+	}
+
+
+	/**
+	 * Cached content of a resource, shared by the entries that refer to it.
+	 */
+	private static final class Content {
+
+		@Nullable
+		final String key;
+
+		final CachedResource resource;
+
+		final long size;
+
+		int references;
+
+		Content(@Nullable String key, CachedResource resource) {
+			this.key = key;
+			this.resource = resource;
+			CachedResource gzipVariant = resource.getGzipVariant();
+			this.size = resource.getByteArray().length +
+					(gzipVariant != null ? gzipVariant.getByteArray().length : 0);
+		}
+	}
+
+
+	/**
+	 * In-memory copy of the content of a resource, delegating to the original
+	 * resource for anything but its content.
+	 */
+	static final class CachedResource extends ByteArrayResource implements HttpResource {
+
+		private final Resource original;
+
+		private final long lastModified;
+
+		private final HttpHeaders headers;
+
+		@Nullable
+		private final CachedResource gzipVariant;
+
+		CachedResource(Resource original, byte[] content, long lastModified,
+				HttpHeaders headers, @Nullable CachedResource gzipVariant) {
+
+			super(content);
+			this.original = original;
+			this.lastModified = lastModified;
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.gzipVariant = gzipVariant;
+		}
+
+		/**
+		 * Return the gzip variant of this resource, if any.
+		 */
+		@Nullable
+		CachedResource getGzipVariant() {
+			return this.gzipVariant;
+		}
+
+		/**
+		 * Whether the original resource has been modified since its content was cached.
+		 */
+		boolean isOutdated() {
+			try {
+				return (this.original.lastModified() != this.lastModified);
+			}
+			catch (IOException ex) {
+				return true;
+			}
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.original.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.original.getURI();
+		}
+
+		@Override
+		public long lastModified() {
+			return this.lastModified;
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.original.createRelative(relativePath);
+		}
+
+		@Override
+		@Nullable
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.original.getDescription();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this);
+		}
+	}
+
+}
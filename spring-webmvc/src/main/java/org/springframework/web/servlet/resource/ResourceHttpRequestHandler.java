@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,8 +39,10 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRange;
@@ -88,6 +91,10 @@ import org.springframework.web.util.UrlPathHelper;
  * (if present) so that a {@code 304} status code will be returned as appropriate,
  * avoiding unnecessary overhead for resources that are already cached by the client.
  *
+ * <p>Large files may be handed off to Servlet containers that support sendfile
+ * (see {@link #setSendfileThreshold}), and the content of small resources may be
+ * kept in memory (see {@link #setContentCacheLimit}).
+ *
  * @author Keith Donald
  * @author Jeremy Grelle
  * @author Juergen Hoeller
@@ -103,6 +110,14 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 
 	private static final String URL_RESOURCE_CHARSET_PREFIX = "[charset=";
 
+	private static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+	private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+	private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+	private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
 
 	private final List<String> locationValues = new ArrayList<>(4);
 
@@ -140,6 +155,15 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 	@Nullable
 	private StringValueResolver embeddedValueResolver;
 
+	private long sendfileThreshold = 48 * 1024;
+
+	private long contentCacheLimit = 0;
+
+	private long maxCachedContentLength = 32 * 1024;
+
+	@Nullable
+	private ResourceCache contentCache;
+
 
 	public ResourceHttpRequestHandler() {
 		super(HttpMethod.GET.name(), HttpMethod.HEAD.name());
@@ -341,6 +365,72 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		return this.urlPathHelper;
 	}
 
+	/**
+	 * Set the minimum content length of file-based resources that are handed
+	 * off to the Servlet container for sending, if the container supports it
+	 * through the sendfile request attributes (as Tomcat does), instead of
+	 * writing their content to the response.
+	 * <p>This applies to the full content as well as to a single byte range,
+	 * compared against the length of the range in the latter case; responses
+	 * with multiple byte ranges are always written by this handler.
+	 * <p>By default this is 48 KB, as for the default servlet of Tomcat.
+	 * A negative value lets this handler always write the content.
+	 * @since 5.3
+	 */
+	public void setSendfileThreshold(long sendfileThreshold) {
+		this.sendfileThreshold = sendfileThreshold;
+	}
+
+	/**
+	 * Return the configured sendfile threshold.
+	 * @since 5.3
+	 */
+	public long getSendfileThreshold() {
+		return this.sendfileThreshold;
+	}
+
+	/**
+	 * Set the maximum number of bytes of resource content to keep in memory,
+	 * so that small and frequently requested resources are served without
+	 * reading them again, for as long as their last-modified timestamp does
+	 * not change. The least recently served content is evicted first.
+	 * <p>The content is kept in a {@link ResourceCache}, keyed by resource.
+	 * Resources resolved through a resource chain backed by a {@link ResourceCache}
+	 * are served from memory already, and are not cached again.
+	 * <p>By default this is 0, i.e. resource content is not cached.
+	 * @since 5.3
+	 * @see #setMaxCachedContentLength
+	 */
+	public void setContentCacheLimit(long contentCacheLimit) {
+		this.contentCacheLimit = contentCacheLimit;
+	}
+
+	/**
+	 * Return the configured limit for cached resource content.
+	 * @since 5.3
+	 */
+	public long getContentCacheLimit() {
+		return this.contentCacheLimit;
+	}
+
+	/**
+	 * Set the maximum content length of a single resource to keep in memory,
+	 * if a {@link #setContentCacheLimit content cache limit} is set.
+	 * <p>By default this is 32 KB.
+	 * @since 5.3
+	 */
+	public void setMaxCachedContentLength(long maxCachedContentLength) {
+		this.maxCachedContentLength = maxCachedContentLength;
+	}
+
+	/**
+	 * Return the configured maximum length of cached resource content.
+	 * @since 5.3
+	 */
+	public long getMaxCachedContentLength() {
+		return this.maxCachedContentLength;
+	}
+
 	@Override
 	public void setEmbeddedValueResolver(StringValueResolver resolver) {
 		this.embeddedValueResolver = resolver;
@@ -373,6 +463,14 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 			this.resourceRegionHttpMessageConverter = new ResourceRegionHttpMessageConverter();
 		}
 
+		if (this.contentCacheLimit > 0) {
+			this.contentCache = new ResourceCache("resourceContentCache", this.contentCacheLimit);
+			this.contentCache.setMaxContentLength(this.maxCachedContentLength);
+		}
+		else {
+			this.contentCache = null;
+		}
+
 		ContentNegotiationManager manager = getContentNegotiationManager();
 		if (manager != null) {
 			setMediaTypes(manager.getMediaTypeMappings());
@@ -519,7 +617,10 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		if (request.getHeader(HttpHeaders.RANGE) == null) {
 			Assert.state(this.resourceHttpMessageConverter != null, "Not initialized");
 			setHeaders(response, resource, mediaType);
-			this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
+			if (sendfile(request, response, resource, 0, resource.contentLength())) {
+				return;
+			}
+			this.resourceHttpMessageConverter.write(getContent(resource), mediaType, outputMessage);
 		}
 		else {
 			Assert.state(this.resourceRegionHttpMessageConverter != null, "Not initialized");
@@ -527,9 +628,22 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 			ServletServerHttpRequest inputMessage = new ServletServerHttpRequest(request);
 			try {
 				List<HttpRange> httpRanges = inputMessage.getHeaders().getRange();
+				List<ResourceRegion> regions = HttpRange.toResourceRegions(httpRanges, resource);
 				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
-				this.resourceRegionHttpMessageConverter.write(
-						HttpRange.toResourceRegions(httpRanges, resource), mediaType, outputMessage);
+				if (regions.size() == 1) {
+					ResourceRegion region = regions.get(0);
+					if (sendfile(request, response, resource, region.getPosition(), region.getCount())) {
+						long end = region.getPosition() + region.getCount() - 1;
+						if (mediaType != null) {
+							response.setContentType(mediaType.toString());
+						}
+						response.setHeader("Content-Range",
+								"bytes " + region.getPosition() + '-' + end + '/' + resource.contentLength());
+						response.setContentLengthLong(region.getCount());
+						return;
+					}
+				}
+				this.resourceRegionHttpMessageConverter.write(regions, mediaType, outputMessage);
 			}
 			catch (IllegalArgumentException ex) {
 				response.setHeader("Content-Range", "bytes */" + resource.contentLength());
@@ -538,6 +652,42 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		}
 	}
 
+	/**
+	 * Hand the given range of the content of the given resource off to the
+	 * Servlet container, if it supports sendfile, the range is large enough,
+	 * the resource is a file, and the response is not wrapped, e.g. for caching
+	 * its content.
+	 * @param position the position of the range within the content
+	 * @param count the length of the range
+	 * @return whether the container is going to send the content
+	 */
+	private boolean sendfile(HttpServletRequest request, HttpServletResponse response, Resource resource,
+			long position, long count) throws IOException {
+
+		if (this.sendfileThreshold < 0 || count < this.sendfileThreshold ||
+				!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE)) ||
+				response instanceof HttpServletResponseWrapper || !resource.isFile()) {
+			return false;
+		}
+		request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, resource.getFile().getAbsolutePath());
+		request.setAttribute(SENDFILE_START_ATTRIBUTE, position);
+		// The end position is exclusive
+		request.setAttribute(SENDFILE_END_ATTRIBUTE, position + count);
+		return true;
+	}
+
+	/**
+	 * Return the resource to write the content of, i.e. the given resource or
+	 * its cached content, if any.
+	 */
+	private Resource getContent(Resource resource) {
+		ResourceCache contentCache = this.contentCache;
+		if (contentCache == null || resource instanceof ByteArrayResource) {
+			return resource;
+		}
+		return contentCache.getContent(resource);
+	}
+
 	@Nullable
 	protected Resource getResource(HttpServletRequest request) throws IOException {
 		String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
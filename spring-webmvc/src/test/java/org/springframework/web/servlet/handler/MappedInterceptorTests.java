@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,13 @@ import javax.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -88,6 +90,23 @@ public class MappedInterceptorTests {
 		assertThat(mappedInterceptor.matches("/admin/foo", pathMatcher)).isFalse();
 	}
 
+	@Test
+	public void includeAndExcludePathPatterns() {
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(
+				new String[] { "/**" }, new String[] { "/admin/**" }, this.interceptor);
+		PathPatternParser parser = new PathPatternParser();
+
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/foo"), parser)).isTrue();
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/admin/foo"), parser)).isFalse();
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/admin;q=1/foo"), parser)).isFalse();
+	}
+
+	@Test
+	public void noPathPatterns() {
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(null, null, this.interceptor);
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/foo"), new PathPatternParser())).isTrue();
+	}
+
 	@Test
 	public void customPathMatcher() {
 		MappedInterceptor mappedInterceptor = new MappedInterceptor(new String[] { "/foo/[0-9]*" }, this.interceptor);
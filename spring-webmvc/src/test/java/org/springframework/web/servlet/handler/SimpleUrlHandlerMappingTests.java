@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@
 package org.springframework.web.servlet.handler;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,9 +32,11 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockServletContext;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * @author Rod Johnson
@@ -84,6 +88,57 @@ public class SimpleUrlHandlerMappingTests {
 		assertThat(hec.getHandler()).isSameAs(controller);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void urlMappingWithPathPatterns() throws Exception {
+		Object resourceHandler = new Object();
+		Object personHandler = new Object();
+		Map<String, Object> urlMap = new LinkedHashMap<>();
+		urlMap.put("/resources/**", resourceHandler);
+		urlMap.put("/persons/{id}", personHandler);
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping(urlMap);
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/resources/css/my%20file.css");
+		request.setContextPath("/app");
+		HandlerExecutionChain hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(resourceHandler);
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/resources/**");
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("css/my file.css");
+
+		request = new MockHttpServletRequest("GET", "/persons/42");
+		hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(personHandler);
+		assertThat((Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE))
+				.containsEntry("id", "42");
+
+		assertThat(handlerMapping.getHandler(new MockHttpServletRequest("GET", "/other"))).isNull();
+		assertThatIllegalStateException().isThrownBy(() -> handlerMapping.setPatternParser(new PathPatternParser()));
+	}
+
+	@Test
+	public void pathWithinMappingWithPathPatterns() throws Exception {
+		Object resourceHandler = new Object();
+		Object fileHandler = new Object();
+		Map<String, Object> urlMap = new LinkedHashMap<>();
+		urlMap.put("/resources/**", resourceHandler);
+		urlMap.put("/my%20file.txt", fileHandler);
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping(urlMap);
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/resources/css/my%20file.css;jsessionid=123");
+		HandlerExecutionChain hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(resourceHandler);
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("css/my file.css");
+
+		request = new MockHttpServletRequest("GET", "/my%20file.txt;jsessionid=123");
+		hec = getHandler(handlerMapping, request);
+		assertThat(hec.getHandler()).isSameAs(fileHandler);
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("/my file.txt");
+	}
+
 	@SuppressWarnings("resource")
 	private void checkMappings(String beanName) throws Exception {
 		MockServletContext sc = new MockServletContext("");
@@ -24,6 +24,9 @@ import javax.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -224,4 +227,58 @@ public class PatternsRequestConditionTests {
 		assertThat(match1.compareTo(match2, request)).isEqualTo(1);
 	}
 
+	@Test
+	public void matchWithPathPatterns() {
+		PatternsRequestCondition condition = pathPatternsCondition("/foo/**", "/foo/{id}", "/bar");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/foo/42");
+		request.setContextPath("/app");
+		ServletRequestPathUtils.parseAndCache(request);
+
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+		assertThat(match).isNotNull();
+		assertThat(match.getPatterns()).containsExactly("/foo/{id}", "/foo/**");
+		assertThat(match.getPathPatterns()).extracting(PathPattern::getPatternString)
+				.containsExactly("/foo/{id}", "/foo/**");
+
+		assertThat(condition.getMatchingPatterns("/bar/")).containsExactly("/bar");
+		assertThat(condition.getMatchingPatterns("/baz")).isEmpty();
+	}
+
+	@Test
+	public void matchWithEmptyPathPatterns() {
+		PatternsRequestCondition condition = pathPatternsCondition();
+		assertThat(condition.usesPathPatterns()).isTrue();
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", ""))).isNotNull();
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/"))).isNotNull();
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/anything"))).isNull();
+	}
+
+	@Test
+	public void combineWithPathPatterns() {
+		PatternsRequestCondition c1 = pathPatternsCondition("/t1", "/t2/*");
+		PatternsRequestCondition c2 = pathPatternsCondition("/m1", "{id}");
+
+		PatternsRequestCondition combined = c1.combine(c2);
+		assertThat(combined.getPatterns()).containsExactly("/t1/m1", "/t1/{id}", "/t2/m1", "/t2/{id}");
+		assertThat(combined.getPathPatterns()).hasSize(4);
+		assertThat(c1.combine(pathPatternsCondition())).isSameAs(c1);
+	}
+
+	@Test
+	public void compareWithPathPatterns() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		ServletRequestPathUtils.parseAndCache(request);
+
+		PatternsRequestCondition c1 = pathPatternsCondition("/fo*");
+		PatternsRequestCondition c2 = pathPatternsCondition("/foo");
+
+		assertThat(c1.compareTo(c2, request)).isEqualTo(1);
+		assertThat(c2.compareTo(c1, request)).isEqualTo(-1);
+		assertThat(c1.compareTo(pathPatternsCondition("/fo*"), request)).isEqualTo(0);
+	}
+
+	private static PatternsRequestCondition pathPatternsCondition(String... patterns) {
+		return new PatternsRequestCondition(patterns, new PathPatternParser());
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -57,7 +57,9 @@ import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -235,6 +237,54 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertThat(chain).isNull();
 	}
 
+	@Test
+	public void getHandlerWithPathPatterns() throws Exception {
+		HandlerInterceptor interceptor = new HandlerInterceptorAdapter() {};
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(new String[] {"/ba*"}, interceptor);
+
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setPatternParser(new PathPatternParser());
+		mapping.registerHandler(new TestController());
+		mapping.setInterceptors(mappedInterceptor);
+		mapping.setApplicationContext(new StaticWebApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/bar");
+		request.setContextPath("/app");
+		HandlerExecutionChain chain = mapping.getHandler(request);
+
+		assertThat(chain).isNotNull();
+		assertThat(((HandlerMethod) chain.getHandler()).getMethod()).isEqualTo(this.barMethod.getMethod());
+		assertThat(chain.getInterceptors()).containsExactly(interceptor);
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/ba*");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isTrue();
+
+		request = new MockHttpServletRequest("GET", "/app/foo");
+		request.setContextPath("/app");
+		chain = mapping.getHandler(request);
+
+		assertThat(chain).isNotNull();
+		assertThat(((HandlerMethod) chain.getHandler()).getMethod()).isEqualTo(this.fooMethod.getMethod());
+		assertThat(chain.getInterceptors()).isNullOrEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void handleMatchUriTemplateVariablesWithPathPatterns() {
+		RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
+		config.setPatternParser(new PathPatternParser());
+		RequestMappingInfo key = RequestMappingInfo.paths("/{group}/{identifier}").options(config).build();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/group/a%2Fb;q=1");
+		ServletRequestPathUtils.parseAndCache(request);
+		this.handlerMapping.handleMatch(key, "/group/a%2Fb;q=1", request);
+
+		Map<String, String> uriVariables =
+				(Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		assertThat(uriVariables).containsEntry("group", "group").containsEntry("identifier", "a/b");
+		assertThat(getMatrixVariables(request, "identifier").getFirst("q")).isEqualTo("1");
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+				.isEqualTo("/{group}/{identifier}");
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void handleMatchUriTemplateVariables() {
@@ -508,8 +558,11 @@ public class RequestMappingInfoHandlerMappingTests {
 		protected RequestMappingInfo getMappingForMethod(Method method, Class<?> handlerType) {
 			RequestMapping annot = AnnotationUtils.findAnnotation(method, RequestMapping.class);
 			if (annot != null) {
+				PatternsRequestCondition patternsCondition = (getPatternParser() != null ?
+						new PatternsRequestCondition(annot.value(), getPatternParser()) :
+						new PatternsRequestCondition(annot.value(), getUrlPathHelper(), getPathMatcher(), true, true));
 				return new RequestMappingInfo(
-					new PatternsRequestCondition(annot.value(), getUrlPathHelper(), getPathMatcher(), true, true),
+					patternsCondition,
 					new RequestMethodsRequestCondition(annot.method()),
 					new ParamsRequestCondition(annot.params()),
 					new HeadersRequestCondition(annot.headers()),
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,20 @@
 package org.springframework.web.servlet.resource;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
 
@@ -71,6 +78,23 @@ public class ContentBasedVersionStrategyTests {
 		assertThat(this.versionStrategy.getResourceVersion(expected)).isEqualTo(hash);
 	}
 
+	@Test
+	public void getResourceVersionReusedUntilModified(@TempDir Path tempDir) throws IOException {
+		Path file = Files.write(tempDir.resolve("main.css"), "a".getBytes(StandardCharsets.UTF_8));
+		FileTime lastModified = Files.getLastModifiedTime(file);
+		String hash = this.versionStrategy.getResourceVersion(new FileSystemResource(file));
+		assertThat(hash).isEqualTo(DigestUtils.md5DigestAsHex("a".getBytes(StandardCharsets.UTF_8)));
+
+		Files.write(file, "b".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModified);
+		assertThat(this.versionStrategy.getResourceVersion(new FileSystemResource(file))).isEqualTo(hash);
+		assertThat(this.versionStrategy.getResourceVersion(new UrlResource(file.toUri()))).isEqualTo(hash);
+
+		Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 60_000));
+		assertThat(this.versionStrategy.getResourceVersion(new FileSystemResource(file)))
+				.isEqualTo(DigestUtils.md5DigestAsHex("b".getBytes(StandardCharsets.UTF_8)));
+	}
+
 	@Test
 	public void addVersionToUrl() {
 		assertThat(this.versionStrategy.addVersion("test/bar.css", "123")).isEqualTo("test/bar-123.css");
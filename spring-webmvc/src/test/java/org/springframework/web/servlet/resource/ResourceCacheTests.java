@@ -0,0 +1,185 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ResourceCache}.
+ *
+ * @author Fu Dong
+ */
+public class ResourceCacheTests {
+
+	@TempDir
+	Path tempDir;
+
+	private final ResourceCache cache = new ResourceCache("resourceCache");
+
+
+	@Test
+	public void contentCachedInMemory() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		this.cache.put("foo", resource);
+
+		Resource cached = this.cache.get("foo", Resource.class);
+		assertThat(cached).isInstanceOf(ResourceCache.CachedResource.class);
+		assertThat(cached.isFile()).isFalse();
+		assertThat(cached.getFilename()).isEqualTo("foo.css");
+		assertThat(cached.getURL()).isEqualTo(resource.getURL());
+		assertThat(cached.lastModified()).isEqualTo(resource.lastModified());
+		assertThat(StreamUtils.copyToString(cached.getInputStream(), StandardCharsets.UTF_8)).isEqualTo("h1 { color:red; }");
+		assertThat(this.cache.get("bar", Resource.class)).isNull();
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+		assertThat(this.cache.getMissCount()).isEqualTo(1);
+		assertThat(this.cache.getSize()).isGreaterThan(cached.contentLength());
+	}
+
+	@Test
+	public void largeContentNotCachedInMemory() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		this.cache.setMaxContentLength(10);
+		this.cache.put("foo", resource);
+
+		assertThat(this.cache.get("foo", Resource.class)).isSameAs(resource);
+	}
+
+	@Test
+	public void outdatedContentEvicted() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		this.cache.put("foo", resource);
+		Files.setLastModifiedTime(resource.getFile().toPath(), FileTime.fromMillis(resource.lastModified() + 60_000));
+
+		assertThat(this.cache.get("foo", Resource.class)).isNull();
+		assertThat(this.cache.getEvictionCount()).isEqualTo(1);
+		assertThat(this.cache.getSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void leastRecentlyUsedEvictedBySize() throws Exception {
+		char[] content = new char[1000];
+		Arrays.fill(content, 'a');
+		ResourceCache cache = new ResourceCache("resourceCache", 3000);
+		cache.put("foo", createResource("foo.txt", new String(content)));
+		cache.put("bar", createResource("bar.txt", new String(content)));
+		cache.get("foo");
+		cache.put("baz", createResource("baz.txt", new String(content)));
+
+		assertThat(cache.get("foo")).isNotNull();
+		assertThat(cache.get("bar")).isNull();
+		assertThat(cache.get("baz")).isNotNull();
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+		assertThat(cache.getSize()).isLessThanOrEqualTo(3000);
+	}
+
+	@Test
+	public void stringValues() {
+		this.cache.put("path", "/foo.css");
+		assertThat(this.cache.get("path", String.class)).isEqualTo("/foo.css");
+		this.cache.evict("path");
+		assertThat(this.cache.get("path")).isNull();
+		assertThat(this.cache.getSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void gzipVariantServedByResolver() throws Exception {
+		char[] content = new char[1000];
+		Arrays.fill(content, 'a');
+		createResource("foo.css", new String(content));
+		this.cache.setGzipVariants(true);
+		List<ResourceResolver> resolvers =
+				Arrays.asList(new CachingResourceResolver(this.cache), new PathResourceResolver());
+		ResourceResolverChain chain = new DefaultResourceResolverChain(resolvers);
+		List<Resource> locations = Collections.singletonList(new FileSystemResource(this.tempDir.toString() + "/"));
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo.css");
+		request.addHeader("Accept-Encoding", "gzip");
+		Resource resource = chain.resolveResource(request, "foo.css", locations);
+
+		assertThat(resource).isInstanceOf(HttpResource.class);
+		HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+		assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(headers.getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+		assertThat(resource.getFilename()).isEqualTo("foo.css");
+		assertThat(resource.contentLength()).isLessThan(1000);
+		try (InputStream in = new GZIPInputStream(resource.getInputStream())) {
+			assertThat(StreamUtils.copyToString(in, StandardCharsets.UTF_8)).isEqualTo(new String(content));
+		}
+
+		request = new MockHttpServletRequest("GET", "/foo.css");
+		resource = chain.resolveResource(request, "foo.css", locations);
+		assertThat(((HttpResource) resource).getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+		assertThat(resource.contentLength()).isEqualTo(1000);
+		resource = chain.resolveResource(request, "foo.css", locations);
+		assertThat(resource.contentLength()).isEqualTo(1000);
+	}
+
+	@Test
+	public void contentSharedByEntriesForSameResource() throws Exception {
+		char[] content = new char[1000];
+		Arrays.fill(content, 'a');
+		Resource resource = createResource("foo.txt", new String(content));
+		this.cache.put("foo", resource);
+		long size = this.cache.getSize();
+		this.cache.put("foo+encoding=gzip", resource);
+
+		assertThat(this.cache.get("foo+encoding=gzip", Resource.class)).isSameAs(this.cache.get("foo", Resource.class));
+		assertThat(this.cache.getSize()).isLessThan(size + 1000);
+
+		this.cache.evict("foo");
+		assertThat(this.cache.get("foo+encoding=gzip", Resource.class)).isInstanceOf(ResourceCache.CachedResource.class);
+		assertThat(this.cache.getSize()).isEqualTo(size);
+		this.cache.evict("foo+encoding=gzip");
+		assertThat(this.cache.getSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void contentCachedForResource() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+
+		Resource cached = this.cache.getContent(resource);
+		assertThat(cached).isInstanceOf(ResourceCache.CachedResource.class);
+		assertThat(this.cache.getContent(new FileSystemResource(resource.getFile()))).isSameAs(cached);
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+	}
+
+
+	private Resource createResource(String filename, String content) throws Exception {
+		Path file = Files.write(this.tempDir.resolve(filename), content.getBytes(StandardCharsets.UTF_8));
+		return new FileSystemResource(file);
+	}
+
+}
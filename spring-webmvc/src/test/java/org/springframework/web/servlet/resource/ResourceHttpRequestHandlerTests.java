@@ -17,6 +17,10 @@
 package org.springframework.web.servlet.resource;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,8 +30,10 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpMethod;
@@ -102,6 +108,90 @@ public class ResourceHttpRequestHandlerTests {
 		assertThat(this.response.getContentAsString()).isEqualTo("h1 { color:red; }");
 	}
 
+	@Test
+	public void getResourceWithSendfile() throws Exception {
+		this.handler.setSendfileThreshold(0);
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertThat(this.response.getContentType()).isEqualTo("text/css");
+		assertThat(this.response.getContentLength()).isEqualTo(17);
+		assertThat((String) this.request.getAttribute("org.apache.tomcat.sendfile.filename")).endsWith("foo.css");
+		assertThat(this.request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(0L);
+		assertThat(this.request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(17L);
+		assertThat(this.response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	public void partialContentByteRangeWithSendfile() throws Exception {
+		this.handler.setSendfileThreshold(0);
+		this.request.addHeader("Range", "bytes=2-5");
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.txt");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertThat(this.response.getStatus()).isEqualTo(206);
+		assertThat(this.response.getContentType()).isEqualTo("text/plain");
+		assertThat(this.response.getContentLength()).isEqualTo(4);
+		assertThat(this.response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+		assertThat(this.response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+		assertThat((String) this.request.getAttribute("org.apache.tomcat.sendfile.filename")).endsWith("foo.txt");
+		assertThat(this.request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+		assertThat(this.request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(6L);
+		assertThat(this.response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	public void partialContentMultipleByteRangesWithoutSendfile() throws Exception {
+		this.handler.setSendfileThreshold(0);
+		this.request.addHeader("Range", "bytes=0-1, 8-9");
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.txt");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertThat(this.response.getStatus()).isEqualTo(206);
+		assertThat(this.response.getContentType()).startsWith("multipart/byteranges; boundary=");
+		assertThat(this.request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+		assertThat(this.response.getContentAsString()).contains("So").contains("t.");
+	}
+
+	@Test
+	public void getResourceBelowSendfileThreshold() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertThat(this.request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+		assertThat(this.response.getContentAsString()).isEqualTo("h1 { color:red; }");
+	}
+
+	@Test
+	public void getResourceFromContentCache(@TempDir Path tempDir) throws Exception {
+		Path file = Files.write(tempDir.resolve("cached.txt"), "aaaa".getBytes(StandardCharsets.UTF_8));
+		FileTime lastModified = Files.getLastModifiedTime(file);
+		this.handler = new ResourceHttpRequestHandler();
+		this.handler.setLocations(Collections.singletonList(new FileSystemResource(tempDir.toString() + "/")));
+		this.handler.setServletContext(new TestServletContext());
+		this.handler.setContentCacheLimit(1024);
+		this.handler.afterPropertiesSet();
+
+		assertThat(getContentAsString("cached.txt")).isEqualTo("aaaa");
+		Files.write(file, "bbbb".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModified);
+		assertThat(getContentAsString("cached.txt")).isEqualTo("aaaa");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 60_000));
+		assertThat(getContentAsString("cached.txt")).isEqualTo("bbbb");
+	}
+
+	private String getContentAsString(String path) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "");
+		request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.handler.handleRequest(request, response);
+		return response.getContentAsString();
+	}
+
 	@Test
 	public void getResourceHttpHeader() throws Exception {
 		this.request.setMethod("HEAD");